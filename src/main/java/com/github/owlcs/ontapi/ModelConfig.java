@@ -22,6 +22,7 @@ import com.github.owlcs.ontapi.internal.InternalModel;
 import com.github.owlcs.ontapi.jena.impl.conf.OntPersonality;
 import org.apache.jena.graph.Graph;
 import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
 import org.semanticweb.owlapi.model.OWLOntologyWriterConfiguration;
 import org.semanticweb.owlapi.model.OWLPrimitive;
@@ -124,12 +125,15 @@ public class ModelConfig implements InternalConfig, Serializable {
 
     /**
      * Extracts the manager caches to share between different ontology instances.
+     * The {@link IRI} cache maps IRI strings to {@link IRI}s,
+     * the {@link OWLEntity} cache is a pool of canonical entity URIs (an {@code InternalCache<String, String>}).
      *
      * @return a {@code Map} with {@link OWLPrimitive} class-types as keys and {@link InternalCache}s as values
      */
     public Map<Class<? extends OWLPrimitive>, InternalCache<?, ?>> getManagerCaches() {
-        Map<Class<? extends OWLPrimitive>, InternalCache<String, ? extends OWLPrimitive>> res = new HashMap<>();
+        Map<Class<? extends OWLPrimitive>, InternalCache<?, ?>> res = new HashMap<>();
         res.put(IRI.class, manager.iris.asCache());
+        res.put(OWLEntity.class, manager.uris);
         return Collections.unmodifiableMap(res);
     }
 
@@ -182,6 +186,16 @@ public class ModelConfig implements InternalConfig, Serializable {
         return getLoaderConfig().getModelCacheLevel();
     }
 
+    @Override
+    public int getModelCacheLoadParallelism() {
+        return getLoaderConfig().getModelCacheLoadParallelism();
+    }
+
+    @Override
+    public boolean isLoadNodeTypeTable() {
+        return getLoaderConfig().isLoadNodeTypeTable();
+    }
+
     @Override
     public boolean parallel() {
         return manager.isConcurrent();
@@ -220,6 +234,7 @@ public class ModelConfig implements InternalConfig, Serializable {
                 , OntLoaderConfiguration::getLoadNodesCacheSize
                 , OntLoaderConfiguration::getLoadObjectsCacheSize
                 , OntLoaderConfiguration::getModelCacheLevel
+                , OntLoaderConfiguration::isLoadNodeTypeTable
         );
         return fields.anyMatch(c -> c.apply(left) != c.apply(right));
     }
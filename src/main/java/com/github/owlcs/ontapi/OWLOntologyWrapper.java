@@ -42,6 +42,7 @@ import java.util.stream.Stream;
 @SuppressWarnings("WeakerAccess")
 @ParametersAreNonnullByDefault
 public class OWLOntologyWrapper extends RWLockedOntology {
+    private static final long serialVersionUID = 4576995547853209191L;
 
     protected final OWLOntology delegate;
 
@@ -187,22 +188,71 @@ public class OWLOntologyWrapper extends RWLockedOntology {
 
     @Override
     public boolean containsAxiom(OWLAxiom axiom) {
-        return withReadLockToObject(() -> delegate.containsAxiom(axiom));
+        return withOptimisticReadLockToObject(() -> findContainsAxiom(axiom), () -> delegate.containsAxiom(axiom));
     }
 
     @Override
     public int getAxiomCount() {
-        return withReadLockToObject(delegate::getAxiomCount);
+        return withOptimisticReadLockToObject(this::findAxiomCount, delegate::getAxiomCount);
     }
 
     @Override
     public int getLogicalAxiomCount() {
-        return withReadLockToObject(delegate::getLogicalAxiomCount);
+        return withOptimisticReadLockToObject(this::findLogicalAxiomCount, delegate::getLogicalAxiomCount);
     }
 
     @Override
     public <T extends OWLAxiom> int getAxiomCount(AxiomType<T> type) {
-        return withReadLockToObject(() -> delegate.getAxiomCount(type));
+        return withOptimisticReadLockToObject(() -> findAxiomCount(type), () -> delegate.getAxiomCount(type));
+    }
+
+    /**
+     * Answers whether the delegate ontology contains the axiom, if the answer is already in memory.
+     * This method must not change the state of the delegate (e.g. must not load any cache),
+     * since it is used for optimistic (lock-free) reads.
+     * The default implementation knows nothing about the delegate, so always returns {@code null}.
+     *
+     * @param axiom {@link OWLAxiom}, not {@code null}
+     * @return {@code Boolean} or {@code null} if the operation cannot be performed without loading
+     * @see #withOptimisticReadLockToObject(java.util.function.Supplier, java.util.function.Supplier)
+     * @since 2.0.1
+     */
+    protected Boolean findContainsAxiom(OWLAxiom axiom) {
+        return null;
+    }
+
+    /**
+     * Returns the number of axioms in the delegate ontology, if it is already known, without loading.
+     *
+     * @return {@code Integer} or {@code null} if the operation cannot be performed without loading
+     * @see #findContainsAxiom(OWLAxiom)
+     * @since 2.0.1
+     */
+    protected Integer findAxiomCount() {
+        return null;
+    }
+
+    /**
+     * Returns the number of logical axioms in the delegate ontology, if it is already known, without loading.
+     *
+     * @return {@code Integer} or {@code null} if the operation cannot be performed without loading
+     * @see #findContainsAxiom(OWLAxiom)
+     * @since 2.0.1
+     */
+    protected Integer findLogicalAxiomCount() {
+        return null;
+    }
+
+    /**
+     * Returns the number of axioms of the given type, if it is already known, without loading.
+     *
+     * @param type {@link AxiomType}, not {@code null}
+     * @return {@code Integer} or {@code null} if the operation cannot be performed without loading
+     * @see #findContainsAxiom(OWLAxiom)
+     * @since 2.0.1
+     */
+    protected Integer findAxiomCount(AxiomType<?> type) {
+        return null;
     }
 
     @Override
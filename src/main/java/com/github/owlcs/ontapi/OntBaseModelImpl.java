@@ -15,6 +15,7 @@
 package com.github.owlcs.ontapi;
 
 import com.github.owlcs.ontapi.internal.InternalModel;
+import com.github.owlcs.ontapi.jena.CompactGraph;
 import com.github.owlcs.ontapi.jena.model.OntModel;
 import com.github.owlcs.ontapi.owlapi.OWLObjectImpl;
 import org.apache.jena.graph.Graph;
@@ -34,6 +35,7 @@ import javax.annotation.ParametersAreNonnullByDefault;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Function;
@@ -53,6 +55,15 @@ public abstract class OntBaseModelImpl implements OWLOntology, BaseModel {
     // binary format to provide serialization:
     public static final OntFormat DEFAULT_SERIALIZATION_FORMAT = OntFormat.RDF_THRIFT;
     private static final long serialVersionUID = 7605836729147058594L;
+    // the kind of base graph to restore while deserialization (since 2.0.1);
+    // the field is absent in older streams, which always contain a GraphMem:
+    private static final byte MEM_GRAPH = 0;
+    private static final byte COMPACT_GRAPH = 1;
+    private static final byte FROZEN_COMPACT_GRAPH = 2;
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("hashCode", int.class),
+            new ObjectStreamField("graph", byte.class)
+    };
 
     protected transient InternalModel base;
     protected transient ModelConfig config;
@@ -223,9 +234,7 @@ public abstract class OntBaseModelImpl implements OWLOntology, BaseModel {
 
     @Override
     public Stream<OWLEntity> signature() {
-        return Stream.of(classesInSignature(), objectPropertiesInSignature(), dataPropertiesInSignature(),
-                individualsInSignature(), datatypesInSignature(), annotationPropertiesInSignature())
-                .flatMap(Function.identity());
+        return base.listOWLEntities();
     }
 
     @Override
@@ -1053,9 +1062,14 @@ public abstract class OntBaseModelImpl implements OWLOntology, BaseModel {
      */
     @SuppressWarnings("JavadocReference")
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
-        in.defaultReadObject();
-        Graph base = new GraphMem();
+        ObjectInputStream.GetField fields = in.readFields();
+        this.hashCode = fields.get("hashCode", 0);
+        byte type = fields.get("graph", MEM_GRAPH);
+        Graph base = type == MEM_GRAPH ? new GraphMem() : new CompactGraph();
         RDFDataMgr.read(base, in, DEFAULT_SERIALIZATION_FORMAT.getLang());
+        if (type == FROZEN_COMPACT_GRAPH) {
+            ((CompactGraph) base).freeze();
+        }
         // set temporary model with default personality, it will be reset inside manager while its #readObject
         setBase(BaseModel.createInternalModel(base));
     }
@@ -1065,7 +1079,8 @@ public abstract class OntBaseModelImpl implements OWLOntology, BaseModel {
      * Note: only the base graph is serialized,
      * so if you serialize and then de-serialize standalone ontology it will loss all its references,
      * please use managers serialization, it will restore any links.
-     * Also please note: an exception is expected if the encapsulated graph is not {@link GraphMem}.
+     * Also please note: an exception is expected if the encapsulated graph is neither {@link GraphMem}
+     * nor {@link CompactGraph}.
      *
      * @param out {@link ObjectOutputStream}
      * @throws IOException     if I/O errors occur while writing to the underlying <code>OutputStream</code>
@@ -1073,9 +1088,14 @@ public abstract class OntBaseModelImpl implements OWLOntology, BaseModel {
      */
     private void writeObject(ObjectOutputStream out) throws IOException, OntApiException {
         Graph g = base.getBaseGraph();
-        if (!(g instanceof GraphMem))
+        if (!(g instanceof GraphMem) && !(g instanceof CompactGraph))
             throw new OntApiException(getOntologyID() + ":: Serialization is not supported for " + g.getClass());
-        out.defaultWriteObject();
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("hashCode", hashCode);
+        // the type of graph to restore:
+        fields.put("graph", g instanceof CompactGraph ?
+                ((CompactGraph) g).isFrozen() ? FROZEN_COMPACT_GRAPH : COMPACT_GRAPH : MEM_GRAPH);
+        out.writeFields();
         // serialize only base graph (it will be wrapped as UnionGraph):
         RDFDataMgr.write(out, g, DEFAULT_SERIALIZATION_FORMAT.getLang());
     }
@@ -19,6 +19,7 @@ import com.github.owlcs.ontapi.jena.impl.OntIDImpl;
 import com.github.owlcs.ontapi.jena.model.OntModel;
 import com.github.owlcs.ontapi.jena.utils.Graphs;
 import com.github.owlcs.ontapi.jena.utils.Models;
+import com.github.owlcs.ontapi.jena.utils.ParallelNTriplesReader;
 import com.github.owlcs.ontapi.transforms.GraphStats;
 import org.apache.commons.io.input.ReaderInputStream;
 import org.apache.jena.graph.*;
@@ -35,12 +36,16 @@ import org.semanticweb.owlapi.model.PrefixManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.function.Supplier;
 
@@ -71,6 +76,11 @@ public class OntGraphUtils {
     public static final String DEFAULT_REQUEST = "application/rdf+xml, application/xml; q=0.7, text/xml; q=0.6" +
             TEXT_PLAIN_REQUEST_TYPE + LAST_REQUEST_TYPE;
 
+    /**
+     * The number of leading bytes of a document that are inspected to detect its format.
+     */
+    public static final int DETECTION_BUFFER_SIZE = 8192;
+
     /**
      * Gets an OWL Ontology ID parsed from the given graph.
      * Treats graphs without {@code owl:Ontology} section inside as anonymous.
@@ -260,6 +270,12 @@ public class OntGraphUtils {
             LOGGER.debug("Read graph from <{}>.", iri);
         Supplier<OWLOntologyInputSourceException> orElse = () -> new OWLOntologyInputSourceException("Can't get " +
                 "input-stream/reader from " + iri);
+        if (conf.getParseParallelism() > 1) {
+            OntFormat res = readInParallel(graph, source, conf);
+            if (res != null) {
+                return res;
+            }
+        }
         if (source.getInputStream().isPresent()) {
             return read(graph, source, s -> s.getInputStream().orElseThrow(orElse));
         }
@@ -273,9 +289,92 @@ public class OntGraphUtils {
         return read(graph, source, s -> DocumentSources.getInputStream(iri, conf, header).orElseThrow(orElse));
     }
 
+    /**
+     * Reads a local file in a line-based format (N-Triples or N-Quads) using several threads.
+     * The format is taken from the source, or, if it is absent, detected by the content.
+     * Returns {@code null} if the source is not a local file, or its format is not line-based,
+     * or the parallel reading fails;
+     * in the latter case the graph is cleared, and the caller is expected to read the source in the ordinary way,
+     * which produces the proper error.
+     *
+     * @param graph  {@link Graph} the graph(empty) to put in
+     * @param source {@link OWLOntologyDocumentSource}
+     * @param conf   {@link OntLoaderConfiguration} config
+     * @return {@link OntFormat} or {@code null}
+     * @see ParallelNTriplesReader
+     * @since 2.0.1
+     */
+    protected static OntFormat readInParallel(Graph graph, OWLOntologyDocumentSource source, OntLoaderConfiguration conf) {
+        IRI iri = source.getDocumentIRI();
+        Path file = getLocalFile(source);
+        if (file == null) {
+            return null;
+        }
+        if (!source.getInputStream().isPresent() && !source.getReader().isPresent()
+                && conf.getSupportedSchemes().stream().noneMatch(s -> s.same(iri))) {
+            return null;
+        }
+        OntFormat format;
+        if (source.getFormat().isPresent()) {
+            format = OntFormat.get(source.getFormat().get());
+        } else {
+            try (InputStream is = new BufferedInputStream(Files.newInputStream(file), DETECTION_BUFFER_SIZE)) {
+                format = detectFormats(is).stream().findFirst().orElse(null);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        if (format != OntFormat.NTRIPLES && format != OntFormat.NQUADS) {
+            return null;
+        }
+        try {
+            ParallelNTriplesReader.read(graph, file, format.getLang(), conf.getParseParallelism());
+            return format;
+        } catch (IOException | RuntimeException e) {
+            if (LOGGER.isDebugEnabled())
+                LOGGER.debug("Can't read <{}> in parallel: '{}'", iri, e.getMessage());
+            if (!graph.isEmpty()) {
+                graph.clear();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Returns the local file which the source refers to, i.e. if its document IRI has the {@code file} scheme.
+     * A {@link FileDocumentSource} also provides an input stream, which is equivalent to the file;
+     * any other source that supplies its own input stream or reader is not a file source,
+     * whatever its document IRI is.
+     *
+     * @param source {@link OWLOntologyDocumentSource}
+     * @return {@link Path} of a regular file or {@code null}
+     * @since 2.0.1
+     */
+    public static Path getLocalFile(OWLOntologyDocumentSource source) {
+        if (!(source instanceof FileDocumentSource)
+                && (source.getInputStream().isPresent() || source.getReader().isPresent())) {
+            return null;
+        }
+        IRI iri = source.getDocumentIRI();
+        if (!"file".equalsIgnoreCase(iri.getScheme())) {
+            return null;
+        }
+        Path res;
+        try {
+            res = Paths.get(iri.toURI());
+        } catch (RuntimeException e) {
+            return null;
+        }
+        return Files.isRegularFile(res) ? res : null;
+    }
+
     /**
      * Performs reading to the graph from the source using {@link OntInputSupplier ont-supplier},
      * which produces a new input stream each call.
+     * If the source has no explicit format, the beginning of the document is inspected first
+     * (see {@link #detectFormats(InputStream)}), and only the detected candidates are tried;
+     * the trial parsing through all supported formats is performed only if the content is ambiguous.
+     * A graph partially filled by a failed attempt is cleared before the next one.
      *
      * @param graph    {@link Graph}
      * @param source   {@link OWLOntologyDocumentSource}
@@ -289,34 +388,344 @@ public class OntGraphUtils {
         IRI iri = source.getDocumentIRI();
         final OWLOntologyCreationException cause = new UnsupportedFormatException(String.format("Can't read %s %s.",
                 source.getClass().getSimpleName(), iri));
-        for (OntFormat format : getSupportedFormats(source)) {
-            if (format.isOWLOnly()) {
-                cause.addSuppressed(new UnsupportedFormatException("Not supported by jena.")
-                        .putFormat(format).putSource(iri));
-                continue;
-            }
-            Lang lang = format.getLang();
-            try (InputStream is = supplier.open(source)) {
-                if (LOGGER.isDebugEnabled())
-                    LOGGER.debug("try <{}>", lang);
-                // with @base:
-                RDFDataMgr.read(graph, is, iri.toString(), lang);
-                return format;
+        InputStream first = null;
+        Collection<OntFormat> formats;
+        if (source.getFormat().isPresent()) {
+            formats = getSupportedFormats(source);
+        } else {
+            List<OntFormat> detected;
+            try {
+                first = new BufferedInputStream(supplier.open(source), DETECTION_BUFFER_SIZE);
+                detected = detectFormats(first);
             } catch (OWLOntologyInputSourceException | IOException e) {
+                closeQuietly(first);
                 throw new OWLOntologyCreationException(source.getClass().getSimpleName() +
-                        ": can't open or close input stream from " + iri, e);
-            } catch (RuntimeException e) {
-                // could be org.apache.jena.shared.JenaException ||
-                // org.apache.jena.atlas.AtlasException ||
-                // org.apache.jena.atlas.json.JsonParseException || ...
-                if (LOGGER.isDebugEnabled())
-                    LOGGER.debug("<{}> failed: '{}'", lang, e.getMessage());
-                cause.addSuppressed(new UnsupportedFormatException(e).putSource(iri).putFormat(format));
+                        ": can't open or read input stream from " + iri, e);
+            }
+            if (LOGGER.isDebugEnabled())
+                LOGGER.debug("Detected formats for <{}>: {}", iri, detected);
+            formats = detected.isEmpty() ? getSupportedFormats(source) : withHint(detected, guessFormat(source));
+        }
+        try {
+            for (OntFormat format : formats) {
+                if (format.isOWLOnly()) {
+                    cause.addSuppressed(new UnsupportedFormatException("Not supported by jena.")
+                            .putFormat(format).putSource(iri));
+                    continue;
+                }
+                Lang lang = format.getLang();
+                InputStream in = first;
+                first = null;
+                try (InputStream is = in != null ? in : supplier.open(source)) {
+                    if (LOGGER.isDebugEnabled())
+                        LOGGER.debug("try <{}>", lang);
+                    // with @base:
+                    RDFDataMgr.read(graph, is, iri.toString(), lang);
+                    return format;
+                } catch (OWLOntologyInputSourceException | IOException e) {
+                    throw new OWLOntologyCreationException(source.getClass().getSimpleName() +
+                            ": can't open or close input stream from " + iri, e);
+                } catch (RuntimeException e) {
+                    // could be org.apache.jena.shared.JenaException ||
+                    // org.apache.jena.atlas.AtlasException ||
+                    // org.apache.jena.atlas.json.JsonParseException || ...
+                    if (LOGGER.isDebugEnabled())
+                        LOGGER.debug("<{}> failed: '{}'", lang, e.getMessage());
+                    cause.addSuppressed(new UnsupportedFormatException(e).putSource(iri).putFormat(format));
+                    if (!graph.isEmpty()) {
+                        graph.clear();
+                    }
+                }
             }
+        } finally {
+            closeQuietly(first);
         }
         throw cause;
     }
 
+    /**
+     * Moves the hint format (computed from the content type or the file extension) to the first place
+     * if it is one of the detected candidates.
+     *
+     * @param detected List of {@link OntFormat}s, not empty
+     * @param hint     {@link OntFormat} or {@code null}
+     * @return ordered Set of {@link OntFormat}s
+     */
+    private static Set<OntFormat> withHint(List<OntFormat> detected, OntFormat hint) {
+        Set<OntFormat> res = new LinkedHashSet<>();
+        if (hint != null && detected.contains(hint)) {
+            res.add(hint);
+        }
+        res.addAll(detected);
+        return res;
+    }
+
+    private static void closeQuietly(InputStream is) {
+        if (is == null) return;
+        try {
+            is.close();
+        } catch (IOException e) {
+            LOGGER.warn("Can't close input stream: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Peeks at the beginning of the stream and detects the possible document formats by the content.
+     * The stream must support {@link InputStream#mark(int) mark/reset};
+     * after the method returns it is positioned at its start again.
+     *
+     * @param is {@link InputStream}, not {@code null}
+     * @return List of candidate {@link OntFormat}s in order of preference,
+     * empty if the content is ambiguous or unknown
+     * @throws IOException              if an I/O error occurs
+     * @throws IllegalArgumentException if the stream does not support mark/reset
+     * @see #detectFormats(byte[], int)
+     */
+    public static List<OntFormat> detectFormats(InputStream is) throws IOException {
+        if (!is.markSupported()) {
+            throw new IllegalArgumentException("Mark/reset is not supported by " + is);
+        }
+        byte[] bytes = new byte[DETECTION_BUFFER_SIZE];
+        is.mark(DETECTION_BUFFER_SIZE);
+        int length = 0;
+        try {
+            int n;
+            while (length < bytes.length && (n = is.read(bytes, length, bytes.length - length)) != -1) {
+                length += n;
+            }
+        } finally {
+            is.reset();
+        }
+        return detectFormats(bytes, length);
+    }
+
+    /**
+     * Detects the possible document formats by the first bytes of the document.
+     * The method looks at the BOM, the XML prolog and root element, the JSON braces,
+     * the Turtle/SPARQL directives, the OWL Functional Syntax and Manchester Syntax keywords,
+     * the OBO header and the N-Triples-like lines.
+     * A single-element result means the format is known for sure,
+     * several elements mean that the first one is the most probable.
+     *
+     * @param bytes  the head of the document
+     * @param length the number of meaningful bytes in the array
+     * @return List of candidate {@link OntFormat}s, empty if the content is ambiguous or unknown
+     */
+    public static List<OntFormat> detectFormats(byte[] bytes, int length) {
+        Charset charset = StandardCharsets.UTF_8;
+        int offset = 0;
+        if (length >= 3 && (bytes[0] & 0xFF) == 0xEF && (bytes[1] & 0xFF) == 0xBB && (bytes[2] & 0xFF) == 0xBF) {
+            offset = 3;
+        } else if (length >= 2 && (bytes[0] & 0xFF) == 0xFE && (bytes[1] & 0xFF) == 0xFF) {
+            charset = StandardCharsets.UTF_16BE;
+            offset = 2;
+        } else if (length >= 2 && (bytes[0] & 0xFF) == 0xFF && (bytes[1] & 0xFF) == 0xFE) {
+            charset = StandardCharsets.UTF_16LE;
+            offset = 2;
+        }
+        String text = new String(bytes, offset, Math.max(0, length - offset), charset);
+        if (text.indexOf('\0') >= 0) {
+            // binary (e.g. RDF-THRIFT) or unknown encoding
+            return Collections.emptyList();
+        }
+        return detectFormats(text);
+    }
+
+    private static List<OntFormat> detectFormats(String text) {
+        int i = skipSpacesAndComments(text, 0);
+        if (i >= text.length()) {
+            return Collections.emptyList();
+        }
+        char c = text.charAt(i);
+        if (c == '<') {
+            if (text.startsWith("<?", i) || text.startsWith("<!", i) || !isIRI(text, i)) {
+                return detectXMLFormats(text, i);
+            }
+            return detectStatementFormats(text, i);
+        }
+        if (c == '_' && text.startsWith("_:", i)) {
+            return detectStatementFormats(text, i);
+        }
+        if (c == '{') {
+            int j = skipSpaces(text, i + 1);
+            if (j < text.length() && text.charAt(j) != '"' && text.charAt(j) != '}') {
+                return Collections.singletonList(OntFormat.TRIG);
+            }
+            return hasJsonLDKeywords(text) ?
+                    Collections.singletonList(OntFormat.JSON_LD) : Arrays.asList(OntFormat.RDF_JSON, OntFormat.JSON_LD);
+        }
+        if (c == '[') {
+            int j = skipSpaces(text, i + 1);
+            if (j >= text.length()) {
+                return Collections.emptyList();
+            }
+            char n = text.charAt(j);
+            if (n == '{' || n == '"') {
+                return Collections.singletonList(OntFormat.JSON_LD);
+            }
+            if (n == ']') {
+                return Collections.emptyList();
+            }
+            return Arrays.asList(OntFormat.TURTLE, OntFormat.TRIG);
+        }
+        if (c == '@') {
+            if (text.startsWith("@prefix", i) || text.startsWith("@base", i)) {
+                return Arrays.asList(OntFormat.TURTLE, OntFormat.TRIG);
+            }
+            return Collections.emptyList();
+        }
+        int j = i;
+        while (j < text.length() && (Character.isLetter(text.charAt(j)) || text.charAt(j) == '-')) {
+            j++;
+        }
+        if (j == i || j >= text.length()) {
+            return Collections.emptyList();
+        }
+        String keyword = text.substring(i, j);
+        char next = text.charAt(j);
+        if ("Prefix".equals(keyword) || "Ontology".equals(keyword)) {
+            if (next == ':') {
+                return Collections.singletonList(OntFormat.MANCHESTER_SYNTAX);
+            }
+            int k = skipSpaces(text, j);
+            if (k < text.length() && text.charAt(k) == '(') {
+                return Collections.singletonList(OntFormat.FUNCTIONAL_SYNTAX);
+            }
+        }
+        if ("format-version".equals(keyword) && next == ':') {
+            return Collections.singletonList(OntFormat.OBO);
+        }
+        if (Character.isWhitespace(next)) {
+            if ("PREFIX".equalsIgnoreCase(keyword) || "BASE".equalsIgnoreCase(keyword)) {
+                return Arrays.asList(OntFormat.TURTLE, OntFormat.TRIG);
+            }
+            if ("GRAPH".equalsIgnoreCase(keyword)) {
+                return Collections.singletonList(OntFormat.TRIG);
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Detects the format of the XML document by its root element.
+     *
+     * @param text String
+     * @param i    int, the position of the first {@code <}
+     * @return List of {@link OntFormat}s
+     */
+    private static List<OntFormat> detectXMLFormats(String text, int i) {
+        while (i < text.length()) {
+            i = skipSpaces(text, i);
+            int end;
+            if (text.startsWith("<?", i)) {
+                end = text.indexOf("?>", i);
+                if (end < 0) break;
+                i = end + 2;
+            } else if (text.startsWith("<!--", i)) {
+                end = text.indexOf("-->", i);
+                if (end < 0) break;
+                i = end + 3;
+            } else if (text.startsWith("<!", i)) {
+                int bracket = text.indexOf('[', i);
+                end = text.indexOf('>', i);
+                if (bracket >= 0 && bracket < end) {
+                    end = text.indexOf("]>", bracket);
+                }
+                if (end < 0) break;
+                i = text.indexOf('>', end) + 1;
+            } else if (text.startsWith("<", i)) {
+                int start = i + 1;
+                end = start;
+                while (end < text.length() && !Character.isWhitespace(text.charAt(end))
+                        && text.charAt(end) != '>' && text.charAt(end) != '/') {
+                    end++;
+                }
+                String name = text.substring(start, end);
+                int colon = name.indexOf(':');
+                String local = name.substring(colon + 1);
+                if ("RDF".equals(local)) {
+                    return Collections.singletonList(OntFormat.RDF_XML);
+                }
+                if ("TriX".equals(local)) {
+                    return Collections.singletonList(OntFormat.TRIX);
+                }
+                if (colon < 0) {
+                    // OWL/XML (Ontology), RDFa or DL/HTML (html) or any other unknown xml
+                    return "Ontology".equals(local) ?
+                            Collections.singletonList(OntFormat.OWL_XML) : Collections.emptyList();
+                }
+                // RDF/XML with a typed node as the document element
+                return Collections.singletonList(OntFormat.RDF_XML);
+            } else {
+                break;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Detects formats for the document that starts with an RDF term ({@code <iri>} or {@code _:b}).
+     * If all complete lines within the buffer look like N-Triples statements, the line-based formats go first.
+     *
+     * @param text String
+     * @param i    int, the start position
+     * @return List of {@link OntFormat}s
+     */
+    private static List<OntFormat> detectStatementFormats(String text, int i) {
+        int last = text.lastIndexOf('\n');
+        boolean lines = last > i;
+        for (String line : lines ? text.substring(i, last).split("\n") : new String[0]) {
+            String s = line.trim();
+            if (s.isEmpty() || s.startsWith("#")) continue;
+            if (!(s.startsWith("<") || s.startsWith("_:")) || !s.endsWith(".")) {
+                lines = false;
+                break;
+            }
+        }
+        if (lines) {
+            return Arrays.asList(OntFormat.NTRIPLES, OntFormat.NQUADS, OntFormat.TURTLE, OntFormat.TRIG);
+        }
+        return Arrays.asList(OntFormat.TURTLE, OntFormat.TRIG, OntFormat.NTRIPLES, OntFormat.NQUADS);
+    }
+
+    private static boolean hasJsonLDKeywords(String text) {
+        return text.contains("\"@context\"") || text.contains("\"@id\"")
+                || text.contains("\"@graph\"") || text.contains("\"@type\"");
+    }
+
+    /**
+     * Answers {@code true} if the text at the given position looks like an IRI reference ({@code <...>}),
+     * i.e. there is no whitespace before the closing bracket, which distinguishes it from a xml tag.
+     *
+     * @param text String
+     * @param i    int, the position of {@code <}
+     * @return boolean
+     */
+    private static boolean isIRI(String text, int i) {
+        for (int j = i + 1; j < text.length(); j++) {
+            char c = text.charAt(j);
+            if (c == '>') return j > i + 1;
+            if (Character.isWhitespace(c) || c == '<' || c == '"') return false;
+        }
+        return false;
+    }
+
+    private static int skipSpaces(String text, int i) {
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipSpacesAndComments(String text, int i) {
+        while ((i = skipSpaces(text, i)) < text.length() && text.charAt(i) == '#') {
+            int end = text.indexOf('\n', i);
+            if (end < 0) return text.length();
+            i = end + 1;
+        }
+        return i;
+    }
+
     /**
      * Returns supported formats related to the source.
      * The result (ordered set) can only contain a single format in case the source has {@link OWLDocumentFormat},
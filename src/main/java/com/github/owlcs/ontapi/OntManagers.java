@@ -15,6 +15,7 @@
 package com.github.owlcs.ontapi;
 
 import com.github.owlcs.ontapi.jena.OntModelFactory;
+import com.github.owlcs.ontapi.jena.StampedReadWriteLock;
 import com.google.common.collect.LinkedListMultimap;
 import org.semanticweb.owlapi.io.OWLParserFactory;
 import org.semanticweb.owlapi.model.*;
@@ -110,6 +111,22 @@ public class OntManagers implements OWLOntologyManagerFactory {
         return DEFAULT_PROFILE.create(true);
     }
 
+    /**
+     * Creates a ready to use ONT-API ontology manager with a default configuration
+     * and {@link StampedReadWriteLock} locking to work in a concurrent environment.
+     * Like in the case of {@link #createConcurrentONT()}, the returned manager and its ontologies are thread-safe,
+     * but the short read operations (such as {@code OWLOntology#containsAxiom(OWLAxiom)},
+     * {@code OWLOntology#getAxiomCount()} or {@code Graph#contains(Triple)}) are performed optimistically,
+     * without acquiring the read lock, if it is possible.
+     * This mode should be preferred when there are many reader threads and rare modifications.
+     *
+     * @return {@link OntologyManager} a fresh ONT-API manager instance with optimistic concurrency
+     * @since 2.0.1
+     */
+    public static OntologyManager createOptimisticConcurrentONT() {
+        return DEFAULT_PROFILE.create(new StampedReadWriteLock());
+    }
+
     /**
      * Creates an original OWL-API (i.e. pure native impl) ontology manager instance with a default configuration.
      * Notes:
@@ -201,7 +218,18 @@ public class OntManagers implements OWLOntologyManagerFactory {
 
         @Override
         public OntologyManager create(boolean concurrent) {
-            ReadWriteLock lock = concurrent ? new ReentrantReadWriteLock() : NoOpReadWriteLock.NO_OP_RW_LOCK;
+            return create(concurrent ? new ReentrantReadWriteLock() : NoOpReadWriteLock.NO_OP_RW_LOCK);
+        }
+
+        /**
+         * Creates a new {@code OntologyManager} instance with the given lock
+         * and with all available OWL-API storers and parsers.
+         *
+         * @param lock {@link ReadWriteLock} r/w lock, can be {@code null}
+         * @return {@link OntologyManager}
+         * @since 2.0.1
+         */
+        public OntologyManager create(ReadWriteLock lock) {
             Set<OWLStorerFactory> storers = OWLLangRegistry.storerFactories().collect(Collectors.toSet());
             Set<OWLParserFactory> parsers = OWLLangRegistry.parserFactories().collect(Collectors.toSet());
             OntologyManager res = createManager(dataFactory(), lock);
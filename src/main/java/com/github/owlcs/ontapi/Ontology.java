@@ -36,6 +36,14 @@ import org.semanticweb.owlapi.model.OWLOntology;
  * this is not always correct: an {@link Ontology} impls use caches,
  * and switching back and forth could flush these caches, which may degrade performance.
  * <p>
+ * The streams returned by the methods {@link #axioms()}, {@link #axioms(org.semanticweb.owlapi.model.AxiomType)},
+ * {@link #signature()} and similar are splittable, if the caches are enabled:
+ * they may be turned into parallel (using {@link java.util.stream.Stream#parallel()}) by the client.
+ * Such a parallel processing is safe while the ontology is not modified,
+ * or if the ontology is concurrent (e.g. it is created by the
+ * {@link OntManagers#createConcurrentONT() concurrent manager}),
+ * since in the latter case the streams are bound to the immutable snapshots of the caches.
+ * <p>
  * Created by szuev on 24.10.2016.
  */
 public interface Ontology extends OWLOntology {
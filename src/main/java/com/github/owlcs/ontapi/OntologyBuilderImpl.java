@@ -20,15 +20,42 @@ import com.github.owlcs.ontapi.jena.UnionGraph;
 import org.apache.jena.graph.Graph;
 
 import javax.annotation.ParametersAreNonnullByDefault;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Objects;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Supplier;
 
 /**
  * An implementation of {@link OntologyFactory.Builder} - a technical factory to create standalone ontology instances.
  * This should be the only way to create {@link Ontology} instances.
+ * The kind of the base graph can be specified through the constructor,
+ * e.g. {@code new OntologyBuilderImpl(CompactGraph::new)} for large ontologies.
+ *
+ * @see com.github.owlcs.ontapi.jena.CompactGraph
  */
 @SuppressWarnings("WeakerAccess")
 @ParametersAreNonnullByDefault
 public class OntologyBuilderImpl implements OntologyFactory.Builder {
+    // the value computed for the version without graph factory, to read older streams:
+    private static final long serialVersionUID = -8004952596637954979L;
+    // not final since it is absent in the older streams:
+    protected GraphFactory graphFactory;
+
+    public OntologyBuilderImpl() {
+        this(DefaultGraphFactory.INSTANCE);
+    }
+
+    /**
+     * Creates a builder with the given graph factory.
+     *
+     * @param graphFactory {@link GraphFactory} to create a fresh empty base {@link Graph}, not {@code null}
+     * @since 2.0.1
+     */
+    public OntologyBuilderImpl(GraphFactory graphFactory) {
+        this.graphFactory = Objects.requireNonNull(graphFactory);
+    }
 
     @Override
     public OWLAdapter getAdapter() {
@@ -46,7 +73,13 @@ public class OntologyBuilderImpl implements OntologyFactory.Builder {
     @Override
     public Ontology createOntology(Graph graph, OntologyManager manager, OntLoaderConfiguration config) {
         OntologyManagerImpl m = getAdapter().asIMPL(manager);
-        return withLock(createOntologyImpl(graph, m, config), m.getLock());
+        OntologyModelImpl res = createOntologyImpl(graph, m, config);
+        if (res.getBase().isFrozen()) {
+            // a frozen ontology is read-only: all its caches are built at once, and no locking is needed
+            res.getBase().forceLoad();
+            return res;
+        }
+        return withLock(res, m.getLock());
     }
 
     /**
@@ -89,13 +122,21 @@ public class OntologyBuilderImpl implements OntologyFactory.Builder {
     }
 
     /**
-     * Creates an {@link org.apache.jena.mem.GraphMem in-memory graph}.
+     * Creates a fresh base graph,
+     * by default it is an {@link org.apache.jena.mem.GraphMem in-memory graph}.
      *
      * @return Graph
      */
     @Override
     public Graph createGraph() {
-        return OntModelFactory.createDefaultGraph();
+        return graphFactory.get();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (graphFactory == null) {
+            graphFactory = DefaultGraphFactory.INSTANCE;
+        }
     }
 
     /**
@@ -111,4 +152,35 @@ public class OntologyBuilderImpl implements OntologyFactory.Builder {
     public UnionGraph wrap(Graph g, OntLoaderConfiguration config) {
         return g instanceof UnionGraph ? (UnionGraph) g : createUnionGraph(g, config);
     }
+
+    /**
+     * A factory to produce fresh base graphs.
+     * It is {@link Serializable}, since the builder is a part of the manager's state.
+     *
+     * @since 2.0.1
+     */
+    @FunctionalInterface
+    public interface GraphFactory extends Supplier<Graph>, Serializable {
+    }
+
+    /**
+     * The default {@link GraphFactory}, that produces {@link OntModelFactory#createDefaultGraph() default graphs}.
+     * It is a named class rather than a method reference,
+     * since the serialized form of a lambda depends on the compiler and the enclosing class.
+     *
+     * @since 2.0.1
+     */
+    protected static class DefaultGraphFactory implements GraphFactory {
+        public static final DefaultGraphFactory INSTANCE = new DefaultGraphFactory();
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Graph get() {
+            return OntModelFactory.createDefaultGraph();
+        }
+
+        private Object readResolve() {
+            return INSTANCE;
+        }
+    }
 }
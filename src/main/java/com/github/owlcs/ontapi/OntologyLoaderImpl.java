@@ -16,6 +16,7 @@ package com.github.owlcs.ontapi;
 
 import com.github.owlcs.ontapi.config.OntConfig;
 import com.github.owlcs.ontapi.config.OntLoaderConfiguration;
+import com.github.owlcs.ontapi.jena.CompactGraph;
 import com.github.owlcs.ontapi.jena.UnionGraph;
 import com.github.owlcs.ontapi.jena.utils.Graphs;
 import com.github.owlcs.ontapi.jena.utils.OntModels;
@@ -36,6 +37,12 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnull;
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -61,6 +68,8 @@ import java.util.stream.Collectors;
  */
 @SuppressWarnings("WeakerAccess")
 public class OntologyLoaderImpl implements OntologyFactory.Loader {
+    private static final long serialVersionUID = 4874831790316774273L;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(OntologyLoaderImpl.class);
 
     // to use OWL-API parsers:
@@ -69,6 +78,7 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
     protected Map<String, GraphInfo> graphs = new LinkedHashMap<>();
     protected Map<IRI, Optional<IRI>> sourceMap = new HashMap<>();
     protected Map<IRI, GraphInfo> loaded = new HashMap<>();
+    protected Map<String, GraphInfo> prefetched = new HashMap<>();
 
     /**
      * Creates a default {@code Loader} instance.
@@ -142,6 +152,7 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         graphs.clear();
         sourceMap.clear();
         loaded.clear();
+        prefetched.clear();
     }
 
     /**
@@ -168,7 +179,10 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Set up ontology model {}.", info.name());
             }
-            Graph graph = makeUnionGraph(info, builder, manager, config);
+            UnionGraph graph = makeUnionGraph(info, builder, manager, config);
+            if (config.isLoadFrozen()) {
+                freeze(graph);
+            }
             // create ontology instance
             Ontology res = builder.createOntology(graph, manager, config);
             if (manager.contains(res)) {
@@ -183,6 +197,7 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
             }
             // put ontology inside the manager:
             getAdapter().asHandler(manager).ontologyCreated(res);
+            useCacheSnapshot(info, graph, res, config);
             OntFormat format = OntApiException.notNull(info.getFormat(), "Null format while loading " + info.name());
             OWLDocumentFormat owl = format.newOWLFormat();
             if (owl.isPrefixOWLDocumentFormat()) {
@@ -200,6 +215,49 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         }
     }
 
+    /**
+     * Binds the ontology with the content cache snapshot,
+     * if its graph is stored (or is going to be stored) in the transformed graphs cache.
+     * An existing snapshot allows to restore the content buckets without reading the whole graph,
+     * otherwise the snapshot is written when the whole content is loaded.
+     *
+     * @param info   {@link GraphInfo} container with info about the graph
+     * @param graph  {@link UnionGraph} of the ontology
+     * @param ont    {@link Ontology} the ontology
+     * @param config {@link OntLoaderConfiguration}
+     * @see TransformedGraphCache#snapshot(String)
+     * @see com.github.owlcs.ontapi.internal.InternalModel#useCacheSnapshot(java.nio.file.Path, String)
+     * @since 2.0.1
+     */
+    protected void useCacheSnapshot(GraphInfo info, UnionGraph graph, Ontology ont, OntLoaderConfiguration config) {
+        String key = info.getCacheKey();
+        if (key == null) {
+            return;
+        }
+        TransformedGraphCache cache = TransformedGraphCache.create(config);
+        if (cache == null || !cache.canStore(graph)) {
+            return;
+        }
+        getAdapter().asBaseModel(ont).getBase().useCacheSnapshot(cache.snapshot(key), key);
+    }
+
+    /**
+     * Freezes the base graph of the given {@link UnionGraph}, that must be already transformed.
+     * Only a {@link CompactGraph} can be frozen, any other graph (e.g. coming from {@link OntGraphDocumentSource})
+     * is left as it is.
+     *
+     * @param graph {@link UnionGraph}
+     * @see com.github.owlcs.ontapi.config.LoadSettings#isLoadFrozen()
+     */
+    protected void freeze(UnionGraph graph) {
+        Graph base = graph.getBaseGraph();
+        if (base instanceof CompactGraph) {
+            ((CompactGraph) base).freeze();
+            return;
+        }
+        LOGGER.warn("Can't freeze the graph {}: it is not a CompactGraph.", Graphs.getName(base));
+    }
+
     /**
      * Assembles the {@link UnionGraph}, performs transformations on it and populates {@link #graphs graphs collection}.
      *
@@ -216,6 +274,9 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
                                         OntologyManager manager,
                                         OntLoaderConfiguration config) throws OntologyFactoryImpl.OWLTransformException {
         boolean isPrimary = graphs.size() == 1;
+        if (isPrimary) {
+            prefetchImports(info, builder, manager, config);
+        }
         // #makeUnionGraph will change #graphs collection:
         UnionGraph graph = makeUnionGraph(info, new HashSet<>(), builder, manager, config);
 
@@ -226,7 +287,7 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         // process transformations
         GraphStats stats;
         Set<Graph> transformed = graphs.values().stream()
-                .filter(g -> !g.isFresh() || g.noTransforms())
+                .filter(g -> !g.isFresh() || g.noTransforms() || g.isCached())
                 .map(GraphInfo::getGraph)
                 .collect(Collectors.toSet());
         if (LOGGER.isDebugEnabled())
@@ -252,9 +313,27 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
                     }
                     g.setStats(s);
                 });
+        storeTransformed(config);
         return graph;
     }
 
+    /**
+     * Puts the freshly transformed graphs, that have been read from local files and have no imports, into the cache.
+     *
+     * @param config {@link OntLoaderConfiguration}
+     * @see TransformedGraphCache
+     * @since 2.0.1
+     */
+    protected void storeTransformed(OntLoaderConfiguration config) {
+        TransformedGraphCache cache = TransformedGraphCache.create(config);
+        if (cache == null) {
+            return;
+        }
+        graphs.values().stream()
+                .filter(g -> g.isFresh() && !g.isCached() && g.getCacheKey() != null && cache.canStore(g.getGraph()))
+                .forEach(g -> cache.write(g.getCacheKey(), Graphs.getBase(g.getGraph()), g.getFormat()));
+    }
+
     /**
      * Assembles the {@link UnionGraph} from the inner collection ({@link #graphs}).
      * Note: this collection can be modified by this method.
@@ -331,6 +410,8 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
             // graphs#computeIfAbsent:
             GraphInfo info = graphs.get(uri);
             try {
+                if (info == null)
+                    info = prefetched.remove(uri);
                 if (info == null)
                     info = fetchGraph(uri, builder, manager, config);
                 graphs.put(uri, info);
@@ -362,6 +443,178 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         return res;
     }
 
+    /**
+     * Fetches and parses the documents of the imports closure of the given (root) graph concurrently,
+     * if it is allowed by the {@link OntLoaderConfiguration#getImportsLoadParallelism() config}.
+     * The documents are taken in the order of completion:
+     * as soon as any document is read, its own imports are submitted to the executor,
+     * so a slow document does not hold up the discovery of the rest of the closure.
+     * Each document is read only once, even if it is reached through several import URIs.
+     * The results are put into the {@link #prefetched} collection,
+     * where they are taken from by the {@link #processImports(GraphInfo, Collection, OntologyCreator, OntologyManager, OntLoaderConfiguration)} method,
+     * so the {@code UnionGraph} hierarchy is assembled in the same order as in the sequential mode.
+     * Only the reading itself is performed in the worker threads,
+     * all the interactions with the manager (e.g. the IRI mapping) are performed in the current thread.
+     * If a document cannot be read by Jena, it is skipped here,
+     * and then it is loaded (or reported) by the sequential mechanism in the usual way.
+     *
+     * @param root    {@link GraphInfo} the root graph
+     * @param builder {@link OntologyCreator} to construct a fresh {@link Graph} instance
+     * @param manager {@link OntologyManager} the manager
+     * @param config  {@link OntLoaderConfiguration} the config
+     * @since 2.0.1
+     */
+    protected void prefetchImports(GraphInfo root,
+                                   OntologyCreator builder,
+                                   OntologyManager manager,
+                                   OntLoaderConfiguration config) {
+        int parallelism = config.getImportsLoadParallelism();
+        if (parallelism <= 1 || !config.isProcessImports()) {
+            return;
+        }
+        Set<String> seen = new HashSet<>(graphs.keySet());
+        // document IRI -> all import URIs that are resolved to that document:
+        Map<IRI, List<String>> documents = new HashMap<>();
+        Map<IRI, GraphInfo> done = new HashMap<>();
+        Deque<GraphInfo> ready = new ArrayDeque<>();
+        ready.add(root);
+        ExecutorService executor = null;
+        CompletionService<Map.Entry<IRI, GraphInfo>> tasks = null;
+        int running = 0;
+        try {
+            while (true) {
+                GraphInfo node;
+                while ((node = ready.poll()) != null) {
+                    for (String uri : node.getImports().stream().sorted().collect(Collectors.toList())) {
+                        if (!seen.add(uri) || config.isIgnoredImport(IRI.create(uri))) {
+                            continue;
+                        }
+                        OWLOntologyDocumentSource source = prepareSource(uri, manager);
+                        if (source == null) {
+                            continue;
+                        }
+                        IRI doc = source.getDocumentIRI();
+                        List<String> uris = documents.get(doc);
+                        if (uris != null) {
+                            // the document is already submitted:
+                            uris.add(uri);
+                            GraphInfo info = done.get(doc);
+                            if (info != null) {
+                                prefetched.put(uri, info);
+                            }
+                            continue;
+                        }
+                        documents.put(doc, new ArrayList<>(Collections.singletonList(uri)));
+                        OWLOntologyDocumentSource src = documentIRI(manager, doc)
+                                .map(IRIDocumentSource::new)
+                                .map(OWLOntologyDocumentSource.class::cast)
+                                .orElse(source);
+                        if (executor == null) {
+                            executor = createImportsExecutor(parallelism);
+                            tasks = new ExecutorCompletionService<>(executor);
+                        }
+                        tasks.submit(() -> new AbstractMap.SimpleEntry<>(doc, prefetchGraph(src, doc, builder, config)));
+                        running++;
+                    }
+                }
+                if (running == 0) {
+                    return;
+                }
+                Map.Entry<IRI, GraphInfo> next = takeCompleted(tasks);
+                running--;
+                GraphInfo info = next.getValue();
+                if (info == null) {
+                    continue;
+                }
+                done.put(next.getKey(), info);
+                documents.get(next.getKey()).forEach(uri -> prefetched.put(uri, info));
+                ready.add(info);
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Reads the document in a worker thread.
+     *
+     * @param source  {@link OWLOntologyDocumentSource the document source}
+     * @param doc     {@link IRI} the document IRI
+     * @param builder {@link OntologyCreator} to construct a fresh {@link Graph} instance
+     * @param config  {@link OntLoaderConfiguration} the config
+     * @return {@link GraphInfo} or {@code null} if the document cannot be read by Jena
+     */
+    private GraphInfo prefetchGraph(OWLOntologyDocumentSource source,
+                                    IRI doc,
+                                    OntologyCreator builder,
+                                    OntLoaderConfiguration config) {
+        try {
+            return readGraph(source, doc, builder, config);
+        } catch (Exception e) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Can't prefetch <{}>: '{}'. Try the sequential way.", doc, e.getMessage());
+            }
+            return null;
+        }
+    }
+
+    private static Map.Entry<IRI, GraphInfo> takeCompleted(CompletionService<Map.Entry<IRI, GraphInfo>> tasks) {
+        try {
+            return tasks.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OntApiException("Interrupted while loading imports", e);
+        } catch (ExecutionException e) {
+            // unreachable: the task does not throw
+            throw new OntApiException("Can't prefetch imports", e.getCause());
+        }
+    }
+
+    /**
+     * Creates an executor to read the imported documents.
+     *
+     * @param parallelism int, the maximum number of threads
+     * @return {@link ExecutorService}
+     * @since 2.0.1
+     */
+    protected ExecutorService createImportsExecutor(int parallelism) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, r -> {
+            Thread res = new Thread(r, "ont-api-imports-" + count.incrementAndGet());
+            res.setDaemon(true);
+            return res;
+        });
+    }
+
+    /**
+     * Prepares the document source for the specified ontology uri in the same way as
+     * the {@link #fetchGraph(String, OntologyCreator, OntologyManager, OntLoaderConfiguration)} method does.
+     * Returns {@code null} if there is nothing to read:
+     * if the ontology is already present in the manager,
+     * or if the source is a graph or has already been loaded.
+     *
+     * @param uri     String, the ontology uri
+     * @param manager {@link OntologyManager}
+     * @return {@link OWLOntologyDocumentSource} or {@code null}
+     */
+    private OWLOntologyDocumentSource prepareSource(String uri, OntologyManager manager) {
+        IRI ontologyIRI = IRI.create(uri);
+        if (findModel(manager, ontologyIRI) != null) {
+            return null;
+        }
+        IRI documentIRI = documentIRI(manager, ontologyIRI).orElse(ontologyIRI);
+        if (findModel(manager, documentIRI) != null) {
+            return null;
+        }
+        OWLOntologyDocumentSource res = findDocumentSource(manager, ontologyIRI, documentIRI);
+        if (res instanceof OntGraphDocumentSource || loaded.containsKey(res.getDocumentIRI())) {
+            return null;
+        }
+        return res;
+    }
+
     /**
      * Returns the {@link Graph} wrapped by {@link GraphInfo} which corresponds the specified ontology uri.
      * If there the model ({@link Ontology}) with the specified uri already exists inside manager then
@@ -394,13 +647,25 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         if (res != null) {
             return toGraphInfo(res, null);
         }
-        // Document Source Mappers:
-        OWLOntologyDocumentSource source = manager.getDocumentSourceMappers().stream()
+        return loadGraph(findDocumentSource(manager, ontologyIRI, documentIRI), builder, manager, config);
+    }
+
+    /**
+     * Finds the document source using the manager's document source mappers.
+     *
+     * @param manager     {@link OntologyManager}
+     * @param ontologyIRI {@link IRI} of the ontology
+     * @param documentIRI {@link IRI} of the document, to use if there is no mapping
+     * @return {@link OWLOntologyDocumentSource}
+     */
+    private static OWLOntologyDocumentSource findDocumentSource(OntologyManager manager,
+                                                                IRI ontologyIRI,
+                                                                IRI documentIRI) {
+        return manager.getDocumentSourceMappers().stream()
                 .map(f -> f.map(ontologyIRI))
                 .filter(Objects::nonNull)
                 .findFirst()
                 .orElse(new IRIDocumentSource(documentIRI));
-        return loadGraph(source, builder, manager, config);
     }
 
     /**
@@ -524,9 +789,7 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
                 .orElse(source);
         try {
             // jena:
-            Graph graph = builder.createGraph();
-            OntFormat format = OntGraphUtils.readGraph(graph, src, config);
-            GraphInfo res = createGraphInfo(graph, format, doc, true);
+            GraphInfo res = readGraph(src, doc, builder, config);
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Graph <{}> is loaded by jena. Source: {}[{}]. Format: {}",
                         res.name(), source.getClass().getSimpleName(), res.getSource(), res.getFormat());
@@ -574,6 +837,44 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         }
     }
 
+    /**
+     * Reads the {@link Graph Jena Graph} from the given document source using Apache Jena only.
+     * The method does not touch the manager and the state of this loader,
+     * so it can be safely called from different threads.
+     *
+     * @param source  {@link OWLOntologyDocumentSource the document source}
+     * @param doc     {@link IRI} the document IRI to store in the returned container
+     * @param builder {@link OntologyCreator} to construct a fresh {@link Graph} instance
+     * @param config  {@link OntLoaderConfiguration the load configuration}
+     * @return {@link GraphInfo graph-info} a wrapper around jena {@link Graph}
+     * @throws OWLOntologyCreationException if loading is not possible
+     * @since 2.0.1
+     */
+    protected GraphInfo readGraph(OWLOntologyDocumentSource source,
+                                  IRI doc,
+                                  OntologyCreator builder,
+                                  OntLoaderConfiguration config) throws OWLOntologyCreationException {
+        Graph graph = config.isLoadFrozen() ? new CompactGraph() : builder.createGraph();
+        TransformedGraphCache cache = TransformedGraphCache.create(config);
+        String key = cache == null ? null : cache.key(source);
+        if (key != null) {
+            OntFormat format = cache.read(key, graph);
+            if (format != null) {
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("The transformed graph for <{}> is found in the cache.", doc);
+                }
+                GraphInfo res = createGraphInfo(graph, format, doc, true);
+                res.setCached();
+                res.setCacheKey(key);
+                return res;
+            }
+        }
+        OntFormat format = OntGraphUtils.readGraph(graph, source, config);
+        GraphInfo res = createGraphInfo(graph, format, doc, true);
+        res.setCacheKey(key);
+        return res;
+    }
+
     /**
      * Optimizes the given builder for the given loader.
      *
@@ -694,7 +995,8 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         // source may be null
         private final IRI source;
 
-        private boolean fresh, transforms;
+        private boolean fresh, transforms, cached;
+        private String cacheKey;
         private Node ontology;
         private Set<String> imports;
         private GraphStats stats;
@@ -743,6 +1045,28 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
             this.fresh = false;
         }
 
+        /**
+         * Answers {@code true} if the graph is taken from the {@link TransformedGraphCache}
+         * and therefore is already transformed.
+         *
+         * @return boolean
+         */
+        protected boolean isCached() {
+            return cached;
+        }
+
+        protected void setCached() {
+            this.cached = true;
+        }
+
+        protected String getCacheKey() {
+            return cacheKey;
+        }
+
+        protected void setCacheKey(String key) {
+            this.cacheKey = key;
+        }
+
         protected OntFormat getFormat() {
             return format;
         }
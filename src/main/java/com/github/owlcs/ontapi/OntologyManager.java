@@ -17,6 +17,7 @@ package com.github.owlcs.ontapi;
 import com.github.owlcs.ontapi.config.OntConfig;
 import com.github.owlcs.ontapi.config.OntLoaderConfiguration;
 import com.github.owlcs.ontapi.config.OntWriterConfiguration;
+import com.github.owlcs.ontapi.internal.CacheStats;
 import com.github.owlcs.ontapi.jena.model.OntModel;
 import org.apache.jena.graph.Graph;
 import org.semanticweb.owlapi.io.*;
@@ -346,6 +347,16 @@ public interface OntologyManager extends OWLOntologyManager {
     @Override
     Stream<OWLOntology> ontologies();
 
+    /**
+     * Answers the statistics of the internal caches (hits, misses, load time, evictions, size)
+     * of all ontologies in the manager, summed up by cache names.
+     * The returned object is a snapshot, it is not updated while working with the ontologies.
+     *
+     * @return {@link CacheStats}, not {@code null}
+     * @since 2.0.1
+     */
+    CacheStats getCacheStats();
+
     /**
      * Creates a fresh ontology with the specified {@code id}.
      * <p>
@@ -17,6 +17,7 @@ package com.github.owlcs.ontapi;
 import com.github.owlcs.ontapi.config.OntConfig;
 import com.github.owlcs.ontapi.config.OntLoaderConfiguration;
 import com.github.owlcs.ontapi.config.OntWriterConfiguration;
+import com.github.owlcs.ontapi.internal.CacheStats;
 import com.github.owlcs.ontapi.internal.InternalCache;
 import com.github.owlcs.ontapi.internal.InternalConfig;
 import com.github.owlcs.ontapi.internal.InternalModel;
@@ -83,6 +84,11 @@ public class OntologyManagerImpl implements OntologyManager,
     protected OntWriterConfiguration writerConfig;
     // Loading Cache for IRIs, that is shared between ontologies that belong to this manager.
     protected transient InternalCache.Loading<String, IRI> iris;
+    // Weak pools for IRIs and entity URIs, that are shared between ontologies (since 2.0.1);
+    // IRIs are held by weak values, so that an entry cannot be collected while the IRI is in use,
+    // and a lookup by a string does not create a probe IRI:
+    protected transient InternalCache<String, IRI> irisPool;
+    protected transient InternalCache<String, String> uris;
     // OntologyFactory collection:
     protected final RWLockedCollection<OWLOntologyFactory> ontologyFactories;
     // IRI mappers
@@ -144,6 +150,15 @@ public class OntologyManagerImpl implements OntologyManager,
         this.ontologyStorers = new RWLockedCollection<>(this.lock, _sorting);
         this.config = OntConfig.createConfig(this.lock);
         this.content = new OntologyCollectionImpl<>(this.lock);
+        initCaches();
+    }
+
+    /**
+     * Initializes the caches, that are shared between ontologies that belong to this manager.
+     */
+    private void initCaches() {
+        this.irisPool = InternalCache.createWeakValues();
+        this.uris = InternalCache.createWeak();
         this.iris = createIRICache();
     }
 
@@ -156,6 +171,9 @@ public class OntologyManagerImpl implements OntologyManager,
      * Creates a fresh {@link IRI} cache instance depending on this manager settings.
      * Note if caching is disabled ({@link OntConfig#getManagerIRIsCacheSize()} is not positive),
      * a fake empty cache is returned.
+     * Otherwise, the bounded cache is backed by the weak pool,
+     * so an evicted {@link IRI} remains canonical while it is in use by some ontology,
+     * and a new {@link IRI} is created only if there is no such one in use.
      *
      * @return {@link InternalCache.Loading} for {@link IRI}s
      */
@@ -164,7 +182,8 @@ public class OntologyManagerImpl implements OntologyManager,
         if (size < 0) {
             return InternalCache.createEmpty().asLoading(IRI::create);
         }
-        return InternalCache.createBounded(IRI::create, NoOpReadWriteLock.isConcurrent(lock), size);
+        InternalCache<String, IRI> front = InternalCache.createBounded(NoOpReadWriteLock.isConcurrent(lock), size);
+        return InternalCache.createTiered(front, irisPool).asLoading(IRI::create);
     }
 
     /**
@@ -1159,6 +1178,25 @@ public class OntologyManagerImpl implements OntologyManager,
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * Note: the shared (manager's) caches are counted separately for each ontology.
+     *
+     * @return {@link CacheStats}
+     * @see InternalModel#getCacheStats()
+     * @since 2.0.1
+     */
+    @Override
+    public CacheStats getCacheStats() {
+        getLock().readLock().lock();
+        try {
+            return CacheStats.aggregate(content.values()
+                    .map(x -> getAdapter().asBaseModel(x.get()).getBase().getCacheStats()));
+        } finally {
+            getLock().readLock().unlock();
+        }
+    }
+
     /**
      * @param iri {@link IRI}
      * @return {@code Stream} of {@link OWLOntologyID}
@@ -1241,7 +1279,15 @@ public class OntologyManagerImpl implements OntologyManager,
             // will be reverted in case of a rollback
             List<OWLOntologyChange> appliedChanges = new ArrayList<>();
             listeners.fireBeginChanges(changes.size());
-            actuallyApply(changes, rollbackRequested, allNoOps, appliedChanges);
+            try {
+                actuallyApply(changes, rollbackRequested, allNoOps, appliedChanges);
+            } catch (OWLOntologyChangeVetoException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                // do not leave the ontology half-modified:
+                rollBack(appliedChanges);
+                throw e;
+            }
             if (rollbackRequested.get()) {
                 rollBack(appliedChanges);
                 appliedChanges.clear();
@@ -1274,22 +1320,120 @@ public class OntologyManagerImpl implements OntologyManager,
                                  AtomicBoolean rollbackRequested,
                                  AtomicBoolean allNoOps,
                                  List<OWLOntologyChange> appliedChanges) {
-        for (OWLOntologyChange change : changes) {
+        int size = changes.size();
+        int i = 0;
+        while (i < size) {
             // once rollback is requested by a failed change, do not carry
             // out any more changes
             if (rollbackRequested.get()) {
+                return;
+            }
+            // the listeners must see each change in order as it is applied, so no batch in that case:
+            int end = listeners.hasChangeListeners() ? i + 1 : findAxiomChangesBatchEnd(changes, i);
+            if (end - i > 1) {
+                i = applyAxiomChangesBatch(changes.subList(i, end), rollbackRequested, allNoOps, appliedChanges) + i;
                 continue;
             }
+            OWLOntologyChange change = changes.get(i++);
             ChangeApplied enactChangeApplication = enactChangeApplication(change);
-            if (enactChangeApplication == ChangeApplied.UNSUCCESSFULLY) {
-                rollbackRequested.set(true);
+            processChangeResult(change, enactChangeApplication, rollbackRequested, allNoOps, appliedChanges);
+        }
+    }
+
+    private void processChangeResult(OWLOntologyChange change,
+                                     ChangeApplied res,
+                                     AtomicBoolean rollbackRequested,
+                                     AtomicBoolean allNoOps,
+                                     List<OWLOntologyChange> appliedChanges) {
+        if (res == ChangeApplied.UNSUCCESSFULLY) {
+            rollbackRequested.set(true);
+        }
+        if (res == ChangeApplied.SUCCESSFULLY) {
+            allNoOps.set(false);
+            appliedChanges.add(change);
+        }
+        listeners.fireChangeApplied(change);
+    }
+
+    /**
+     * Finds the end (exclusive) of the run of axiom changes, that starts at the given position
+     * and can be applied in a single batch:
+     * all changes in the run are of the same kind ({@link AddAxiom} or {@link RemoveAxiom})
+     * and refer to the same ontology, which supports the bulk operations.
+     *
+     * @param changes {@code List} of {@link OWLOntologyChange}s
+     * @param start   int, the index of the first change
+     * @return int, the index of the last change plus one, or {@code start + 1} if there is no such run
+     */
+    protected int findAxiomChangesBatchEnd(List<? extends OWLOntologyChange> changes, int start) {
+        OWLOntologyChange first = changes.get(start);
+        if (!first.isAxiomChange()) {
+            return start + 1;
+        }
+        OWLOntology ont = first.getOntology();
+        if (!(ont instanceof OntologyModelImpl) && !(ont instanceof OntologyModelImpl.Concurrent)) {
+            return start + 1;
+        }
+        boolean add = first.isAddAxiom();
+        int res = start + 1;
+        while (res < changes.size()) {
+            OWLOntologyChange next = changes.get(res);
+            if (!next.isAxiomChange() || next.isAddAxiom() != add || next.getOntology() != ont) {
+                break;
+            }
+            res++;
+        }
+        return res;
+    }
+
+    /**
+     * Applies the given homogeneous list of axiom changes in a single batch.
+     * The result is the same as if the changes would be applied one by one:
+     * the changes are controlled individually, and the first inapplicable change stops the processing
+     * and requests the rollback.
+     * If the batch fails with an exception, the changes written before the failure are still recorded as applied.
+     * Note: the batch is used only if there are no change listeners,
+     * otherwise the changes are processed strictly one by one.
+     *
+     * @param changes           {@code List} of {@link OWLAxiomChange}s of the same kind and for the same ontology
+     * @param rollbackRequested boolean
+     * @param allNoOps          boolean
+     * @param appliedChanges    {@code List} of {@link OWLOntologyChange}
+     * @return int, the number of processed changes
+     * @see #findAxiomChangesBatchEnd(List, int)
+     */
+    protected int applyAxiomChangesBatch(List<? extends OWLOntologyChange> changes,
+                                         AtomicBoolean rollbackRequested,
+                                         AtomicBoolean allNoOps,
+                                         List<OWLOntologyChange> appliedChanges) {
+        OWLOntology ont = changes.get(0).getOntology();
+        if (!hasOntology(ont)) {
+            throw new UnknownOWLOntologyException(ont.getOntologyID());
+        }
+        int end = 0;
+        while (end < changes.size() && isChangeApplicable(changes.get(end))) {
+            end++;
+        }
+        List<OWLAxiomChange> batch = changes.subList(0, end).stream()
+                .map(OWLAxiomChange.class::cast).collect(Collectors.toList());
+        List<ChangeApplied> res = new ArrayList<>(end);
+        try {
+            if (ont instanceof OntologyModelImpl) {
+                ((OntologyModelImpl) ont).applyDirectChanges(batch, res);
+            } else {
+                ((OntologyModelImpl.Concurrent) ont).applyDirectChanges(batch, res);
             }
-            if (enactChangeApplication == ChangeApplied.SUCCESSFULLY) {
-                allNoOps.set(false);
-                appliedChanges.add(change);
+        } finally {
+            // in case of error, only the changes that have been written are reported
+            for (int i = 0; i < res.size(); i++) {
+                processChangeResult(batch.get(i), res.get(i), rollbackRequested, allNoOps, appliedChanges);
             }
-            listeners.fireChangeApplied(change);
         }
+        if (end == changes.size()) {
+            return end;
+        }
+        processChangeResult(changes.get(end), ChangeApplied.UNSUCCESSFULLY, rollbackRequested, allNoOps, appliedChanges);
+        return end + 1;
     }
 
     /**
@@ -1804,7 +1948,7 @@ public class OntologyManagerImpl implements OntologyManager,
     @SuppressWarnings("JavadocReference")
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
         in.defaultReadObject();
-        this.iris = createIRICache();
+        initCaches();
         this.content.values().forEach(info -> {
             ModelConfig conf = info.getModelConfig();
             BaseModel m = getAdapter().asBaseModel(info.get());
@@ -2002,6 +2146,15 @@ public class OntologyManagerImpl implements OntologyManager,
             }
         }
 
+        /**
+         * Answers {@code true} if there is at least one listener that is interested in the changes.
+         *
+         * @return boolean
+         */
+        protected boolean hasChangeListeners() {
+            return !progressListeners.isEmpty() || !listenerMap.isEmpty() || !impendingChangeListenerMap.isEmpty();
+        }
+
         /**
          * @param change {@link OWLOntologyChange}
          */
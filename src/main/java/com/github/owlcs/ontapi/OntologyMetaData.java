@@ -14,6 +14,7 @@
 
 package com.github.owlcs.ontapi;
 
+import com.github.owlcs.ontapi.jena.CompactGraph;
 import com.github.owlcs.ontapi.jena.utils.Graphs;
 import com.github.owlcs.ontapi.jena.vocabulary.OWL;
 import com.github.owlcs.ontapi.jena.vocabulary.RDF;
@@ -169,7 +170,8 @@ public class OntologyMetaData implements OWLOntologyLoaderMetaData {
     }
 
     /**
-     * Loads triple count in lazy manner if the associated graph is {@link org.apache.jena.mem.GraphMem Memory Graph}.
+     * Loads triple count in lazy manner if the associated graph is {@link org.apache.jena.mem.GraphMem Memory Graph}
+     * or {@link CompactGraph}.
      * Otherwise returns -1.
      * Lazy loading is in order to relieve performance on loading.
      * Anyway nobody uses this stupid interface.
@@ -182,7 +184,7 @@ public class OntologyMetaData implements OWLOntologyLoaderMetaData {
     }
 
     protected int calcTripleCount() {
-        return graph instanceof GraphMem ? graph.size() : -1;
+        return graph instanceof GraphMem || graph instanceof CompactGraph ? graph.size() : -1;
     }
 
     @Override
@@ -15,6 +15,7 @@
 package com.github.owlcs.ontapi;
 
 import com.github.owlcs.ontapi.internal.InternalModel;
+import com.github.owlcs.ontapi.internal.OWLTopObjectType;
 import com.github.owlcs.ontapi.jena.UnionGraph;
 import com.github.owlcs.ontapi.jena.impl.OntGraphModelImpl;
 import com.github.owlcs.ontapi.jena.impl.conf.OntPersonality;
@@ -26,12 +27,15 @@ import org.semanticweb.owlapi.model.parameters.ChangeApplied;
 
 import javax.annotation.Nonnull;
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -63,9 +67,46 @@ public class OntologyModelImpl extends OntBaseModelImpl implements Ontology, OWL
 
     @Override
     public ChangeApplied applyDirectChange(OWLOntologyChange change) {
+        checkNotFrozen();
         return change.accept(changer);
     }
 
+    /**
+     * Ensures that the ontology can be modified.
+     *
+     * @throws ModificationDeniedException if the ontology is frozen
+     * @see InternalModel#isFrozen()
+     */
+    protected void checkNotFrozen() throws ModificationDeniedException {
+        if (getBase().isFrozen()) {
+            throw new ModificationDeniedException("The ontology " + getOntologyID() + " is frozen");
+        }
+    }
+
+    /**
+     * Applies the given axiom changes directly, in a single batch if it is possible.
+     * The batch is possible if all the changes are of the same kind (i.e. all are {@link AddAxiom}s
+     * or all are {@link RemoveAxiom}s) and the change processor is default (i.e. its behaviour is not overridden).
+     * Otherwise the changes are applied one by one, using the method {@link #applyDirectChange(OWLOntologyChange)}.
+     * The result is the same as in case of sequential processing.
+     * The {@code res} list is filled with one {@link ChangeApplied} for each processed change, in the same order;
+     * in case of error it contains the results only for the changes that had been applied before the failed one.
+     *
+     * @param changes a {@code List} of {@link OWLAxiomChange}s, all for this ontology, not {@code null}
+     * @param res     a {@code List} to collect {@link ChangeApplied}s, not {@code null}
+     * @see InternalModel#addAxioms(java.util.Collection, Set)
+     * @see InternalModel#removeAxioms(java.util.Collection, Set)
+     * @since 2.0.1
+     */
+    public void applyDirectChanges(List<? extends OWLAxiomChange> changes, List<ChangeApplied> res) {
+        checkNotFrozen();
+        if (changer.getClass() == ChangeProcessor.class) {
+            ((ChangeProcessor) changer).applyAxiomChanges(changes, res);
+            return;
+        }
+        changes.forEach(x -> res.add(applyDirectChange(x)));
+    }
+
     @Override
     public OntologyManagerImpl getOWLOntologyManager() {
         return (OntologyManagerImpl) super.getOWLOntologyManager();
@@ -176,6 +217,50 @@ public class OntologyModelImpl extends OntBaseModelImpl implements Ontology, OWL
             return ChangeApplied.SUCCESSFULLY;
         }
 
+        /**
+         * Applies the given axiom changes in a single batch.
+         *
+         * @param changes a {@code List} of {@link OWLAxiomChange}s, not {@code null}
+         * @param res     a {@code List} to collect {@link ChangeApplied}s, not {@code null}
+         * @see #applyDirectChanges(List, List)
+         */
+        protected void applyAxiomChanges(List<? extends OWLAxiomChange> changes, List<ChangeApplied> res) {
+            if (changes.isEmpty()) {
+                return;
+            }
+            boolean add = changes.get(0).isAddAxiom();
+            if (changes.stream().anyMatch(x -> x.isAddAxiom() != add)) {
+                changes.forEach(x -> res.add(x.accept(this)));
+                return;
+            }
+            beforeChange();
+            List<OWLAxiom> axioms = changes.stream().map(OWLAxiomChange::getAxiom).collect(Collectors.toList());
+            Set<OWLAxiom> done = new HashSet<>();
+            boolean failed = true;
+            try {
+                if (add) {
+                    getBase().addAxioms(axioms, done);
+                } else {
+                    getBase().removeAxioms(axioms, done);
+                }
+                failed = false;
+            } finally {
+                // the first occurrence of an axiom is the applied change, the others are no-op;
+                // in case of error the processing stops at the first change, that is neither applied nor no-op:
+                for (OWLAxiomChange x : changes) {
+                    OWLAxiom a = x.getAxiom();
+                    if (done.remove(a)) {
+                        res.add(ChangeApplied.SUCCESSFULLY);
+                        continue;
+                    }
+                    if (failed && containsAxiom(a) != add) {
+                        break;
+                    }
+                    res.add(ChangeApplied.NO_OPERATION);
+                }
+            }
+        }
+
         /**
          * Performs preliminary actions before change the ontological data.
          * <p>
@@ -292,6 +377,41 @@ public class OntologyModelImpl extends OntBaseModelImpl implements Ontology, OWL
             }
         }
 
+        /**
+         * Applies the given axiom changes directly, in a single batch if it is possible, under the write lock.
+         *
+         * @param changes a {@code List} of {@link OWLAxiomChange}s, not {@code null}
+         * @param res     a {@code List} to collect {@link ChangeApplied}s, not {@code null}
+         * @see OntologyModelImpl#applyDirectChanges(List, List)
+         */
+        public void applyDirectChanges(List<? extends OWLAxiomChange> changes, List<ChangeApplied> res) {
+            withWriteLock(() -> delegate().applyDirectChanges(changes, res));
+        }
+
+        @Override
+        protected Boolean findContainsAxiom(OWLAxiom axiom) {
+            return getBase().findContains(axiom);
+        }
+
+        @Override
+        protected Integer findAxiomCount() {
+            return toInteger(getBase().findOWLAxiomCount(OWLTopObjectType.axioms()));
+        }
+
+        @Override
+        protected Integer findLogicalAxiomCount() {
+            return toInteger(getBase().findOWLAxiomCount(OWLTopObjectType.logical()));
+        }
+
+        @Override
+        protected Integer findAxiomCount(AxiomType<?> type) {
+            return toInteger(getBase().findOWLAxiomCount(Stream.of(OWLTopObjectType.get(type))));
+        }
+
+        private static Integer toInteger(long count) {
+            return count < 0 ? null : (int) count;
+        }
+
         @Override
         public OntologyManager getOWLOntologyManager() {
             return (OntologyManager) super.getOWLOntologyManager();
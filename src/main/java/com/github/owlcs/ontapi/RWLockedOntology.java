@@ -14,6 +14,7 @@
 
 package com.github.owlcs.ontapi;
 
+import com.github.owlcs.ontapi.jena.StampedReadWriteLock;
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.model.parameters.AxiomAnnotations;
 import org.semanticweb.owlapi.model.parameters.Imports;
@@ -43,6 +44,7 @@ import java.util.stream.Stream;
 @SuppressWarnings({"WeakerAccess", "deprecation"})
 @ParametersAreNonnullByDefault
 public abstract class RWLockedOntology implements OWLMutableOntology {
+    private static final long serialVersionUID = -6279317166367254035L;
 
     protected final ReadWriteLock lock;
 
@@ -118,6 +120,30 @@ public abstract class RWLockedOntology implements OWLMutableOntology {
         }
     }
 
+    /**
+     * Performs the given short read operation optimistically, i.e. without acquiring the read lock,
+     * if the lock is {@link StampedReadWriteLock};
+     * if the optimistic attempt fails, performs the fallback operation in the dedicated read-locked section.
+     * The optimistic operation must not change the state of the ontology (e.g. must not load any cache),
+     * instead, it must return {@code null} if the required data is not in memory,
+     * for more details see {@link StampedReadWriteLock#tryOptimisticRead(Supplier)}.
+     *
+     * @param optimistic {@link Supplier} to perform without lock, it returns {@code null} in case of failure
+     * @param op         {@link Supplier} to perform under the read lock
+     * @param <X>        anything
+     * @return {@link X}
+     * @since 2.0.1
+     */
+    protected <X> X withOptimisticReadLockToObject(Supplier<X> optimistic, Supplier<X> op) {
+        if (lock instanceof StampedReadWriteLock) {
+            X res = ((StampedReadWriteLock) lock).tryOptimisticRead(optimistic);
+            if (res != null) {
+                return res;
+            }
+        }
+        return withReadLockToObject(op);
+    }
+
     /**
      * Performs the given operation in the dedicated read-locked section.
      *
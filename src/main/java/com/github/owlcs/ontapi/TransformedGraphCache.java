@@ -0,0 +1,232 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, The University of Manchester, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import com.github.owlcs.ontapi.config.OntLoaderConfiguration;
+import com.github.owlcs.ontapi.jena.impl.conf.OntModelConfig;
+import com.github.owlcs.ontapi.jena.impl.conf.OntPersonality;
+import com.github.owlcs.ontapi.jena.utils.Graphs;
+import com.github.owlcs.ontapi.jena.vocabulary.OWL;
+import com.github.owlcs.ontapi.transforms.Transform;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.stream.Collectors;
+
+/**
+ * A local directory cache for the transformed graphs, that allows to skip parsing and transformations on reload.
+ * Each entry is a file, that contains the {@link OntFormat#getID() format id} of the original document
+ * in the first line, followed by the base graph in the binary {@link OntFormat#RDF_THRIFT RDF-THRIFT} format.
+ * The entry name is a SHA-256 digest of the document IRI, the document content,
+ * the list of {@link Transform#id() transformer ids} and the personality.
+ * Only documents that are local files are cached.
+ * Since the transformations read the whole imports closure, but the key does not depend on the imports,
+ * only graphs without {@code owl:imports} are cached.
+ * Also, only the standard personalities are supported, since a custom personality has no stable identifier.
+ * The transformation statistics ({@link com.github.owlcs.ontapi.transforms.GraphStats GraphStats})
+ * are not stored, so a graph read from the cache has no such metadata.
+ * The entry is written to a temporary file first and then moved, so concurrent loaders never see a partial entry.
+ * Next to the entry, there can be a {@link com.github.owlcs.ontapi.internal.CacheSnapshot snapshot}
+ * of the content cache of the ontology, that is keyed by the same digest, see {@link #snapshot(String)}.
+ * <p>
+ * Created by @ssz on 19.10.2020.
+ *
+ * @see com.github.owlcs.ontapi.config.LoadSettings#getTransformsCacheDirectory()
+ * @since 2.0.1
+ */
+public class TransformedGraphCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransformedGraphCache.class);
+    private static final String EXTENSION = "." + OntFormat.RDF_THRIFT.getExt();
+    private static final String SNAPSHOT_EXTENSION = ".snapshot";
+
+    protected final Path dir;
+    protected final String settings;
+
+    protected TransformedGraphCache(Path dir, String settings) {
+        this.dir = dir;
+        this.settings = settings;
+    }
+
+    /**
+     * Creates a cache for the given config.
+     *
+     * @param conf {@link OntLoaderConfiguration}
+     * @return {@link TransformedGraphCache} or {@code null} if there is no cache directory,
+     * or the transformations are disabled, or the personality is not a standard one
+     */
+    public static TransformedGraphCache create(OntLoaderConfiguration conf) {
+        String dir = conf.getTransformsCacheDirectory();
+        if (dir == null || dir.isEmpty() || !conf.isPerformTransformation()) {
+            return null;
+        }
+        String personality = personalityKey(conf.getPersonality());
+        if (personality == null) {
+            return null;
+        }
+        String transforms = conf.getGraphTransformers().transforms().map(Transform::id)
+                .collect(Collectors.joining(","));
+        return new TransformedGraphCache(Paths.get(dir), transforms + "\n" + personality);
+    }
+
+    /**
+     * Returns a stable identifier of the personality.
+     *
+     * @param personality {@link OntPersonality}
+     * @return String or {@code null} for a custom personality
+     */
+    protected static String personalityKey(OntPersonality personality) {
+        if (personality == OntModelConfig.ONT_PERSONALITY_LAX) return OntModelConfig.StdMode.LAX.name();
+        if (personality == OntModelConfig.ONT_PERSONALITY_MEDIUM) return OntModelConfig.StdMode.MEDIUM.name();
+        if (personality == OntModelConfig.ONT_PERSONALITY_STRICT) return OntModelConfig.StdMode.STRICT.name();
+        return null;
+    }
+
+    /**
+     * Answers {@code true} if the given transformed graph can be stored,
+     * i.e. its transformations have not depended on any other graph.
+     *
+     * @param graph {@link Graph}, the whole transformed graph, maybe {@code UnionGraph}
+     * @return boolean
+     */
+    public boolean canStore(Graph graph) {
+        return !Graphs.subGraphs(graph).findFirst().isPresent()
+                && !Graphs.getBase(graph).contains(Node.ANY, OWL.imports.asNode(), Node.ANY);
+    }
+
+    /**
+     * Computes the entry key for the given document source.
+     *
+     * @param source {@link OWLOntologyDocumentSource}
+     * @return String or {@code null} if the source cannot be cached
+     */
+    public String key(OWLOntologyDocumentSource source) {
+        Path file = OntGraphUtils.getLocalFile(source);
+        if (file == null) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((source.getDocumentIRI().getIRIString() + "\n" + settings + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            source.getFormat().ifPresent(f -> digest.update(f.getKey().getBytes(StandardCharsets.UTF_8)));
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                byte[] buffer = new byte[8192];
+                //noinspection StatementWithEmptyBody
+                while (in.read(buffer) != -1) ;
+            }
+            StringBuilder res = new StringBuilder();
+            for (byte b : digest.digest()) {
+                res.append(String.format("%02x", b));
+            }
+            return res.toString();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            LOGGER.warn("Can't compute cache key for {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Answers the file of the content cache snapshot for the given entry key.
+     * The file may not exist.
+     *
+     * @param key String, the entry key
+     * @return {@link Path}
+     * @see com.github.owlcs.ontapi.internal.InternalModel#useCacheSnapshot(Path, String)
+     */
+    public Path snapshot(String key) {
+        return dir.resolve(key + SNAPSHOT_EXTENSION);
+    }
+
+    /**
+     * Reads the cached graph, if it is present.
+     * In case of error the graph is cleared.
+     *
+     * @param key   String, the entry key
+     * @param graph {@link Graph} to put in, empty
+     * @return {@link OntFormat} of the original document, or {@code null} if there is no such entry
+     */
+    public OntFormat read(String key, Graph graph) {
+        Path file = dir.resolve(key + EXTENSION);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            OntFormat res = OntFormat.get(readLine(in));
+            if (res == null) {
+                throw new IOException("Unknown format");
+            }
+            RDFDataMgr.read(graph, in, Lang.RDFTHRIFT);
+            return res;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Can't read cached graph {}: {}", file, e.getMessage());
+            if (!graph.isEmpty()) {
+                graph.clear();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Stores the transformed graph.
+     *
+     * @param key    String, the entry key
+     * @param graph  {@link Graph} the transformed base graph
+     * @param format {@link OntFormat} of the original document
+     */
+    public void write(String key, Graph graph, OntFormat format) {
+        Path tmp = null;
+        try {
+            Files.createDirectories(dir);
+            tmp = Files.createTempFile(dir, key, ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+                out.write((format.getID() + "\n").getBytes(StandardCharsets.UTF_8));
+                RDFDataMgr.write(out, graph, Lang.RDFTHRIFT);
+            }
+            Files.move(tmp, dir.resolve(key + EXTENSION), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Can't write cached graph {}: {}", key, e.getMessage());
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ex) {
+                    e.addSuppressed(ex);
+                }
+            }
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream res = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1 && b != '\n') {
+            res.write(b);
+        }
+        return new String(res.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
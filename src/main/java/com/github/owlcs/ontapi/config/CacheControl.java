@@ -66,6 +66,30 @@ interface CacheControl<R> extends CacheSettings {
      */
     R setModelCacheLevel(int level);
 
+    /**
+     * Sets the parallelism level that is used while loading the model caches.
+     * The number {@code 1} means the sequential loading.
+     *
+     * @param parallelism int, a positive number
+     * @return {@link R}
+     * @throws IllegalArgumentException in case the input is not a positive number
+     * @see CacheSettings#getModelCacheLoadParallelism()
+     * @see OntSettings#ONT_API_LOAD_CONF_CACHE_MODEL_PARALLELISM
+     * @since 2.0.1
+     */
+    R setModelCacheLoadParallelism(int parallelism);
+
+    /**
+     * Turns on/off the precomputed entity types table.
+     *
+     * @param b boolean
+     * @return {@link R}
+     * @see CacheSettings#isLoadNodeTypeTable()
+     * @see OntSettings#ONT_API_LOAD_CONF_CACHE_NODE_TYPES
+     * @since 2.0.1
+     */
+    R setLoadNodeTypeTable(boolean b);
+
     /**
      * Turns on/off the content cache use.
      * Other cache settings are untouched,
@@ -121,6 +121,41 @@ public interface CacheSettings {
      */
     int getModelCacheLevel();
 
+    /**
+     * Returns the number of threads that are used to warm up the model content and component caches
+     * (see {@link com.github.owlcs.ontapi.internal.InternalModel#forceLoad()}).
+     * The value {@code 1}, that is default, means that the caches are loaded sequentially, in the current thread.
+     * A greater value means that a dedicated {@link java.util.concurrent.ForkJoinPool ForkJoinPool}
+     * with the specified parallelism level is used to load the caches of different types simultaneously.
+     * It may significantly speed up the loading of large ontologies (e.g. teleost or galen) on multicore machines.
+     * Note that it is not related to the concurrent mode of the manager:
+     * the parallel loading is performed inside a single method call.
+     *
+     * @return int, a positive number
+     * @see OntSettings#ONT_API_LOAD_CONF_CACHE_MODEL_PARALLELISM
+     * @see CacheControl#setModelCacheLoadParallelism(int)
+     * @since 2.0.1
+     */
+    int getModelCacheLoadParallelism();
+
+    /**
+     * Answers {@code true} if the search model should use a precomputed table of the entity types,
+     * which is built in a single pass through all the {@code rdf:type} triples of the ontology graph
+     * (see {@link com.github.owlcs.ontapi.jena.impl.NodeTypeTable}).
+     * The table allows to answer whether a URI node is a class, a datatype, an individual or a property
+     * without querying the graph, that speeds up reading axioms of large ontologies.
+     * It is used together with the nodes cache
+     * (i.e. has no effect if {@link #getLoadNodesCacheSize()} is not positive),
+     * and is discarded along with it on any structural change.
+     * The table takes additional memory (about one reference and one byte per entity), so it is disabled by default.
+     *
+     * @return boolean
+     * @see OntSettings#ONT_API_LOAD_CONF_CACHE_NODE_TYPES
+     * @see CacheControl#setLoadNodeTypeTable(boolean)
+     * @since 2.0.1
+     */
+    boolean isLoadNodeTypeTable();
+
     /**
      * Answers whether an internal model content cache is enabled, that is {@code true} by default.
      * <p>
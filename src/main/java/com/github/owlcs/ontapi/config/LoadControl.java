@@ -72,6 +72,51 @@ interface LoadControl<R> extends LoadSettings {
      */
     R setProcessImports(boolean b);
 
+    /**
+     * Enables or disables the frozen (read-only) loading mode.
+     *
+     * @param b boolean
+     * @return {@link R} (this or copied instance)
+     * @see LoadSettings#isLoadFrozen()
+     * @since 2.0.1
+     */
+    R setLoadFrozen(boolean b);
+
+    /**
+     * Sets the number of threads that are used to fetch and parse the imported documents.
+     * The number {@code 1} means the sequential loading.
+     *
+     * @param parallelism int, a positive number
+     * @return {@link R} (this or copied instance)
+     * @throws IllegalArgumentException in case the input is not a positive number
+     * @see LoadSettings#getImportsLoadParallelism()
+     * @since 2.0.1
+     */
+    R setImportsLoadParallelism(int parallelism);
+
+    /**
+     * Sets the number of threads that are used to parse a single N-Triples or N-Quads document.
+     * The number {@code 1} means the ordinary single-threaded parsing.
+     *
+     * @param parallelism int, a positive number
+     * @return {@link R} (this or copied instance)
+     * @throws IllegalArgumentException in case the input is not a positive number
+     * @see LoadSettings#getParseParallelism()
+     * @since 2.0.1
+     */
+    R setParseParallelism(int parallelism);
+
+    /**
+     * Sets the local directory to cache the transformed graphs.
+     * An empty string turns the cache off.
+     *
+     * @param dir String, a path to directory or empty string, not {@code null}
+     * @return {@link R} (this or copied instance)
+     * @see LoadSettings#getTransformsCacheDirectory()
+     * @since 2.0.1
+     */
+    R setTransformsCacheDirectory(String dir);
+
     /**
      * Changes the preferable way to load a {@code Graph}.
      * If {@code true} specified, the OWL-API native parsers will be used.
@@ -115,6 +115,79 @@ public interface LoadSettings {
      */
     boolean isProcessImports();
 
+    /**
+     * Answers {@code true} if the ontologies must be loaded in the frozen (read-only) mode.
+     * In this mode the base graph of each loaded ontology is a
+     * {@link com.github.owlcs.ontapi.jena.CompactGraph#freeze() frozen} {@link com.github.owlcs.ontapi.jena.CompactGraph},
+     * the content and components caches are built eagerly right after loading and are never dropped,
+     * the ontology is not wrapped with a R/W lock, and any modification (both through OWL-API and Jena) is prohibited.
+     * This mode is intended for large ontologies that are loaded once and then only queried.
+     *
+     * @return boolean, ({@code false} by default)
+     * @see LoadControl#setLoadFrozen(boolean)
+     * @see OntSettings#ONT_API_LOAD_CONF_FROZEN
+     * @since 2.0.1
+     */
+    boolean isLoadFrozen();
+
+    /**
+     * Returns the number of threads that are used to fetch and parse the imported documents.
+     * The value {@code 1}, that is default, means that the imports closure is loaded sequentially,
+     * document by document, in the current thread.
+     * A greater value means that the imports closure is discovered level by level,
+     * and the independent documents of each level are read simultaneously on a bounded executor.
+     * In any case, the imports are assembled into the {@code UnionGraph} hierarchy in the same (sorted) order.
+     * It may significantly speed up the loading of ontologies that import many modules.
+     * Note that the setting has no effect if the {@link #isProcessImports() imports processing} is disabled.
+     *
+     * @return int, a positive number
+     * @see LoadControl#setImportsLoadParallelism(int)
+     * @see OntSettings#ONT_API_LOAD_CONF_IMPORTS_PARALLELISM
+     * @since 2.0.1
+     */
+    int getImportsLoadParallelism();
+
+    /**
+     * Returns the number of threads that are used to parse a single document in a line-based format
+     * ({@link com.github.owlcs.ontapi.OntFormat#NTRIPLES N-Triples} and {@link com.github.owlcs.ontapi.OntFormat#NQUADS N-Quads}).
+     * The value {@code 1}, that is default, means the ordinary single-threaded Jena parsing.
+     * A greater value means that a local file is memory-mapped, split on line boundaries into chunks,
+     * the chunks are parsed simultaneously, and the triples are bulk-inserted into the graph.
+     * It may significantly speed up the loading of large instance data dumps.
+     * Other formats and non-file sources are always read in the ordinary way.
+     *
+     * @return int, a positive number
+     * @see LoadControl#setParseParallelism(int)
+     * @see OntSettings#ONT_API_LOAD_CONF_PARSE_PARALLELISM
+     * @since 2.0.1
+     */
+    int getParseParallelism();
+
+    /**
+     * Returns the path of a local directory to cache the transformed graphs, or an empty string if there is no cache,
+     * which is default.
+     * If the cache is specified and the {@link #isPerformTransformation() transformations} are enabled,
+     * the base graph of each document that is read from a local file is stored there
+     * in the binary {@link com.github.owlcs.ontapi.OntFormat#RDF_THRIFT RDF-THRIFT} format
+     * after the {@link #getGraphTransformers() graph transformers} have been performed.
+     * On subsequent loads the binary is read instead of the document, and the transformations are skipped.
+     * An entry is keyed by the document IRI, the hash of the document content, the set of transformers
+     * and the personality, so a changed file or a changed configuration never hits a stale entry.
+     * Since a transformed graph may depend on its imports closure, which is not a part of the key,
+     * graphs with {@code owl:imports} are never cached.
+     * Note that the cache stores only the graph itself:
+     * an ontology restored from the cache has no transformation statistics
+     * (e.g. guessed declarations or unparsed triples) in its
+     * {@link org.semanticweb.owlapi.io.OWLOntologyLoaderMetaData loader metadata},
+     * which is computed from the graph as is.
+     *
+     * @return String, a path to directory or empty string, not {@code null}
+     * @see LoadControl#setTransformsCacheDirectory(String)
+     * @see OntSettings#ONT_API_LOAD_CONF_TRANSFORMS_CACHE_DIRECTORY
+     * @since 2.0.1
+     */
+    String getTransformsCacheDirectory();
+
     /**
      * Answers {@code true} if the native OWL-API parsers must be preferred while loading ontology,
      * which is strongly not recommended (and the method returns {@code false} by default).
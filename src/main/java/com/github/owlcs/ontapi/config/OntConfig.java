@@ -43,10 +43,16 @@ import java.util.stream.Stream;
  * <li>{@link #getLoadObjectsCacheSize()} and {@link #setLoadObjectsCacheSize(int)} (<b>since 1.4.0</b>)</li>
  * <li>{@link #setModelCacheLevel(int, boolean)} (<b>since 1.4.2</b>), {@link #setModelCacheLevel(int)} (<b>since 1.4.0</b>)</li>
  * <li>{@link #useContentCache()}, {@link #useComponentCache()}, {@link #useIteratorCache()} (<b>since 1.4.2</b>)</li>
+ * <li>{@link #getModelCacheLoadParallelism()} and {@link #setModelCacheLoadParallelism(int)} (<b>since 2.0.1</b>)</li>
+ * <li>{@link #isLoadNodeTypeTable()} and {@link #setLoadNodeTypeTable(boolean)} (<b>since 2.0.1</b>)</li>
  * <li>{@link #getPersonality()} and {@link #setPersonality(OntPersonality)}</li>
  * <li>{@link #getGraphTransformers()} amd {@link #setGraphTransformers(GraphTransformers)}</li>
  * <li>{@link #isPerformTransformation()} and {@link #setPerformTransformation(boolean)}</li>
  * <li>{@link #isProcessImports()} and {@link #setProcessImports(boolean)} (<b>since 1.4.1</b>)</li>
+ * <li>{@link #isLoadFrozen()} and {@link #setLoadFrozen(boolean)} (<b>since 2.0.1</b>)</li>
+ * <li>{@link #getImportsLoadParallelism()} and {@link #setImportsLoadParallelism(int)} (<b>since 2.0.1</b>)</li>
+ * <li>{@link #getParseParallelism()} and {@link #setParseParallelism(int)} (<b>since 2.0.1</b>)</li>
+ * <li>{@link #getTransformsCacheDirectory()} and {@link #setTransformsCacheDirectory(String)} (<b>since 2.0.1</b>)</li>
  * <li>{@link #getSupportedSchemes()} and {@link #setSupportedSchemes(List)}</li>
  * <li>{@link #disableWebAccess()} (<b>since 1.1.0</b>)</li>
  * <li>{@link #isAllowReadDeclarations()} and {@link #setAllowReadDeclarations(boolean)}</li>
@@ -371,6 +377,52 @@ public class OntConfig extends OntologyConfigurator implements
         return get(OntSettings.ONT_API_LOAD_CONF_CACHE_MODEL);
     }
 
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     *
+     * @param parallelism int
+     * @return this instance
+     */
+    @Override
+    public OntConfig setModelCacheLoadParallelism(int parallelism) {
+        return putPositive(OntSettings.ONT_API_LOAD_CONF_CACHE_MODEL_PARALLELISM, parallelism);
+    }
+
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     *
+     * @return int
+     */
+    @Override
+    public int getModelCacheLoadParallelism() {
+        return get(OntSettings.ONT_API_LOAD_CONF_CACHE_MODEL_PARALLELISM);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     *
+     * @param b boolean
+     * @return this instance
+     */
+    @Override
+    public OntConfig setLoadNodeTypeTable(boolean b) {
+        return put(OntSettings.ONT_API_LOAD_CONF_CACHE_NODE_TYPES, b);
+    }
+
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     *
+     * @return boolean
+     */
+    @Override
+    public boolean isLoadNodeTypeTable() {
+        return get(OntSettings.ONT_API_LOAD_CONF_CACHE_NODE_TYPES);
+    }
+
     /**
      * An ONT-API manager's load config getter.
      * {@inheritDoc}
@@ -446,6 +498,78 @@ public class OntConfig extends OntologyConfigurator implements
         return put(OntSettings.ONT_API_LOAD_CONF_PROCESS_IMPORTS, b);
     }
 
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isLoadFrozen() {
+        return get(OntSettings.ONT_API_LOAD_CONF_FROZEN);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     */
+    @Override
+    public OntConfig setLoadFrozen(boolean b) {
+        return put(OntSettings.ONT_API_LOAD_CONF_FROZEN, b);
+    }
+
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     */
+    @Override
+    public int getImportsLoadParallelism() {
+        return get(OntSettings.ONT_API_LOAD_CONF_IMPORTS_PARALLELISM);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     */
+    @Override
+    public OntConfig setImportsLoadParallelism(int parallelism) {
+        return putPositive(OntSettings.ONT_API_LOAD_CONF_IMPORTS_PARALLELISM, parallelism);
+    }
+
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     */
+    @Override
+    public int getParseParallelism() {
+        return get(OntSettings.ONT_API_LOAD_CONF_PARSE_PARALLELISM);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     */
+    @Override
+    public OntConfig setParseParallelism(int parallelism) {
+        return putPositive(OntSettings.ONT_API_LOAD_CONF_PARSE_PARALLELISM, parallelism);
+    }
+
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     */
+    @Override
+    public String getTransformsCacheDirectory() {
+        return get(OntSettings.ONT_API_LOAD_CONF_TRANSFORMS_CACHE_DIRECTORY);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     */
+    @Override
+    public OntConfig setTransformsCacheDirectory(String dir) {
+        return put(OntSettings.ONT_API_LOAD_CONF_TRANSFORMS_CACHE_DIRECTORY, dir);
+    }
+
     /**
      * An ONT-API manager's load config getter.
      * {@inheritDoc}
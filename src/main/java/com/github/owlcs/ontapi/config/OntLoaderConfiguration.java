@@ -200,6 +200,78 @@ public class OntLoaderConfiguration extends OWLOntologyLoaderConfiguration imple
         return set(OntSettings.ONT_API_LOAD_CONF_PROCESS_IMPORTS, b);
     }
 
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isLoadFrozen() {
+        return get(OntSettings.ONT_API_LOAD_CONF_FROZEN);
+    }
+
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     */
+    @Override
+    public OntLoaderConfiguration setLoadFrozen(boolean b) {
+        return set(OntSettings.ONT_API_LOAD_CONF_FROZEN, b);
+    }
+
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     */
+    @Override
+    public int getImportsLoadParallelism() {
+        return get(OntSettings.ONT_API_LOAD_CONF_IMPORTS_PARALLELISM);
+    }
+
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     */
+    @Override
+    public OntLoaderConfiguration setImportsLoadParallelism(int parallelism) {
+        return setPositive(OntSettings.ONT_API_LOAD_CONF_IMPORTS_PARALLELISM, parallelism);
+    }
+
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     */
+    @Override
+    public int getParseParallelism() {
+        return get(OntSettings.ONT_API_LOAD_CONF_PARSE_PARALLELISM);
+    }
+
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     */
+    @Override
+    public OntLoaderConfiguration setParseParallelism(int parallelism) {
+        return setPositive(OntSettings.ONT_API_LOAD_CONF_PARSE_PARALLELISM, parallelism);
+    }
+
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     */
+    @Override
+    public String getTransformsCacheDirectory() {
+        return get(OntSettings.ONT_API_LOAD_CONF_TRANSFORMS_CACHE_DIRECTORY);
+    }
+
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     */
+    @Override
+    public OntLoaderConfiguration setTransformsCacheDirectory(String dir) {
+        return set(OntSettings.ONT_API_LOAD_CONF_TRANSFORMS_CACHE_DIRECTORY, dir);
+    }
+
     /**
      * An ONT-API config setter.
      * {@inheritDoc}
@@ -263,6 +335,48 @@ public class OntLoaderConfiguration extends OWLOntologyLoaderConfiguration imple
         return get(OntSettings.ONT_API_LOAD_CONF_CACHE_MODEL);
     }
 
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     *
+     * @param parallelism int, positive integer
+     * @return {@link OntLoaderConfiguration}, a copied (new) or this instance in case no changes is made
+     */
+    @Override
+    public OntLoaderConfiguration setModelCacheLoadParallelism(int parallelism) {
+        return setPositive(OntSettings.ONT_API_LOAD_CONF_CACHE_MODEL_PARALLELISM, parallelism);
+    }
+
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     */
+    @Override
+    public int getModelCacheLoadParallelism() {
+        return get(OntSettings.ONT_API_LOAD_CONF_CACHE_MODEL_PARALLELISM);
+    }
+
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     *
+     * @param b boolean
+     * @return {@link OntLoaderConfiguration}, a copied (new) or this instance in case no changes is made
+     */
+    @Override
+    public OntLoaderConfiguration setLoadNodeTypeTable(boolean b) {
+        return set(OntSettings.ONT_API_LOAD_CONF_CACHE_NODE_TYPES, b);
+    }
+
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isLoadNodeTypeTable() {
+        return get(OntSettings.ONT_API_LOAD_CONF_CACHE_NODE_TYPES);
+    }
+
     /**
      * An ONT-API config getter.
      * {@inheritDoc}
@@ -77,6 +77,14 @@ public enum OntSettings {
     // since 1.4.1
     ONT_API_LOAD_CONF_PROCESS_IMPORTS(true),
 
+    // since 2.0.1
+    ONT_API_LOAD_CONF_CACHE_MODEL_PARALLELISM(1),
+    ONT_API_LOAD_CONF_CACHE_NODE_TYPES(false),
+    ONT_API_LOAD_CONF_FROZEN(false),
+    ONT_API_LOAD_CONF_IMPORTS_PARALLELISM(1),
+    ONT_API_LOAD_CONF_PARSE_PARALLELISM(1),
+    ONT_API_LOAD_CONF_TRANSFORMS_CACHE_DIRECTORY(""),
+
     OWL_API_LOAD_CONF_ACCEPT_HTTP_COMPRESSION(true),
     OWL_API_LOAD_CONF_CONNECTION_TIMEOUT(20_000),
     OWL_API_LOAD_CONF_FOLLOW_REDIRECTS(true),
@@ -19,10 +19,7 @@ import com.github.owlcs.ontapi.internal.objects.ONTIRI;
 import com.github.owlcs.ontapi.jena.model.OntModel;
 import org.semanticweb.owlapi.model.*;
 
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 import java.util.function.Supplier;
 
 /**
@@ -48,6 +45,8 @@ public class CacheObjectFactory extends InternalObjectFactory {
     protected final InternalCache.Loading<String, ONTObject<OWLObjectProperty>> objectProperties;
     protected final InternalCache.Loading<String, ONTObject<OWLNamedIndividual>> individuals;
     protected final InternalCache.Loading<String, IRI> iris;
+    protected final InternalCache<String, String> uris;
+    protected final InternalCache<Object[], Object[]> contents;
     protected final Set<InternalCache<?, ?>> caches;
 
     /**
@@ -87,32 +86,101 @@ public class CacheObjectFactory extends InternalObjectFactory {
                                  Supplier<OntModel> model,
                                  Map<Class<? extends OWLPrimitive>, InternalCache<?, ?>> external,
                                  Supplier<InternalCache<?, ?>> cacheFactory) {
+        this(dataFactory, model, external, cacheFactory, CACHE_SIZE, null);
+    }
+
+    /**
+     * Provides an instance, that contain both shared (outer) and fresh (inner) caches,
+     * and records the statistics of all of them into the given {@link CacheStats}.
+     * The {@code external} map may also contain an {@link OWLEntity} entry,
+     * which is a shared pool of entity URIs, see {@link #toURI(String)}.
+     *
+     * @param dataFactory  {@link DataFactory}, not {@code null}
+     * @param model        a facility (as {@code Supplier}) to provide nonnull {@link OntModel} instance, not {@code null}
+     * @param external     a {@code Map} containing existing outer caches, not {@code null}
+     * @param cacheFactory a facility ({@code Supplier}) to produce new cache instances, not {@code null}
+     * @param contentsSize long, the size of the pool of expression contents, see {@link #intern(Object[])}
+     * @param stats        {@link CacheStats} or {@code null} to disable statistics
+     * @since 2.0.1
+     */
+    @SuppressWarnings("unchecked")
+    protected CacheObjectFactory(DataFactory dataFactory,
+                                 Supplier<OntModel> model,
+                                 Map<Class<? extends OWLPrimitive>, InternalCache<?, ?>> external,
+                                 Supplier<InternalCache<?, ?>> cacheFactory,
+                                 long contentsSize,
+                                 CacheStats stats) {
         super(dataFactory, model);
         this.caches = new HashSet<>();
-        this.iris = fetchCache(external, caches, cacheFactory, org.semanticweb.owlapi.model.IRI.class).asLoading(super::toIRI);
-        this.classes = fetchCache(external, caches, cacheFactory, OWLClass.class).asLoading(super::getClass);
-        this.datatypes = fetchCache(external, caches, cacheFactory, OWLDatatype.class).asLoading(super::getDatatype);
-        this.annotationProperties = fetchCache(external, caches, cacheFactory, OWLAnnotationProperty.class)
-                .asLoading(super::getAnnotationProperty);
-        this.datatypeProperties = fetchCache(external, caches, cacheFactory, OWLDataProperty.class)
-                .asLoading(super::getDataProperty);
-        this.objectProperties = fetchCache(external, caches, cacheFactory, OWLObjectProperty.class)
-                .asLoading(super::getObjectProperty);
-        this.individuals = fetchCache(external, caches, cacheFactory, OWLNamedIndividual.class)
-                .asLoading(super::getNamedIndividual);
+        this.iris = fetchCache(external, caches, cacheFactory, stats, org.semanticweb.owlapi.model.IRI.class)
+                .asLoading(super::toIRI);
+        this.uris = (InternalCache<String, String>) external.get(OWLEntity.class);
+        this.classes = fetchCache(external, caches, cacheFactory, stats, OWLClass.class)
+                .asLoading(x -> super.getClass(toURI(x)));
+        this.datatypes = fetchCache(external, caches, cacheFactory, stats, OWLDatatype.class)
+                .asLoading(x -> super.getDatatype(toURI(x)));
+        this.annotationProperties = fetchCache(external, caches, cacheFactory, stats, OWLAnnotationProperty.class)
+                .asLoading(x -> super.getAnnotationProperty(toURI(x)));
+        this.datatypeProperties = fetchCache(external, caches, cacheFactory, stats, OWLDataProperty.class)
+                .asLoading(x -> super.getDataProperty(toURI(x)));
+        this.objectProperties = fetchCache(external, caches, cacheFactory, stats, OWLObjectProperty.class)
+                .asLoading(x -> super.getObjectProperty(toURI(x)));
+        this.individuals = fetchCache(external, caches, cacheFactory, stats, OWLNamedIndividual.class)
+                .asLoading(x -> super.getNamedIndividual(toURI(x)));
+        InternalCache<Object[], Object[]> contents = InternalCache.createArrayPool(contentsSize);
+        if (stats != null) {
+            contents = InternalCache.counting(contents, stats.objects(Object[].class));
+        }
+        this.contents = contents;
+        this.caches.add(contents);
     }
 
     @SuppressWarnings("unchecked")
     private static <R> InternalCache<String, R> fetchCache(Map<Class<? extends OWLPrimitive>, InternalCache<?, ?>> system,
                                                            Set<InternalCache<?, ?>> caches,
                                                            Supplier<InternalCache<?, ?>> factory,
+                                                           CacheStats stats,
                                                            Class<? extends OWLPrimitive> key) {
-        InternalCache<?, ?> res = system.get(key);
-        if (res == null) {
-            res = factory.get();
+        InternalCache<String, R> res = (InternalCache<String, R>) system.get(key);
+        boolean isNew = res == null;
+        if (isNew) {
+            res = (InternalCache<String, R>) factory.get();
+        }
+        if (stats != null) {
+            res = InternalCache.counting(res, stats.objects(key));
+        }
+        if (isNew) {
             caches.add(res);
         }
-        return (InternalCache<String, R>) res;
+        return res;
+    }
+
+    /**
+     * Answers the canonical instance of the given entity URI,
+     * if there is a shared pool of URIs (the {@link OWLEntity} entry of the external caches),
+     * otherwise returns the same string.
+     * All entities produced by this factory refer to the canonical URIs,
+     * and, therefore, share them with entities of other models that use the same pool.
+     *
+     * @param uri {@code String}, not {@code null}
+     * @return {@code String}
+     * @since 2.0.1
+     */
+    protected String toURI(String uri) {
+        return uris == null ? uri : uris.get(uri, x -> x);
+    }
+
+    /**
+     * Answers the canonical content array from the bounded pool.
+     * The pool compares arrays by content, so the lookup does not allocate a key wrapper.
+     *
+     * @param content an {@code Array} of {@code Object}s (content items), not {@code null}
+     * @return an {@code Array}, equal to the given one
+     * @since 2.0.1
+     */
+    @Override
+    public Object[] intern(Object[] content) {
+        return contents.get(content, x -> content);
     }
 
     /**
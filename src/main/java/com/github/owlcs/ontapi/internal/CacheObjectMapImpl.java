@@ -14,6 +14,7 @@
 
 package com.github.owlcs.ontapi.internal;
 
+import com.github.owlcs.ontapi.internal.objects.ONTStatementImpl;
 import org.apache.jena.graph.Triple;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAxiom;
@@ -21,7 +22,6 @@ import org.semanticweb.owlapi.model.OWLObject;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -46,6 +46,8 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
     private final Supplier<Iterator<ONTObject<X>>> loader;
     // soft reference:
     private final InternalCache.Loading<CacheObjectMapImpl<X>, CachedMap<X, ONTObject<X>>> map;
+    // reverse index (triple -> keys), soft reference, it is built on demand:
+    private final InternalCache.Loading<CacheObjectMapImpl<X>, TriplesIndex<X>> index;
 
     // a state flag that responds whether some axioms have been manually added to this map
     // the dangerous of manual added axioms is that the same information can be represented in different ways.
@@ -61,6 +63,10 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
     private final boolean parallel;
     // to control key-iteration
     private final boolean fastIterator;
+    // to record statistics, can be null
+    private final CacheStats.Counter stats;
+    // the last known size of the map, used to record statistics
+    private volatile long size;
 
     @SuppressWarnings("unused")
     public CacheObjectMapImpl(Supplier<Iterator<ONTObject<X>>> loader, boolean parallel) {
@@ -80,11 +86,32 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
                               boolean withMerge,
                               boolean parallel,
                               boolean fastIterator) {
+        this(loader, withMerge, parallel, fastIterator, null);
+    }
+
+    /**
+     * Constructs a bucket instance that records its statistics into the given {@code stats} counter.
+     *
+     * @param loader       a {@code Supplier} to load object-triples pairs, not {@code null}
+     * @param withMerge    if {@code true} merging is performed while loading cache,
+     *                     otherwise the source is assumed to be distinct
+     * @param parallel     if {@code true} use caffeine cache, otherwise LHM based cache
+     * @param fastIterator if {@code true} use Array-based cache to speedup iteration over {@link X}-keys
+     * @param stats        {@link CacheStats.Counter} or {@code null} to disable statistics
+     * @since 2.0.1
+     */
+    public CacheObjectMapImpl(Supplier<Iterator<ONTObject<X>>> loader,
+                              boolean withMerge,
+                              boolean parallel,
+                              boolean fastIterator,
+                              CacheStats.Counter stats) {
+        this.stats = stats;
         this.loader = Objects.requireNonNull(loader);
         this.withMerge = withMerge;
         this.parallel = parallel;
         this.fastIterator = fastIterator;
         this.map = InternalCache.createSoftSingleton(CacheObjectMapImpl::loadMap);
+        this.index = InternalCache.createSoftSingleton(CacheObjectMapImpl::loadIndex);
     }
 
     /**
@@ -93,17 +120,42 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
      * @return {@link CachedMap}
      */
     protected CachedMap<X, ONTObject<X>> loadMap() {
+        return loadMap(loader.get());
+    }
+
+    /**
+     * Loads the cache into memory using the given {@code Iterator} as a source.
+     *
+     * @param it {@code Iterator} of {@link ONTObject}s
+     * @return {@link CachedMap}
+     */
+    protected CachedMap<X, ONTObject<X>> loadMap(Iterator<ONTObject<X>> it) {
+        if (stats == null) {
+            return createCachedMap(it);
+        }
+        long start = System.nanoTime();
+        CachedMap<X, ONTObject<X>> res = createCachedMap(it);
+        stats.recordMiss(System.nanoTime() - start);
+        if (size != 0) {
+            // the previous map has been collected by GC
+            stats.recordEviction(size);
+        }
+        updateSize(res.size());
+        return res;
+    }
+
+    private CachedMap<X, ONTObject<X>> createCachedMap(Iterator<ONTObject<X>> it) {
         this.hasNew = false;
-        Iterator<ONTObject<X>> it = loader.get();
+        this.index.clear();
         Map<X, ONTObject<X>> res = createMap();
         if (withMerge) {
             while (it.hasNext()) {
-                WithMerge.add(res, it.next());
+                WithMerge.add(res, ONTStatementImpl.withFingerprint(it.next()));
             }
             return CachedMap.create(res, WithMerge.getMerger(), parallel);
         }
         while (it.hasNext()) {
-            ONTObject<X> v = it.next();
+            ONTObject<X> v = ONTStatementImpl.withFingerprint(it.next());
             res.put(v.getOWLObject(), v);
         }
         return CachedMap.create(res, null, parallel);
@@ -128,10 +180,50 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
         return new LinkedHashMap<>();
     }
 
+    /**
+     * Builds the reverse index ({@link Triple} to {@link X}-keys) for the current state of the cache.
+     * Note: it can be a time-consuming operation,
+     * since all triples of each {@link ONTObject}-value are listed.
+     *
+     * @return {@link TriplesIndex}
+     */
+    protected TriplesIndex<X> loadIndex() {
+        TriplesIndex<X> res = new TriplesIndex<>(parallel);
+        getMapForWrite().asMap().forEach((k, v) -> res.add(k, v.triples()));
+        return res;
+    }
+
+    /**
+     * Answers the cached map to read from, loading it if necessary.
+     * A request to an already loaded map is recorded as a cache hit.
+     *
+     * @return {@link CachedMap}
+     * @see #getMapForWrite()
+     */
     protected CachedMap<X, ONTObject<X>> getMap() {
+        if (stats == null || !isLoaded()) {
+            return map.get(this);
+        }
+        stats.recordHit();
+        return map.get(this);
+    }
+
+    /**
+     * Answers the cached map to modify, loading it if necessary.
+     * Unlike {@link #getMap()}, the request is not recorded as a cache hit,
+     * since it is an internal bookkeeping rather than a lookup.
+     *
+     * @return {@link CachedMap}
+     */
+    protected CachedMap<X, ONTObject<X>> getMapForWrite() {
         return map.get(this);
     }
 
+    private void updateSize(long size) {
+        stats.recordSize(size - this.size);
+        this.size = size;
+    }
+
     @Override
     public boolean isLoaded() {
         return !map.isEmpty();
@@ -139,7 +231,15 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
 
     @Override
     public void load() {
-        getMap();
+        getMapForWrite();
+    }
+
+    @Override
+    public boolean load(Iterator<ONTObject<X>> source) {
+        Objects.requireNonNull(source);
+        if (isLoaded()) return false;
+        map.put(this, loadMap(source));
+        return true;
     }
 
     @Override
@@ -147,6 +247,7 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
         return isLoaded() && hasNew;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public Stream<X> keys() {
         if (fastIterator) {
@@ -154,11 +255,19 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
             // In our case it extremely speeds up axioms listing (even faster than in OWL-API-impl)
             return getMap().getKeys().stream();
         }
+        if (parallel) {
+            // the ConcurrentHashMap's views are weakly consistent, the stream must be bound to a snapshot
+            return (Stream<X>) (Stream<?>) Arrays.stream(getMap().asMap().keySet().toArray());
+        }
         return getMap().asMap().keySet().stream();
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public Stream<ONTObject<X>> values() {
+        if (parallel) {
+            return (Stream<ONTObject<X>>) (Stream<?>) Arrays.stream(getMap().asMap().values().toArray());
+        }
         return getMap().asMap().values().stream();
     }
 
@@ -179,6 +288,34 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
         return getMap().contains(o);
     }
 
+    @Override
+    public Boolean containsIfLoaded(X key) {
+        // the map may be cleared concurrently, so take the current state once
+        CachedMap<X, ONTObject<X>> res = map.getIfPresent(this);
+        return res == null ? null : res.contains(key);
+    }
+
+    @Override
+    public long countIfLoaded() {
+        CachedMap<X, ONTObject<X>> res = map.getIfPresent(this);
+        return res == null ? -1 : res.asMap().size();
+    }
+
+    /**
+     * {@inheritDoc}
+     * To speed up the search, the soft-referenced reverse index is used,
+     * it is built on the first call and then maintained while adding/removing objects.
+     *
+     * @param triple {@link Triple}, not {@code null}
+     * @return {@code Stream} of {@link X}s
+     */
+    @Override
+    public Stream<X> keys(Triple triple) {
+        Objects.requireNonNull(triple);
+        CachedMap<X, ONTObject<X>> map = getMap();
+        return index.get(this).keys(triple).stream().filter(map::contains);
+    }
+
     /**
      * Deletes the given object and all its associated triples.
      *
@@ -187,15 +324,64 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
     @Override
     public void remove(X key) {
         if (!isLoaded()) return;
-        getMap().remove(key);
+        CachedMap<X, ONTObject<X>> map = getMapForWrite();
+        map.remove(key);
+        if (stats != null) {
+            updateSize(map.size());
+        }
+        if (index.isEmpty()) return;
+        // note: the graph may already not contain the object's triples, so the index does not use ONTObject here
+        index.get(this).remove(key);
     }
 
     @Override
     public void add(ONTObject<X> value) {
-        getMap().put(value.getOWLObject(), value);
+        put(value);
         hasNew = true;
     }
 
+    /**
+     * {@inheritDoc}
+     * The size statistics is updated once, and the reverse index (if it is present) is updated in a single pass.
+     *
+     * @param values a {@code Collection} of {@link ONTObject}s, not {@code null}
+     */
+    @Override
+    public void addAll(Collection<ONTObject<X>> values) {
+        if (values.isEmpty()) return;
+        CachedMap<X, ONTObject<X>> map = getMapForWrite();
+        values.forEach(v -> map.put(v.getOWLObject(), ONTStatementImpl.withFingerprint(v)));
+        hasNew = true;
+        if (stats != null) {
+            updateSize(map.size());
+        }
+        if (index.isEmpty()) return;
+        TriplesIndex<X> res = index.get(this);
+        values.forEach(v -> {
+            X key = v.getOWLObject();
+            res.add(key, map.get(key).triples());
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * The reverse index is also updated, if it is present.
+     *
+     * @param value {@link ONTObject} of {@link X}, not {@code null}
+     */
+    @Override
+    public void put(ONTObject<X> value) {
+        CachedMap<X, ONTObject<X>> map = getMapForWrite();
+        X key = value.getOWLObject();
+        map.put(key, ONTStatementImpl.withFingerprint(value));
+        if (stats != null) {
+            updateSize(map.size());
+        }
+        if (index.isEmpty()) return;
+        // take the value from the map, since it can be merged:
+        index.get(this).add(key, map.get(key).triples());
+    }
+
     @Override
     public ONTObject<X> get(X key) {
         return getMap().get(key);
@@ -204,6 +390,84 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
     @Override
     public void clear() {
         map.clear();
+        index.clear();
+        if (stats != null && size != 0) {
+            stats.recordEviction(size);
+            updateSize(0);
+        }
+    }
+
+    /**
+     * A reverse index to find {@link K}-keys by {@link Triple}s.
+     * It also holds the direct mapping ({@link K}-key to {@link Triple}s)
+     * to be able to remove a key without looking into the graph,
+     * which may be already changed at the moment of removal.
+     *
+     * @param <K> the type of keys
+     */
+    public static class TriplesIndex<K> {
+        protected final Map<Triple, Set<K>> byTriple;
+        protected final Map<K, Set<Triple>> byKey;
+        protected final boolean parallel;
+
+        protected TriplesIndex(boolean parallel) {
+            this.parallel = parallel;
+            this.byTriple = parallel ? new ConcurrentHashMap<>() : new HashMap<>();
+            this.byKey = parallel ? new ConcurrentHashMap<>() : new HashMap<>();
+        }
+
+        /**
+         * Creates a fresh {@code Set}, usually it is small.
+         *
+         * @param <X> the type of elements
+         * @return {@link Set}
+         */
+        protected <X> Set<X> createSet() {
+            return parallel ? ConcurrentHashMap.newKeySet() : new HashSet<>();
+        }
+
+        /**
+         * Associates all the given triples with the specified key.
+         *
+         * @param key     {@link K}, not {@code null}
+         * @param triples {@code Stream} of {@link Triple}s
+         */
+        public void add(K key, Stream<Triple> triples) {
+            Set<Triple> set = byKey.computeIfAbsent(key, x -> createSet());
+            triples.forEach(t -> {
+                set.add(t);
+                byTriple.computeIfAbsent(t, x -> createSet()).add(key);
+            });
+        }
+
+        /**
+         * Removes the key and all its associations.
+         *
+         * @param key {@link K}, not {@code null}
+         */
+        public void remove(K key) {
+            Set<Triple> triples = byKey.remove(key);
+            if (triples == null) return;
+            triples.forEach(t -> {
+                Set<K> keys = byTriple.get(t);
+                if (keys == null) return;
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    byTriple.remove(t);
+                }
+            });
+        }
+
+        /**
+         * Returns a copy of all keys, that are associated with the given triple.
+         *
+         * @param triple {@link Triple}, not {@code null}
+         * @return {@code List} of {@link K}s
+         */
+        public List<K> keys(Triple triple) {
+            Set<K> res = byTriple.get(triple);
+            return res == null ? Collections.emptyList() : new ArrayList<>(res);
+        }
     }
 
     /**
@@ -245,8 +509,8 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
                 }
                 // R/W lock does not guarantee thread-safety in multithreading,
                 // since iterator go beyond a locked-block where it has been initialized,
-                // but (I believe), R/W locking reduces the List's mutation costs
-                return new CopyOnWriteArrayList<>(map.keySet());
+                // so each stream must be bound to its own immutable snapshot
+                return new SnapshotList<>(map.keySet());
             });
             return new CachedMap<>(map, keys, merger);
         }
@@ -273,6 +537,8 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
          * Represents all keys as a {@code List}.
          * Note: when calling it will collect the cache if it is absent,
          * so, for big collections, some delay is expected.
+         * In parallel mode the returned list is a {@link SnapshotList},
+         * its streams and iterators are not affected by further modifications.
          *
          * @return {@code List} of {@link K}s
          */
@@ -347,4 +613,97 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
         }
     }
 
+    /**
+     * A thread-safe {@code List} which streams and iterators are bound to an immutable snapshot
+     * of the list state at the moment of their creation.
+     * In this sense, it is similar to the {@link java.util.concurrent.CopyOnWriteArrayList},
+     * but appending does not copy the whole array:
+     * a new element is written to the free tail of the current array, which is never visible to existing snapshots,
+     * and then the new state (array + size) is published atomically.
+     * Only removal (which is a rare operation) and array growth require a copy.
+     * So concurrent readers can stream lazily from a consistent state without any per-call copying.
+     *
+     * @param <E> the type of elements
+     */
+    public static class SnapshotList<E> extends AbstractList<E> implements RandomAccess {
+        private volatile State state;
+
+        protected SnapshotList(Collection<? extends E> elements) {
+            Object[] array = elements.toArray();
+            this.state = new State(Arrays.copyOf(array, capacity(array.length)), array.length);
+        }
+
+        private static int capacity(int size) {
+            return size + (size >> 3) + 16;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E get(int index) {
+            State s = state;
+            if (index < 0 || index >= s.size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + s.size);
+            }
+            return (E) s.array[index];
+        }
+
+        @Override
+        public int size() {
+            return state.size;
+        }
+
+        @Override
+        public synchronized boolean add(E e) {
+            State s = state;
+            Object[] array = s.array;
+            if (s.size == array.length) {
+                array = Arrays.copyOf(array, capacity(s.size));
+            }
+            // the cell is beyond the size of any existing snapshot:
+            array[s.size] = e;
+            state = new State(array, s.size + 1);
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public synchronized E remove(int index) {
+            State s = state;
+            if (index < 0 || index >= s.size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + s.size);
+            }
+            // existing snapshots must not be changed, so make a copy:
+            Object[] array = new Object[s.array.length];
+            System.arraycopy(s.array, 0, array, 0, index);
+            System.arraycopy(s.array, index + 1, array, index, s.size - index - 1);
+            state = new State(array, s.size - 1);
+            return (E) s.array[index];
+        }
+
+        @Override
+        public synchronized void clear() {
+            state = new State(new Object[capacity(0)], 0);
+        }
+
+        @Override
+        public Spliterator<E> spliterator() {
+            State s = state;
+            return Spliterators.spliterator(s.array, 0, s.size, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return Spliterators.iterator(spliterator());
+        }
+
+        private static class State {
+            private final Object[] array;
+            private final int size;
+
+            private State(Object[] array, int size) {
+                this.array = array;
+                this.size = size;
+            }
+        }
+    }
 }
@@ -0,0 +1,361 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, The University of Manchester, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.internal;
+
+import com.github.owlcs.ontapi.OntApiException;
+import com.github.owlcs.ontapi.jena.impl.OntGraphModelImpl;
+import com.github.owlcs.ontapi.jena.model.OntStatement;
+import org.apache.jena.datatypes.TypeMapper;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.semanticweb.owlapi.model.OWLObject;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * A snapshot of the materialized content cache of the {@link InternalModel}, that is stored in a file,
+ * to speed up a warm start of a large ontology.
+ * <p>
+ * Since all {@link ONTObject}s are backed by the graph,
+ * the snapshot does not contain any OWL-API objects (and does not use java serialization).
+ * Instead, for each axiom type, it contains the root triples from which the axioms of that type can be read.
+ * The file has a simple binary format:
+ * a header (a magic number, a version, a key, a number of graph triples and
+ * a mask of config settings, that affect reading),
+ * a dictionary of nodes, and then, for each {@link OWLTopObjectType}, a table of triples, encoded as node ids.
+ * Blank nodes are not stable between different loads of the same document,
+ * so all of them are encoded as {@link Node#ANY}:
+ * this may widen a search pattern while restoring,
+ * but cannot lead to a wrong result, since each found statement is tested by the corresponding translator.
+ * <p>
+ * The key identifies the graph content, it is provided by the caller,
+ * for example it can be a digest of the source document (see {@code TransformedGraphCache}).
+ * So the graph itself is not scanned to check the snapshot,
+ * only the key, the graph size and the config mask are compared.
+ * <p>
+ * The file is memory-mapped and is decoded on demand:
+ * opening reads only the header and the positions of the records,
+ * a table is decoded when the corresponding bucket is requested for the first time,
+ * and a node is decoded when it is referred by such a table.
+ * Only the types for which the method {@link OWLTopObjectType#isReadableByStatement()} answers {@code true}
+ * are stored; all the rest buckets are loaded in the usual way.
+ * <p>
+ * Created by @ssz on 20.05.2020.
+ *
+ * @see InternalModel#writeCacheSnapshot(Path, String)
+ * @see InternalModel#readCacheSnapshot(Path, String)
+ * @since 2.0.1
+ */
+public class CacheSnapshot {
+    private static final int MAGIC = 0x4F4E5453; // "ONTS"
+    private static final int VERSION = 2;
+    private static final byte BLANK = 0;
+    private static final byte URI = 1;
+    private static final byte LITERAL = 2;
+
+    private final ByteBuffer data;
+    private final long size;
+    // the positions of node records in the data:
+    private final int[] offsets;
+    // the decoded nodes, the array is filled on demand:
+    private final Node[] nodes;
+    // the positions of the triple tables in the data:
+    private final Map<OWLTopObjectType, Integer> tables;
+
+    protected CacheSnapshot(ByteBuffer data, long size, int[] offsets, Map<OWLTopObjectType, Integer> tables) {
+        this.data = data;
+        this.size = size;
+        this.offsets = offsets;
+        this.nodes = new Node[offsets.length];
+        this.tables = tables;
+    }
+
+    /**
+     * Writes the content cache of the given model into the specified file.
+     * The not yet loaded buckets are loaded.
+     * The file is written to a temporary file first and then moved,
+     * so concurrent readers never see a partial snapshot.
+     *
+     * @param model {@link InternalModel}, not {@code null}
+     * @param file  {@link Path}, not {@code null}
+     * @param key   {@code String}, the identifier of the graph content, not {@code null}
+     * @throws OntApiException if an I/O error occurs
+     */
+    public static void write(InternalModel model, Path file, String key) throws OntApiException {
+        Objects.requireNonNull(key, "Null key");
+        InternalConfig conf = model.getConfig();
+        OntGraphModelImpl m = model.getSearchModel();
+        Map<Node, Integer> nodes = new LinkedHashMap<>();
+        nodes.put(Node.ANY, 0);
+        Map<OWLTopObjectType, Set<Triple>> data = new EnumMap<>(OWLTopObjectType.class);
+        Map<OWLTopObjectType, ObjectMap<? extends OWLObject>> store = model.getContentStore();
+        OWLTopObjectType.axioms().filter(OWLTopObjectType::isReadableByStatement).forEach(type -> {
+            Set<Triple> res = new LinkedHashSet<>();
+            store.get(type).values().forEach(v -> v.triples().forEach(t -> {
+                Triple pattern = toPattern(t);
+                if (res.contains(pattern) || !type.test(m.asStatement(t), conf)) {
+                    return;
+                }
+                res.add(pattern);
+                nodes.computeIfAbsent(pattern.getSubject(), x -> nodes.size());
+                nodes.computeIfAbsent(pattern.getPredicate(), x -> nodes.size());
+                nodes.computeIfAbsent(pattern.getObject(), x -> nodes.size());
+            }));
+            data.put(type, res);
+        });
+        Path tmp = null;
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeString(out, key);
+                out.writeLong(model.getBaseGraph().size());
+                out.writeInt(configMask(conf));
+                out.writeInt(nodes.size());
+                for (Node n : nodes.keySet()) {
+                    writeNode(out, n);
+                }
+                out.writeInt(data.size());
+                for (Map.Entry<OWLTopObjectType, Set<Triple>> e : data.entrySet()) {
+                    writeString(out, e.getKey().name());
+                    out.writeInt(e.getValue().size());
+                    for (Triple t : e.getValue()) {
+                        out.writeInt(nodes.get(t.getSubject()));
+                        out.writeInt(nodes.get(t.getPredicate()));
+                        out.writeInt(nodes.get(t.getObject()));
+                    }
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            OntApiException res = new OntApiException("Can't write the cache snapshot to " + file, e);
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ex) {
+                    res.addSuppressed(ex);
+                }
+            }
+            throw res;
+        }
+    }
+
+    /**
+     * Opens the snapshot from the specified file, if it matches the given model.
+     * The file is memory-mapped, only the header and the positions of the records are read here.
+     *
+     * @param model {@link InternalModel}, not {@code null}
+     * @param file  {@link Path}, not {@code null}
+     * @param key   {@code String}, the identifier of the graph content, not {@code null}
+     * @return {@link CacheSnapshot} or {@code null} if the snapshot does not match the model
+     * @throws OntApiException if an I/O error occurs or the file is broken
+     */
+    public static CacheSnapshot open(InternalModel model, Path file, String key) throws OntApiException {
+        Objects.requireNonNull(key, "Null key");
+        InternalConfig conf = model.getConfig();
+        if (!conf.useContentCache() && !model.isFrozen()) {
+            return null;
+        }
+        long size = model.getBaseGraph().size();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping remains valid after the channel is closed:
+            ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.getInt() != MAGIC || in.getInt() != VERSION || !key.equals(readString(in))) {
+                return null;
+            }
+            if (in.getLong() != size || in.getInt() != configMask(conf)) {
+                return null;
+            }
+            int[] offsets = new int[in.getInt()];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = in.position();
+                skipNode(in);
+            }
+            Map<OWLTopObjectType, Integer> tables = new EnumMap<>(OWLTopObjectType.class);
+            int types = in.getInt();
+            for (int i = 0; i < types; i++) {
+                OWLTopObjectType type = OWLTopObjectType.valueOf(readString(in));
+                tables.put(type, in.position());
+                int count = in.getInt();
+                in.position(in.position() + count * 3 * Integer.BYTES);
+            }
+            return new CacheSnapshot(in, size, offsets, tables);
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            throw new OntApiException("Can't read the cache snapshot from " + file, e);
+        }
+    }
+
+    /**
+     * Answers {@code true} if the snapshot contains the bucket of the given type
+     * and still matches the graph of the model.
+     *
+     * @param model {@link InternalModel}, not {@code null}
+     * @param type  {@link OWLTopObjectType}, not {@code null}
+     * @return boolean
+     */
+    public boolean contains(InternalModel model, OWLTopObjectType type) {
+        return tables.containsKey(type) && model.getBaseGraph().size() == size;
+    }
+
+    /**
+     * Restores the bucket of the given type.
+     * The graph is searched by the stored patterns, and each found statement is translated to the objects.
+     *
+     * @param model {@link InternalModel}, not {@code null}
+     * @param type  {@link OWLTopObjectType}, not {@code null}
+     * @return {@code Iterator} of {@link ONTObject}s
+     * @throws OntApiException if the file is broken
+     * @see #contains(InternalModel, OWLTopObjectType)
+     */
+    @SuppressWarnings("unchecked")
+    public Iterator<ONTObject<OWLObject>> read(InternalModel model, OWLTopObjectType type) throws OntApiException {
+        Integer offset = tables.get(type);
+        if (offset == null) {
+            throw new IllegalArgumentException("No " + type + " in the snapshot");
+        }
+        InternalConfig conf = model.getConfig();
+        ModelObjectFactory factory = model.getObjectFactory();
+        OntGraphModelImpl m = model.getSearchModel();
+        Graph g = model.getBaseGraph();
+        Set<Triple> seen = new HashSet<>();
+        List<ONTObject<OWLObject>> res = new ArrayList<>();
+        try {
+            ByteBuffer in = data.duplicate();
+            in.position(offset);
+            int count = in.getInt();
+            for (int i = 0; i < count; i++) {
+                Triple pattern = Triple.create(node(in.getInt()), node(in.getInt()), node(in.getInt()));
+                g.find(pattern).forEachRemaining(t -> {
+                    if (!seen.add(t)) return;
+                    OntStatement s = m.asStatement(t);
+                    type.read(factory, conf, s).forEachRemaining(x -> res.add((ONTObject<OWLObject>) x));
+                });
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new OntApiException("The cache snapshot is broken", e);
+        }
+        return res.iterator();
+    }
+
+    private Node node(int index) {
+        Node res = nodes[index];
+        if (res != null) {
+            return res;
+        }
+        ByteBuffer in = data.duplicate();
+        in.position(offsets[index]);
+        // the same node may be decoded twice concurrently, that is harmless:
+        return nodes[index] = readNode(in);
+    }
+
+    private static int configMask(InternalConfig conf) {
+        boolean[] flags = new boolean[]{conf.isLoadAnnotationAxioms(),
+                conf.isAllowBulkAnnotationAssertions(),
+                conf.isIgnoreAnnotationAxiomOverlaps(),
+                conf.isAllowReadDeclarations(),
+                conf.isSplitAxiomAnnotations(),
+                conf.isIgnoreAxiomsReadErrors()};
+        int res = 0;
+        for (int i = 0; i < flags.length; i++) {
+            if (flags[i]) res |= 1 << i;
+        }
+        return res;
+    }
+
+    private static Triple toPattern(Triple t) {
+        Node s = t.getSubject();
+        Node o = t.getObject();
+        if (!s.isBlank() && !o.isBlank()) {
+            return t;
+        }
+        return Triple.create(s.isBlank() ? Node.ANY : s, t.getPredicate(), o.isBlank() ? Node.ANY : o);
+    }
+
+    private static void writeNode(DataOutputStream out, Node n) throws IOException {
+        if (n.isURI()) {
+            out.writeByte(URI);
+            writeString(out, n.getURI());
+            return;
+        }
+        if (n.isLiteral()) {
+            out.writeByte(LITERAL);
+            writeString(out, n.getLiteralLexicalForm());
+            writeString(out, n.getLiteralDatatypeURI());
+            writeString(out, n.getLiteralLanguage());
+            return;
+        }
+        out.writeByte(BLANK);
+    }
+
+    private static Node readNode(ByteBuffer in) {
+        byte kind = in.get();
+        if (kind == URI) {
+            return NodeFactory.createURI(readString(in));
+        }
+        if (kind == LITERAL) {
+            String lex = readString(in);
+            String dt = readString(in);
+            String lang = readString(in);
+            if (!lang.isEmpty()) {
+                return NodeFactory.createLiteral(lex, lang);
+            }
+            return NodeFactory.createLiteral(lex, TypeMapper.getInstance().getSafeTypeByName(dt));
+        }
+        if (kind == BLANK) {
+            return Node.ANY;
+        }
+        throw new IllegalArgumentException("Unexpected node kind: " + kind);
+    }
+
+    private static void skipNode(ByteBuffer in) {
+        byte kind = in.get();
+        int strings = kind == URI ? 1 : kind == LITERAL ? 3 : 0;
+        if (kind != URI && kind != LITERAL && kind != BLANK) {
+            throw new IllegalArgumentException("Unexpected node kind: " + kind);
+        }
+        for (int i = 0; i < strings; i++) {
+            int length = in.getInt();
+            in.position(in.position() + length);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
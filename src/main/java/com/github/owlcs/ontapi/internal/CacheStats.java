@@ -0,0 +1,244 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, The University of Manchester, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.internal;
+
+import com.github.owlcs.ontapi.jena.impl.OntObjectImpl;
+import com.github.owlcs.ontapi.jena.model.OntObject;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * A collection of named cache counters (hits, misses, load time, evictions, size)
+ * that are collected while working with the {@link InternalModel}.
+ * There are the following groups of counters (the group is a prefix of the counter name):
+ * <ul>
+ * <li>{@code content:} - the content ({@link OWLTopObjectType}) buckets, see {@link #content(OWLTopObjectType)}</li>
+ * <li>{@code components:} - the component ({@link OWLComponentType}) buckets,
+ * see {@link #components(OWLComponentType)}</li>
+ * <li>{@code objects:} - the caches of the {@link CacheObjectFactory}, see {@link #objects(Class)}</li>
+ * <li>{@code nodes:} - the node caches of the {@link SearchModel}, see {@link #nodes(Class)}</li>
+ * </ul>
+ * All counters are based on {@link LongAdder}s, so they are cheap enough to be always on.
+ * <p>
+ * Created by @ssz on 22.05.2020.
+ *
+ * @see InternalModel#getCacheStats()
+ * @since 2.0.1
+ */
+public class CacheStats {
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Sums up all the given stats into a new {@link CacheStats} instance.
+     *
+     * @param stats {@code Stream} of {@link CacheStats}s
+     * @return {@link CacheStats}
+     */
+    public static CacheStats aggregate(Stream<CacheStats> stats) {
+        CacheStats res = new CacheStats();
+        stats.forEach(s -> s.counters.forEach((k, v) -> res.get(k).add(v)));
+        return res;
+    }
+
+    /**
+     * Answers the counter for the content bucket of the given type.
+     *
+     * @param type {@link OWLTopObjectType}, not {@code null}
+     * @return {@link Counter}
+     */
+    public Counter content(OWLTopObjectType type) {
+        return get("content:" + type);
+    }
+
+    /**
+     * Answers the counter for the component bucket of the given type.
+     *
+     * @param type {@link OWLComponentType}, not {@code null}
+     * @return {@link Counter}
+     */
+    public Counter components(OWLComponentType type) {
+        return get("components:" + type);
+    }
+
+    /**
+     * Answers the counter for the {@link CacheObjectFactory} cache of the given type.
+     *
+     * @param type {@code Class}-type of the cached object, not {@code null}
+     * @return {@link Counter}
+     */
+    public Counter objects(Class<?> type) {
+        return get("objects:" + type.getSimpleName());
+    }
+
+    /**
+     * Answers the counter for the node cache of the given {@link OntObject} type.
+     *
+     * @param type {@code Class}-type of {@link OntObject}, not {@code null}
+     * @return {@link Counter}
+     */
+    public Counter nodes(Class<? extends OntObject> type) {
+        return get("nodes:" + OntObjectImpl.viewAsString(type));
+    }
+
+    /**
+     * Answers the counter by its name, creating a new one if necessary.
+     *
+     * @param name {@code String}, not {@code null}
+     * @return {@link Counter}
+     */
+    public Counter get(String name) {
+        return counters.computeIfAbsent(Objects.requireNonNull(name), x -> new Counter());
+    }
+
+    /**
+     * Answers a sorted immutable copy of all counters.
+     *
+     * @return {@code Map} with counter names as keys
+     */
+    public Map<String, Counter> asMap() {
+        Map<String, Counter> res = new TreeMap<>();
+        counters.forEach((k, v) -> res.put(k, new Counter().add(v)));
+        return Collections.unmodifiableMap(res);
+    }
+
+    /**
+     * Sums up all counters with the given prefix (e.g. {@code "content:"}) into a single one.
+     *
+     * @param prefix {@code String}, not {@code null}
+     * @return {@link Counter}
+     */
+    public Counter total(String prefix) {
+        Counter res = new Counter();
+        counters.forEach((k, v) -> {
+            if (k.startsWith(prefix)) res.add(v);
+        });
+        return res;
+    }
+
+    /**
+     * Resets all counters.
+     */
+    public void reset() {
+        counters.values().forEach(Counter::reset);
+    }
+
+    @Override
+    public String toString() {
+        return asMap().toString();
+    }
+
+    /**
+     * A set of counters for a single cache.
+     */
+    public static class Counter {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder loadTime = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final LongAdder size = new LongAdder();
+
+        /**
+         * Records a cache hit.
+         */
+        public void recordHit() {
+            hits.increment();
+        }
+
+        /**
+         * Records a cache miss, i.e. loading a value.
+         *
+         * @param nanos long, the time spent on the loading
+         */
+        public void recordMiss(long nanos) {
+            misses.increment();
+            loadTime.add(nanos);
+        }
+
+        /**
+         * Records an eviction (or invalidation) of the given number of values.
+         *
+         * @param count long
+         */
+        public void recordEviction(long count) {
+            evictions.add(count);
+        }
+
+        /**
+         * Records the change of the cache size.
+         *
+         * @param delta long, a positive or negative number
+         */
+        public void recordSize(long delta) {
+            size.add(delta);
+        }
+
+        public long hitCount() {
+            return hits.sum();
+        }
+
+        public long missCount() {
+            return misses.sum();
+        }
+
+        public long requestCount() {
+            return hitCount() + missCount();
+        }
+
+        public double hitRate() {
+            long res = requestCount();
+            return res == 0 ? 1.0 : (double) hitCount() / res;
+        }
+
+        public long loadTimeNanos() {
+            return loadTime.sum();
+        }
+
+        public long evictionCount() {
+            return evictions.sum();
+        }
+
+        public long size() {
+            return size.sum();
+        }
+
+        Counter add(Counter other) {
+            hits.add(other.hitCount());
+            misses.add(other.missCount());
+            loadTime.add(other.loadTimeNanos());
+            evictions.add(other.evictionCount());
+            size.add(other.size());
+            return this;
+        }
+
+        void reset() {
+            hits.reset();
+            misses.reset();
+            loadTime.reset();
+            evictions.reset();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("{hits=%d, misses=%d, loadTime=%dms, evictions=%d, size=%d}",
+                    hitCount(), missCount(), loadTimeNanos() / 1_000_000, evictionCount(), size());
+        }
+    }
+}
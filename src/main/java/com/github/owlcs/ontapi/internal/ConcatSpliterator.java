@@ -0,0 +1,252 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, The University of Manchester, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.internal;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * A {@code Spliterator} that traverses the concatenation of several sub-streams,
+ * which are produced from the stream of sources (e.g. {@link ObjectMap}s with cached axioms).
+ * Unlike the standard {@code Stream#flatMap(Function)}, it is splittable:
+ * first the sources are split, then, when only a single sub-stream remains,
+ * the splitting is delegated to its own spliterator (e.g. the array-based spliterator of the cache keys).
+ * <p>
+ * The sub-streams are opened either in the constructor ({@code eager = true})
+ * or lazily, on demand, in order not to load the caches that may be not needed
+ * (e.g. in case of short-circuiting operations);
+ * in the lazy mode the sources themselves are also pulled on demand.
+ * In the eager mode the spliterator reports {@code SIZED} and {@code SUBSIZED} if all sub-spliterators do,
+ * in the lazy mode the size is unknown and only {@code ORDERED} is reported.
+ * <p>
+ * A sub-stream may be backed by a graph iterator (e.g. {@link DirectObjectMapImpl#keys()}),
+ * so it is closed as soon as all the spliterators, that share it, leave it;
+ * the sub-streams that are still open must be released with the method {@link #close()},
+ * which is expected to be registered as a close handler of the outer stream.
+ * <p>
+ * Created by @ssz on 26.05.2020.
+ *
+ * @param <X> type of source
+ * @param <R> type of element
+ * @see InternalModel#flatMap(java.util.stream.Stream, Function)
+ * @since 2.0.1
+ */
+class ConcatSpliterator<X, R> implements Spliterator<R>, AutoCloseable {
+    private static final int CHARACTERISTICS = ORDERED | SIZED | SUBSIZED | NONNULL;
+
+    private final Function<? super X, ? extends Stream<? extends R>> open;
+    // all the sub-streams that have been opened by this spliterator or its splits:
+    private final Queue<Part<? extends R>> opened;
+    // the opened parts that belong to this spliterator, then the sources that are not opened yet:
+    private final Deque<Segment<? extends R>> segments;
+    private final Spliterator<X> sources;
+    private final boolean lazy;
+
+    ConcatSpliterator(Stream<X> sources, Function<? super X, ? extends Stream<? extends R>> open, boolean eager) {
+        this(Objects.requireNonNull(open), new ConcurrentLinkedQueue<>(), new ArrayDeque<>(),
+                Objects.requireNonNull(sources).spliterator(), !eager);
+        if (eager) {
+            this.sources.forEachRemaining(this::openSegment);
+        }
+    }
+
+    private ConcatSpliterator(Function<? super X, ? extends Stream<? extends R>> open,
+                              Queue<Part<? extends R>> opened,
+                              Deque<Segment<? extends R>> segments,
+                              Spliterator<X> sources,
+                              boolean lazy) {
+        this.open = open;
+        this.opened = opened;
+        this.segments = segments;
+        this.sources = sources;
+        this.lazy = lazy;
+    }
+
+    private void openSegment(X source) {
+        Part<? extends R> part = new Part<>(Objects.requireNonNull(open.apply(source)));
+        opened.add(part);
+        segments.add(part.segment());
+    }
+
+    /**
+     * Returns the current segment, opening the next source if needed.
+     *
+     * @return {@link Segment} or {@code null} if there is nothing left
+     */
+    private Segment<? extends R> current() {
+        Segment<? extends R> res;
+        while ((res = segments.peekFirst()) == null) {
+            if (!sources.tryAdvance(this::openSegment)) {
+                return null;
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        Segment<? extends R> s;
+        while ((s = current()) != null) {
+            if (s.spliterator.tryAdvance(action)) {
+                return true;
+            }
+            // release the exhausted segment:
+            segments.pollFirst().release();
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super R> action) {
+        while (current() != null) {
+            Segment<? extends R> s = segments.pollFirst();
+            try {
+                s.spliterator.forEachRemaining(action);
+            } finally {
+                s.release();
+            }
+        }
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        if (segments.isEmpty()) {
+            Spliterator<X> prefix = sources.trySplit();
+            if (prefix != null) {
+                return new ConcatSpliterator<>(open, opened, new ArrayDeque<>(), prefix, lazy);
+            }
+            if (current() == null) {
+                return null;
+            }
+        }
+        int size = segments.size();
+        if (size > 1 || (lazy && sources.estimateSize() > 0)) {
+            // hand over the first half of the segments (at least one), they are no longer used by this spliterator:
+            Deque<Segment<? extends R>> prefix = new ArrayDeque<>();
+            for (int i = 0, n = Math.max(1, size >>> 1); i < n; i++) {
+                prefix.add(segments.pollFirst());
+            }
+            return new ConcatSpliterator<>(open, opened, prefix, Spliterators.emptySpliterator(), lazy);
+        }
+        // the only segment: split its spliterator, the sub-stream is shared until both halves finish
+        Segment<? extends R> prefix = segments.peekFirst().trySplit();
+        if (prefix == null) {
+            return null;
+        }
+        Deque<Segment<? extends R>> res = new ArrayDeque<>();
+        res.add(prefix);
+        return new ConcatSpliterator<>(open, opened, res, Spliterators.emptySpliterator(), lazy);
+    }
+
+    @Override
+    public long estimateSize() {
+        if (lazy) {
+            // do not open the sources just to estimate
+            return Long.MAX_VALUE;
+        }
+        long res = 0;
+        for (Segment<? extends R> s : segments) {
+            res += s.spliterator.estimateSize();
+            if (res < 0) {
+                // overflow
+                return Long.MAX_VALUE;
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public int characteristics() {
+        if (lazy) {
+            // the parts are unknown
+            return ORDERED;
+        }
+        int res = CHARACTERISTICS;
+        for (Segment<? extends R> s : segments) {
+            res &= s.spliterator.characteristics();
+        }
+        return res;
+    }
+
+    /**
+     * Closes all sub-streams that are still open, including those of the splits.
+     */
+    @Override
+    public void close() {
+        Part<? extends R> p;
+        while ((p = opened.poll()) != null) {
+            p.stream.close();
+        }
+    }
+
+    /**
+     * An opened sub-stream, that may be shared between several {@link Segment}s (i.e. splits of its spliterator).
+     * The stream is closed when the last segment is released.
+     *
+     * @param <E> type of element
+     */
+    private static class Part<E> {
+        private final Stream<? extends E> stream;
+        private final AtomicInteger refs = new AtomicInteger();
+
+        private Part(Stream<? extends E> stream) {
+            this.stream = stream;
+        }
+
+        private Segment<E> segment() {
+            return new Segment<>(this, stream.spliterator());
+        }
+
+        private void release() {
+            if (refs.decrementAndGet() == 0) {
+                stream.close();
+            }
+        }
+    }
+
+    /**
+     * A range of a {@link Part}, that is traversed by a single spliterator.
+     *
+     * @param <E> type of element
+     */
+    private static class Segment<E> {
+        private final Part<E> part;
+        private final Spliterator<? extends E> spliterator;
+
+        private Segment(Part<E> part, Spliterator<? extends E> spliterator) {
+            this.part = part;
+            this.spliterator = spliterator;
+            part.refs.incrementAndGet();
+        }
+
+        private Segment<E> trySplit() {
+            Spliterator<? extends E> res = spliterator.trySplit();
+            return res == null ? null : new Segment<>(part, res);
+        }
+
+        private void release() {
+            part.release();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2020, The University of Manchester, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.internal;
+
+import com.github.owlcs.ontapi.OntApiException;
+import com.github.owlcs.ontapi.internal.objects.ONTStatementImpl;
+import org.semanticweb.owlapi.model.OWLObject;
+
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * An immutable array-based implementation of {@link ObjectMap}, that is used by frozen (read-only) models.
+ * The data are loaded once (eagerly, see {@link InternalModel#forceLoad()}, or on the first demand)
+ * into a plain array of {@link ONTObject}s and an open-addressing hash index over it,
+ * and then they are kept as strong references till the model is alive,
+ * i.e. the map cannot be dropped by GC and therefore it never needs to be re-parsed.
+ * Since the underlying graph never changes, the map does not accept any modification
+ * and its reading is lock-free.
+ * <p>
+ * Created by @ssz on 30.05.2020.
+ *
+ * @param <X> any subtype of {@link OWLObject}
+ * @see com.github.owlcs.ontapi.jena.CompactGraph#freeze()
+ * @since 2.0.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class FrozenObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
+    // objects provider:
+    private final Supplier<Iterator<ONTObject<X>>> loader;
+    // if true, then checking for duplicates and merging is performed while loading
+    private final boolean withMerge;
+    // to record statistics, can be null
+    private final CacheStats.Counter stats;
+    private volatile Data<X> data;
+
+    /**
+     * Constructs a bucket instance.
+     *
+     * @param loader    a {@code Supplier} to load object-triples pairs, not {@code null}
+     * @param withMerge if {@code true} merging is performed while loading,
+     *                  otherwise the source is assumed to be distinct
+     * @param stats     {@link CacheStats.Counter} or {@code null} to disable statistics
+     */
+    public FrozenObjectMapImpl(Supplier<Iterator<ONTObject<X>>> loader,
+                               boolean withMerge,
+                               CacheStats.Counter stats) {
+        this.loader = Objects.requireNonNull(loader);
+        this.withMerge = withMerge;
+        this.stats = stats;
+    }
+
+    protected Data<X> getData() {
+        Data<X> res = data;
+        if (res != null) {
+            if (stats != null) {
+                stats.recordHit();
+            }
+            return res;
+        }
+        synchronized (this) {
+            if (data == null) {
+                data = createData(loader.get());
+            }
+            return data;
+        }
+    }
+
+    private Data<X> createData(Iterator<ONTObject<X>> it) {
+        long start = System.nanoTime();
+        Map<X, ONTObject<X>> map = new LinkedHashMap<>();
+        if (withMerge) {
+            while (it.hasNext()) {
+                WithMerge.add(map, ONTStatementImpl.withFingerprint(it.next()));
+            }
+        } else {
+            while (it.hasNext()) {
+                ONTObject<X> v = ONTStatementImpl.withFingerprint(it.next());
+                map.put(v.getOWLObject(), v);
+            }
+        }
+        Data<X> res = new Data<>(map.values());
+        if (stats != null) {
+            stats.recordMiss(System.nanoTime() - start);
+            stats.recordSize(res.values.length);
+        }
+        return res;
+    }
+
+    @Override
+    public boolean hasNew() {
+        return false;
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return data != null;
+    }
+
+    @Override
+    public void load() {
+        getData();
+    }
+
+    @Override
+    public synchronized boolean load(Iterator<ONTObject<X>> source) {
+        if (data != null) {
+            return false;
+        }
+        data = createData(source);
+        return true;
+    }
+
+    @Override
+    public ONTObject<X> get(X key) {
+        return getData().get(key);
+    }
+
+    @Override
+    public boolean contains(X key) {
+        return getData().get(key) != null;
+    }
+
+    @Override
+    public Stream<X> keys() {
+        return values().map(ONTObject::getOWLObject);
+    }
+
+    @Override
+    public Stream<ONTObject<X>> values() {
+        return Arrays.stream(getData().values);
+    }
+
+    @Override
+    public long count() {
+        return getData().values.length;
+    }
+
+    @Override
+    public void add(ONTObject<X> value) {
+        throw new OntApiException.Unsupported("The map is frozen, can't add " + value.getOWLObject());
+    }
+
+    @Override
+    public void remove(X key) {
+        throw new OntApiException.Unsupported("The map is frozen, can't remove " + key);
+    }
+
+    /**
+     * Does nothing: the frozen map cannot be reset, since its source never changes.
+     */
+    @Override
+    public void clear() {
+    }
+
+    /**
+     * An immutable data holder: an array of values and an open-addressing table of their indexes.
+     *
+     * @param <X> any subtype of {@link OWLObject}
+     */
+    protected static class Data<X extends OWLObject> {
+        protected final ONTObject<X>[] values;
+        // (index + 1) of value, the position is computed by the key hash
+        protected final int[] table;
+
+        @SuppressWarnings("unchecked")
+        protected Data(Collection<ONTObject<X>> values) {
+            this.values = values.toArray(new ONTObject[0]);
+            int size = Integer.highestOneBit(Math.max(this.values.length, 1) * 2 - 1) << 1;
+            this.table = new int[size];
+            int mask = size - 1;
+            for (int i = 0; i < this.values.length; i++) {
+                int j = hash(this.values[i].getOWLObject()) & mask;
+                while (table[j] != 0) {
+                    j = (j + 1) & mask;
+                }
+                table[j] = i + 1;
+            }
+        }
+
+        private static int hash(Object key) {
+            int h = key.hashCode();
+            return h ^ (h >>> 16);
+        }
+
+        protected ONTObject<X> get(X key) {
+            int mask = table.length - 1;
+            int j = hash(key) & mask;
+            int i;
+            while ((i = table[j]) != 0) {
+                ONTObject<X> res = values[i - 1];
+                if (key.equals(res.getOWLObject())) {
+                    return res;
+                }
+                j = (j + 1) & mask;
+            }
+            return null;
+        }
+    }
+}
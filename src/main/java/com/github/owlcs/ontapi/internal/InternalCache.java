@@ -17,11 +17,19 @@ package com.github.owlcs.ontapi.internal;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
 
 import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
 
 /**
@@ -204,7 +212,7 @@ public interface InternalCache<K, V> {
      */
     static <K, V> InternalCache<K, V> createBounded(boolean caffeine, long size) {
         if (caffeine) {
-            return new CaffeineWrapper<>(Caffeine.newBuilder().maximumSize(size).build());
+            return CaffeineWrapper.create(Caffeine.newBuilder().maximumSize(size));
         }
         return fromMap(new LinkedHashMap<K, V>((int) size, 0.75f, true) {
             @Override
@@ -253,7 +261,7 @@ public interface InternalCache<K, V> {
     @SuppressWarnings("unused")
     static <K, V> InternalCache<K, V> createSoft(boolean caffeine) {
         if (caffeine) {
-            return new CaffeineWrapper<>(Caffeine.newBuilder().softValues().build());
+            return CaffeineWrapper.create(Caffeine.newBuilder().softValues());
         }
         return new SoftMapWrapper<>(new LinkedHashMap<>(128, 0.75f, true));
     }
@@ -278,6 +286,199 @@ public interface InternalCache<K, V> {
         return res.asLoading(loader);
     }
 
+    /**
+     * Creates an unbounded intern pool with weak keys and weak values,
+     * that is split into several independently synchronized {@link WeakHashMap}-stripes.
+     * An entry is kept as long as both its key and its value are strongly reachable from somewhere else,
+     * so the pool never holds an object by itself, but while the object is in use
+     * it is always possible to get its canonical instance.
+     * The striping reduces the lock contention when the pool is shared between many models.
+     *
+     * @param <K> the type of keys maintained by the return cache
+     * @param <V> the type of mapped values
+     * @return {@link InternalCache}
+     * @since 2.0.1
+     */
+    static <K, V> InternalCache<K, V> createWeak() {
+        return new WeakStripedWrapper<>(WeakStripedWrapper.STRIPES);
+    }
+
+    /**
+     * Creates an unbounded concurrent {@link Cache Caffeine} cache with strong keys and weak values.
+     * An entry is kept as long as its value is strongly reachable from somewhere else,
+     * so, in contrast to the {@link #createWeak() weak pool},
+     * a short-lived key (e.g. a {@code String} built by a parser) does not shorten the life of the entry,
+     * and a lookup by key does not require any probe object.
+     *
+     * @param <K> the type of keys maintained by the return cache
+     * @param <V> the type of mapped values
+     * @return {@link InternalCache}
+     * @since 2.0.1
+     */
+    static <K, V> InternalCache<K, V> createWeakValues() {
+        return CaffeineWrapper.create(Caffeine.newBuilder().weakValues());
+    }
+
+    /**
+     * Creates an {@code InternalCache} view of the given weak intern {@code pool},
+     * where each value is stored under itself, not under the caller's key.
+     * This is important when the key is a short-lived object (e.g. a {@code String} built by a parser)
+     * that is not referenced by the value:
+     * in a key-indexed weak pool such an entry can be collected while the value is still in use,
+     * and then another instance would be interned for the same key.
+     * Here the entry lives exactly as long as the value itself is strongly reachable.
+     * The {@code factory} is used to build a probe value for the lookup by key,
+     * so it is assumed that two values derived from equal keys are equal.
+     *
+     * @param pool    {@link InternalCache} with values as keys, usually {@link #createWeak() a weak pool}
+     * @param factory {@link Function} to derive a value from a key, not {@code null}
+     * @param <K>     the type of keys maintained by the return cache
+     * @param <V>     the type of mapped values
+     * @return {@link InternalCache}
+     * @since 2.0.1
+     */
+    static <K, V> InternalCache<K, V> createInterning(InternalCache<V, V> pool,
+                                                      Function<? super K, ? extends V> factory) {
+        Objects.requireNonNull(pool);
+        Objects.requireNonNull(factory);
+        return new InternalCache<K, V>() {
+            @Override
+            public void put(K key, V value) {
+                pool.put(value, value);
+            }
+
+            @Override
+            public V get(K key) {
+                return pool.get(factory.apply(key));
+            }
+
+            @Override
+            public void remove(K key) {
+                pool.remove(factory.apply(key));
+            }
+
+            @Override
+            public void clear() {
+                pool.clear();
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return pool.isEmpty();
+            }
+
+            @Override
+            public long size() {
+                return pool.size();
+            }
+
+            @Override
+            public V get(K key, Function<? super K, ? extends V> mappingFunction) {
+                V res = Objects.requireNonNull(mappingFunction).apply(key);
+                return res == null ? null : pool.get(res, x -> x);
+            }
+        };
+    }
+
+    /**
+     * Creates a bounded concurrent cache with CLOCK (second chance) eviction policy,
+     * that is split into several independent segments.
+     * The read operation is lock-free: it is just a {@link ConcurrentHashMap#get(Object)} call
+     * plus setting the reference bit of the found entry.
+     * A segment lock is taken only to insert or remove an entry, and it is never held while computing a value,
+     * so nested (recursive) calls of {@link #get(Object, Function)} are safe:
+     * in contrast to the caffeine cache there is no danger of livelock
+     * (see issue #71 (https://github.com/avicomp/ont-api/issues/71)).
+     * The price is that a value may be computed twice by concurrent threads, but only one of them is retained.
+     *
+     * @param size long, the maximum size of the cache, positive
+     * @param <K>  the type of keys maintained by the return cache
+     * @param <V>  the type of mapped values
+     * @return {@link InternalCache}
+     * @since 2.0.1
+     */
+    static <K, V> InternalCache<K, V> createClock(long size) {
+        return new ClockWrapper<>(size);
+    }
+
+    /**
+     * Creates a bounded concurrent pool of arrays, where an array is a key for itself,
+     * and the keys are compared by their content (see {@link Arrays#equals(Object[], Object[])}).
+     * It is a direct-mapped table: each array has the only slot (chosen by {@link Arrays#hashCode(Object[])}),
+     * and a new array just replaces the previous one in the slot.
+     * So a lookup is lock-free and does not allocate anything, which is not possible with a {@code Map},
+     * since an array does not provide structural equality and therefore has to be wrapped as a key.
+     *
+     * @param size long, the desired maximum size of the pool, positive
+     * @return {@link InternalCache}
+     * @since 2.0.1
+     */
+    static InternalCache<Object[], Object[]> createArrayPool(long size) {
+        return new ArrayPoolWrapper(size);
+    }
+
+    /**
+     * Creates a two-level cache, that looks up the {@code front} cache first,
+     * and then, in case of a miss, the {@code back} cache, which is used to load values into the {@code front}.
+     * A typical use is a bounded LRU cache backed by a {@link #createWeakValues() weak-values cache}:
+     * hot values are held strongly, while evicted, but still used, values remain canonical.
+     * All modification operations are applied to both caches.
+     * Since every value goes into both tiers, the {@link #size() size} is the greater of the two tier sizes:
+     * usually it is the size of the back tier, which holds all the front values and the evicted ones that are still in use.
+     *
+     * @param front {@link InternalCache}, not {@code null}
+     * @param back  {@link InternalCache}, not {@code null}
+     * @param <K>   the type of keys maintained by the return cache
+     * @param <V>   the type of mapped values
+     * @return {@link InternalCache}
+     * @since 2.0.1
+     */
+    static <K, V> InternalCache<K, V> createTiered(InternalCache<K, V> front, InternalCache<K, V> back) {
+        Objects.requireNonNull(front);
+        Objects.requireNonNull(back);
+        return new InternalCache<K, V>() {
+            @Override
+            public void put(K key, V value) {
+                back.put(key, value);
+                front.put(key, value);
+            }
+
+            @Override
+            public V get(K key) {
+                V res = front.get(key);
+                return res != null ? res : back.get(key);
+            }
+
+            @Override
+            public void remove(K key) {
+                front.remove(key);
+                back.remove(key);
+            }
+
+            @Override
+            public void clear() {
+                front.clear();
+                back.clear();
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return front.isEmpty() && back.isEmpty();
+            }
+
+            @Override
+            public long size() {
+                return Math.max(front.size(), back.size());
+            }
+
+            @Override
+            public V get(K key, Function<? super K, ? extends V> mappingFunction) {
+                Objects.requireNonNull(mappingFunction);
+                return front.get(key, k -> back.get(k, mappingFunction));
+            }
+        };
+    }
+
     /**
      * Creates a {@link Loading Loading cache} that contains only one value, derived by the specified {@code loader}.
      * Can be used as a value-wrapper with configurable state.
@@ -311,6 +512,11 @@ public interface InternalCache<K, V> {
                 throw new UnsupportedOperationException();
             }
 
+            @Override
+            public V getIfPresent(K key) {
+                return value;
+            }
+
             @Override
             public void clear() {
                 value = null;
@@ -361,6 +567,12 @@ public interface InternalCache<K, V> {
                 throw new UnsupportedOperationException();
             }
 
+            @Override
+            public V getIfPresent(K key) {
+                SoftReference<V> res = value;
+                return res == null ? null : res.get();
+            }
+
             @Override
             public void clear() {
                 value = null;
@@ -390,6 +602,30 @@ public interface InternalCache<K, V> {
         return new MapWrapper<>(map);
     }
 
+    /**
+     * Wraps the given {@code cache} so that all its operations are recorded into the specified {@code counter}.
+     * Hits and misses are counted only by the method {@link #get(Object, Function)},
+     * that is used by the {@link Loading Loading cache}.
+     * A {@link Cache Caffeine} based cache (see {@link #createBounded(boolean, long)}) records its statistics itself,
+     * including the exact number of evictions, which happen asynchronously, so it is returned as is.
+     * For any other cache the {@link InternalCache} interface does not provide eviction notifications,
+     * so the number of evictions is estimated by the change of the cache size after loading a value,
+     * this is correct for the caches that evict synchronously (LRU and CLOCK).
+     *
+     * @param cache   {@link InternalCache} to wrap, not {@code null}
+     * @param counter {@link CacheStats.Counter} to record statistics, not {@code null}
+     * @param <K>     the type of keys maintained by the return cache
+     * @param <V>     the type of mapped values
+     * @return {@link InternalCache}
+     * @since 2.0.1
+     */
+    static <K, V> InternalCache<K, V> counting(InternalCache<K, V> cache, CacheStats.Counter counter) {
+        if (cache instanceof CaffeineWrapper && ((CaffeineWrapper<K, V>) cache).recordStats(counter)) {
+            return cache;
+        }
+        return new CountingWrapper<>(cache, counter);
+    }
+
     /**
      * Loading cache.
      * Values are automatically loaded by the cache,
@@ -417,6 +653,18 @@ public interface InternalCache<K, V> {
          */
         InternalCache<K, V> asCache();
 
+        /**
+         * Returns the value associated with the {@code key} in this cache,
+         * or {@code null} if there is no cached value; never loads the value.
+         *
+         * @param key {@link K} key with which the specified value is to be associated
+         * @return {@link V} or {@code null}
+         * @since 2.0.1
+         */
+        default V getIfPresent(K key) {
+            return asCache().get(key);
+        }
+
         /**
          * Discards all entries in the cache.
          */
@@ -526,7 +774,12 @@ public interface InternalCache<K, V> {
 
     /**
      * A {@code InternalCache} implementations that wraps the standard {@code Map}.
-     * It is partially synchronized: only read operations are not safe.
+     * All map operations are synchronized,
+     * since even a read operation may change the structure of the underlying map
+     * (e.g. in case of {@link LinkedHashMap} with access-order).
+     * Note that the mapping function is called outside the lock,
+     * so the value may be computed twice, but there is no risk of deadlock in case of nested calls
+     * (a typical situation for node caches while loading the model caches in parallel).
      *
      * @param <K> the type of keys maintained by this cache
      * @param <V> the type of mapped values
@@ -548,7 +801,9 @@ public interface InternalCache<K, V> {
 
         @Override
         public V get(K key) {
-            return map.get(key);
+            synchronized (map) {
+                return map.get(key);
+            }
         }
 
         @Override
@@ -582,14 +837,505 @@ public interface InternalCache<K, V> {
             if ((res = get(key)) != null) {
                 return res;
             }
+            if ((res = mappingFunction.apply(key)) == null) {
+                return null;
+            }
             synchronized (map) {
-                if ((res = get(key)) != null) {
-                    return res;
+                V prev = map.putIfAbsent(key, res);
+                return prev != null ? prev : res;
+            }
+        }
+    }
+
+    /**
+     * A {@code InternalCache} implementation with weak keys and weak values,
+     * which consists of several {@link WeakHashMap}s (stripes), each of them is guarded by its own lock.
+     * As well as for the {@link MapWrapper}, the mapping function is called outside the lock.
+     *
+     * @param <K> the type of keys maintained by this cache
+     * @param <V> the type of mapped values
+     * @see #createWeak()
+     */
+    @SuppressWarnings("WeakerAccess")
+    class WeakStripedWrapper<K, V> implements InternalCache<K, V> {
+        protected static final int STRIPES = stripes(Runtime.getRuntime().availableProcessors() * 4);
+        protected final Map<K, WeakReference<V>>[] stripes;
+
+        @SuppressWarnings("unchecked")
+        protected WeakStripedWrapper(int size) {
+            this.stripes = new Map[stripes(size)];
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i] = new WeakHashMap<>();
+            }
+        }
+
+        private static int stripes(int n) {
+            int res = 1;
+            while (res < n && res < 1 << 16) {
+                res <<= 1;
+            }
+            return res;
+        }
+
+        /**
+         * Selects a stripe (or segment) for the given key.
+         * The underlying hash maps choose a bucket by the low bits of the hash code,
+         * so the stripe is chosen by the high bits of the re-mixed hash,
+         * otherwise all keys of a stripe would share the same low bits and collide within the map.
+         *
+         * @param key {@code Object}, not {@code null}
+         * @param n   int, the number of stripes, a power of two
+         * @return int, the index of the stripe
+         */
+        protected static int index(Object key, int n) {
+            // multiplication by the golden ratio spreads the low bits over the high ones:
+            return n == 1 ? 0 : (key.hashCode() * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(n - 1);
+        }
+
+        protected Map<K, WeakReference<V>> stripe(Object key) {
+            return stripes[index(key, stripes.length)];
+        }
+
+        @Override
+        public void put(K key, V value) {
+            Map<K, WeakReference<V>> map = stripe(key);
+            synchronized (map) {
+                map.put(key, new WeakReference<>(value));
+            }
+        }
+
+        @Override
+        public V get(K key) {
+            Map<K, WeakReference<V>> map = stripe(key);
+            WeakReference<V> res;
+            synchronized (map) {
+                res = map.get(key);
+            }
+            return res == null ? null : res.get();
+        }
+
+        @Override
+        public void remove(K key) {
+            Map<K, WeakReference<V>> map = stripe(key);
+            synchronized (map) {
+                map.remove(key);
+            }
+        }
+
+        @Override
+        public void clear() {
+            for (Map<K, WeakReference<V>> map : stripes) {
+                synchronized (map) {
+                    map.clear();
                 }
-                if ((res = mappingFunction.apply(key)) != null) {
-                    put(key, res);
+            }
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        @Override
+        public long size() {
+            long res = 0;
+            for (Map<K, WeakReference<V>> map : stripes) {
+                synchronized (map) {
+                    res += map.size();
+                }
+            }
+            return res;
+        }
+
+        @Override
+        public V get(K key, Function<? super K, ? extends V> mappingFunction) {
+            Objects.requireNonNull(mappingFunction);
+            V res;
+            if ((res = get(key)) != null) {
+                return res;
+            }
+            if ((res = mappingFunction.apply(key)) == null) {
+                return null;
+            }
+            Map<K, WeakReference<V>> map = stripe(key);
+            synchronized (map) {
+                WeakReference<V> ref = map.get(key);
+                V prev = ref == null ? null : ref.get();
+                if (prev != null) {
+                    return prev;
+                }
+                map.put(key, new WeakReference<>(res));
+                return res;
+            }
+        }
+    }
+
+    /**
+     * A direct-mapped {@code InternalCache} implementation for arrays, that are compared by content.
+     * Each array has the only possible slot, a new array replaces the previous one.
+     *
+     * @see #createArrayPool(long)
+     */
+    @SuppressWarnings("WeakerAccess")
+    class ArrayPoolWrapper implements InternalCache<Object[], Object[]> {
+        protected static final int MAX_CAPACITY = 1 << 20;
+        protected final AtomicReferenceArray<Object[]> table;
+        protected final AtomicInteger size = new AtomicInteger();
+
+        protected ArrayPoolWrapper(long size) {
+            if (size <= 0) {
+                throw new IllegalArgumentException("Wrong size: " + size);
+            }
+            int capacity = 1;
+            while (capacity < size && capacity < MAX_CAPACITY) {
+                capacity <<= 1;
+            }
+            this.table = new AtomicReferenceArray<>(capacity);
+        }
+
+        protected int index(Object[] key) {
+            // spread the hash, since the content hashes of similar arrays differ mostly in the low bits:
+            int h = Arrays.hashCode(key) * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & (table.length() - 1);
+        }
+
+        @Override
+        public void put(Object[] key, Object[] value) {
+            if (table.getAndSet(index(key), value) == null) {
+                size.incrementAndGet();
+            }
+        }
+
+        @Override
+        public Object[] get(Object[] key) {
+            Object[] res = table.get(index(key));
+            return res != null && Arrays.equals(res, key) ? res : null;
+        }
+
+        @Override
+        public void remove(Object[] key) {
+            int i = index(key);
+            Object[] res = table.get(i);
+            if (res != null && Arrays.equals(res, key) && table.compareAndSet(i, res, null)) {
+                size.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void clear() {
+            for (int i = 0; i < table.length(); i++) {
+                if (table.getAndSet(i, null) != null) {
+                    size.decrementAndGet();
                 }
             }
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size.get() == 0;
+        }
+
+        @Override
+        public long size() {
+            return size.get();
+        }
+
+        @Override
+        public Object[] get(Object[] key, Function<? super Object[], ? extends Object[]> mappingFunction) {
+            Objects.requireNonNull(mappingFunction);
+            int i = index(key);
+            Object[] res = table.get(i);
+            if (res != null && Arrays.equals(res, key)) {
+                return res;
+            }
+            if ((res = mappingFunction.apply(key)) == null) {
+                return null;
+            }
+            if (table.getAndSet(i, res) == null) {
+                size.incrementAndGet();
+            }
+            return res;
+        }
+    }
+
+    /**
+     * A bounded concurrent {@code InternalCache} implementation with CLOCK eviction.
+     * Each segment consists of a {@link ConcurrentHashMap} for lock-free lookups
+     * and a fixed-size ring of entries, which is swept by the clock hand when the segment is full:
+     * an entry that has been read since the last sweep gets a second chance, the first non-referenced is evicted.
+     * The mapping function is called outside any lock.
+     *
+     * @param <K> the type of keys maintained by this cache
+     * @param <V> the type of mapped values
+     * @see #createClock(long)
+     */
+    @SuppressWarnings("WeakerAccess")
+    class ClockWrapper<K, V> implements InternalCache<K, V> {
+        protected final Segment<K, V>[] segments;
+
+        @SuppressWarnings("unchecked")
+        protected ClockWrapper(long size) {
+            if (size <= 0 || size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Wrong size: " + size);
+            }
+            // a segment should not be too small, otherwise the eviction becomes too inaccurate
+            int n = 1;
+            while (n < WeakStripedWrapper.STRIPES && size / (n << 1) >= 16) {
+                n <<= 1;
+            }
+            this.segments = new Segment[n];
+            int capacity = (int) (size / n);
+            for (int i = 0; i < n; i++) {
+                segments[i] = new Segment<>(i < size % n ? capacity + 1 : capacity);
+            }
+        }
+
+        protected Segment<K, V> segment(Object key) {
+            return segments[WeakStripedWrapper.index(key, segments.length)];
+        }
+
+        @Override
+        public void put(K key, V value) {
+            segment(key).put(key, Objects.requireNonNull(value), true);
+        }
+
+        @Override
+        public V get(K key) {
+            return segment(key).get(key);
+        }
+
+        @Override
+        public void remove(K key) {
+            segment(key).remove(key);
+        }
+
+        @Override
+        public void clear() {
+            for (Segment<K, V> s : segments) {
+                s.clear();
+            }
+        }
+
+        @Override
+        public boolean isEmpty() {
+            for (Segment<K, V> s : segments) {
+                if (!s.map.isEmpty()) return false;
+            }
+            return true;
+        }
+
+        @Override
+        public long size() {
+            long res = 0;
+            for (Segment<K, V> s : segments) {
+                res += s.map.size();
+            }
+            return res;
+        }
+
+        @Override
+        public V get(K key, Function<? super K, ? extends V> mappingFunction) {
+            Objects.requireNonNull(mappingFunction);
+            Segment<K, V> segment = segment(key);
+            V res;
+            if ((res = segment.get(key)) != null) {
+                return res;
+            }
+            if ((res = mappingFunction.apply(key)) == null) {
+                return null;
+            }
+            return segment.put(key, res, false);
+        }
+
+        /**
+         * A cache entry.
+         *
+         * @param <K> the type of key
+         * @param <V> the type of value
+         */
+        protected static class Entry<K, V> {
+            protected final K key;
+            protected final V value;
+            // the index in the ring, guarded by the segment lock
+            protected int index;
+            // the reference bit, the only field that is written without lock
+            protected volatile boolean referenced;
+
+            protected Entry(K key, V value) {
+                this.key = key;
+                this.value = value;
+            }
+        }
+
+        /**
+         * A cache segment.
+         *
+         * @param <K> the type of keys
+         * @param <V> the type of values
+         */
+        protected static class Segment<K, V> {
+            protected final Map<K, Entry<K, V>> map;
+            protected final Entry<K, V>[] ring;
+            protected int count;
+            protected int hand;
+
+            @SuppressWarnings("unchecked")
+            protected Segment(int capacity) {
+                this.map = new ConcurrentHashMap<>(Math.min(capacity, 1024));
+                this.ring = new Entry[Math.max(capacity, 1)];
+            }
+
+            protected V get(K key) {
+                Entry<K, V> res = map.get(key);
+                if (res == null) return null;
+                if (!res.referenced) {
+                    // avoid a volatile write (and cache-line invalidation) for hot entries
+                    res.referenced = true;
+                }
+                return res.value;
+            }
+
+            /**
+             * Puts the value into the segment.
+             *
+             * @param key     {@link K}
+             * @param value   {@link V}
+             * @param replace if {@code false} and there is already a value in the segment, it is kept
+             * @return the retained value
+             */
+            protected synchronized V put(K key, V value, boolean replace) {
+                Entry<K, V> prev = map.get(key);
+                if (prev != null && !replace) {
+                    return prev.value;
+                }
+                Entry<K, V> res = new Entry<>(key, value);
+                if (prev != null) {
+                    res.index = prev.index;
+                    res.referenced = true;
+                } else if (count < ring.length) {
+                    res.index = count++;
+                } else {
+                    res.index = evict();
+                }
+                ring[res.index] = res;
+                map.put(key, res);
+                return value;
+            }
+
+            private int evict() {
+                Entry<K, V> e;
+                while ((e = ring[hand]).referenced) {
+                    e.referenced = false;
+                    hand = (hand + 1) % count;
+                }
+                map.remove(e.key);
+                int res = hand;
+                hand = (hand + 1) % count;
+                return res;
+            }
+
+            protected synchronized void remove(K key) {
+                Entry<K, V> e = map.remove(key);
+                if (e == null) return;
+                Entry<K, V> last = ring[--count];
+                ring[e.index] = last;
+                last.index = e.index;
+                ring[count] = null;
+                if (hand >= count) {
+                    hand = 0;
+                }
+            }
+
+            protected synchronized void clear() {
+                map.clear();
+                Arrays.fill(ring, null);
+                count = 0;
+                hand = 0;
+            }
+        }
+    }
+
+    /**
+     * A {@code InternalCache} implementation that records statistics of the wrapped cache.
+     *
+     * @param <K> the type of keys maintained by this cache
+     * @param <V> the type of mapped values
+     * @see #counting(InternalCache, CacheStats.Counter)
+     */
+    @SuppressWarnings("WeakerAccess")
+    class CountingWrapper<K, V> implements InternalCache<K, V> {
+        protected final InternalCache<K, V> cache;
+        protected final CacheStats.Counter counter;
+
+        protected CountingWrapper(InternalCache<K, V> cache, CacheStats.Counter counter) {
+            this.cache = Objects.requireNonNull(cache);
+            this.counter = Objects.requireNonNull(counter);
+        }
+
+        @Override
+        public void put(K key, V value) {
+            long size = cache.size();
+            cache.put(key, value);
+            counter.recordSize(cache.size() - size);
+        }
+
+        @Override
+        public V get(K key) {
+            return cache.get(key);
+        }
+
+        @Override
+        public void remove(K key) {
+            long size = cache.size();
+            cache.remove(key);
+            counter.recordSize(cache.size() - size);
+        }
+
+        @Override
+        public void clear() {
+            long size = cache.size();
+            cache.clear();
+            counter.recordEviction(size);
+            counter.recordSize(cache.size() - size);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return cache.isEmpty();
+        }
+
+        @Override
+        public long size() {
+            return cache.size();
+        }
+
+        @Override
+        public V get(K key, Function<? super K, ? extends V> mappingFunction) {
+            // [size before loading, loading time]; the time stays negative if the loader has not been called
+            long[] load = {0, -1};
+            V res = cache.get(key, k -> {
+                load[0] = cache.size();
+                long start = System.nanoTime();
+                try {
+                    return mappingFunction.apply(k);
+                } finally {
+                    load[1] = System.nanoTime() - start;
+                }
+            });
+            if (load[1] < 0) {
+                counter.recordHit();
+                return res;
+            }
+            counter.recordMiss(load[1]);
+            if (res == null) {
+                return null;
+            }
+            long delta = cache.size() - load[0];
+            counter.recordSize(delta);
+            if (delta < 1) {
+                // the new value has been added, but the size has not increased - something has been evicted
+                counter.recordEviction(1 - delta);
+            }
             return res;
         }
     }
@@ -604,35 +1350,86 @@ public interface InternalCache<K, V> {
     class CaffeineWrapper<K, V> implements InternalCache<K, V> {
         protected final Cache<K, V> cache;
         protected final Function<? super K, ? extends V> embeddedLoader;
+        protected final StatsRecorder stats;
 
         protected CaffeineWrapper(LoadingCache<K, V> cache, Function<? super K, ? extends V> loader) {
             this.cache = Objects.requireNonNull(cache);
             this.embeddedLoader = Objects.requireNonNull(loader);
+            this.stats = null;
         }
 
         protected CaffeineWrapper(Cache<K, V> cache) {
+            this(cache, null);
+        }
+
+        protected CaffeineWrapper(Cache<K, V> cache, StatsRecorder stats) {
             this.cache = Objects.requireNonNull(cache);
             this.embeddedLoader = null;
+            this.stats = stats;
+        }
+
+        /**
+         * Builds a cache, that is able to record its statistics into a {@link CacheStats.Counter}.
+         *
+         * @param builder {@link Caffeine}, not {@code null}
+         * @param <K>     the type of keys maintained by the return cache
+         * @param <V>     the type of mapped values
+         * @return {@link CaffeineWrapper}
+         * @see #recordStats(CacheStats.Counter)
+         * @since 2.0.1
+         */
+        protected static <K, V> CaffeineWrapper<K, V> create(Caffeine<Object, Object> builder) {
+            StatsRecorder stats = new StatsRecorder();
+            return new CaffeineWrapper<>(builder.recordStats(() -> stats).build(), stats);
+        }
+
+        /**
+         * Starts recording the statistics into the given {@code counter}.
+         * Hits, misses, load time and evictions are reported by the Caffeine cache itself,
+         * the size is tracked by this wrapper.
+         * A cache can be bound to the only counter.
+         *
+         * @param counter {@link CacheStats.Counter}, not {@code null}
+         * @return boolean, {@code false} if the cache is not able to record statistics into the counter
+         * @since 2.0.1
+         */
+        protected boolean recordStats(CacheStats.Counter counter) {
+            return stats != null && stats.bind(counter);
         }
 
         @Override
         public void put(K key, V value) {
-            cache.put(key, value);
+            V prev = cache.asMap().put(key, value);
+            if (stats != null && prev == null) {
+                stats.recordSize(1);
+            }
         }
 
         @Override
         public V get(K key) {
-            return cache.getIfPresent(key);
+            // unlike getIfPresent, the map view does not record hits and misses
+            return cache.asMap().get(key);
         }
 
         @Override
         public void remove(K key) {
-            cache.invalidate(key);
+            V prev = cache.asMap().remove(key);
+            if (stats != null && prev != null) {
+                stats.recordSize(-1);
+            }
         }
 
         @Override
         public void clear() {
+            if (stats == null) {
+                cache.invalidateAll();
+                return;
+            }
+            // perform all pending evictions, which are reported by the cache itself, then clear the rest:
+            cache.cleanUp();
+            long size = cache.estimatedSize();
             cache.invalidateAll();
+            stats.recordClear(size);
         }
 
         @Override
@@ -682,4 +1479,102 @@ public interface InternalCache<K, V> {
             };
         }
     }
+
+    /**
+     * A Caffeine {@link StatsCounter}, that forwards the statistics into a {@link CacheStats.Counter}.
+     * Since the counter is not known at the moment of the cache building, it is bound later,
+     * until that all the statistics are discarded.
+     *
+     * @see CaffeineWrapper#recordStats(CacheStats.Counter)
+     * @since 2.0.1
+     */
+    @SuppressWarnings("WeakerAccess")
+    class StatsRecorder implements StatsCounter {
+        protected volatile CacheStats.Counter counter;
+
+        protected synchronized boolean bind(CacheStats.Counter counter) {
+            if (this.counter != null) {
+                return false;
+            }
+            this.counter = Objects.requireNonNull(counter);
+            return true;
+        }
+
+        protected void recordSize(long delta) {
+            CacheStats.Counter res = counter;
+            if (res != null) {
+                res.recordSize(delta);
+            }
+        }
+
+        protected void recordClear(long size) {
+            CacheStats.Counter res = counter;
+            if (res != null) {
+                res.recordEviction(size);
+                res.recordSize(-size);
+            }
+        }
+
+        @Override
+        public void recordHits(int count) {
+            CacheStats.Counter res = counter;
+            if (res == null) {
+                return;
+            }
+            for (int i = 0; i < count; i++) {
+                res.recordHit();
+            }
+        }
+
+        @Override
+        public void recordMisses(int count) {
+            // each miss is followed by a load, the load is recorded as a miss
+        }
+
+        @Override
+        public void recordLoadSuccess(long loadTime) {
+            CacheStats.Counter res = counter;
+            if (res != null) {
+                res.recordMiss(loadTime);
+                res.recordSize(1);
+            }
+        }
+
+        @Override
+        public void recordLoadFailure(long loadTime) {
+            CacheStats.Counter res = counter;
+            if (res != null) {
+                res.recordMiss(loadTime);
+            }
+        }
+
+        @Override
+        public void recordEviction() {
+            CacheStats.Counter res = counter;
+            if (res != null) {
+                res.recordEviction(1);
+                res.recordSize(-1);
+            }
+        }
+
+        @Override
+        public void recordEviction(int weight) {
+            recordEviction();
+        }
+
+        @Override
+        public void recordEviction(int weight, RemovalCause cause) {
+            recordEviction();
+        }
+
+        @Override
+        public com.github.benmanes.caffeine.cache.stats.CacheStats snapshot() {
+            CacheStats.Counter res = counter;
+            if (res == null) {
+                return com.github.benmanes.caffeine.cache.stats.CacheStats.empty();
+            }
+            return new com.github.benmanes.caffeine.cache.stats.CacheStats(res.hitCount(), res.missCount(),
+                    res.missCount(), 0, res.loadTimeNanos(), res.evictionCount(), res.evictionCount());
+        }
+    }
 }
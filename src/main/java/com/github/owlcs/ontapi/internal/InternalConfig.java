@@ -68,6 +68,8 @@ public interface InternalConfig extends CacheSettings, AxiomsSettings {
             map.put(Key.CACHE_NODES_SIZE, delegate.getLoadNodesCacheSize());
             map.put(Key.CACHE_OBJECTS_SIZE, delegate.getLoadObjectsCacheSize());
             map.put(Key.CONTENT_CACHE_LEVEL, delegate.getModelCacheLevel());
+            map.put(Key.CACHE_LOAD_PARALLELISM, delegate.getModelCacheLoadParallelism());
+            map.put(Key.CACHE_NODE_TYPES, delegate.isLoadNodeTypeTable());
         }
 
         @SuppressWarnings("unchecked")
@@ -120,6 +122,16 @@ public interface InternalConfig extends CacheSettings, AxiomsSettings {
             return get(Key.CONTENT_CACHE_LEVEL);
         }
 
+        @Override
+        public int getModelCacheLoadParallelism() {
+            return get(Key.CACHE_LOAD_PARALLELISM);
+        }
+
+        @Override
+        public boolean isLoadNodeTypeTable() {
+            return get(Key.CACHE_NODE_TYPES);
+        }
+
         @Override
         public boolean parallel() {
             return parallel;
@@ -152,6 +164,8 @@ public interface InternalConfig extends CacheSettings, AxiomsSettings {
             CACHE_NODES_SIZE,
             CACHE_OBJECTS_SIZE,
             CONTENT_CACHE_LEVEL,
+            CACHE_LOAD_PARALLELISM,
+            CACHE_NODE_TYPES,
         }
     }
 
@@ -208,6 +222,16 @@ public interface InternalConfig extends CacheSettings, AxiomsSettings {
                 return conf.getModelCacheLevel();
             }
 
+            @Override
+            public int getModelCacheLoadParallelism() {
+                return conf.getModelCacheLoadParallelism();
+            }
+
+            @Override
+            public boolean isLoadNodeTypeTable() {
+                return conf.isLoadNodeTypeTable();
+            }
+
         };
     }
 }
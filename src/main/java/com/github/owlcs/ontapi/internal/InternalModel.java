@@ -21,6 +21,7 @@ import com.github.owlcs.ontapi.Ontology;
 import com.github.owlcs.ontapi.internal.axioms.AbstractNaryTranslator;
 import com.github.owlcs.ontapi.internal.searchers.axioms.*;
 import com.github.owlcs.ontapi.internal.searchers.objects.ClassSearcher;
+import com.github.owlcs.ontapi.jena.CompactGraph;
 import com.github.owlcs.ontapi.jena.OntJenaException;
 import com.github.owlcs.ontapi.jena.RWLockedGraph;
 import com.github.owlcs.ontapi.jena.UnionGraph;
@@ -34,6 +35,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.GraphEventManager;
 import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.mem.GraphMem;
 import org.apache.jena.rdf.model.Model;
@@ -46,15 +48,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A Buffer Graph OWL model, which supports both listing OWL-API objects (OWL Axioms, Entities and Annotations)
@@ -140,10 +147,41 @@ public class InternalModel extends OntGraphModelImpl
      * @see ObjectMap
      */
     protected final InternalCache.Loading<InternalModel, Map<OWLComponentType, ObjectMap<OWLObject>>> components;
+    /**
+     * The reference counts for the {@link #components} cache:
+     * a component to the number of its occurrences in the {@link #content} containers, for each component type.
+     * It is calculated on demand, when the first container is removed,
+     * and then it is maintained incrementally while adding and removing containers,
+     * so the {@link #components} buckets can be updated without reloading.
+     * Any change in the content, that cannot be tracked, must reset this cache.
+     *
+     * @see #clearComponentsCaches()
+     */
+    protected final Map<OWLComponentType, Map<OWLObject, Integer>> componentRefs = new ConcurrentHashMap<>();
     /**
      * The direct listener, it monitors changes that occur through the main (Jena) interface.
      */
     protected final DirectListener directListener;
+    /**
+     * The statistics of all caches of this model, it is always on.
+     */
+    protected final CacheStats stats = new CacheStats();
+    /**
+     * The planner to choose the way to search referencing axioms.
+     */
+    protected final SearchPlanner planner = new SearchPlanner(false);
+    /**
+     * The snapshot to restore the content buckets on demand, it is discarded on any change.
+     *
+     * @see #readCacheSnapshot(Path, String)
+     */
+    protected volatile CacheSnapshot snapshot;
+    /**
+     * The file and the key to write the snapshot as soon as the whole content is loaded.
+     *
+     * @see #useCacheSnapshot(Path, String)
+     */
+    protected volatile Map.Entry<Path, String> snapshotTarget;
 
     // Helpers to provide searching axioms by some objects (referencing by primitives).
     protected final ByObjectSearcher<OWLAxiom, OWLClass> byClass = new ByClass();
@@ -289,7 +327,20 @@ public class InternalModel extends OntGraphModelImpl
         long size = conf.getLoadObjectsCacheSize();
         boolean parallel = conf.parallel();
         Map<Class<? extends OWLPrimitive>, InternalCache<?, ?>> map = external == null ? Collections.emptyMap() : external;
-        return new CacheObjectFactory(df, model, map, () -> InternalCache.createBounded(parallel, size));
+        return new CacheObjectFactory(df, model, map, () -> InternalCache.createBounded(parallel, size), size, stats);
+    }
+
+    /**
+     * Answers the statistics of all caches of this model:
+     * content and component buckets, {@link CacheObjectFactory} caches and {@link SearchModel} node caches.
+     * The statistics is accumulated during the whole life of the model
+     * and is not reset by the method {@link #clearCache()}.
+     *
+     * @return {@link CacheStats}
+     * @since 2.0.1
+     */
+    public CacheStats getCacheStats() {
+        return stats;
     }
 
     /**
@@ -319,7 +370,7 @@ public class InternalModel extends OntGraphModelImpl
         if (!getConfig().useLoadNodesCache()) {
             return this;
         }
-        return new SearchModel(getGraph(), getOntPersonality(), getConfig()) {
+        return new SearchModel(getGraph(), getOntPersonality(), getConfig(), stats) {
 
             @Override
             public String toString() {
@@ -364,13 +415,32 @@ public class InternalModel extends OntGraphModelImpl
 
     /**
      * Disables direct listening.
+     * No-op for a {@link #isFrozen() frozen} model, since its base graph never changes.
      *
      * @see #enableDirectListening()
      */
     protected void enableDirectListening() {
+        if (isFrozen()) {
+            return;
+        }
         getGraph().getEventManager().register(directListener);
     }
 
+    /**
+     * Answers {@code true} if this model is frozen (read-only),
+     * i.e. its base graph is a {@link CompactGraph#freeze() frozen} {@link CompactGraph}.
+     * A frozen model uses immutable {@link FrozenObjectMapImpl array-based} content and components caches,
+     * that are never reset, and does not listen to the graph changes.
+     *
+     * @return boolean
+     * @see com.github.owlcs.ontapi.config.LoadSettings#isLoadFrozen()
+     * @since 2.0.1
+     */
+    public boolean isFrozen() {
+        Graph bg = getBaseGraph();
+        return bg instanceof CompactGraph && ((CompactGraph) bg).isFrozen();
+    }
+
     /**
      * Jena model method.
      * Since in ONT-API we use another kind of lock this method is disabled (i.e. R/W Lock inside manager).
@@ -424,7 +494,7 @@ public class InternalModel extends OntGraphModelImpl
      */
     public boolean isOntologyEmpty() {
         Graph bg = getBaseGraph();
-        if (bg instanceof GraphMem) {
+        if (bg instanceof GraphMem || bg instanceof CompactGraph) {
             if (bg.isEmpty()) {
                 // really empty:
                 return true;
@@ -440,6 +510,24 @@ public class InternalModel extends OntGraphModelImpl
         return !Stream.concat(listOWLAnnotations(), listOWLAxioms()).findFirst().isPresent();
     }
 
+    /**
+     * Lists all {@link OWLEntity OWL Entity}s, i.e. the signature of the ontology.
+     * The order is the following:
+     * classes, object properties, data properties, named individuals, datatypes, annotation properties.
+     *
+     * @return {@code Stream} of {@link OWLEntity}s
+     * @see #flatMap(Stream, Function)
+     */
+    public Stream<OWLEntity> listOWLEntities() {
+        return flatMap(Stream.of(OWLComponentType.CLASS,
+                OWLComponentType.NAMED_OBJECT_PROPERTY,
+                OWLComponentType.DATATYPE_PROPERTY,
+                OWLComponentType.NAMED_INDIVIDUAL,
+                OWLComponentType.DATATYPE,
+                OWLComponentType.ANNOTATION_PROPERTY), this::listComponents,
+                !components.isEmpty() && componentCaches().allMatch(ObjectMap::isLoaded));
+    }
+
     /**
      * Lists {@link OWLEntity OWL Entity} for the specified IRI.
      *
@@ -794,7 +882,8 @@ public class InternalModel extends OntGraphModelImpl
     public Stream<OWLAxiom> listOWLAxioms(OWLPrimitive primitive) {
         OWLComponentType filter = OWLComponentType.get(primitive);
         InternalConfig config = getConfig();
-        if (useReferencingAxiomsSearchOptimization(filter, config)) {
+        long units = planReferencingAxiomsSearch(filter, primitive, config);
+        if (units >= 0) {
             ExtendedIterator<ONTObject<OWLAxiom>> res;
             OntModel model = getSearchModel();
             ModelObjectFactory factory = getObjectFactory();
@@ -819,68 +908,96 @@ public class InternalModel extends OntGraphModelImpl
             } else {
                 throw new OntApiException.IllegalArgument("Wrong type: " + filter);
             }
+            res = planner.measure(res, filter, true, units);
             // TODO: need return distinct stream!
             return reduce(res.mapWith(ONTObject::getOWLObject));
         }
         // the default way:
+        Stream<OWLAxiom> res;
         if (OWLTopObjectType.ANNOTATION.hasComponent(filter)) {
             // is type of annotation -> any axiom may contain the primitive
-            return reduce(OWLTopObjectType.axioms().flatMap(k -> {
+            res = flatMap(OWLTopObjectType.axioms(), k -> {
                 ObjectMap<OWLAxiom> axioms = getContentCache(k);
                 Predicate<OWLAxiom> p = k.hasComponent(filter) ? a -> true : k::hasAnnotations;
                 return axioms.keys().filter(x -> p.test(x) && filter.contains(x, primitive));
-            }));
+            });
+        } else {
+            // select only those container-types, that are capable to contain the primitive
+            res = flatMap(filteredAxiomsCaches(OWLTopObjectType.axioms().filter(x -> x.hasComponent(filter))),
+                    k -> k.keys().filter(x -> filter.contains(x, primitive)));
+        }
+        if (!planner.isAdaptive() || config.parallel()) {
+            return res;
         }
-        // select only those container-types, that are capable to contain the primitive
-        return flatMap(filteredAxiomsCaches(OWLTopObjectType.axioms().filter(x -> x.hasComponent(filter))),
-                k -> k.keys().filter(x -> filter.contains(x, primitive)));
+        long containers = countReferencingAxiomsContainers(filter);
+        return Iter.asStream(planner.measure(Iter.create(res.iterator()), filter, false, containers))
+                .onClose(res::close);
     }
 
     /**
-     * Answers {@code true} if the graph optimization for referencing axioms functionality is allowed and makes sense.
+     * Decides whether the graph optimization for referencing axioms functionality should be used.
+     * If the content cache is loaded, the decision is made by the {@link SearchPlanner},
+     * that compares the estimated costs of graph searching and cache traversal.
      *
-     * @param type   {@link OWLComponentType}
-     * @param config {@link InternalConfig}
-     * @return boolean
+     * @param type      {@link OWLComponentType}, not {@code null}
+     * @param primitive {@link OWLPrimitive}, not {@code null}
+     * @param config    {@link InternalConfig}, not {@code null}
+     * @return a non-negative number (the estimated number of triples to process, or {@code 0} if it is unknown)
+     * if the graph-optimization should be used, or {@code -1} if the cache should be traversed
      * @see #useAxiomsSearchOptimization(InternalConfig)
+     * @see SearchPlanner
      */
-    protected boolean useReferencingAxiomsSearchOptimization(OWLComponentType type, InternalConfig config) {
+    protected long planReferencingAxiomsSearch(OWLComponentType type, OWLPrimitive primitive, InternalConfig config) {
         if (!config.useContentCache()) {
             // no cache at all -> always use the graph way
-            return true;
+            return 0;
         }
         if (hasManuallyAddedAxioms()) {
             // manually added axioms cannot be derived from the graph
-            return false;
+            return -1;
         }
-        // if cache is loaded - decide which way to use:
-        // either the graph-optimization way or straightforward cache parsing
-        if (contentCaches().allMatch(ObjectMap::isLoaded)) {
-            // The empirical founded threshold (right now I do not see a better solution)
-            // (for small ontologies it is better to use cache traversing instead of graph searching)
-            long threshold = -1;
-            if (type == OWLComponentType.DATATYPE) {
-                // the graph-optimized-way has usually worse performance in comparison with the classic cache parsing
-                // maybe it is because there are usually only a few owl-datatypes, but many theirs entrances;
-                return false;
-            } else if (type == OWLComponentType.CLASS) {
-                threshold = 200;
-            } else if (type == OWLComponentType.NAMED_OBJECT_PROPERTY) {
-                threshold = 2000;
-            } else if (type == OWLComponentType.ANNOTATION_PROPERTY) {
-                threshold = 2000;
-            } else if (type == OWLComponentType.DATATYPE_PROPERTY) {
-                threshold = 100;
-            } else if (type == OWLComponentType.NAMED_INDIVIDUAL) {
-                // the graph-way is usually faster, especially for big ontologies,
-                // but it may be not true in case of special complexity (e.g. with owl:AllDifferent)
-                threshold = 3000;
-            }
-            // for IRI graph optimization is always faster
-            // for literals and anonymous individuals too
-            return getOWLAxiomCount() >= threshold;
+        // if cache is not loaded, loading it is more expensive than searching in graph
+        if (!contentCaches().allMatch(ObjectMap::isLoaded)) {
+            return 0;
+        }
+        return planner.choose(type, toNode(type, primitive), getBaseGraph(), countReferencingAxiomsContainers(type));
+    }
+
+    /**
+     * Answers the number of axioms that may contain a primitive of the given type.
+     * The content cache is expected to be loaded.
+     *
+     * @param type {@link OWLComponentType}, not {@code null}
+     * @return long
+     */
+    protected long countReferencingAxiomsContainers(OWLComponentType type) {
+        if (OWLTopObjectType.ANNOTATION.hasComponent(type)) {
+            return getOWLAxiomCount();
+        }
+        return OWLTopObjectType.axioms().filter(x -> x.hasComponent(type)).mapToLong(x -> getContentCache(x).count()).sum();
+    }
+
+    /**
+     * Answers the planner, which decides how to search the referencing axioms.
+     *
+     * @return {@link SearchPlanner}
+     * @since 2.0.1
+     */
+    public SearchPlanner getSearchPlanner() {
+        return planner;
+    }
+
+    private static Node toNode(OWLComponentType type, OWLPrimitive primitive) {
+        switch (type) {
+            case IRI:
+                return NodeFactory.createURI(((IRI) primitive).getIRIString());
+            case LITERAL:
+                return WriteHelper.toLiteralNode((OWLLiteral) primitive);
+            case ANONYMOUS_INDIVIDUAL:
+                return WriteHelper.toBlankNode((OWLAnonymousIndividual) primitive);
+            default:
+                return WriteHelper.toNode((OWLEntity) primitive);
         }
-        return true;
     }
 
     /**
@@ -889,7 +1006,7 @@ public class InternalModel extends OntGraphModelImpl
      * @param config {@link InternalConfig}
      * @return boolean
      * @see #useObjectsSearchOptimization(InternalConfig)
-     * @see #useReferencingAxiomsSearchOptimization(OWLComponentType, InternalConfig)
+     * @see #planReferencingAxiomsSearch(OWLComponentType, OWLPrimitive, InternalConfig)
      */
     protected boolean useAxiomsSearchOptimization(InternalConfig config) {
         return !config.useContentCache() || !hasManuallyAddedAxioms();
@@ -967,6 +1084,49 @@ public class InternalModel extends OntGraphModelImpl
         return (Stream<A>) listOWLAxioms(OWLTopObjectType.get(type));
     }
 
+    /**
+     * Answers whether the given axiom is present within the model, without loading any cache.
+     * Unlike {@link #contains(OWLAxiom)}, this method never changes the state of the model,
+     * so it can be used for optimistic (lock-free) reads.
+     *
+     * @param a {@link OWLAxiom}, not {@code null}
+     * @return {@code Boolean} or {@code null} if the corresponding content bucket is not loaded
+     * @since 2.0.1
+     */
+    public Boolean findContains(OWLAxiom a) {
+        Map<OWLTopObjectType, ObjectMap<? extends OWLObject>> store = content.getIfPresent(this);
+        if (store == null) {
+            return null;
+        }
+        ObjectMap<OWLAxiom> map = (ObjectMap<OWLAxiom>) store.get(OWLTopObjectType.get(a.getAxiomType()));
+        return map == null ? null : map.containsIfLoaded(a);
+    }
+
+    /**
+     * Returns the number of axioms of the given types, without loading any cache.
+     *
+     * @param keys {@code Stream} of {@link OWLTopObjectType}s, each of them must be an axiom type
+     * @return {@code long}, the count or {@code -1} if some of the content buckets is not loaded
+     * @see #findContains(OWLAxiom)
+     * @since 2.0.1
+     */
+    public long findOWLAxiomCount(Stream<OWLTopObjectType> keys) {
+        Map<OWLTopObjectType, ObjectMap<? extends OWLObject>> store = content.getIfPresent(this);
+        if (store == null) {
+            return -1;
+        }
+        long res = 0;
+        for (OWLTopObjectType key : (Iterable<OWLTopObjectType>) keys::iterator) {
+            ObjectMap<? extends OWLObject> map = store.get(key);
+            long count = map == null ? -1 : map.countIfLoaded();
+            if (count < 0) {
+                return -1;
+            }
+            res += count;
+        }
+        return res;
+    }
+
     /**
      * Returns the number of axioms in this ontology.
      *
@@ -983,41 +1143,44 @@ public class InternalModel extends OntGraphModelImpl
      * <p>
      * It is for ensuring safety in case of multithreading environment,
      * as indicated by the parameter {@link InternalConfig#parallel()}.
-     * If {@code parallel} is {@code true} and {@code stream} is unknown nature
-     * then the collecting must not go beyond this method, otherwise it is allowed to be lazy.
+     * The method is intended for the streams derived from the graph (e.g. search results),
+     * which, unlike the content caches, are not bound to any snapshot.
      * Although the upper API uses {@code ReadWriteLock R/W lock} everywhere
      * (that is an original OWL-API locking style), it does not guarantee thread-safety on iterating,
      * and, therefore, without the help of this method,
      * there is a dangerous of {@link java.util.ConcurrentModificationException} (at best),
      * if some processing go outside a method who spawned the stream, in spite of the dedicated lock-section.
-     * So need to make sure stream is created from a snapshot state.
+     * So, if {@code parallel} is {@code true} (and the model is modifiable, i.e. the content cache is enabled),
+     * the stream is collected into an array right inside this method, and a stream over that array is returned.
+     * Otherwise, the stream is returned as it is, i.e. it remains lazy.
+     * The streams derived from the content caches should not be passed here:
+     * they are bound to immutable snapshots and stay lazy in any mode, see {@link #flatMap(Stream, Function)}.
      * <p>
      * Notice that this class does not produce parallel streams.
      * It is due to the dangerous of livelocks or even deadlocks while interacting with loading-caches,
      * since all of them are based on the standard Java {@code ConcurrentHashMap}.
+     * But the streams derived from the loaded caches are splittable and can be turned into parallel by the client,
+     * see {@link #flatMap(Stream, Function)}.
      *
      * @param stream {@code Stream} of {@link R}s, expected to be distinct
      * @param <R>    anything
      * @return {@code Stream} of {@link R}s
      * @see #flatMap(Stream, Function)
      */
+    @SuppressWarnings("unchecked")
     protected <R> Stream<R> reduce(Stream<R> stream) {
         InternalConfig conf = getConfig();
         // model is non-modifiable if cache is disabled
         if (!conf.parallel() || !conf.useContentCache()) {
             return stream;
         }
-        // use ArrayList since it is faster while iterating,
-        // Uniqueness is guaranteed by other mechanisms.
-        // 1024 is a magic approximate number of axioms/objects; it is not tested yet.
-        ArrayList<R> res = new ArrayList<>(1024);
-        stream.forEach(res::add);
-        res.trimToSize();
-        return res.stream();
+        // uniqueness is guaranteed by other mechanisms
+        return Arrays.stream((R[]) stream.toArray());
     }
 
     /**
      * Performs a final operation over the specified {@code stream} before releasing it out.
+     * In parallel mode the iterator is exhausted and closed inside this method, otherwise it is wrapped lazily.
      *
      * @param stream {@code ExtendedIterator} of {@link R}s, expected to be distinct
      * @param <R>    anything
@@ -1029,10 +1192,7 @@ public class InternalModel extends OntGraphModelImpl
         if (!conf.parallel() || !conf.useContentCache()) {
             return Iter.asStream(stream);
         }
-        ArrayList<R> res = new ArrayList<>(1024);
-        stream.forEachRemaining(res::add);
-        res.trimToSize();
-        return res.stream();
+        return reduce(Iter.asStream(stream));
     }
 
     /**
@@ -1040,6 +1200,16 @@ public class InternalModel extends OntGraphModelImpl
      * with the contents of a mapped stream produced by applying the provided mapping function to each element.
      * The purpose of this method is the same as for {@link #reduce(Stream)}:
      * for thread-safety reasons calculations should not go beyond the bounds of this method.
+     * But, unlike {@link #reduce(Stream)}, the elements are not copied:
+     * in parallel mode all sub-streams are created inside this method, and each of them is bound to its source state.
+     * The sub-streams over the content cache keys are bound to the immutable snapshots
+     * (see {@link CacheObjectMapImpl.SnapshotList}), so they can be consumed lazily.
+     * <p>
+     * If the content cache is enabled, the returned stream is splittable (see {@link ConcatSpliterator}),
+     * and it is also {@code SIZED} if all the caches are already loaded,
+     * so it can be effectively processed in parallel (i.e. using {@code flatMap(...).parallel()}).
+     * Such a parallel processing is safe if the model is not modified while the stream is being consumed,
+     * or if the model is in the concurrent mode (since then all the sub-streams are bound to snapshots).
      *
      * @param stream {@code Stream} of {@link X}
      * @param map    a {@link Function} for mapping {@link X} to {@code Stream} of {@link R}
@@ -1049,13 +1219,31 @@ public class InternalModel extends OntGraphModelImpl
      * @see #reduce(Stream)
      */
     protected <R, X> Stream<R> flatMap(Stream<X> stream, Function<X, Stream<? extends R>> map) {
+        return flatMap(stream, map, !content.isEmpty() && contentCaches().allMatch(ObjectMap::isLoaded));
+    }
+
+    /**
+     * Returns a stream consisting of the results of replacing each element of this stream
+     * with the contents of a mapped stream produced by applying the provided mapping function to each element.
+     *
+     * @param stream {@code Stream} of {@link X}
+     * @param map    a {@link Function} for mapping {@link X} to {@code Stream} of {@link R}
+     * @param loaded if {@code true} the sub-streams are cheap to create, i.e. the corresponding caches are loaded
+     * @param <R>    anything
+     * @param <X>    anything
+     * @return {@code Stream} of {@link R}
+     * @see #flatMap(Stream, Function)
+     */
+    protected <R, X> Stream<R> flatMap(Stream<X> stream, Function<X, Stream<? extends R>> map, boolean loaded) {
         InternalConfig conf = getConfig();
-        if (!conf.parallel() || !conf.useContentCache()) {
+        if (!conf.useContentCache()) {
+            // the sub-streams may be backed by the graph iterators, which must be closed
             return stream.flatMap(map);
         }
-        // force put everything into cache (memory) and get data snapshot
-        // for now there is no any better solution
-        return stream.map(map).collect(Collectors.toList()).stream().flatMap(Function.identity());
+        // in parallel mode force put everything into cache (memory) and get data snapshots, but not the data itself
+        ConcatSpliterator<X, R> res = new ConcatSpliterator<>(stream, map, loaded || conf.parallel());
+        // the opened sub-streams are released when the consumer leaves them or closes the outer stream
+        return StreamSupport.stream(res, false).onClose(res::close).onClose(stream::close);
     }
 
     /**
@@ -1126,6 +1314,142 @@ public class InternalModel extends OntGraphModelImpl
         return remove(OWLTopObjectType.ANNOTATION, annotation);
     }
 
+    /**
+     * Adds all the given axioms to the model in a single batch.
+     * This is a bulk version of the method {@link #add(OWLAxiom)}:
+     * the direct listening is suspended only once, the triples are collected by a single graph listener,
+     * each content bucket is updated once, the components caches are updated in a single pass,
+     * and the search model and the object factory are reset only once, at the end of the operation.
+     * The axioms, which are already present in the model, are skipped.
+     *
+     * @param axioms a {@code Collection} of {@link OWLAxiom}s, not {@code null}
+     * @return a {@code Set} of {@link OWLAxiom}s that have been written into the graph, in the encounter order
+     * @throws OntApiException in case some axiom cannot be added into model;
+     *                         all the axioms before it remain in the model
+     * @see #add(OWLAxiom)
+     * @since 2.0.1
+     */
+    public Set<OWLAxiom> addAxioms(Collection<? extends OWLAxiom> axioms) throws OntApiException {
+        return addAxioms(axioms, new LinkedHashSet<>());
+    }
+
+    /**
+     * Adds all the given axioms to the model in a single batch, collecting the written axioms into the given set.
+     * The {@code res} set is filled as the axioms are written,
+     * so in case of error it contains exactly the axioms that remain in the model.
+     *
+     * @param axioms a {@code Collection} of {@link OWLAxiom}s, not {@code null}
+     * @param res    a {@code Set} to collect the {@link OWLAxiom}s that have been written, not {@code null}
+     * @return the same {@code res} set
+     * @throws OntApiException in case some axiom cannot be added into model
+     * @see #addAxioms(Collection)
+     * @since 2.0.1
+     */
+    public Set<OWLAxiom> addAxioms(Collection<? extends OWLAxiom> axioms, Set<OWLAxiom> res) throws OntApiException {
+        Map<OWLTopObjectType, List<ONTObject<OWLObject>>> values = new EnumMap<>(OWLTopObjectType.class);
+        // load the buckets before graph modification:
+        axioms.forEach(a -> values.computeIfAbsent(OWLTopObjectType.get(a.getAxiomType()), k -> {
+            getContentCache(k).load();
+            return new ArrayList<>();
+        }));
+        OWLTriples.Listener listener = OWLTriples.createListener();
+        GraphEventManager evm = getGraph().getEventManager();
+        try {
+            disableDirectListening();
+            evm.register(listener);
+            for (OWLAxiom axiom : axioms) {
+                OWLTopObjectType key = OWLTopObjectType.get(axiom.getAxiomType());
+                if (getContentCache(key).contains(axiom) || !res.add(axiom)) {
+                    continue;
+                }
+                try {
+                    key.write(this, axiom);
+                } catch (Exception e) {
+                    res.remove(axiom);
+                    listener.getTriples().forEach(this::delete);
+                    if (e instanceof OntApiException)
+                        throw e;
+                    throw new OntApiException(String.format("OWLObject: %s, message: '%s'", axiom, e.getMessage()), e);
+                }
+                OWLTriples<OWLObject> value = listener.release(axiom);
+                if (value.isDefinitelyEmpty()) {
+                    LOGGER.warn("Attempt to add empty OWL object: {}", axiom);
+                    continue;
+                }
+                values.get(key).add(value);
+            }
+        } finally {
+            evm.unregister(listener);
+            enableDirectListening();
+            clearNodeTypeTable();
+            // the objects that have been written must be cached even in case of error
+            values.forEach((k, v) -> getContentCache(k).addAll(v));
+            cacheComponents(values.values().stream().flatMap(Collection::stream)
+                    .map(ONTObject::getOWLObject).collect(Collectors.toList()));
+            clearOtherCaches();
+        }
+        return res;
+    }
+
+    /**
+     * Removes all the given axioms from the model in a single batch.
+     * This is a bulk version of the method {@link #remove(OWLAxiom)}:
+     * all the axioms are removed from the content cache first,
+     * then the triples, that are not used by the remaining objects, are calculated and deleted from the graph.
+     * The components caches, the search model and the object factory are reset only once.
+     * The axioms, which are absent in the model, are skipped.
+     *
+     * @param axioms a {@code Collection} of {@link OWLAxiom}s, not {@code null}
+     * @return a {@code Set} of {@link OWLAxiom}s that have been removed from the model, in the encounter order
+     * @see #remove(OWLAxiom)
+     * @since 2.0.1
+     */
+    public Set<OWLAxiom> removeAxioms(Collection<? extends OWLAxiom> axioms) {
+        return removeAxioms(axioms, new LinkedHashSet<>());
+    }
+
+    /**
+     * Removes all the given axioms from the model in a single batch, collecting the removed axioms into the given set.
+     *
+     * @param axioms a {@code Collection} of {@link OWLAxiom}s, not {@code null}
+     * @param res    a {@code Set} to collect the {@link OWLAxiom}s that have been removed, not {@code null}
+     * @return the same {@code res} set
+     * @see #removeAxioms(Collection)
+     * @since 2.0.1
+     */
+    public Set<OWLAxiom> removeAxioms(Collection<? extends OWLAxiom> axioms, Set<OWLAxiom> res) {
+        try {
+            disableDirectListening();
+            List<ONTObject<OWLObject>> values = new ArrayList<>();
+            for (OWLAxiom axiom : axioms) {
+                ObjectMap<OWLObject> map = getContentCache(OWLTopObjectType.get(axiom.getAxiomType()));
+                ONTObject<OWLObject> value = map.get(axiom);
+                if (value == null) {
+                    continue;
+                }
+                map.remove(axiom);
+                res.add(axiom);
+                values.add(value);
+            }
+            if (values.isEmpty()) {
+                return res;
+            }
+            // the same as in #remove(OWLTopObjectType, OWLObject), but the graph is modified only in the end:
+            clearComponents(values.stream().map(ONTObject::getOWLObject).collect(Collectors.toList()));
+            Set<Triple> unused = new HashSet<>();
+            values.forEach(value -> {
+                OntModel m = toModel(value);
+                Set<Triple> used = getUsedTriples(m, value.getOWLObject());
+                m.getBaseGraph().find().filterDrop(used::contains).forEachRemaining(unused::add);
+            });
+            unused.forEach(this::delete);
+            clearOtherCaches();
+            return res;
+        } finally {
+            enableDirectListening();
+        }
+    }
+
     /**
      * Adds the specified {@code OWLObject} into the model.
      *
@@ -1158,9 +1482,14 @@ public class InternalModel extends OntGraphModelImpl
             LOGGER.warn("Attempt to add empty OWL object: {}", container);
             return false;
         }
+        boolean isNew = !map.contains(container);
         map.add(value);
-        // put new components into objects cache
-        cacheComponents(container);
+        // new entities may have appeared
+        clearNodeTypeTable();
+        if (isNew) {
+            // put new components into objects cache
+            cacheComponents(container);
+        }
         // clear search model and object factory
         clearOtherCaches();
         return true;
@@ -1404,6 +1733,16 @@ public class InternalModel extends OntGraphModelImpl
      */
     public void clearCache() {
         cachedID = null;
+        if (isFrozen()) {
+            // the content of a frozen model never changes
+            config.clear();
+            return;
+        }
+        discardSnapshot();
+        if (!content.isEmpty()) {
+            // to record the evictions into the statistics
+            contentCaches().forEach(ObjectMap::clear);
+        }
         content.clear();
         config.clear();
         clearComponentsCaches();
@@ -1414,19 +1753,134 @@ public class InternalModel extends OntGraphModelImpl
      * Auxiliary method.
      */
     protected void clearComponentsCaches() {
+        if (!components.isEmpty()) {
+            componentCaches().forEach(ObjectMap::clear);
+        }
         components.clear();
+        componentRefs.clear();
         clearOtherCaches();
     }
 
+    /**
+     * Discards the precomputed entity types table of the search model, if it is present.
+     * To be called right after the graph modification, if the search model is still in use.
+     *
+     * @see SearchModel#clearNodeTypeTable()
+     */
+    protected void clearNodeTypeTable() {
+        if (searchModel.isEmpty()) {
+            return;
+        }
+        OntGraphModelImpl model = searchModel.get(this);
+        if (model instanceof SearchModel) {
+            ((SearchModel) model).clearNodeTypeTable();
+        }
+    }
+
     /**
      * Invalidates search model and object factory caches.
      * Auxiliary method.
      */
     protected void clearOtherCaches() {
+        if (!objectFactory.isEmpty()) {
+            ModelObjectFactory factory = objectFactory.get(this);
+            if (factory instanceof CacheObjectFactory) {
+                ((CacheObjectFactory) factory).clear();
+            }
+        }
+        if (!searchModel.isEmpty()) {
+            OntGraphModelImpl model = searchModel.get(this);
+            if (model instanceof SearchModel) {
+                ((SearchModel) model).clearCache();
+            }
+        }
         objectFactory.clear();
         searchModel.clear();
     }
 
+    /**
+     * Updates the content cache to reflect the given triple, that has been added or deleted directly into the graph.
+     * Only those buckets that are already loaded are updated,
+     * the affected objects are found using the {@link ObjectMap#keys(Triple) reverse index}.
+     * The method works only with simple triples (see {@link #isSimpleTriple(Triple)}),
+     * which can be a part of an axiom or header annotation only as its main triple,
+     * and which do not change the nodes types and, therefore, other caches.
+     * Structural triples (e.g. {@code rdf:type} declarations or b-node parts of class expressions)
+     * require the full invalidation.
+     *
+     * @param triple {@link Triple}, not {@code null}
+     * @param added  {@code true} if the triple has been added, {@code false} if it has been deleted
+     * @return {@code false} if the cache cannot be updated partially, and, therefore, must be invalidated
+     * @see #clearCache()
+     */
+    protected boolean refreshContent(Triple triple, boolean added) {
+        if (content.isEmpty()) {
+            // nothing to refresh, but other caches still need to be cleared
+            return false;
+        }
+        InternalConfig conf = getConfig();
+        if (!conf.useContentCache() || !conf.isLoadAnnotationAxioms() || !conf.isAllowBulkAnnotationAssertions()) {
+            return false;
+        }
+        if (!isSimpleTriple(triple)) {
+            return false;
+        }
+        ModelObjectFactory factory = getObjectFactory();
+        OntStatement statement = added ? getSearchModel().asStatement(triple) : null;
+        getContentStore().forEach((type, cache) -> {
+            if (!cache.isLoaded()) {
+                return;
+            }
+            ObjectMap<OWLObject> map = (ObjectMap<OWLObject>) cache;
+            if (added) {
+                type.read(factory, conf, statement).forEachRemaining(x -> {
+                    ONTObject<OWLObject> value = (ONTObject<OWLObject>) x;
+                    // the object may already be cached (e.g. it is re-read from another of its triples),
+                    // in that case its components are already counted:
+                    boolean isNew = !map.contains(value.getOWLObject());
+                    map.put(value);
+                    if (isNew) {
+                        cacheComponents(value.getOWLObject());
+                    }
+                });
+                return;
+            }
+            map.keys(triple).collect(Collectors.toList()).forEach(key -> {
+                map.remove(key);
+                if (!type.isDistinct()) {
+                    // the same object can be derived from other triples:
+                    Optional<ONTObject<OWLObject>> res = type.find(factory, conf, key).map(x -> (ONTObject<OWLObject>) x);
+                    if (res.isPresent()) {
+                        map.put(res.get());
+                        return;
+                    }
+                }
+                clearComponents(key);
+            });
+        });
+        return true;
+    }
+
+    /**
+     * Answers {@code true} if the given triple is simple, i.e.
+     * it does not contain b-nodes and its predicate is not a reserved one
+     * (with the exception of builtin properties, such as {@code rdfs:label}).
+     * A simple triple cannot be a part of any complex structure (e.g. class expression)
+     * and cannot change the type of any node.
+     *
+     * @param triple {@link Triple}, not {@code null}
+     * @return boolean
+     */
+    protected boolean isSimpleTriple(Triple triple) {
+        if (triple.getSubject().isBlank() || triple.getObject().isBlank()) {
+            return false;
+        }
+        Node p = triple.getPredicate();
+        OntPersonality personality = getOntPersonality();
+        return !personality.getReserved().getProperties().contains(p)
+                || personality.getBuiltins().getProperties().contains(p);
+    }
+
     @Override
     public String toString() {
         return String.format("[%s]%s", getClass().getSimpleName(), getID());
@@ -1496,6 +1950,9 @@ public class InternalModel extends OntGraphModelImpl
     protected ObjectMap<OWLObject> createComponentObjectMap(OWLComponentType type) {
         InternalConfig conf = getConfig();
         Supplier<Iterator<ONTObject<OWLObject>>> loader = () -> listOWLObjects(type, conf);
+        if (isFrozen()) {
+            return new FrozenObjectMapImpl<>(loader, false, stats.components(type));
+        }
         if (!conf.useComponentCache()) {
             ObjectsSearcher<OWLObject> searcher;
             if (OWLComponentType.CLASS == type) {
@@ -1509,7 +1966,7 @@ public class InternalModel extends OntGraphModelImpl
         }
         boolean parallel = conf.parallel();
         boolean fastIterator = conf.useIteratorCache();
-        return new CacheObjectMapImpl<>(loader, false, parallel, fastIterator);
+        return new CacheObjectMapImpl<>(loader, false, parallel, fastIterator, stats.components(type));
     }
 
     private static ObjectsSearcher<OWLObject> cast(ObjectsSearcher<?> x) {
@@ -1540,7 +1997,7 @@ public class InternalModel extends OntGraphModelImpl
      * @param config {@link InternalConfig}, not {@code null}
      * @return boolean
      * @see #useAxiomsSearchOptimization(InternalConfig)
-     * @see #useReferencingAxiomsSearchOptimization(OWLComponentType, InternalConfig)
+     * @see #planReferencingAxiomsSearch(OWLComponentType, OWLPrimitive, InternalConfig)
      */
     protected boolean useObjectsSearchOptimization(InternalConfig config) {
         return !config.useContentCache() || contentCaches().anyMatch(x -> !x.isLoaded());
@@ -1609,26 +2066,66 @@ public class InternalModel extends OntGraphModelImpl
     }
 
     /**
-     * Invalidates the {@link #components cache} for all components parsed from the given {@code container}.
-     * todo: is a smarter mechanism to invalidate the related components possible here?
+     * Updates the {@link #components cache} for all components parsed from the given {@code container},
+     * which has already been removed from the {@link #content} cache.
      *
      * @param container {@link OWLObject}, not {@code null}
      * @see #clearComponentsCaches()
      * @see OWLComponentType
      */
     protected void clearComponents(OWLObject container) {
+        clearComponents(Collections.singletonList(container));
+    }
+
+    /**
+     * Updates the {@link #components cache} for all components parsed from the given {@code containers},
+     * which have already been removed from the {@link #content} cache.
+     * A component is removed from the cache when there are no more containers referring it,
+     * this is controlled by the {@link #componentRefs reference counts}.
+     * The reference counts for a component type are calculated during the first call of this method,
+     * the subsequent calls cost {@code O(size of containers)}.
+     *
+     * @param containers a {@code Collection} of {@link OWLObject}s, not {@code null}
+     * @see #clearComponents(OWLObject)
+     */
+    protected void clearComponents(Collection<? extends OWLObject> containers) {
         if (components.isEmpty()) return;
         Map<OWLComponentType, ObjectMap<OWLObject>> cache = components.get(this);
         OWLComponentType.keys().forEach(type -> {
             ObjectMap<OWLObject> map = cache.get(type);
-            if (!map.isLoaded()) {
-                return;
+            Map<OWLObject, Integer> refs = componentRefs.get(type);
+            Predicate<OWLObject> unused;
+            if (refs == null) {
+                if (!map.isLoaded()) {
+                    return;
+                }
+                // the containers are not in the content already, so they are not counted:
+                Map<OWLObject, Integer> res = countComponents(type);
+                componentRefs.put(type, res);
+                unused = x -> !res.containsKey(x);
+            } else {
+                unused = x -> decrement(refs, x);
             }
-            if (!type.select(container).findFirst().isPresent()) return;
-            map.clear();
+            containers.forEach(container -> type.select(container).filter(unused).forEach(map::remove));
         });
     }
 
+    /**
+     * Calculates the reference counts for the given component type over the whole {@link #content} cache.
+     *
+     * @param type {@link OWLComponentType}, not {@code null}
+     * @return {@code Map} with components as keys and the number of their occurrences as values
+     */
+    protected Map<OWLObject, Integer> countComponents(OWLComponentType type) {
+        Map<OWLObject, Integer> res = new HashMap<>();
+        selectContentObjects(type).forEach(x -> type.select(x).forEach(c -> res.merge(c, 1, Integer::sum)));
+        return res;
+    }
+
+    private static boolean decrement(Map<OWLObject, Integer> refs, OWLObject key) {
+        return refs.computeIfPresent(key, (k, v) -> v == 1 ? null : v - 1) == null;
+    }
+
     /**
      * Extracts all components from the given {@code container} and puts them into the {@link #components} cache.
      *
@@ -1637,24 +2134,223 @@ public class InternalModel extends OntGraphModelImpl
      * @see OWLComponentType
      */
     protected void cacheComponents(OWLObject container) {
-        if (components.isEmpty()) return;
+        cacheComponents(Collections.singletonList(container));
+    }
+
+    /**
+     * Extracts all components from the given {@code containers} and puts them into the {@link #components} cache.
+     * Each component bucket is processed only once.
+     * The {@link #componentRefs reference counts} are also incremented, if they are present.
+     *
+     * @param containers a {@code Collection} of {@link OWLObject}s, not {@code null}
+     * @see #cacheComponents(OWLObject)
+     */
+    protected void cacheComponents(Collection<? extends OWLObject> containers) {
+        if (components.isEmpty() || containers.isEmpty()) return;
         Map<OWLComponentType, ObjectMap<OWLObject>> cache = components.get(this);
         ModelObjectFactory df = getObjectFactory();
         OntModel m = getSearchModel();
         OWLComponentType.keys().forEach(type -> {
+            Map<OWLObject, Integer> refs = componentRefs.get(type);
+            if (refs != null) {
+                containers.forEach(container -> type.select(container).forEach(x -> refs.merge(x, 1, Integer::sum)));
+            }
             ObjectMap<OWLObject> map = cache.get(type);
             if (!map.isLoaded()) {
                 return;
             }
-            type.select(container, m, df).forEach(map::add);
+            containers.forEach(container -> type.select(container, m, df).forEach(map::add));
         });
     }
 
     /**
      * Forcibly loads the whole content cache.
+     * If the {@link InternalConfig#getModelCacheLoadParallelism() parallelism level} is greater than {@code 1},
+     * then the content buckets, and after them the components caches,
+     * are loaded simultaneously in a dedicated {@link ForkJoinPool}.
+     * Otherwise, most of the axiom buckets are filled during a single pass over the base graph
+     * (see {@link #loadContentInOnePass()}), and the rest are loaded one by one.
+     * For a {@link #isFrozen() frozen} model the components caches are also loaded.
+     * After loading, the pending snapshot is written, if any (see {@link #useCacheSnapshot(Path, String)}).
      */
     public void forceLoad() {
-        contentCaches().forEach(ObjectMap::load);
+        int parallelism = getConfig().getModelCacheLoadParallelism();
+        if (parallelism <= 1) {
+            loadContentInOnePass();
+            contentCaches().forEach(ObjectMap::load);
+            if (isFrozen()) {
+                componentCaches().forEach(ObjectMap::load);
+            }
+            writePendingSnapshot();
+            return;
+        }
+        if (contentCaches().allMatch(ObjectMap::isLoaded)) {
+            writePendingSnapshot();
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            // init shared caches before splitting into tasks:
+            getObjectFactory();
+            getSearchModel();
+            // components are derived from the content, so the content must be loaded first:
+            pool.submit(() -> contentCaches().parallel().forEach(ObjectMap::load)).join();
+            if (getConfig().useComponentCache() || isFrozen()) {
+                pool.submit(() -> componentCaches().parallel().forEach(ObjectMap::load)).join();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        writePendingSnapshot();
+    }
+
+    /**
+     * Saves the state of the content cache into the specified file,
+     * so that it can be quickly restored after restart using the method {@link #readCacheSnapshot(Path, String)}.
+     * All content buckets are loaded before saving.
+     *
+     * @param file {@link Path}, not {@code null}
+     * @param key  {@code String}, an identifier of the graph content (e.g. a digest of the source), not {@code null}
+     * @throws OntApiException in case of I/O error
+     * @see CacheSnapshot
+     * @since 2.0.1
+     */
+    public void writeCacheSnapshot(Path file, String key) throws OntApiException {
+        CacheSnapshot.write(this, Objects.requireNonNull(file, "Null file"), key);
+    }
+
+    /**
+     * Attaches the snapshot from the specified file, that has been saved by the method
+     * {@link #writeCacheSnapshot(Path, String)} with the same key.
+     * The snapshot is ignored if it does not match the key, the graph size or the config of this model.
+     * Nothing is loaded here: the content buckets, that are stored in the snapshot,
+     * are restored from it on the first demand, instead of reading the whole graph.
+     * The snapshot is discarded on any change of the model.
+     *
+     * @param file {@link Path}, not {@code null}
+     * @param key  {@code String}, an identifier of the graph content, not {@code null}
+     * @return {@code true} if the snapshot has been attached
+     * @throws OntApiException in case of I/O error or if the file is broken
+     * @see CacheSnapshot
+     * @since 2.0.1
+     */
+    public boolean readCacheSnapshot(Path file, String key) throws OntApiException {
+        CacheSnapshot res = CacheSnapshot.open(this, Objects.requireNonNull(file, "Null file"), key);
+        if (res == null) {
+            return false;
+        }
+        snapshot = res;
+        return true;
+    }
+
+    /**
+     * Binds the model with the specified snapshot file.
+     * If the file exists and matches the model, it is attached (see {@link #readCacheSnapshot(Path, String)}).
+     * Otherwise, the snapshot is written to the file as soon as the whole content is loaded
+     * (see {@link #forceLoad()}), unless the model is changed before.
+     * This method is used by the loader for the documents that are stored in the transformed graphs cache.
+     *
+     * @param file {@link Path}, not {@code null}
+     * @param key  {@code String}, an identifier of the graph content, not {@code null}
+     * @see com.github.owlcs.ontapi.config.LoadSettings#getTransformsCacheDirectory()
+     * @since 2.0.1
+     */
+    public void useCacheSnapshot(Path file, String key) {
+        Objects.requireNonNull(key, "Null key");
+        if (Files.isRegularFile(Objects.requireNonNull(file, "Null file"))) {
+            try {
+                if (readCacheSnapshot(file, key)) {
+                    return;
+                }
+            } catch (OntApiException e) {
+                LOGGER.warn("Can't read the cache snapshot {}: {}", file, e.getMessage());
+            }
+        }
+        snapshotTarget = new AbstractMap.SimpleImmutableEntry<>(file, key);
+        if (contentCaches().allMatch(ObjectMap::isLoaded)) {
+            writePendingSnapshot();
+        }
+    }
+
+    /**
+     * Writes the snapshot, if there is a pending target.
+     *
+     * @see #useCacheSnapshot(Path, String)
+     */
+    protected void writePendingSnapshot() {
+        Map.Entry<Path, String> target = snapshotTarget;
+        if (target == null) {
+            return;
+        }
+        snapshotTarget = null;
+        try {
+            writeCacheSnapshot(target.getKey(), target.getValue());
+        } catch (OntApiException e) {
+            LOGGER.warn("Can't write the cache snapshot {}: {}", target.getKey(), e.getMessage());
+        }
+    }
+
+    /**
+     * Discards the snapshot, since it does not match the graph anymore.
+     */
+    protected void discardSnapshot() {
+        snapshot = null;
+        snapshotTarget = null;
+    }
+
+    /**
+     * Reads the bucket of the given type from the attached snapshot.
+     *
+     * @param type {@link OWLTopObjectType}, not {@code null}
+     * @return {@code Iterator} of {@link ONTObject}s or {@code null} if there is no suitable snapshot
+     */
+    protected Iterator<ONTObject<OWLObject>> readSnapshot(OWLTopObjectType type) {
+        CacheSnapshot res = snapshot;
+        return res != null && res.contains(this, type) ? res.read(this, type) : null;
+    }
+
+    /**
+     * Loads all not yet loaded axiom buckets, that can be read statement by statement,
+     * iterating over the base graph only once.
+     * Each local statement is passed to all the translators that accept it
+     * (see {@link OWLTopObjectType#read(ModelObjectFactory, InternalConfig, OntStatement)}),
+     * and the collected objects are put in the corresponding buckets at the end.
+     * This is faster than reading each of the ~40 buckets separately,
+     * since every bucket-loader lists the whole graph or a significant part of it.
+     * No-op if the content cache is disabled or there is nothing to load.
+     *
+     * @see OWLTopObjectType#isReadableByStatement()
+     */
+    @SuppressWarnings("unchecked")
+    protected void loadContentInOnePass() {
+        InternalConfig conf = getConfig();
+        if (!conf.useContentCache() && !isFrozen()) {
+            return;
+        }
+        Map<OWLTopObjectType, ObjectMap<? extends OWLObject>> store = getContentStore();
+        List<OWLTopObjectType> keys = OWLTopObjectType.axioms()
+                .filter(OWLTopObjectType::isReadableByStatement)
+                .filter(x -> !store.get(x).isLoaded())
+                .filter(x -> snapshot == null || !snapshot.contains(this, x))
+                .collect(Collectors.toList());
+        if (keys.size() < 2) {
+            // nothing to optimize
+            return;
+        }
+        ModelObjectFactory factory = getObjectFactory();
+        Map<OWLTopObjectType, List<ONTObject<? extends OWLObject>>> res = new EnumMap<>(OWLTopObjectType.class);
+        keys.forEach(k -> res.put(k, new ArrayList<>()));
+        getSearchModel().listLocalStatements(null, null, null).forEachRemaining(s -> keys.forEach(k -> {
+            Iterator<? extends ONTObject<? extends OWLObject>> it = k.read(factory, conf, s);
+            while (it.hasNext()) {
+                res.get(k).add(it.next());
+            }
+        }));
+        res.forEach((k, v) -> {
+            ObjectMap<OWLObject> map = (ObjectMap<OWLObject>) store.get(k);
+            Iterator<ONTObject<OWLObject>> source = (Iterator<ONTObject<OWLObject>>) (Iterator<?>) v.iterator();
+            map.load(source);
+        });
     }
 
     /**
@@ -1718,6 +2414,13 @@ public class InternalModel extends OntGraphModelImpl
         return getContentStore().values().stream();
     }
 
+    /**
+     * @return a {@code Stream} of {@link ObjectMap}s
+     */
+    protected Stream<ObjectMap<OWLObject>> componentCaches() {
+        return components.get(this).values().stream();
+    }
+
     /**
      * Creates a content store {@code Map}.
      *
@@ -1737,9 +2440,14 @@ public class InternalModel extends OntGraphModelImpl
      */
     protected ObjectMap<OWLObject> createContentObjectMap(OWLTopObjectType key) {
         ModelObjectFactory factory = getObjectFactory();
-        Supplier<Iterator<ONTObject<OWLObject>>> loader =
-                () -> (Iterator<ONTObject<OWLObject>>) key.read(factory, getConfig());
+        Supplier<Iterator<ONTObject<OWLObject>>> loader = () -> {
+            Iterator<ONTObject<OWLObject>> res = key.isAxiom() ? readSnapshot(key) : null;
+            return res != null ? res : (Iterator<ONTObject<OWLObject>>) key.read(factory, getConfig());
+        };
         InternalConfig conf = getConfig();
+        if (isFrozen()) {
+            return new FrozenObjectMapImpl<>(loader, !key.isDistinct(), stats.content(key));
+        }
         if (!conf.useContentCache()) {
             return new DirectObjectMapImpl<>(loader,
                     k -> (Optional<ONTObject<OWLObject>>) key.find(factory, getConfig(), k),
@@ -1748,11 +2456,12 @@ public class InternalModel extends OntGraphModelImpl
         boolean parallel = conf.parallel();
         boolean fastIterator = conf.useIteratorCache();
         boolean withMerge = !key.isDistinct();
+        CacheStats.Counter counter = stats.content(key);
         if (!LOGGER.isDebugEnabled()) {
-            return new CacheObjectMapImpl<>(loader, withMerge, parallel, fastIterator);
+            return new CacheObjectMapImpl<>(loader, withMerge, parallel, fastIterator, counter);
         }
         OntID id = getID();
-        return new CacheObjectMapImpl<OWLObject>(loader, withMerge, parallel, fastIterator) {
+        return new CacheObjectMapImpl<OWLObject>(loader, withMerge, parallel, fastIterator, counter) {
             @Override
             protected CachedMap<OWLObject, ONTObject<OWLObject>> loadMap() {
                 Instant start = Instant.now();
@@ -1784,17 +2493,25 @@ public class InternalModel extends OntGraphModelImpl
 
         @Override
         protected void addEvent(Triple t) {
-            // we don't know which axiom would own this triple, so we clear the whole cache.
-            invalidate();
+            discardSnapshot();
+            // for simple triples, it is possible to find the owner axioms cheaply,
+            // otherwise we don't know which axiom would own this triple, so we clear the whole cache.
+            if (!refreshContent(t, true)) {
+                invalidate();
+            }
         }
 
         @Override
         protected void deleteEvent(Triple t) {
-            // Although it is possible to detect only those cache elements,
+            discardSnapshot();
+            // Only simple triples are handled incrementally:
+            // for an arbitrary triple it is possible to detect only those cache elements,
             // that are really affected by deleting the triple,
             // but such a calculation would be rather too complicated and time-consuming and (therefore) possibly buggy.
             // So it seems to be better just release all caches.
-            invalidate();
+            if (!refreshContent(t, false)) {
+                invalidate();
+            }
         }
 
         @Override
@@ -100,6 +100,21 @@ public interface ONTObjectFactory {
         return IRI.create(OntApiException.notNull(str, "Null IRI."));
     }
 
+    /**
+     * Answers the canonical instance of the given content array of an anonymous expression,
+     * so that structurally equal expressions, which are based on different blank nodes, can share the same array.
+     * The content must not contain items that depend on a particular blank node.
+     * The default implementation does not perform any interning and returns the same array.
+     *
+     * @param content an {@code Array} of {@code Object}s (content items), not {@code null}
+     * @return an {@code Array}, equal to the given one
+     * @see com.github.owlcs.ontapi.internal.objects.WithContent#getContent()
+     * @since 2.0.1
+     */
+    default Object[] intern(Object[] content) {
+        return content;
+    }
+
     /**
      * Gets a {@code Collection} of axiom's {@link OWLAnnotation}s which are wrapped as {@link ONTObject}-containers.
      *
@@ -16,8 +16,11 @@ package com.github.owlcs.ontapi.internal;
 
 import com.github.owlcs.ontapi.OntApiException;
 import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.model.OntStatement;
 import com.github.owlcs.ontapi.jena.utils.Iter;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.NullIterator;
 import org.semanticweb.owlapi.model.*;
 
 import java.util.*;
@@ -52,6 +55,19 @@ public enum OWLTopObjectType {
             return ReadHelper.listOWLAnnotations(f.getModel().getID(), f);
         }
 
+        @Override
+        ExtendedIterator<? extends ONTObject<? extends OWLObject>> read(ModelObjectFactory f,
+                                                                       InternalConfig c,
+                                                                       OntStatement s) {
+            Triple t = s.asTriple();
+            return read(f, c).filterKeep(x -> x.triples().anyMatch(t::equals));
+        }
+
+        @Override
+        boolean isReadableByStatement() {
+            return false;
+        }
+
         @Override
         Optional<? extends ONTObject<? extends OWLObject>> find(ModelObjectFactory f,
                                                                 InternalConfig c,
@@ -310,6 +326,52 @@ public enum OWLTopObjectType {
         return getRawTranslator().listONTObjects(f.getModel(), f, c);
     }
 
+    /**
+     * Answers {@code true} if the content-objects of this type can be read statement by statement
+     * using the method {@link #read(ModelObjectFactory, InternalConfig, OntStatement)},
+     * i.e. if the result of testing all local statements one by one is the same as the result of
+     * the method {@link #read(ModelObjectFactory, InternalConfig)}.
+     * This is not true for the header (it is not an axiom),
+     * for {@link #DECLARATION} (the config setting and illegal punnings are taken into account only while listing)
+     * and for {@link #SWRL_RULE} (any statement with a rule-subject is accepted, not only the root one).
+     *
+     * @return boolean
+     */
+    boolean isReadableByStatement() {
+        return this != DECLARATION && this != SWRL_RULE;
+    }
+
+    /**
+     * Answers {@code true} if the given statement is a root of some content-object of this type.
+     *
+     * @param s {@link OntStatement} - a local statement to test, not {@code null}
+     * @param c {@link InternalConfig} to control process
+     * @return boolean
+     * @see #read(ModelObjectFactory, InternalConfig, OntStatement)
+     */
+    boolean test(OntStatement s, InternalConfig c) {
+        return getRawTranslator().testStatement(s, c);
+    }
+
+    /**
+     * Reads content-objects that are derived from the given statement.
+     * Used to partially update the cache after the graph has been changed directly.
+     *
+     * @param f {@link ONTObjectFactory} to construct OWL-API Objects (wrapped as {@link ONTObject})
+     * @param c {@link InternalConfig} to control process
+     * @param s {@link OntStatement} - a local statement to read, not {@code null}
+     * @return {@link ExtendedIterator} over content objects, possibly empty
+     */
+    ExtendedIterator<? extends ONTObject<? extends OWLObject>> read(ModelObjectFactory f,
+                                                                   InternalConfig c,
+                                                                   OntStatement s) {
+        AxiomTranslator<OWLAxiom> translator = getRawTranslator();
+        if (!translator.testStatement(s, c)) {
+            return NullIterator.instance();
+        }
+        return BaseSearcher.translate(translator, Iter.of(s), f, c);
+    }
+
     /**
      * Answers an {@code Optional} {@link ONTObject}, that corresponds to the given {@code OWLObject}-key.
      *
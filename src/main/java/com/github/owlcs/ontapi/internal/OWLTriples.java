@@ -73,7 +73,7 @@ public class OWLTriples<V extends OWLObject> extends ONTWrapperImpl<V> {
      */
     public static class Listener extends GraphListenerBase {
         private static final Logger LOGGER = LoggerFactory.getLogger(Listener.class);
-        protected final Set<Triple> triples = new HashSet<>();
+        protected Set<Triple> triples = new HashSet<>();
 
         @Override
         protected void addEvent(Triple t) {
@@ -105,5 +105,20 @@ public class OWLTriples<V extends OWLObject> extends ONTWrapperImpl<V> {
         public <X extends OWLObject> OWLTriples<X> toObject(X key) {
             return new OWLTriples<>(key, triples);
         }
+
+        /**
+         * Makes a {@link OWLTriples}-container, that contains the specified object and all collected triples,
+         * and resets this listener, so that it can be used to collect triples for the next object.
+         * This allows to register a single listener while adding many objects.
+         *
+         * @param key {@link X} the {@link OWLObject}, not {@code null}
+         * @param <X> any subtype of {@link OWLObject}
+         * @return {@link OWLTriples}
+         */
+        public <X extends OWLObject> OWLTriples<X> release(X key) {
+            OWLTriples<X> res = toObject(key);
+            triples = new HashSet<>();
+            return res;
+        }
     }
 }
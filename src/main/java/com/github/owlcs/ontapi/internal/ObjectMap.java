@@ -14,8 +14,12 @@
 
 package com.github.owlcs.ontapi.internal;
 
+import org.apache.jena.graph.Triple;
 import org.semanticweb.owlapi.model.OWLObject;
 
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Objects;
 import java.util.stream.Stream;
 
 /**
@@ -54,6 +58,20 @@ public interface ObjectMap<X extends OWLObject> {
      */
     void load();
 
+    /**
+     * Loads a map from the given {@code source} instead of the internal loader.
+     * This makes it possible to fill several maps at once, e.g. while reading the graph in a single pass.
+     * No-op in case of {@link #hasNew()} or {@link #isLoaded()} is {@code true},
+     * or if the operation is not supported by the implementation.
+     *
+     * @param source {@code Iterator} of {@link ONTObject}s, not {@code null}
+     * @return {@code true} if the map has been loaded from the {@code source}
+     * @since 2.0.1
+     */
+    default boolean load(Iterator<ONTObject<X>> source) {
+        return false;
+    }
+
     /**
      * Answers the {@link ONTObject} associated with the given {@code key}.
      *
@@ -82,6 +100,31 @@ public interface ObjectMap<X extends OWLObject> {
      */
     void add(ONTObject<X> value);
 
+    /**
+     * Adds all the given objects with their associated triples to internal map, if is is supported.
+     * This is a bulk version of the method {@link #add(ONTObject)},
+     * an implementation may perform it more efficiently, than one by one.
+     *
+     * @param values a {@code Collection} of {@link ONTObject}s, not {@code null}
+     * @since 2.0.1
+     */
+    default void addAll(Collection<ONTObject<X>> values) {
+        values.forEach(this::add);
+    }
+
+    /**
+     * Puts the given object, that has been read from the graph (not added manually), into the internal map,
+     * if it is supported.
+     * Unlike the method {@link #add(ONTObject)}, it does not affect the {@link #hasNew()} flag,
+     * since the object is considered to be in a uniform (i.e. read from the graph) state.
+     * By default, it is the same as {@link #add(ONTObject)}.
+     *
+     * @param value {@link ONTObject} of {@link X}, not {@code null}
+     */
+    default void put(ONTObject<X> value) {
+        add(value);
+    }
+
     /**
      * Removes the given object and all its associated triples from internal map, if is is supported.
      *
@@ -104,6 +147,42 @@ public interface ObjectMap<X extends OWLObject> {
         return get(key) != null;
     }
 
+    /**
+     * Answers whether the map contains the object, without loading the map.
+     * This method is used for optimistic (lock-free) reads, so it must never change the state of the map.
+     * The default implementation is suitable only for the maps that are never cleared after loading.
+     *
+     * @param key {@link X} key-object, not {@code null}
+     * @return {@code Boolean} or {@code null} if the map is not loaded
+     * @since 2.0.1
+     */
+    default Boolean containsIfLoaded(X key) {
+        return isLoaded() ? contains(key) : null;
+    }
+
+    /**
+     * Returns the count of objects in this map, without loading the map.
+     *
+     * @return long, the count or {@code -1} if the map is not loaded
+     * @see #containsIfLoaded(OWLObject)
+     * @since 2.0.1
+     */
+    default long countIfLoaded() {
+        return isLoaded() ? count() : -1;
+    }
+
+    /**
+     * Lists all {@code OWLObjects}s, whose associated triples contain the given {@code triple}.
+     * The default implementation performs a full scan over the {@link #values() values}.
+     *
+     * @param triple {@link Triple}, not {@code null}
+     * @return {@code Stream} of {@link X}s
+     */
+    default Stream<X> keys(Triple triple) {
+        Objects.requireNonNull(triple);
+        return values().filter(x -> x.triples().anyMatch(triple::equals)).map(ONTObject::getOWLObject);
+    }
+
     /**
      * Returns the count of objects in this map.
      *
@@ -16,6 +16,7 @@ package com.github.owlcs.ontapi.internal;
 
 import com.github.owlcs.ontapi.OntApiException;
 import com.github.owlcs.ontapi.jena.OntJenaException;
+import com.github.owlcs.ontapi.jena.impl.NodeTypeTable;
 import com.github.owlcs.ontapi.jena.impl.OntGraphModelImpl;
 import com.github.owlcs.ontapi.jena.impl.OntObjectImpl;
 import com.github.owlcs.ontapi.jena.impl.conf.BaseFactoryImpl;
@@ -41,6 +42,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -71,19 +73,69 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
      * A collection of reserved uri-{@link Node}s, that cannot be OWL-entities.
      * Used to speedup iteration in some cases (e.g. for class assertions).
      */
-    protected final Map<Class<? extends OntObject>, Set<Node>> systemResources = new HashMap<>();
+    protected final Map<Class<? extends OntObject>, Set<Node>> systemResources = new ConcurrentHashMap<>();
+    /**
+     * A precomputed table of entity types, can be {@code null}.
+     * It is built once, on creation, and is discarded along with this model
+     * or earlier, if the graph is changed while the model is still in use.
+     *
+     * @see InternalConfig#isLoadNodeTypeTable()
+     */
+    protected volatile NodeTypeTable nodeTypes;
 
     public SearchModel(Graph graph, OntPersonality personality, InternalConfig conf) {
-        this(graph, personality, conf, true);
+        this(graph, personality, conf, null);
+    }
+
+    /**
+     * Creates a model with nodes cache, which statistics is recorded into the given {@link CacheStats}.
+     *
+     * @param graph       {@link Graph}, not {@code null}
+     * @param personality {@link OntPersonality}, not {@code null}
+     * @param conf        {@link InternalConfig}, not {@code null}
+     * @param stats       {@link CacheStats} or {@code null} to disable statistics
+     * @since 2.0.1
+     */
+    public SearchModel(Graph graph, OntPersonality personality, InternalConfig conf, CacheStats stats) {
+        this(graph, personality, conf, true, stats);
     }
 
     protected SearchModel(Graph graph,
                           OntPersonality personality,
                           InternalConfig conf,
                           boolean withCache) {
-        super(graph, withCache ? cachedPersonality(personality, conf) : personality);
+        this(graph, personality, conf, withCache, null);
+    }
+
+    protected SearchModel(Graph graph,
+                          OntPersonality personality,
+                          InternalConfig conf,
+                          boolean withCache,
+                          CacheStats stats) {
+        super(graph, withCache ? cachedPersonality(personality, conf, stats) : personality);
         this.conf = Objects.requireNonNull(conf);
         this.personality = personality;
+        this.nodeTypes = withCache && conf.isLoadNodeTypeTable() ? NodeTypeTable.build(this) : null;
+    }
+
+    /**
+     * Returns the precomputed table of entity types, if it is enabled.
+     *
+     * @return {@link NodeTypeTable} or {@code null}
+     * @since 2.0.1
+     */
+    public NodeTypeTable getNodeTypeTable() {
+        return nodeTypes;
+    }
+
+    /**
+     * Discards the table of entity types, if any.
+     * After this, all type checks are performed by the object factories.
+     *
+     * @since 2.0.1
+     */
+    public void clearNodeTypeTable() {
+        nodeTypes = null;
     }
 
     static <X> X handleFetchNodeAsException(OntJenaException error,
@@ -109,6 +161,20 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
      * @return {@link OntPersonality}
      */
     public static OntPersonality cachedPersonality(OntPersonality from, InternalConfig conf) {
+        return cachedPersonality(from, conf, null);
+    }
+
+    /**
+     * Creates a {@link OntPersonality} with nodes cache inside,
+     * which statistics is recorded into the given {@link CacheStats}.
+     *
+     * @param from  {@link OntPersonality} to inherit all settings
+     * @param conf  {@link InternalConfig} to get all control options
+     * @param stats {@link CacheStats} or {@code null} to disable statistics
+     * @return {@link OntPersonality}
+     * @since 2.0.1
+     */
+    public static OntPersonality cachedPersonality(OntPersonality from, InternalConfig conf, CacheStats stats) {
         if (!conf.useLoadNodesCache()) {
             throw new IllegalArgumentException("Negative cache size is specified");
         }
@@ -118,7 +184,7 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
                 // do not cache SWRL.DArg (and, therefore, SWRL.Arg) since an instance of this type
                 // can be Literal with unpredictable length
                 .filter(x -> x != OntSWRL.DArg.class && x != OntSWRL.Arg.class)
-                .forEach(x -> CachedFactory.cache(res, from, x, size));
+                .forEach(x -> CachedFactory.cache(res, from, x, size, stats == null ? null : stats.nodes(x)));
         return res.build();
     }
 
@@ -199,6 +265,20 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
         return super.listAnnotations(t, s, p, o);
     }
 
+    /**
+     * Clears the nodes cache.
+     *
+     * @since 2.0.1
+     */
+    public void clearCache() {
+        getOntPersonality().types(OntObject.class).forEach(x -> {
+            ObjectFactory f = getOntPersonality().getObjectFactory(x);
+            if (f instanceof CachedFactory) {
+                ((CachedFactory) f).clear();
+            }
+        });
+    }
+
     @Override
     public <N extends RDFNode> N fetchNodeAs(Node node, Class<N> type) {
         try {
@@ -210,35 +290,59 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
 
     /**
      * A {@link ObjectFactory} impl with nodes cache.
+     * For URI nodes it also consults the {@link NodeTypeTable} of the {@link SearchModel}, if there is such.
      */
     public static class CachedFactory extends BaseFactoryImpl {
         private final ObjectFactory from;
         private final Class<? extends OntObject> type;
         private final InternalCache<Node, Boolean> canWrapCache;
+        private final int typeMask;
 
         public CachedFactory(Class<? extends OntObject> type, ObjectFactory from, int limit, boolean parallel) {
+            this(type, from, limit, parallel, null);
+        }
+
+        public CachedFactory(Class<? extends OntObject> type,
+                             ObjectFactory from,
+                             int limit,
+                             boolean parallel,
+                             CacheStats.Counter stats) {
             this.type = Objects.requireNonNull(type);
             this.from = Objects.requireNonNull(from);
-            this.canWrapCache = InternalCache.createBounded(parallel, limit);
+            this.typeMask = NodeTypeTable.mask(type);
+            InternalCache<Node, Boolean> cache = parallel ?
+                    InternalCache.createClock(limit) : InternalCache.createBounded(false, limit);
+            this.canWrapCache = stats == null ? cache : InternalCache.counting(cache, stats);
         }
 
         private static CachedFactory create(Class<? extends OntObject> type,
                                             ObjectFactory from,
-                                            int limit) {
+                                            int limit,
+                                            CacheStats.Counter stats) {
 
             // Do not use caffeine due to danger of LiveLock
             // See issue #71 (https://github.com/avicomp/ont-api/issues/71)
+            // The CLOCK cache never calls the loader under a lock, and its reads are lock-free
             return new CachedFactory(type,
                     from instanceof CachedFactory ? ((CachedFactory) from).from : from,
                     limit,
-                    false);
+                    true,
+                    stats);
         }
 
         static void cache(PersonalityBuilder res,
                           OntPersonality from,
                           Class<? extends OntObject> type,
-                          int limit) {
-            res.add(type, create(type, from.getObjectFactory(type), limit));
+                          int limit,
+                          CacheStats.Counter stats) {
+            res.add(type, create(type, from.getObjectFactory(type), limit, stats));
+        }
+
+        /**
+         * Clears the cache.
+         */
+        public void clear() {
+            canWrapCache.clear();
         }
 
         @Override
@@ -249,6 +353,11 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
         @Override
         public boolean canWrap(Node node, EnhGraph eg) {
             if (node.isLiteral()) return from.canWrap(node, eg);
+            if (typeMask != 0 && eg instanceof SearchModel) {
+                NodeTypeTable table = ((SearchModel) eg).nodeTypes;
+                Boolean res = table == null ? null : table.canWrap(node, typeMask);
+                if (res != null) return res;
+            }
             return canWrapCache.get(node, n -> from.canWrap(n, eg));
         }
 
@@ -0,0 +1,248 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, The University of Manchester, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.internal;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.WrappedIterator;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A simple cost-based planner, that chooses the way to search referencing axioms:
+ * either through the graph (using {@link ByObjectSearcher}s) or by traversing the content cache.
+ * <p>
+ * The cost of the cache traversal is proportional to the number of axioms that may contain the primitive,
+ * which is cheap to get when the cache is loaded.
+ * The cost of the graph search is proportional to the number of triples referencing the primitive (its degree),
+ * but the searching for a single triple is more expensive, since it requires also to find the root statement
+ * and to check its structure.
+ * The degree is calculated by probing the graph, but only up to the break-even point,
+ * so the probe is never more expensive than the search itself.
+ * The default costs per unit (a triple for the graph, an axiom for the cache) are empirical,
+ * they are derived from the former hardcoded thresholds, see {@link #GRAPH_COSTS}.
+ * If the adaptive mode is on, the costs are corrected by the measured latencies of the previous searches:
+ * the exponentially weighted average time per unit is taken, as soon as both ways have been measured for the type.
+ * <p>
+ * Created by @ssz on 25.05.2020.
+ *
+ * @see InternalModel#listOWLAxioms(org.semanticweb.owlapi.model.OWLPrimitive)
+ * @since 2.0.1
+ */
+public class SearchPlanner {
+    // the weight of a new measurement:
+    private static final double ALPHA = 0.2;
+    /**
+     * The prior cost of a graph triple inspection, the cost of a cache axiom inspection is 1 unit.
+     * The values are taken from the former fixed thresholds,
+     * which turned on the graph search when the total number of axioms was greater than the threshold:
+     * assuming a typical entity is referenced by about ten triples,
+     * the break-even condition {@code axioms = 10 * cost} gives {@code cost = threshold / 10}.
+     * The only exception is {@link OWLComponentType#DATATYPE},
+     * for which the graph search was always turned off.
+     * Now it is decided in the same way as for other types, with the cost {@code 100},
+     * so the graph search is chosen only if the datatype is referenced by less than 1% of the candidate axioms,
+     * for example for a custom datatype within an ontology containing a lot of {@code xsd:string} literals.
+     */
+    private static final Map<OWLComponentType, Double> GRAPH_COSTS = new EnumMap<>(OWLComponentType.class);
+
+    static {
+        // the graph-way is always faster for IRI, literals and anonymous individuals (there was no threshold):
+        GRAPH_COSTS.put(OWLComponentType.IRI, 1.);
+        GRAPH_COSTS.put(OWLComponentType.LITERAL, 1.);
+        GRAPH_COSTS.put(OWLComponentType.ANONYMOUS_INDIVIDUAL, 1.);
+        // the former threshold is 200 axioms:
+        GRAPH_COSTS.put(OWLComponentType.CLASS, 20.);
+        // the former threshold is 100 axioms:
+        GRAPH_COSTS.put(OWLComponentType.DATATYPE_PROPERTY, 10.);
+        // the former threshold is 2000 axioms:
+        GRAPH_COSTS.put(OWLComponentType.NAMED_OBJECT_PROPERTY, 200.);
+        GRAPH_COSTS.put(OWLComponentType.ANNOTATION_PROPERTY, 200.);
+        // the former threshold is 3000 axioms,
+        // the named individual search may require to process complex structures (e.g. owl:AllDifferent)
+        GRAPH_COSTS.put(OWLComponentType.NAMED_INDIVIDUAL, 300.);
+        // the graph-way was always off: there are usually only a few datatypes, but a lot of their entrances;
+        // the degree probe stops at the break-even point, so a popular datatype is still searched in the cache
+        GRAPH_COSTS.put(OWLComponentType.DATATYPE, 100.);
+    }
+
+    private final Map<OWLComponentType, Measure> graph = new EnumMap<>(OWLComponentType.class);
+    private final Map<OWLComponentType, Measure> cache = new EnumMap<>(OWLComponentType.class);
+    private volatile boolean adaptive;
+
+    public SearchPlanner(boolean adaptive) {
+        this.adaptive = adaptive;
+        GRAPH_COSTS.keySet().forEach(k -> {
+            graph.put(k, new Measure());
+            cache.put(k, new Measure());
+        });
+    }
+
+    /**
+     * Answers {@code true} if the costs are corrected by the measured latencies.
+     *
+     * @return boolean
+     */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Turns on or off the adaptive mode.
+     *
+     * @param adaptive boolean
+     */
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Chooses the way to search the referencing axioms.
+     * Answers the number of triples, that refer to the primitive, if it is better to search axioms in the graph,
+     * otherwise (if it is better to traverse the cache) answers {@code -1}.
+     *
+     * @param type       {@link OWLComponentType} of the primitive, not {@code null}
+     * @param node       {@link Node} of the primitive, not {@code null}
+     * @param g          {@link Graph} to probe, not {@code null}
+     * @param containers the number of axioms, that should be inspected in case of cache traversal
+     * @return long, the degree of the node or {@code -1}
+     */
+    public long choose(OWLComponentType type, Node node, Graph g, long containers) {
+        Double prior = GRAPH_COSTS.get(Objects.requireNonNull(type));
+        if (prior == null) {
+            throw new IllegalArgumentException("Unsupported type " + type);
+        }
+        if (containers == 0) {
+            return -1;
+        }
+        double graphCost = prior;
+        double cacheCost = 1;
+        Measure g1 = graph.get(type);
+        Measure c1 = cache.get(type);
+        if (adaptive && g1.isKnown() && c1.isKnown()) {
+            graphCost = g1.get();
+            cacheCost = c1.get();
+        }
+        long limit = (long) (containers * cacheCost / graphCost);
+        long res = degree(node, g, isProperty(type), limit);
+        return res <= limit ? res : -1;
+    }
+
+    private static boolean isProperty(OWLComponentType type) {
+        return type == OWLComponentType.IRI
+                || type == OWLComponentType.ANNOTATION_PROPERTY
+                || type == OWLComponentType.DATATYPE_PROPERTY
+                || type == OWLComponentType.NAMED_OBJECT_PROPERTY;
+    }
+
+    /**
+     * Records the latency of the search.
+     *
+     * @param type  {@link OWLComponentType}, not {@code null}
+     * @param graph if {@code true} the measurement is for the graph search, otherwise for the cache traversal
+     * @param units the number of units (triples or axioms)
+     * @param nanos the duration of the search
+     */
+    public void record(OWLComponentType type, boolean graph, long units, long nanos) {
+        Measure res = (graph ? this.graph : this.cache).get(type);
+        if (res == null || units <= 0) return;
+        res.add((double) nanos / units);
+    }
+
+    /**
+     * Wraps the given iterator to measure the duration of the search, if the adaptive mode is on.
+     * The measurement is recorded when the iterator is exhausted.
+     *
+     * @param it    {@link ExtendedIterator}, not {@code null}
+     * @param type  {@link OWLComponentType}, not {@code null}
+     * @param graph if {@code true} the iterator is for the graph search, otherwise for the cache traversal
+     * @param units the number of units (triples or axioms)
+     * @param <X>   anything
+     * @return {@link ExtendedIterator}
+     */
+    public <X> ExtendedIterator<X> measure(ExtendedIterator<X> it, OWLComponentType type, boolean graph, long units) {
+        if (!adaptive) {
+            return it;
+        }
+        long start = System.nanoTime();
+        return new WrappedIterator<X>(it, true) {
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                boolean res = super.hasNext();
+                if (!res && !done) {
+                    done = true;
+                    record(type, graph, units, System.nanoTime() - start);
+                }
+                return res;
+            }
+        };
+    }
+
+    /**
+     * Calculates the number of triples, that refer to the given node, but no more than {@code limit + 1}.
+     *
+     * @param node      {@link Node}
+     * @param g         {@link Graph}
+     * @param predicate if {@code true} the predicate position is also counted
+     * @param limit     long
+     * @return long
+     */
+    public static long degree(Node node, Graph g, boolean predicate, long limit) {
+        long res = count(g.find(node, Node.ANY, Node.ANY), limit);
+        if (res > limit) return res;
+        if (predicate) {
+            res += count(g.find(Node.ANY, node, Node.ANY), limit - res);
+            if (res > limit) return res;
+        }
+        return res + count(g.find(Node.ANY, Node.ANY, node), limit - res);
+    }
+
+    private static long count(ExtendedIterator<?> it, long limit) {
+        try {
+            long res = 0;
+            while (it.hasNext()) {
+                it.next();
+                if (++res > limit) break;
+            }
+            return res;
+        } finally {
+            it.close();
+        }
+    }
+
+    /**
+     * An exponentially weighted average.
+     */
+    private static class Measure {
+        private double value = Double.NaN;
+
+        synchronized void add(double v) {
+            value = isKnown() ? value + ALPHA * (v - value) : v;
+        }
+
+        synchronized double get() {
+            return value;
+        }
+
+        synchronized boolean isKnown() {
+            return !Double.isNaN(value);
+        }
+    }
+}
@@ -69,7 +69,7 @@ public abstract class ONTAnonymousDataRangeImpl<ONT extends OntDataRange, OWL ex
         Class<? extends OntDataRange> type = OntModels.getOntType(dr);
         BlankNodeId id = dr.asNode().getBlankNodeId();
         ONTAnonymousDataRangeImpl res = create(id, type, model);
-        res.putContent(res.initContent(dr, factory));
+        res.putContent(intern(res.initContent(dr, factory), factory));
         return res;
     }
 
@@ -41,6 +41,7 @@ import java.util.stream.Stream;
 @SuppressWarnings("WeakerAccess")
 public abstract class ONTExpressionImpl<R extends OntObject> extends ONTResourceImpl
         implements ONTComposite, WithContent<ONTExpressionImpl<R>> {
+    private static final long serialVersionUID = 8715909101672106516L;
 
     /**
      * All the {@code OWLObject}'s components are store here.
@@ -154,6 +155,43 @@ public abstract class ONTExpressionImpl<R extends OntObject> extends ONTResource
         return literal.asNode().getLiteral();
     }
 
+    /**
+     * Answers the canonical instance of the given content array using the {@code factory},
+     * if the content does not contain nested anonymous expressions.
+     * Such content (e.g. {@code ObjectSomeValuesFrom(P, C)} with named {@code P} and {@code C})
+     * does not depend on the blank node of the expression,
+     * and therefore can be shared between structurally equal expressions that have different blank nodes.
+     * A nested expression cannot be shared, since it is bound to its own blank node,
+     * which is used to get the triples of the outer expression.
+     * For the same reason a {@link BlankNodeId} (e.g. an anonymous individual) is not shareable:
+     * its identity is local to the graph.
+     * Note that only the content array is shared, the expression object itself remains bound to its blank node,
+     * so the saving is about one array per expression.
+     * For internal usage only.
+     *
+     * @param content an {@code Array} of {@code Object}s (content items), not {@code null}
+     * @param factory {@link ONTObjectFactory}, not {@code null}
+     * @return an {@code Array}, equal to the given one
+     * @see ONTObjectFactory#intern(Object[])
+     * @since 2.0.1
+     */
+    protected static Object[] intern(Object[] content, ONTObjectFactory factory) {
+        for (Object item : content) {
+            if (!isShareable(item)) {
+                return content;
+            }
+        }
+        return factory.intern(content);
+    }
+
+    private static boolean isShareable(Object item) {
+        return item instanceof String
+                || item instanceof Number
+                || item instanceof LiteralLabel
+                || item instanceof OWLLiteral
+                || item instanceof ONTSimple;
+    }
+
     /**
      * Collects the cache Array.
      * The array was chosen as the best option in sense of memory consumption and access speed.
@@ -21,15 +21,10 @@ import com.github.owlcs.ontapi.jena.utils.Iter;
 import org.apache.jena.graph.*;
 import org.apache.jena.graph.impl.LiteralLabel;
 import org.apache.jena.rdf.model.RDFNode;
-import org.semanticweb.owlapi.model.HasComponents;
-import org.semanticweb.owlapi.model.OWLAnnotation;
-import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.*;
 
 import javax.annotation.Nullable;
-import java.util.Collection;
-import java.util.Iterator;
-import java.util.Objects;
-import java.util.Set;
+import java.util.*;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -43,10 +38,13 @@ import java.util.stream.Stream;
  */
 @SuppressWarnings("WeakerAccess")
 public abstract class ONTStatementImpl extends ONTObjectImpl implements WithAnnotations, AsStatement, OWLObject {
+    private static final long serialVersionUID = -6380370081430830834L;
 
     protected final Object subject; // b-node-id or string
     protected final String predicate;
     protected final Object object; // b-node-id or string or literal-label
+    // 64-bit structural fingerprint, 0 means not calculated yet:
+    protected volatile long fingerprint;
 
     /**
      * Constructs the base object-triple.
@@ -98,6 +96,158 @@ public abstract class ONTStatementImpl extends ONTObjectImpl implements WithAnno
         throw new OntApiException.IllegalState("Wrong node: " + node);
     }
 
+    /**
+     * Calculates a 64-bit structural fingerprint of the given object.
+     * Equal (in OWL-API terms) objects always have equal fingerprints,
+     * regardless of their implementation,
+     * so the fingerprint of an {@code ONTObject} can be compared with the fingerprint of an OWL-API object.
+     * The calculation walks through the {@link OWLObject#components() components} recursively,
+     * the fingerprints of nested {@link ONTStatementImpl}s (e.g. annotations) are taken from their caches.
+     * Collisions of the 64-bit fingerprints are much rarer than collisions of {@code hashCode}s,
+     * so the method can be used to dedupe or diff large sets of axioms.
+     *
+     * @param o {@link OWLObject}, not {@code null}
+     * @return long
+     * @see #fingerprint()
+     * @since 2.0.1
+     */
+    public static long fingerprint(OWLObject o) {
+        return toFingerprint(Objects.requireNonNull(o));
+    }
+
+    private static long toFingerprint(Object o) {
+        if (o instanceof ONTStatementImpl) {
+            return ((ONTStatementImpl) o).fingerprint();
+        }
+        if (o instanceof String) {
+            return toFingerprint((String) o);
+        }
+        if (o instanceof IRI) {
+            return toFingerprint(((IRI) o).getIRIString());
+        }
+        if (o instanceof OWLEntity) {
+            // the only component of an entity is its IRI:
+            return mix(mix(((OWLEntity) o).typeIndex()) + toFingerprint(ONTEntityImpl.getURI((OWLEntity) o)));
+        }
+        if (o instanceof OWLObject) {
+            long res = mix(((OWLObject) o).typeIndex());
+            Iterator<?> it = ((OWLObject) o).components().iterator();
+            while (it.hasNext()) {
+                res = mix(res + toFingerprint(it.next()));
+            }
+            return res;
+        }
+        if (o instanceof List) {
+            long res = 1;
+            for (Object x : (List<?>) o) {
+                res = mix(res + toFingerprint(x));
+            }
+            return res;
+        }
+        if (o instanceof Collection) {
+            // the iteration order of a set is not defined:
+            long res = 0;
+            for (Object x : (Collection<?>) o) {
+                res += toFingerprint(x);
+            }
+            return mix(res + ((Collection<?>) o).size());
+        }
+        // the hash codes of these types are not stable across JVMs or implementations:
+        if (o instanceof Enum) {
+            return toFingerprint(((Enum<?>) o).getDeclaringClass().getName() + "#" + ((Enum<?>) o).name());
+        }
+        if (o instanceof Number) {
+            return mix(((Number) o).longValue());
+        }
+        if (o instanceof Boolean) {
+            return mix((Boolean) o ? 1231 : 1237);
+        }
+        // an unknown value type, its string representation is expected to be stable:
+        return toFingerprint(o.getClass().getName() + "#" + o);
+    }
+
+    private static long toFingerprint(String s) {
+        // FNV-1a:
+        long res = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            res ^= s.charAt(i);
+            res *= 0x100000001b3L;
+        }
+        return mix(res);
+    }
+
+    private static long mix(long z) {
+        // the SplitMix64 finalizer:
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Answers the 64-bit structural fingerprint of this object.
+     * It is calculated once, on the first demand, and then is used as a filter in the method {@link #equals(Object)}.
+     * The objects that are put into the content cache have it pre-calculated (see {@link #withFingerprint(Object)}).
+     *
+     * @return long
+     * @see #fingerprint(OWLObject)
+     * @since 2.0.1
+     */
+    public final long fingerprint() {
+        long res = fingerprint;
+        if (res == 0) {
+            fingerprint = res = initFingerprint();
+        }
+        return res;
+    }
+
+    /**
+     * Pre-calculates the fingerprint of the given object, if it is an {@link ONTStatementImpl}.
+     * It is called when the object is put into the cache,
+     * so the fingerprints of the cached objects are always ready to be used as an {@link #equals(Object)} filter.
+     *
+     * @param o   anything
+     * @param <X> the type of object
+     * @return the same object
+     * @since 2.0.1
+     */
+    public static <X> X withFingerprint(X o) {
+        if (o instanceof ONTStatementImpl) {
+            ((ONTStatementImpl) o).fingerprint();
+        }
+        return o;
+    }
+
+    /**
+     * Calculates the fingerprint of this object.
+     *
+     * @return long
+     * @see #fingerprint(OWLObject)
+     */
+    protected long initFingerprint() {
+        long res = mix(typeIndex());
+        Iterator<?> it = components().iterator();
+        while (it.hasNext()) {
+            res = mix(res + toFingerprint(it.next()));
+        }
+        return res;
+    }
+
+    /**
+     * Answers {@code true} if this object and the specified one are definitely not equal,
+     * i.e. they both have pre-calculated fingerprints and these fingerprints are different.
+     * The fingerprints are not calculated here, since that would walk the components, as {@code equals} itself does;
+     * but the cached objects always have them.
+     *
+     * @param other {@link ONTStatementImpl}, not {@code null}
+     * @return boolean
+     * @since 2.0.1
+     */
+    protected final boolean differentFingerprints(ONTStatementImpl other) {
+        long left = fingerprint;
+        long right = other.fingerprint;
+        return left != 0 && right != 0 && left != right;
+    }
+
     /**
      * Answers the root triple of this statement.
      *
@@ -276,6 +426,10 @@ public abstract class ONTStatementImpl extends ONTObjectImpl implements WithAnno
             // definitely equal
             return true;
         }
+        if (differentFingerprints(other)) {
+            // definitely not equal
+            return false;
+        }
         return sameContent(other);
     }
 
@@ -0,0 +1,769 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2020, The University of Manchester, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.jena;
+
+import org.apache.jena.graph.*;
+import org.apache.jena.graph.impl.AllCapabilities;
+import org.apache.jena.shared.AddDeniedException;
+import org.apache.jena.shared.DeleteDeniedException;
+import org.apache.jena.graph.impl.GraphBase;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.NiceIterator;
+import org.apache.jena.util.iterator.NullIterator;
+
+import java.util.*;
+
+/**
+ * A compact in-memory {@link Graph} implementation, that is intended for large ontologies.
+ * <p>
+ * All {@link Node}s are dictionary-encoded: each node is stored only once and is given an {@code int} id.
+ * Triples are kept as pairs of ids in three indexes ({@code SPO}, {@code POS} and {@code OSP}),
+ * each of them is an array of buckets (one bucket per first id),
+ * and each bucket is a primitive {@code long}-array of the rest two ids, which is mostly sorted.
+ * New entries are appended to the unsorted tail of the bucket,
+ * which is sorted when it becomes too long (more than square root of the bucket size)
+ * and becomes a new sorted run; the runs are merged in place, so that their lengths decrease geometrically.
+ * Thus both adding and searching are cheap even for huge buckets (e.g. for {@code rdf:type} predicate).
+ * In this way, a triple takes about 24 bytes (plus nodes themselves), instead of ~100+ bytes for
+ * the {@link org.apache.jena.mem.GraphMem GraphMem}.
+ * <p>
+ * Differences with the {@code GraphMem}:
+ * <ul>
+ * <li>literals are matched by term-equality, not by value
+ * (i.e. {@link Capabilities#handlesLiteralTyping()} is {@code false})</li>
+ * <li>triples are created on the fly during iteration</li>
+ * <li>the dictionary is never shrunk, a node, that is no longer in use, is kept till the {@link #clear()}</li>
+ * </ul>
+ * Like the {@code GraphMem}, this graph is not thread-safe for modification,
+ * but it can be read by several threads simultaneously;
+ * any modification of the graph, that affects the iterated bucket
+ * (or any modification, if the iteration is over the whole graph), except {@link Iterator#remove()},
+ * causes {@link ConcurrentModificationException}.
+ * All events are delivered through the standard {@link GraphEventManager},
+ * so the graph can be used as a base for {@link UnionGraph} and {@link RWLockedGraph}.
+ * <p>
+ * The graph can be {@link #freeze() frozen}: after that all its buckets are sorted and trimmed,
+ * and any modification is prohibited, so the graph can be safely read by several threads without any locking.
+ * <p>
+ * Created by @ssz on 29.05.2020.
+ *
+ * @see com.github.owlcs.ontapi.OntologyBuilderImpl#OntologyBuilderImpl(com.github.owlcs.ontapi.OntologyBuilderImpl.GraphFactory)
+ * @since 2.0.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class CompactGraph extends GraphBase {
+    private static final Capabilities CAPABILITIES = new AllCapabilities() {
+        @Override
+        public boolean handlesLiteralTyping() {
+            return false;
+        }
+    };
+    private static final Capabilities FROZEN_CAPABILITIES = new AllCapabilities() {
+        @Override
+        public boolean handlesLiteralTyping() {
+            return false;
+        }
+
+        @Override
+        public boolean addAllowed(boolean every) {
+            return false;
+        }
+
+        @Override
+        public boolean deleteAllowed(boolean every) {
+            return false;
+        }
+    };
+
+    // the dictionary: id -> node
+    protected Node[] nodes;
+    // the dictionary: an open-addressing table of (id + 1), by node hash
+    protected int[] ids;
+    protected int nodeCount;
+    protected final Index spo = new Index(Index.SPO);
+    protected final Index pos = new Index(Index.POS);
+    protected final Index osp = new Index(Index.OSP);
+    protected int size;
+    protected int modCount;
+    protected volatile boolean frozen;
+
+    public CompactGraph() {
+        init();
+    }
+
+    private void init() {
+        nodes = new Node[16];
+        ids = new int[32];
+        nodeCount = 0;
+        size = 0;
+        spo.clear();
+        pos.clear();
+        osp.clear();
+    }
+
+    private static int hash(Node n) {
+        int h = n.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Answers the id of the node or {@code -1} if it is not in the dictionary.
+     *
+     * @param n {@link Node}
+     * @return int
+     */
+    protected int getId(Node n) {
+        int mask = ids.length - 1;
+        int i = hash(n) & mask;
+        int id;
+        while ((id = ids[i]) != 0) {
+            if (nodes[id - 1].equals(n)) {
+                return id - 1;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Answers the id of the node, adding it to the dictionary if necessary.
+     *
+     * @param n {@link Node}
+     * @return int
+     */
+    protected int putId(Node n) {
+        int mask = ids.length - 1;
+        int i = hash(n) & mask;
+        int id;
+        while ((id = ids[i]) != 0) {
+            if (nodes[id - 1].equals(n)) {
+                return id - 1;
+            }
+            i = (i + 1) & mask;
+        }
+        if (nodeCount == nodes.length) {
+            nodes = Arrays.copyOf(nodes, nodes.length << 1);
+        }
+        int res = nodeCount++;
+        nodes[res] = n;
+        ids[i] = res + 1;
+        if (nodeCount * 2 > ids.length) {
+            rehash();
+        }
+        return res;
+    }
+
+    private void rehash() {
+        int[] res = new int[ids.length << 1];
+        int mask = res.length - 1;
+        for (int k = 0; k < nodeCount; k++) {
+            int i = hash(nodes[k]) & mask;
+            while (res[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            res[i] = k + 1;
+        }
+        ids = res;
+    }
+
+    /**
+     * Makes this graph read-only.
+     * All buckets are sorted and trimmed to size, so the graph takes the minimum of memory,
+     * and any search is a binary search.
+     * Any subsequent modification causes {@link AddDeniedException} or {@link DeleteDeniedException}
+     * (adding an existing triple or deleting an absent one is still a no-op).
+     * This operation cannot be undone.
+     *
+     * @return this instance
+     */
+    public CompactGraph freeze() {
+        if (frozen) {
+            return this;
+        }
+        spo.compact();
+        pos.compact();
+        osp.compact();
+        nodes = Arrays.copyOf(nodes, nodeCount);
+        frozen = true;
+        return this;
+    }
+
+    /**
+     * Answers {@code true} if this graph is {@link #freeze() frozen}, i.e. read-only.
+     *
+     * @return boolean
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    @Override
+    public void performAdd(Triple t) {
+        if (frozen) {
+            if (graphBaseContains(t)) return;
+            throw new AddDeniedException("The graph is frozen", t);
+        }
+        int s = putId(t.getSubject());
+        int p = putId(t.getPredicate());
+        int o = putId(t.getObject());
+        if (!spo.add(s, p, o)) {
+            return;
+        }
+        pos.add(p, o, s);
+        osp.add(o, s, p);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public void performDelete(Triple t) {
+        if (frozen) {
+            if (!graphBaseContains(t)) return;
+            throw new DeleteDeniedException("The graph is frozen", t);
+        }
+        int s = getId(t.getSubject());
+        int p = getId(t.getPredicate());
+        int o = getId(t.getObject());
+        if (s < 0 || p < 0 || o < 0 || !spo.delete(s, p, o)) {
+            return;
+        }
+        pos.delete(p, o, s);
+        osp.delete(o, s, p);
+        size--;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        checkOpen();
+        if (frozen) {
+            throw new DeleteDeniedException("The graph is frozen");
+        }
+        init();
+        modCount++;
+        getEventManager().notifyEvent(this, GraphEvents.removeAll);
+    }
+
+    @Override
+    protected int graphBaseSize() {
+        return size;
+    }
+
+    @Override
+    public Capabilities getCapabilities() {
+        return frozen ? FROZEN_CAPABILITIES : CAPABILITIES;
+    }
+
+    // GraphStatisticsHandler is deprecated in Jena, but it is still used by ARQ to reorder BGP patterns:
+    @SuppressWarnings("deprecation")
+    @Override
+    protected GraphStatisticsHandler createStatisticsHandler() {
+        return (s, p, o) -> {
+            int c = (s.isConcrete() ? 1 : 0) + (p.isConcrete() ? 1 : 0) + (o.isConcrete() ? 1 : 0);
+            if (c == 0) return size;
+            if (c > 1) return -1;
+            Node n = s.isConcrete() ? s : p.isConcrete() ? p : o;
+            Index index = s.isConcrete() ? spo : p.isConcrete() ? pos : osp;
+            int id = getId(n);
+            return id < 0 ? 0 : index.size(id);
+        };
+    }
+
+    @Override
+    protected boolean graphBaseContains(Triple t) {
+        Node sm = t.getSubject();
+        Node pm = t.getPredicate();
+        Node om = t.getObject();
+        if (sm.isConcrete() && pm.isConcrete() && om.isConcrete()) {
+            int s = getId(sm);
+            int p = getId(pm);
+            int o = getId(om);
+            return s >= 0 && p >= 0 && o >= 0 && spo.contains(s, p, o);
+        }
+        ExtendedIterator<Triple> it = graphBaseFind(t);
+        try {
+            return it.hasNext();
+        } finally {
+            it.close();
+        }
+    }
+
+    @Override
+    protected ExtendedIterator<Triple> graphBaseFind(Triple t) {
+        Node sm = t.getSubject();
+        Node pm = t.getPredicate();
+        Node om = t.getObject();
+        int s = toId(sm);
+        int p = toId(pm);
+        int o = toId(om);
+        if (s == Index.NONE || p == Index.NONE || o == Index.NONE) {
+            return NullIterator.instance();
+        }
+        if (s >= 0) {
+            if (p < 0 && o >= 0) {
+                return osp.find(o, s, Index.ANY);
+            }
+            return spo.find(s, p, o);
+        }
+        if (p >= 0) {
+            return pos.find(p, o, Index.ANY);
+        }
+        if (o >= 0) {
+            return osp.find(o, Index.ANY, Index.ANY);
+        }
+        return spo.find(Index.ANY, Index.ANY, Index.ANY);
+    }
+
+    private int toId(Node n) {
+        if (!n.isConcrete()) {
+            return Index.ANY;
+        }
+        int res = getId(n);
+        return res < 0 ? Index.NONE : res;
+    }
+
+    private static long key(int second, int third) {
+        return ((long) second << 32) | (third & 0xFFFFFFFFL);
+    }
+
+    private static int second(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static int third(long key) {
+        return (int) key;
+    }
+
+    /**
+     * A bucket: a partially sorted array of keys (pairs of ids).
+     * The range {@code [0, sorted)} consists of several sorted runs, the range {@code [sorted, size)} is the unsorted tail.
+     * The runs have geometrically decreasing lengths (each run is more than twice as long as the next one),
+     * so there are only {@code O(log(size))} runs, and each key takes part in {@code O(log(size))} merges.
+     */
+    protected static class Bucket {
+        protected long[] data = new long[2];
+        protected int size;
+        protected int sorted;
+        // the starts of the runs except the first one, which always starts at 0; null if there is only one run
+        protected int[] runs;
+        protected int runCount;
+        // the modification counter, to fail fast while iterating
+        protected int changes;
+
+        /**
+         * Answers the number of the sorted runs.
+         *
+         * @return int, positive
+         */
+        protected int runs() {
+            return runCount + 1;
+        }
+
+        protected int runStart(int run) {
+            return run == 0 ? 0 : runs[run - 1];
+        }
+
+        protected int runEnd(int run) {
+            return run == runCount ? sorted : runs[run];
+        }
+
+        protected boolean contains(long key) {
+            for (int r = 0; r <= runCount; r++) {
+                if (Arrays.binarySearch(data, runStart(r), runEnd(r), key) >= 0) {
+                    return true;
+                }
+            }
+            for (int i = sorted; i < size; i++) {
+                if (data[i] == key) return true;
+            }
+            return false;
+        }
+
+        protected void add(long key) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size + (size >> 1) + 1);
+            }
+            data[size++] = key;
+            changes++;
+            int tail = size - sorted;
+            if (tail > 8 && (long) tail * tail > sorted) {
+                flush();
+            }
+        }
+
+        protected boolean delete(long key) {
+            changes++;
+            for (int r = 0; r <= runCount; r++) {
+                int i = Arrays.binarySearch(data, runStart(r), runEnd(r), key);
+                if (i < 0) {
+                    continue;
+                }
+                System.arraycopy(data, i + 1, data, i, --size - i);
+                sorted--;
+                // shift the starts of the next runs, dropping the run if it becomes empty:
+                int k = r;
+                for (int j = r; j < runCount; j++) {
+                    int start = runs[j] - 1;
+                    if (start != runStart(k) && start != sorted) {
+                        runs[k++] = start;
+                    }
+                }
+                runCount = k;
+                return true;
+            }
+            for (int i = sorted; i < size; i++) {
+                if (data[i] == key) {
+                    data[i] = data[--size];
+                    return true;
+                }
+            }
+            changes--;
+            return false;
+        }
+
+        /**
+         * Sorts the tail and appends it as a new run,
+         * merging the last runs while the next-to-last one is not more than twice as long as the last.
+         */
+        protected void flush() {
+            if (sorted == size) return;
+            Arrays.sort(data, sorted, size);
+            if (sorted != 0) {
+                if (runs == null) {
+                    runs = new int[4];
+                } else if (runCount == runs.length) {
+                    runs = Arrays.copyOf(runs, runCount << 1);
+                }
+                runs[runCount++] = sorted;
+            }
+            sorted = size;
+            while (runCount != 0) {
+                int mid = runs[runCount - 1];
+                int lo = runStart(runCount - 1);
+                if (data[mid - 1] > data[mid] && (long) (mid - lo) > 2L * (size - mid)) {
+                    break;
+                }
+                merge(lo, mid, size);
+                runCount--;
+            }
+            if (runCount == 0) {
+                runs = null;
+            }
+        }
+
+        /**
+         * Merges two adjacent sorted ranges {@code [lo, mid)} and {@code [mid, hi)} in place.
+         * Only the right range is copied into a temporary array,
+         * and the merge goes from the end, so nothing is moved if the ranges are already in order.
+         *
+         * @param lo  int, the start of the left range
+         * @param mid int, the end of the left range and the start of the right one
+         * @param hi  int, the end of the right range
+         */
+        private void merge(int lo, int mid, int hi) {
+            if (data[mid - 1] <= data[mid]) return;
+            long[] right = Arrays.copyOfRange(data, mid, hi);
+            int i = mid - 1, j = right.length - 1, k = hi - 1;
+            while (i >= lo && j >= 0) {
+                data[k--] = data[i] > right[j] ? data[i--] : right[j--];
+            }
+            while (j >= 0) data[k--] = right[j--];
+        }
+
+        /**
+         * Sorts the whole bucket, so that it consists of a single run.
+         */
+        protected void normalize() {
+            flush();
+            while (runCount != 0) {
+                merge(runStart(runCount - 1), runs[runCount - 1], sorted);
+                runCount--;
+            }
+            runs = null;
+        }
+
+        /**
+         * Sorts the whole bucket and trims the array to size.
+         */
+        protected void compact() {
+            normalize();
+            if (data.length != size) {
+                data = Arrays.copyOf(data, size);
+            }
+        }
+
+        /**
+         * Finds the first index in the given sorted range, that is not less than the given key.
+         *
+         * @param from int, the start of the range
+         * @param to   int, the end of the range
+         * @param key  long
+         * @return int
+         */
+        protected int lowerBound(int from, int to, long key) {
+            int lo = from, hi = to;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (data[mid] < key) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+    }
+
+    /**
+     * An index: an array of {@link Bucket}s, one per first id.
+     */
+    protected class Index {
+        static final int ANY = -1;
+        static final int NONE = -2;
+        static final int SPO = 0;
+        static final int POS = 1;
+        static final int OSP = 2;
+
+        private final int order;
+        private Bucket[] buckets;
+
+        Index(int order) {
+            this.order = order;
+        }
+
+        void clear() {
+            buckets = new Bucket[16];
+        }
+
+        void compact() {
+            for (Bucket b : buckets) {
+                if (b != null) b.compact();
+            }
+        }
+
+        int size(int first) {
+            Bucket b = first < buckets.length ? buckets[first] : null;
+            return b == null ? 0 : b.size;
+        }
+
+        Bucket bucket(int first) {
+            return first < buckets.length ? buckets[first] : null;
+        }
+
+        boolean contains(int first, int second, int third) {
+            Bucket b = bucket(first);
+            return b != null && b.contains(key(second, third));
+        }
+
+        boolean add(int first, int second, int third) {
+            if (first >= buckets.length) {
+                buckets = Arrays.copyOf(buckets, Math.max(buckets.length << 1, first + 1));
+            }
+            Bucket b = buckets[first];
+            long key = key(second, third);
+            if (b == null) {
+                buckets[first] = b = new Bucket();
+            } else if (order == SPO && b.contains(key)) {
+                // only the primary index is checked, the others are synchronized with it
+                return false;
+            }
+            b.add(key);
+            return true;
+        }
+
+        boolean delete(int first, int second, int third) {
+            Bucket b = bucket(first);
+            if (b == null || !b.delete(key(second, third))) {
+                return false;
+            }
+            if (b.size == 0) {
+                buckets[first] = null;
+            }
+            return true;
+        }
+
+        Triple toTriple(int first, long key) {
+            int second = second(key);
+            int third = third(key);
+            switch (order) {
+                case SPO:
+                    return Triple.create(nodes[first], nodes[second], nodes[third]);
+                case POS:
+                    return Triple.create(nodes[third], nodes[first], nodes[second]);
+                case OSP:
+                    return Triple.create(nodes[second], nodes[third], nodes[first]);
+                default:
+                    throw new IllegalStateException();
+            }
+        }
+
+        ExtendedIterator<Triple> find(int first, int second, int third) {
+            if (first >= 0) {
+                Bucket b = bucket(first);
+                if (b == null) return NullIterator.instance();
+                if (second >= 0 && third >= 0 && !b.contains(key(second, third))) {
+                    return NullIterator.instance();
+                }
+                return new TripleIterator(this, first, b, second, third);
+            }
+            return new TripleIterator(this, ANY, null, ANY, ANY);
+        }
+    }
+
+    /**
+     * An iterator over a single bucket or over all buckets of the index.
+     */
+    protected class TripleIterator extends NiceIterator<Triple> {
+        private final Index index;
+        private final boolean all;
+        private final int second;
+        private final int third;
+        private final int expectedModCount;
+        private int expectedChanges;
+        private int first;
+        private Bucket bucket;
+        private int run;
+        private int position;
+        private int end;
+        private boolean tail;
+        private Triple next;
+        private Triple last;
+        private Iterator<Triple> rest;
+
+        TripleIterator(Index index, int first, Bucket bucket, int second, int third) {
+            this.index = index;
+            this.all = first < 0;
+            this.first = all ? -1 : first;
+            this.second = second;
+            this.third = third;
+            this.expectedModCount = modCount;
+            if (all) {
+                nextBucket();
+            } else {
+                setBucket(bucket);
+            }
+        }
+
+        private void setBucket(Bucket b) {
+            this.bucket = b;
+            this.expectedChanges = b.changes;
+            this.tail = false;
+            setRun(0);
+        }
+
+        private void setRun(int r) {
+            this.run = r;
+            int from = bucket.runStart(r);
+            int to = bucket.runEnd(r);
+            if (second < 0) {
+                this.position = from;
+                this.end = to;
+            } else {
+                this.position = bucket.lowerBound(from, to, key(second, 0));
+                this.end = second == Integer.MAX_VALUE ? to : bucket.lowerBound(position, to, key(second + 1, 0));
+            }
+        }
+
+        private boolean nextBucket() {
+            Bucket[] buckets = index.buckets;
+            while (++first < buckets.length) {
+                if (buckets[first] != null) {
+                    setBucket(buckets[first]);
+                    return true;
+                }
+            }
+            bucket = null;
+            return false;
+        }
+
+        private boolean matches(long key) {
+            return (second < 0 || second(key) == second) && (third < 0 || third(key) == third);
+        }
+
+        private Triple computeNext() {
+            while (bucket != null) {
+                long[] data = bucket.data;
+                while (position < end) {
+                    long key = data[position++];
+                    if (matches(key)) {
+                        return index.toTriple(first, key);
+                    }
+                }
+                if (!tail && run + 1 < bucket.runs()) {
+                    setRun(run + 1);
+                    continue;
+                }
+                if (!tail) {
+                    tail = true;
+                    position = bucket.sorted;
+                    end = bucket.size;
+                    continue;
+                }
+                if (!all || !nextBucket()) {
+                    bucket = null;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (rest != null) {
+                return rest.hasNext();
+            }
+            if (all ? modCount != expectedModCount : bucket != null && bucket.changes != expectedChanges) {
+                throw new ConcurrentModificationException();
+            }
+            if (next == null) {
+                next = computeNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Triple next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (rest != null) {
+                return last = rest.next();
+            }
+            Triple res = next;
+            next = null;
+            return last = res;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            Triple t = last;
+            if (rest == null) {
+                // the indexes are changed in place, so the rest is collected before deleting
+                List<Triple> res = new ArrayList<>();
+                while (hasNext()) {
+                    res.add(next());
+                }
+                rest = res.iterator();
+            }
+            last = null;
+            delete(t);
+        }
+
+        @Override
+        public void close() {
+            bucket = null;
+            rest = Collections.emptyIterator();
+        }
+    }
+}
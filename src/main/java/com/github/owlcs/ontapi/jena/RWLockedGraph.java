@@ -27,15 +27,19 @@ import org.apache.jena.shared.PrefixMapping;
 import org.apache.jena.shared.impl.PrefixMappingImpl;
 import org.apache.jena.util.iterator.ExtendedIterator;
 import org.apache.jena.util.iterator.FilterIterator;
+import org.apache.jena.util.iterator.NiceIterator;
 import org.apache.jena.util.iterator.WrappedIterator;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 /**
  * A {@code Graph} Wrapper with {@link ReadWriteLock} inside (that is the OWL-API synchronization style).
@@ -56,6 +60,18 @@ import java.util.stream.Collectors;
  * Note: currently this {@code Graph} does not support transactions.
  * I.e. the method {@link TransactionHandler#transactionsSupported()} returns {@code false}.
  * <p>
+ * If the lock is {@link StampedReadWriteLock}, then the short read operations
+ * ({@link #contains(Triple)}, {@link #size()}, {@link #isEmpty()}, etc)
+ * are performed optimistically, without acquiring the read lock,
+ * see {@link StampedReadWriteLock#optimisticRead(Supplier)}.
+ * <p>
+ * If the {@link #chunkSize chunk size} is positive, then the {@code find} methods return {@link ChunkedIterator}s,
+ * which read the base graph by fixed-size portions, each within its own short read-locked section.
+ * Writers do not wait for such iterators (so the write latency is bounded by the time of reading a single chunk),
+ * but the iterators fail fast with the {@link ConcurrentModificationException}
+ * if the graph has been modified between the chunks, see {@link #modificationCount()}.
+ * This mode is suitable for long scans, e.g. for exporting a large graph while edits arrive.
+ * <p>
  * Created by @szuev on 07.04.2017.
  */
 @SuppressWarnings("WeakerAccess")
@@ -73,14 +89,28 @@ public class RWLockedGraph implements Graph {
      */
     protected final long delay;
     /**
-     * The {@code Collection} of all {@link ExtendedIterator}, as {@link WeakHashMap},
+     * The {@code Collection} of all {@link ExtendedIterator}s, as a concurrent {@code Set} of {@link WeakReference}s,
      * since it is possible that some iterator was simply forgotten.
+     * The references to the collected iterators are expunged through the {@link #queue}.
+     */
+    protected final Set<Ref> iterators = ConcurrentHashMap.newKeySet();
+    /**
+     * The {@link ReferenceQueue} to expunge the references to the forgotten iterators.
      */
-    protected final Collection<WIT<?>> iterators = Collections.newSetFromMap(new WeakHashMap<>());
+    protected final ReferenceQueue<WIT<?>> queue = new ReferenceQueue<>();
     /**
      * {@link GraphEventManager}, cannot be {@code null}
      */
     protected final GraphEventManager gem;
+    /**
+     * The number of triples that a {@link ChunkedIterator} reads within a single read-locked section,
+     * or {@code 0} if the {@code find} methods should return the ordinary {@link WIT}-iterators.
+     */
+    protected final int chunkSize;
+    /**
+     * The counter of the graph modifications, it is changed only within the write-locked sections.
+     */
+    protected volatile long modCount;
 
     /**
      * Constructs a new {@link RWLockedGraph Read/Write Locked Graph Wrapper}
@@ -119,12 +149,55 @@ public class RWLockedGraph implements Graph {
      * @throws RuntimeException if any input parameter is wrong
      */
     protected RWLockedGraph(Graph base, ReadWriteLock lock, long delayInMilliseconds, GraphEventManager gem) {
+        this(base, lock, delayInMilliseconds, 0, gem);
+    }
+
+    /**
+     * Constructs a new {@link RWLockedGraph Read/Write Locked Graph Wrapper} with {@link SimpleEventManager},
+     * whose {@code find} methods return {@link ChunkedIterator}s.
+     *
+     * @param base                {@link Graph}, not {@code null}
+     * @param lock                {@link ReadWriteLock}, not {@code null}
+     * @param delayInMilliseconds long, positive number
+     * @param chunkSize           int, positive number, the number of triples to read within a read-locked section
+     * @throws RuntimeException if any input parameter is wrong
+     * @since 2.0.1
+     */
+    public RWLockedGraph(Graph base, ReadWriteLock lock, long delayInMilliseconds, int chunkSize) {
+        this(base, lock, delayInMilliseconds, requirePositive(chunkSize), new SimpleEventManager());
+    }
+
+    /**
+     * The base constructor.
+     *
+     * @param base                {@link Graph}, not {@code null}
+     * @param lock                {@link ReadWriteLock}, not {@code null}
+     * @param delayInMilliseconds long, positive number
+     * @param chunkSize           int, non-negative number, {@code 0} to use {@link WIT}-iterators
+     * @param gem                 {@link GraphEventManager}, not {@code null}
+     * @throws RuntimeException if any input parameter is wrong
+     * @since 2.0.1
+     */
+    protected RWLockedGraph(Graph base,
+                            ReadWriteLock lock,
+                            long delayInMilliseconds,
+                            int chunkSize,
+                            GraphEventManager gem) {
         this.base = Objects.requireNonNull(base, "Null base graph");
         this.lock = Objects.requireNonNull(lock, "Null lock");
         this.gem = Objects.requireNonNull(gem, "Null event manager");
         if (delayInMilliseconds <= 0)
             throw new IllegalArgumentException("Non-positive delay specified.");
+        if (chunkSize < 0)
+            throw new IllegalArgumentException("Negative chunk size specified.");
         this.delay = delayInMilliseconds;
+        this.chunkSize = chunkSize;
+    }
+
+    private static int requirePositive(int chunkSize) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("Non-positive chunk size specified.");
+        return chunkSize;
     }
 
     /**
@@ -144,6 +217,28 @@ public class RWLockedGraph implements Graph {
         return lock;
     }
 
+    /**
+     * Answers the number of modifications of this graph.
+     * Any successful call of {@link #add(Triple)}, {@link #delete(Triple)},
+     * {@link #remove(Node, Node, Node)} or {@link #clear()} changes the counter.
+     *
+     * @return long
+     * @since 2.0.1
+     */
+    public long modificationCount() {
+        return modCount;
+    }
+
+    /**
+     * Answers {@code true} if the short read operations are performed optimistically.
+     *
+     * @return boolean
+     * @see StampedReadWriteLock
+     */
+    public boolean isOptimistic() {
+        return lock instanceof StampedReadWriteLock;
+    }
+
     @Override
     public void add(Triple t) throws AddDeniedException {
         lock.writeLock().lock();
@@ -152,6 +247,7 @@ public class RWLockedGraph implements Graph {
                 throw new AddDeniedException("Attempt to add triple " + t);
             waitForEmptyIterators();
             base.add(t);
+            modCount++;
         } finally {
             lock.writeLock().unlock();
         }
@@ -165,6 +261,7 @@ public class RWLockedGraph implements Graph {
                 throw new DeleteDeniedException("Attempt to delete triple " + t);
             waitForEmptyIterators();
             base.delete(t);
+            modCount++;
         } finally {
             lock.writeLock().unlock();
         }
@@ -178,6 +275,7 @@ public class RWLockedGraph implements Graph {
                 throw new DeleteDeniedException("Attempt to remove triple " + Triple.createMatch(s, p, o));
             waitForEmptyIterators();
             base.remove(s, p, o);
+            modCount++;
         } finally {
             lock.writeLock().unlock();
         }
@@ -191,6 +289,7 @@ public class RWLockedGraph implements Graph {
                 throw new DeleteDeniedException("Attempt to clear");
             waitForEmptyIterators();
             base.clear();
+            modCount++;
         } finally {
             lock.writeLock().unlock();
         }
@@ -211,6 +310,9 @@ public class RWLockedGraph implements Graph {
      */
     @Override
     public ExtendedIterator<Triple> find(Triple m) {
+        if (chunkSize > 0) {
+            return findChunked(m, chunkSize);
+        }
         lock.readLock().lock();
         try {
             return new WIT<>(base.find(m));
@@ -231,6 +333,9 @@ public class RWLockedGraph implements Graph {
      */
     @Override
     public ExtendedIterator<Triple> find(Node s, Node p, Node o) {
+        if (chunkSize > 0) {
+            return findChunked(Triple.createMatch(s, p, o), chunkSize);
+        }
         lock.readLock().lock();
         try {
             return new WIT<>(base.find(s, p, o));
@@ -239,14 +344,45 @@ public class RWLockedGraph implements Graph {
         }
     }
 
+    /**
+     * Returns a {@link ChunkedIterator} over all the {@link Triple}s that match the triple pattern.
+     * The returned iterator reads the base graph by portions of the given size,
+     * each portion within its own short read-locked section,
+     * so writers are not blocked for the whole scan.
+     * Note that the iterator does not support {@link Iterator#remove()}.
+     *
+     * @param m         a {@link Triple triple} encoding the pattern to look for, not {@code null}
+     * @param chunkSize int, positive number
+     * @return {@link ExtendedIterator} of {@link Triple}s
+     * @since 2.0.1
+     */
+    public ExtendedIterator<Triple> findChunked(Triple m, int chunkSize) {
+        return new ChunkedIterator(Objects.requireNonNull(m), requirePositive(chunkSize));
+    }
+
+    /**
+     * Handles the situation when the graph has been modified while reading it by the given {@link ChunkedIterator}.
+     * The default implementation closes the iterator and throws {@link ConcurrentModificationException}.
+     * A subclass that wraps an MVCC graph (i.e. a graph whose iterators are bound to a snapshot)
+     * may override this method to let the iterator continue, since the rest of its data is still consistent.
+     *
+     * @param it {@link ChunkedIterator}, not {@code null}
+     * @throws ConcurrentModificationException if the iteration cannot be continued
+     * @since 2.0.1
+     */
+    protected void onConcurrentModification(ChunkedIterator it) throws ConcurrentModificationException {
+        it.close();
+        throw new ConcurrentModificationException("The graph has been modified while iterating");
+    }
+
     @Override
     public boolean contains(Node s, Node p, Node o) {
-        return withReadLock(() -> base.contains(s, p, o));
+        return withOptimisticReadLock(() -> base.contains(s, p, o));
     }
 
     @Override
     public boolean contains(Triple t) {
-        return withReadLock(() -> base.contains(t));
+        return withOptimisticReadLock(() -> base.contains(t));
     }
 
     @Override
@@ -289,10 +425,10 @@ public class RWLockedGraph implements Graph {
 
     @Override
     public boolean isEmpty() {
+        if (base instanceof GraphMem || base instanceof CompactGraph)
+            return withOptimisticReadLock(base::isEmpty);
         lock.readLock().lock();
         try {
-            if (base instanceof GraphMem)
-                return base.isEmpty();
             return !Iter.findFirst(find()).isPresent();
         } finally {
             lock.readLock().unlock();
@@ -301,12 +437,12 @@ public class RWLockedGraph implements Graph {
 
     @Override
     public int size() {
-        return withReadLock(base::size);
+        return withOptimisticReadLock(base::size);
     }
 
     @Override
     public boolean isClosed() {
-        return withReadLock(base::isClosed);
+        return withOptimisticReadLock(base::isClosed);
     }
 
     @Override
@@ -353,6 +489,21 @@ public class RWLockedGraph implements Graph {
         }
     }
 
+    /**
+     * Performs the given short pure read operation
+     * either optimistically (if the lock is {@link StampedReadWriteLock}) or within the read-locked section.
+     *
+     * @param op  {@link Supplier}
+     * @param <X> anything
+     * @return {@link X}
+     */
+    protected <X> X withOptimisticReadLock(Supplier<X> op) {
+        if (lock instanceof StampedReadWriteLock) {
+            return ((StampedReadWriteLock) lock).optimisticRead(op);
+        }
+        return withReadLock(op);
+    }
+
     /**
      * Waits for all other (that are created by other threads) iterators.
      * After operation is finished, all iterators must be either done or cached in the from of snapshot.
@@ -405,32 +556,57 @@ public class RWLockedGraph implements Graph {
      * @return {@code Collection} of {@link WIT}s
      */
     protected Collection<WIT<?>> findOtherIterators() {
-        synchronized (iterators) {
-            if (iterators.isEmpty()) return Collections.emptySet();
-            Thread th = Thread.currentThread();
-            return iterators.stream().filter(x -> th != x.thread).collect(Collectors.toSet());
+        expungeIterators();
+        if (iterators.isEmpty()) return Collections.emptySet();
+        Thread th = Thread.currentThread();
+        Set<WIT<?>> res = new HashSet<>();
+        for (Ref ref : iterators) {
+            WIT<?> it = ref.get();
+            if (it != null && th != ref.thread) {
+                res.add(it);
+            }
         }
+        return res;
     }
 
     /**
-     * Registers the given iterator into the internal {@code Map}-store.
+     * Registers the given iterator into the internal {@code Set}-store.
      *
      * @param it {@link WIT}
      */
     protected void putIterator(WIT<?> it) {
-        synchronized (iterators) {
-            iterators.add(it);
-        }
+        expungeIterators();
+        iterators.add(it.ref);
     }
 
     /**
-     * Unregisters the given iterator from the internal {@code Map}-store.
+     * Unregisters the given iterator from the internal {@code Set}-store.
      *
      * @param it {@link WIT}
      */
     protected void removeIterator(WIT<?> it) {
-        synchronized (iterators) {
-            iterators.remove(it);
+        iterators.remove(it.ref);
+    }
+
+    /**
+     * Removes the references to the iterators that have been garbage collected.
+     */
+    protected void expungeIterators() {
+        Reference<?> ref;
+        while ((ref = queue.poll()) != null) {
+            iterators.remove(ref);
+        }
+    }
+
+    /**
+     * A weak reference to the {@link WIT}-iterator with the identity equality.
+     */
+    protected class Ref extends WeakReference<WIT<?>> {
+        protected final Thread thread;
+
+        protected Ref(WIT<?> it) {
+            super(it, queue);
+            this.thread = it.thread;
         }
     }
 
@@ -441,6 +617,7 @@ public class RWLockedGraph implements Graph {
      */
     public class WIT<X> extends WrappedIterator<X> {
         protected final Thread thread;
+        protected final Ref ref;
         protected volatile ExtendedIterator<X> base;
         protected long timestamp;
 
@@ -449,6 +626,7 @@ public class RWLockedGraph implements Graph {
             this.base = base;
             this.thread = Thread.currentThread();
             this.timestamp = currentTimeInMilliSeconds();
+            this.ref = new Ref(this);
             putIterator(this);
         }
 
@@ -591,6 +769,103 @@ public class RWLockedGraph implements Graph {
         }
     }
 
+    /**
+     * An {@link ExtendedIterator} that reads the base graph by fixed-size chunks,
+     * each chunk is read within a short read-locked section,
+     * and that fails fast if the graph has been modified between the chunks.
+     * The chunks are read from the same base iterator, which is therefore not touched after a modification.
+     * Unlike {@link WIT}, this iterator is not registered in the graph, so writers never wait for it.
+     *
+     * @see #findChunked(Triple, int)
+     * @since 2.0.1
+     */
+    public class ChunkedIterator extends NiceIterator<Triple> {
+        protected final Triple[] chunk;
+        protected ExtendedIterator<Triple> source;
+        protected long expectedModCount;
+        protected int size;
+        protected int index;
+
+        protected ChunkedIterator(Triple m, int chunkSize) {
+            this.chunk = new Triple[chunkSize];
+            lock.readLock().lock();
+            try {
+                this.expectedModCount = modCount;
+                this.source = base.find(m);
+                fill();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Reads the next chunk from the source.
+         * Must be called within the read-locked section.
+         */
+        protected void fill() {
+            size = 0;
+            index = 0;
+            while (size < chunk.length && source.hasNext()) {
+                chunk[size++] = source.next();
+            }
+            if (size < chunk.length) {
+                source.close();
+                source = null;
+            }
+        }
+
+        /**
+         * Reads the next chunk checking the graph has not been modified since the previous one.
+         */
+        protected void refill() {
+            lock.readLock().lock();
+            try {
+                if (expectedModCount != modCount) {
+                    onConcurrentModification(this);
+                    expectedModCount = modCount;
+                }
+                if (source != null) {
+                    fill();
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (index < size) {
+                return true;
+            }
+            if (source == null) {
+                return false;
+            }
+            refill();
+            return index < size;
+        }
+
+        @Override
+        public Triple next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Triple res = chunk[index];
+            chunk[index++] = null;
+            return res;
+        }
+
+        @Override
+        public void close() {
+            if (source != null) {
+                source.close();
+                source = null;
+            }
+            Arrays.fill(chunk, null);
+            size = 0;
+            index = 0;
+        }
+    }
+
     /**
      * A wrapper for {@link PrefixMapping}.
      */
@@ -0,0 +1,194 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2020, The University of Manchester, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.jena;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * A reentrant {@link ReadWriteLock} that additionally supports optimistic (lock-free) reads.
+ * <p>
+ * A bare {@link StampedLock} cannot be used as an OWL-API lock since it is not reentrant,
+ * and the OWL-API style implies nested locking (e.g. manager write lock, then ontology write lock).
+ * So the real locking is delegated to the {@link ReentrantReadWriteLock},
+ * while the {@link StampedLock} is used only as a write marker:
+ * its write stamp is held for the whole duration of the outermost write-locked section.
+ * This allows short pure read operations (such as {@code Graph#contains} or {@code Graph#size})
+ * to be performed without touching the shared counter of the read lock,
+ * which becomes a bottleneck when there are a lot of reader threads,
+ * see {@link #optimisticRead(Supplier)}.
+ * <p>
+ * Note: {@link Condition}s are not supported by the write lock.
+ * <p>
+ * Created by @ssz on 30.05.2020.
+ *
+ * @see RWLockedGraph
+ * @since 2.0.1
+ */
+@SuppressWarnings("NullableProblems")
+public class StampedReadWriteLock implements ReadWriteLock, Serializable {
+    private static final long serialVersionUID = 6432109528741056374L;
+
+    private final ReentrantReadWriteLock delegate = new ReentrantReadWriteLock();
+    private final WriteLock writeLock = new WriteLock();
+    private transient StampedLock marker = new StampedLock();
+    // the stamp of the outermost write-locked section, guarded by the delegate write lock
+    private transient long stamp;
+
+    @Override
+    public Lock readLock() {
+        return delegate.readLock();
+    }
+
+    @Override
+    public Lock writeLock() {
+        return writeLock;
+    }
+
+    /**
+     * Performs the given read operation optimistically, i.e. without acquiring the read lock.
+     * If a write happens during the operation or any {@code RuntimeException} occurs,
+     * the operation is repeated within the read-locked section.
+     * So, the operation must be short, must have no side effects,
+     * and must tolerate concurrent modifications of the data it reads (the result is just discarded then).
+     * If the current thread already holds the write lock, the operation is performed under the read lock.
+     *
+     * @param op  {@link Supplier}, not {@code null}
+     * @param <X> anything
+     * @return {@link X}
+     */
+    public <X> X optimisticRead(Supplier<X> op) {
+        X res = tryOptimisticRead(op);
+        if (res != null) {
+            return res;
+        }
+        delegate.readLock().lock();
+        try {
+            return op.get();
+        } finally {
+            delegate.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tries to perform the given read operation optimistically, i.e. without acquiring the read lock.
+     * The stamp is taken before the operation starts,
+     * so any write that happens during the operation (or before it, but after the stamp is taken) is detected.
+     * Returns {@code null} if a write has happened, or if the write lock is currently held,
+     * or if the operation itself returns {@code null};
+     * so the operation may return {@code null} to signal that it cannot be performed optimistically
+     * (e.g. the required data is not in memory).
+     * A {@code RuntimeException} is rethrown only if no write has happened during the operation.
+     *
+     * @param op  {@link Supplier}, not {@code null}
+     * @param <X> anything
+     * @return {@link X} or {@code null}
+     */
+    public <X> X tryOptimisticRead(Supplier<X> op) {
+        Objects.requireNonNull(op);
+        long s = marker.tryOptimisticRead();
+        if (s == 0) {
+            return null;
+        }
+        try {
+            X res = op.get();
+            return marker.validate(s) ? res : null;
+        } catch (RuntimeException e) {
+            if (marker.validate(s)) {
+                throw e;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Answers {@code true} if the write lock is held by any thread.
+     *
+     * @return boolean
+     */
+    public boolean isWriteLocked() {
+        return delegate.isWriteLocked();
+    }
+
+    private void afterLock() {
+        if (delegate.getWriteHoldCount() == 1) {
+            stamp = marker.writeLock();
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        marker = new StampedLock();
+    }
+
+    /**
+     * The write lock, that also holds the write stamp of the {@link #marker}.
+     */
+    private class WriteLock implements Lock, Serializable {
+        private static final long serialVersionUID = -2391758204731950462L;
+
+        @Override
+        public void lock() {
+            delegate.writeLock().lock();
+            afterLock();
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            delegate.writeLock().lockInterruptibly();
+            afterLock();
+        }
+
+        @Override
+        public boolean tryLock() {
+            if (!delegate.writeLock().tryLock()) {
+                return false;
+            }
+            afterLock();
+            return true;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            if (!delegate.writeLock().tryLock(time, unit)) {
+                return false;
+            }
+            afterLock();
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+            if (delegate.getWriteHoldCount() == 1) {
+                marker.unlockWrite(stamp);
+            }
+            delegate.writeLock().unlock();
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException("Conditions are not supported");
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2020, The University of Manchester, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.jena.impl;
+
+import com.github.owlcs.ontapi.jena.OntJenaException;
+import com.github.owlcs.ontapi.jena.impl.conf.OntPersonality;
+import com.github.owlcs.ontapi.jena.model.*;
+import com.github.owlcs.ontapi.jena.vocabulary.RDF;
+import org.apache.jena.enhanced.EnhGraph;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.util.iterator.ExtendedIterator;
+
+import java.util.*;
+
+/**
+ * A precomputed immutable table of the entity types for all URI nodes of a graph.
+ * For each URI {@link Node node} it contains a bitmask of {@link OntEntity} types
+ * (see {@link Entities}), that the node can be viewed as.
+ * The table is built in one pass through all the {@code rdf:type} triples,
+ * taking into account the {@link OntPersonality.Punnings punnings} and
+ * the {@link OntPersonality.Builtins builtins} of the model personality,
+ * so the answers are the same as that of the standard entity factories
+ * ({@link Entities#createFactory()}), but much cheaper,
+ * since there is no need to query the graph for every {@code canWrap} check.
+ * <p>
+ * Nodes are kept in a compact open-addressing hash table: a {@code Node}s array and a parallel {@code byte}s array,
+ * only nodes with non-empty masks are stored.
+ * There is a special bit {@link #UNKNOWN}, which means that the table cannot answer for the node
+ * (e.g. the graph contains a recursion), and the question should be addressed to the object factory.
+ * <p>
+ * The table does not track graph changes: it is a snapshot, that must be discarded on any modification
+ * of {@code rdf:type} triples.
+ * <p>
+ * Created by @ssz on 28.05.2020.
+ *
+ * @since 2.0.1
+ */
+public final class NodeTypeTable {
+    private static final int UNKNOWN = 1 << 7;
+    private static final int CLASS = bit(Entities.CLASS);
+    private static final int DATATYPE = bit(Entities.DATATYPE);
+    private static final int INDIVIDUAL = bit(Entities.INDIVIDUAL);
+    private static final int ANNOTATION_PROPERTY = bit(Entities.ANNOTATION_PROPERTY);
+    private static final int DATA_PROPERTY = bit(Entities.DATA_PROPERTY);
+    private static final int OBJECT_PROPERTY = bit(Entities.OBJECT_PROPERTY);
+    private static final Map<Class<? extends OntObject>, Integer> MASKS = new HashMap<>();
+
+    static {
+        for (Entities e : Entities.values()) {
+            MASKS.put(e.getActualType(), bit(e));
+        }
+        MASKS.put(OntEntity.class, CLASS | DATATYPE | INDIVIDUAL | ANNOTATION_PROPERTY | DATA_PROPERTY | OBJECT_PROPERTY);
+        MASKS.put(OntProperty.class, ANNOTATION_PROPERTY | DATA_PROPERTY | OBJECT_PROPERTY);
+        MASKS.put(OntNamedProperty.class, ANNOTATION_PROPERTY | DATA_PROPERTY | OBJECT_PROPERTY);
+        MASKS.put(OntRealProperty.class, DATA_PROPERTY | OBJECT_PROPERTY);
+        // for URI nodes the following types are reduced to the named ones:
+        MASKS.put(OntClass.class, CLASS);
+        MASKS.put(OntDataRange.class, DATATYPE);
+        MASKS.put(OntObjectProperty.class, OBJECT_PROPERTY);
+        MASKS.put(OntIndividual.class, INDIVIDUAL);
+    }
+
+    private final Node[] keys;
+    private final byte[] values;
+    private final int size;
+
+    private NodeTypeTable(Map<Node, Integer> map) {
+        int capacity = 16;
+        while (capacity < map.size() * 2) {
+            capacity <<= 1;
+        }
+        this.keys = new Node[capacity];
+        this.values = new byte[capacity];
+        map.forEach((k, v) -> {
+            int i = index(k);
+            while (keys[i] != null) {
+                i = (i + 1) & (keys.length - 1);
+            }
+            keys[i] = k;
+            values[i] = (byte) (int) v;
+        });
+        this.size = map.size();
+    }
+
+    private static int bit(Entities e) {
+        return 1 << e.ordinal();
+    }
+
+    /**
+     * Answers the bitmask of URI-node types for the given {@link OntObject} class-type.
+     *
+     * @param type {@code Class}-type of {@link OntObject}, not {@code null}
+     * @return int, the mask or {@code 0} if the type is not supported by the table
+     */
+    public static int mask(Class<? extends OntObject> type) {
+        return MASKS.getOrDefault(Objects.requireNonNull(type), 0);
+    }
+
+    /**
+     * Builds a new table for the given model in a single pass through all its {@code rdf:type} triples.
+     * Individuals, that are not declared explicitly, are checked on the second step:
+     * they are accepted if any of their types is a class expression.
+     *
+     * @param model {@link EnhGraph} that is a {@link PersonalityModel} as well, not {@code null}
+     * @return {@link NodeTypeTable}
+     */
+    public static NodeTypeTable build(EnhGraph model) {
+        Graph g = model.asGraph();
+        OntPersonality personality = PersonalityModel.asPersonalityModel(model).getOntPersonality();
+        Entities[] entities = Entities.values();
+        Map<Node, Integer> declared = new HashMap<>();
+        Map<Node, Integer> banned = new HashMap<>();
+        for (Entities e : entities) {
+            int bit = bit(e);
+            declared.merge(e.getResourceType().asNode(), bit, (a, b) -> a | b);
+            e.extractNodeSet.apply(personality.getPunnings()).forEach(x -> banned.merge(x, bit, (a, b) -> a | b));
+        }
+        Map<Node, Integer> res = new HashMap<>();
+        Map<Node, Integer> bans = new HashMap<>();
+        Map<Node, List<Node>> candidates = new HashMap<>();
+        ExtendedIterator<Triple> it = g.find(Node.ANY, RDF.Nodes.type, Node.ANY);
+        try {
+            while (it.hasNext()) {
+                Triple t = it.next();
+                Node s = t.getSubject();
+                if (!s.isURI()) continue;
+                Node o = t.getObject();
+                Integer d = declared.get(o);
+                if (d != null) {
+                    res.merge(s, d, (a, b) -> a | b);
+                } else {
+                    // any other type is a candidate to be a class for an implicit individual
+                    candidates.computeIfAbsent(s, x -> new ArrayList<>(1)).add(o);
+                }
+                Integer b = banned.get(o);
+                if (b != null) {
+                    bans.merge(s, b, (x, y) -> x | y);
+                }
+            }
+        } finally {
+            it.close();
+        }
+        bans.forEach((k, v) -> res.computeIfPresent(k, (x, m) -> m & ~v));
+        for (Entities e : entities) {
+            int bit = bit(e);
+            e.extractNodeSet.apply(personality.getBuiltins()).forEach(x -> res.merge(x, bit, (a, b) -> a | b));
+        }
+        // the second step - implicit individuals:
+        candidates.forEach((n, types) -> {
+            int mask = res.getOrDefault(n, 0);
+            if ((mask & INDIVIDUAL) != 0 || (bans.getOrDefault(n, 0) & INDIVIDUAL) != 0) {
+                return;
+            }
+            for (Node t : types) {
+                int found;
+                try {
+                    found = hasClassType(t, res, model) ? INDIVIDUAL : 0;
+                } catch (OntJenaException j) {
+                    found = UNKNOWN;
+                }
+                if (found != 0) {
+                    res.put(n, mask | found);
+                    return;
+                }
+            }
+        });
+        res.values().removeIf(x -> x == 0);
+        return new NodeTypeTable(res);
+    }
+
+    private static boolean hasClassType(Node type, Map<Node, Integer> res, EnhGraph model) {
+        if (type.isURI()) {
+            return (res.getOrDefault(type, 0) & CLASS) != 0;
+        }
+        return PersonalityModel.canAs(OntClass.class, type, model);
+    }
+
+    private int index(Node key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (keys.length - 1);
+    }
+
+    private int get(Node key) {
+        int i = index(key);
+        Node k;
+        while ((k = keys[i]) != null) {
+            if (k.equals(key)) {
+                return values[i] & 0xFF;
+            }
+            i = (i + 1) & (keys.length - 1);
+        }
+        return 0;
+    }
+
+    /**
+     * Answers {@code true} if the given URI node can be viewed as one of the types specified by the mask.
+     *
+     * @param node {@link Node}, not {@code null}
+     * @param mask int, see {@link #mask(Class)}
+     * @return {@code Boolean} or {@code null} if the table cannot answer
+     */
+    public Boolean canWrap(Node node, int mask) {
+        if (mask == 0 || !node.isURI()) return null;
+        int res = get(node);
+        if ((res & mask) != 0) return Boolean.TRUE;
+        return (res & UNKNOWN) != 0 ? null : Boolean.FALSE;
+    }
+
+    /**
+     * Returns the number of nodes in the table.
+     *
+     * @return int
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("NodeTypeTable{size=%d}", size);
+    }
+}
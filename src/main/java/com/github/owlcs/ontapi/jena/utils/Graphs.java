@@ -14,6 +14,7 @@
 
 package com.github.owlcs.ontapi.jena.utils;
 
+import com.github.owlcs.ontapi.jena.CompactGraph;
 import com.github.owlcs.ontapi.jena.RWLockedGraph;
 import com.github.owlcs.ontapi.jena.UnionGraph;
 import com.github.owlcs.ontapi.jena.model.OntModel;
@@ -96,7 +97,7 @@ public class Graphs {
      * @see Dyadic
      */
     public static Graph getBase(Graph graph) {
-        if (graph instanceof GraphMem) {
+        if (graph instanceof GraphMem || graph instanceof CompactGraph) {
             return graph;
         }
         if (graph instanceof GraphWrapper) {
@@ -163,7 +164,7 @@ public class Graphs {
      * @see UnionGraph#isDistinct()
      */
     public static boolean isDistinct(Graph graph) {
-        if (graph instanceof GraphMem) {
+        if (graph instanceof GraphMem || graph instanceof CompactGraph) {
             return true;
         }
         if (graph instanceof UnionGraph) {
@@ -185,7 +186,7 @@ public class Graphs {
      * @see Graphs#size(Graph)
      */
     public static boolean isSized(Graph graph) {
-        if (graph instanceof GraphMem) {
+        if (graph instanceof GraphMem || graph instanceof CompactGraph) {
             return true;
         }
         if (graph instanceof UnionGraph) {
@@ -203,12 +204,12 @@ public class Graphs {
      * @see Graphs#isSized(Graph)
      */
     public static long size(Graph graph) {
-        if (graph instanceof GraphMem) {
+        if (graph instanceof GraphMem || graph instanceof CompactGraph) {
             return graph.size();
         }
         if (graph instanceof UnionGraph && ((UnionGraph) graph).getUnderlying().isEmpty()) {
             Graph bg = ((UnionGraph) graph).getBaseGraph();
-            if (bg instanceof GraphMem) {
+            if (bg instanceof GraphMem || bg instanceof CompactGraph) {
                 return bg.size();
             }
         }
@@ -229,7 +230,7 @@ public class Graphs {
      */
     public static UnionGraph toUnion(Graph g) {
         if (g instanceof UnionGraph) return (UnionGraph) g;
-        if (g instanceof GraphMem) return new UnionGraph(g);
+        if (g instanceof GraphMem || g instanceof CompactGraph) return new UnionGraph(g);
         return toUnion(getBase(g), baseGraphs(g).collect(Collectors.toSet()));
     }
 
@@ -0,0 +1,287 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2020, The University of Manchester, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.jena.utils;
+
+import com.github.owlcs.ontapi.jena.OntJenaException;
+import org.apache.jena.graph.*;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFLanguages;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.lang.LabelToNode;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.sparql.core.Quad;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A reader to load a large local file in a line-based RDF format
+ * ({@link Lang#NTRIPLES N-Triples} or {@link Lang#NQUADS N-Quads}) into a {@link Graph} using several threads.
+ * The file is memory-mapped and split on line boundaries into chunks,
+ * which are parsed independently by separate Jena parsers.
+ * All the parsers share the same node table, so equal URIs are represented by the same {@link Node} instance,
+ * and blank nodes with the same label are the same node regardless of the chunk they are found in.
+ * The parsed triples are bulk-inserted into the graph in the current thread in the file order,
+ * so the graph itself does not need to be thread-safe.
+ * For N-Quads the graph names are ignored, as {@link org.apache.jena.riot.RDFDataMgr} does when reading into a graph.
+ * <p>
+ * Created by @ssz on 19.10.2020.
+ *
+ * @since 2.0.1
+ */
+public class ParallelNTriplesReader {
+    /**
+     * The minimal size of chunk in bytes; smaller files are read as a single chunk.
+     */
+    public static final int MIN_CHUNK_SIZE = 4 * 1024 * 1024;
+    /**
+     * The maximal size of chunk in bytes.
+     */
+    public static final int MAX_CHUNK_SIZE = 128 * 1024 * 1024;
+
+    private final int parallelism;
+    private final ConcurrentMap<Node, Node> nodes = new ConcurrentHashMap<>();
+
+    protected ParallelNTriplesReader(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Wrong parallelism: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Reads the file into the graph.
+     *
+     * @param graph       {@link Graph} to put in, not {@code null}
+     * @param file        {@link Path} of a local file, not {@code null}
+     * @param lang        {@link Lang}, either {@link Lang#NTRIPLES} or {@link Lang#NQUADS}
+     * @param parallelism int, a positive number, the maximum number of threads to parse
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the language is not supported
+     * @throws org.apache.jena.riot.RiotException if the content is not valid for the language,
+     *                                  in this case the graph can be partially filled
+     */
+    public static void read(Graph graph, Path file, Lang lang, int parallelism) throws IOException {
+        if (!RDFLanguages.sameLang(Lang.NTRIPLES, lang) && !RDFLanguages.sameLang(Lang.NQUADS, lang)) {
+            throw new IllegalArgumentException("Not a line-based language: " + lang);
+        }
+        new ParallelNTriplesReader(parallelism).read(graph, file, lang);
+    }
+
+    /**
+     * Reads the file into the graph.
+     *
+     * @param graph {@link Graph}
+     * @param file  {@link Path}
+     * @param lang  {@link Lang}
+     * @throws IOException if the file cannot be read
+     */
+    protected void read(Graph graph, Path file, Lang lang) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<long[]> chunks = split(channel);
+            if (chunks.size() == 1 || parallelism == 1) {
+                for (long[] chunk : chunks) {
+                    GraphUtil.add(graph, parse(channel, chunk[0], chunk[1], lang));
+                }
+                return;
+            }
+            ExecutorService executor = createExecutor(Math.min(parallelism, chunks.size()));
+            try {
+                // to limit memory usage, no more than 2 * parallelism chunks are kept in memory:
+                Deque<Future<List<Triple>>> queue = new ArrayDeque<>();
+                for (long[] chunk : chunks) {
+                    if (queue.size() >= 2 * parallelism) {
+                        GraphUtil.add(graph, get(queue.poll()));
+                    }
+                    queue.add(executor.submit(() -> parse(channel, chunk[0], chunk[1], lang)));
+                }
+                while (!queue.isEmpty()) {
+                    GraphUtil.add(graph, get(queue.poll()));
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Splits the file into chunks on the line boundaries.
+     *
+     * @param channel {@link FileChannel}
+     * @return List of {@code [start, end)} positions
+     * @throws IOException if an I/O error occurs
+     */
+    protected List<long[]> split(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long chunk = Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, size / (4L * parallelism) + 1));
+        List<long[]> res = new ArrayList<>();
+        long start = 0;
+        while (start < size) {
+            long end = start + chunk >= size ? size : nextLine(channel, start + chunk, size);
+            res.add(new long[]{start, end});
+            start = end;
+        }
+        return res;
+    }
+
+    private static long nextLine(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        while (position < size) {
+            // the cast keeps the Java 8 method signature when compiled by a newer JDK:
+            ((Buffer) buffer).clear();
+            int n = channel.read(buffer, position);
+            if (n <= 0) {
+                break;
+            }
+            for (int i = 0; i < n; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += n;
+        }
+        return size;
+    }
+
+    /**
+     * Parses the specified region of the file.
+     *
+     * @param channel {@link FileChannel}
+     * @param start   long, the start position (inclusive)
+     * @param end     long, the end position (exclusive)
+     * @param lang    {@link Lang}
+     * @return List of {@link Triple}s
+     * @throws IOException if an I/O error occurs
+     */
+    protected List<Triple> parse(FileChannel channel, long start, long end, Lang lang) throws IOException {
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        List<Triple> res = new ArrayList<>();
+        RDFParser.create()
+                .source(new ByteBufferInputStream(buffer))
+                .lang(lang)
+                .labelToNode(LabelToNode.createUseLabelAsGiven())
+                .parse(new StreamRDFBase() {
+                    @Override
+                    public void triple(Triple triple) {
+                        res.add(Triple.create(intern(triple.getSubject()),
+                                intern(triple.getPredicate()), intern(triple.getObject())));
+                    }
+
+                    @Override
+                    public void quad(Quad quad) {
+                        res.add(Triple.create(intern(quad.getSubject()),
+                                intern(quad.getPredicate()), intern(quad.getObject())));
+                    }
+                });
+        return res;
+    }
+
+    /**
+     * Returns the shared node instance.
+     * A blank node, which is parsed with its label as it is given in the document,
+     * is replaced by a fresh blank node, the same for all chunks.
+     *
+     * @param node {@link Node}
+     * @return {@link Node}
+     */
+    protected Node intern(Node node) {
+        if (node.isBlank()) {
+            return nodes.computeIfAbsent(node, x -> NodeFactory.createBlankNode());
+        }
+        if (node.isURI()) {
+            Node res = nodes.putIfAbsent(node, node);
+            return res == null ? node : res;
+        }
+        return node;
+    }
+
+    /**
+     * Creates an executor to parse chunks.
+     *
+     * @param threads int, the number of threads
+     * @return {@link ExecutorService}
+     */
+    protected ExecutorService createExecutor(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread res = new Thread(r, "ont-api-parser-" + count.incrementAndGet());
+            res.setDaemon(true);
+            return res;
+        });
+    }
+
+    private static List<Triple> get(Future<List<Triple>> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OntJenaException("Interrupted while parsing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new OntJenaException("Can't parse chunk", cause);
+        }
+    }
+
+    /**
+     * An {@link InputStream} over a {@link ByteBuffer}.
+     */
+    protected static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        protected ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int res = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, res);
+            return res;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -26,7 +26,6 @@ import org.apache.jena.datatypes.BaseDatatype;
 import org.apache.jena.datatypes.RDFDatatype;
 import org.apache.jena.datatypes.TypeMapper;
 import org.apache.jena.datatypes.xsd.XSDDatatype;
-import org.apache.jena.datatypes.xsd.impl.RDFLangString;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.graph.impl.LiteralLabel;
@@ -51,6 +50,7 @@ import java.util.stream.Stream;
  */
 @SuppressWarnings("WeakerAccess")
 public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral, AsNode {
+    private static final long serialVersionUID = 3134704564410834623L;
 
     private static final Set<String> NUMBER_DATATYPES = Stream.of(XSD.integer, XSD.xfloat, XSD.xdouble)
             .map(Resource::getURI).collect(Iter.toUnmodifiableSet());
@@ -63,8 +63,16 @@ public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral, AsNode
         this.label = Objects.requireNonNull(label);
     }
 
+    /**
+     * Constructs a literal that does not encapsulate any {@link LiteralLabel}.
+     * For {@link Primitive}s only.
+     */
+    private OWLLiteralImpl() {
+        this.label = null;
+    }
+
     public static OWLLiteralImpl createLiteral(String s) {
-        return newLiteral(LiteralLabelFactory.createTypedLiteral(s));
+        return new StringImpl(s, "");
     }
 
     /**
@@ -82,7 +90,7 @@ public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral, AsNode
      * @see #equals(Object)
      */
     public static OWLLiteralImpl createLiteral(String val, String lang) {
-        return newLiteral(LiteralLabelFactory.create(val, normalizeLanguageTag(lang)));
+        return new StringImpl(val, normalizeLanguageTag(lang));
     }
 
     /**
@@ -92,7 +100,18 @@ public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral, AsNode
      * @return {@link OWLLiteralImpl}
      */
     public static OWLLiteralImpl createLiteral(int i) {
-        return newLiteral(i, null, XSDDatatype.XSDinteger);
+        return new IntImpl(i);
+    }
+
+    /**
+     * Creates a literal impl wrapping the given long number.
+     *
+     * @param i long
+     * @return {@link OWLLiteralImpl}
+     * @since 2.0.1
+     */
+    public static OWLLiteralImpl createLiteral(long i) {
+        return new LongImpl(i);
     }
 
     /**
@@ -102,7 +121,7 @@ public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral, AsNode
      * @return {@link OWLLiteralImpl}
      */
     public static OWLLiteralImpl createLiteral(boolean b) {
-        return newLiteral(LiteralLabelFactory.createTypedLiteral(b));
+        return new BooleanImpl(b);
     }
 
     /**
@@ -112,7 +131,7 @@ public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral, AsNode
      * @return {@link OWLLiteralImpl}
      */
     public static OWLLiteralImpl createLiteral(double d) {
-        return newLiteral(LiteralLabelFactory.createTypedLiteral(d));
+        return new DoubleImpl(d);
     }
 
     /**
@@ -147,19 +166,11 @@ public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral, AsNode
     public static OWLLiteralImpl createLiteral(String txt, OWLDatatype owl) {
         if (owl.isRDFPlainLiteral() || InternalizedEntities.RDF_LANG_STRING.equals(owl)) {
             // original logic is saved:
-            String lex, lang;
-            RDFDatatype dt;
             int sep = txt.lastIndexOf('@');
             if (sep != -1) {
-                lex = txt.substring(0, sep);
-                lang = normalizeLanguageTag(txt.substring(sep + 1));
-                dt = RDFLangString.rdfLangString;
-            } else {
-                lex = txt;
-                lang = null;
-                dt = XSDDatatype.XSDstring;
+                return new StringImpl(txt.substring(0, sep), normalizeLanguageTag(txt.substring(sep + 1)));
             }
-            return newLiteral(lex, lang, dt);
+            return new StringImpl(txt, "");
         }
         if (owl.isString()) {
             return createLiteral(txt);
@@ -229,10 +240,23 @@ public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral, AsNode
             return createLiteral(Integer.parseInt(txt));
         } catch (NumberFormatException ex) {
             // original comment: try as a big decimal
-            return newLiteral(txt, null, dt);
+            return parseLong(txt, dt);
         }
     }
 
+    private static OWLLiteralImpl parseLong(String txt, OWLDatatype dt) {
+        try {
+            long res = Long.parseLong(txt);
+            // the lexical form must be kept as is
+            if (Long.toString(res).equals(txt)) {
+                return createLiteral(res);
+            }
+        } catch (NumberFormatException ex) {
+            // ignore
+        }
+        return newLiteral(txt, null, dt);
+    }
+
     /**
      * Converts any instance of {@link OWLLiteral} to the {@link OWLLiteralImpl ONT-API Literal implementation}.
      *
@@ -375,11 +399,12 @@ public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral, AsNode
 
     @Override
     public Node asNode() {
-        return NodeFactory.createLiteral(label);
+        return NodeFactory.createLiteral(getLiteralLabel());
     }
 
     /**
      * Returns a {@link LiteralLabel Jena Literal Label}, that is encapsulated by this object.
+     * Note: a {@link Primitive} literal does not hold a label and creates a fresh one on each call.
      *
      * @return {@link LiteralLabel}
      */
@@ -574,7 +599,7 @@ public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral, AsNode
             if (notSame(other)) {
                 return false;
             }
-            return equals(label, other.getLiteralLabel());
+            return sameLiteral(other);
         }
         if (obj instanceof AsNode) {
             return asNode().equals(((AsNode) obj).asNode());
@@ -582,8 +607,26 @@ public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral, AsNode
         return super.equals(obj);
     }
 
+    /**
+     * Answers {@code true} if this literal and the given one have the same
+     * lexical form, language tag and datatype.
+     *
+     * @param other {@link OWLLiteralImpl}, not {@code null}
+     * @return boolean
+     * @since 2.0.1
+     */
+    protected boolean sameLiteral(OWLLiteralImpl other) {
+        if (label != null && other.label != null) {
+            return equals(label, other.label);
+        }
+        return getLiteral().equals(other.getLiteral())
+                && getLang().equals(other.getLang())
+                && getDatatypeURI().equals(other.getDatatypeURI());
+    }
+
     private void writeObject(ObjectOutputStream out) throws IOException {
         out.defaultWriteObject();
+        LiteralLabel label = getLiteralLabel();
         out.writeObject(label.getDatatypeURI());
         out.writeObject(label.language());
         out.writeObject(label.getLexicalForm());
@@ -594,10 +637,300 @@ public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral, AsNode
         String uri = (String) in.readObject();
         String lang = (String) in.readObject();
         String value = (String) in.readObject();
+        if (this instanceof Primitive) {
+            // the state is restored by the subclass
+            return;
+        }
         LiteralLabel label = LiteralLabelFactory.createByValue(value, lang, getRDFDatatype(uri));
-        Field field = getClass().getDeclaredField("label");
+        Field field = OWLLiteralImpl.class.getDeclaredField("label");
         field.setAccessible(true);
         field.set(this, label);
         field.setAccessible(false);
     }
+
+    /**
+     * A base for compact literals, that do not encapsulate a {@link LiteralLabel},
+     * but hold the value in a primitive field instead.
+     * Such literals are created by the {@code createLiteral(...)} factory methods
+     * for the most common datatypes ({@code xsd:integer}, {@code xsd:double}, {@code xsd:boolean},
+     * {@code xsd:string} and {@code rdf:langString}) and take much less memory than a label-based literal.
+     * The natural accessors (e.g. {@link #parseInteger()} for an {@code xsd:integer} literal)
+     * return the value without parsing.
+     * The semantic (i.e. {@link #equals(Object)} and {@link #hashCode()}) is the same
+     * as for the label-based literal with the same lexical form, language tag and datatype.
+     *
+     * @since 2.0.1
+     */
+    public abstract static class Primitive extends OWLLiteralImpl {
+
+        protected Primitive() {
+            super();
+        }
+
+        /**
+         * Returns the value-part of the hash code,
+         * which must be the same as {@link #calcLiteralLabelHashCode(LiteralLabel)} returns for the equivalent label.
+         *
+         * @return int
+         */
+        protected abstract int valueHashCode();
+
+        /**
+         * Answers {@code true} if the given literal has the same type and the same value.
+         *
+         * @param other {@link Primitive}, not {@code null}
+         * @return boolean
+         */
+        protected abstract boolean sameValue(Primitive other);
+
+        @Override
+        public String getLang() {
+            return "";
+        }
+
+        @Override
+        public boolean hasLang() {
+            return false;
+        }
+
+        @Override
+        public String getDatatypeURI() {
+            return getDatatype().getIRI().getIRIString();
+        }
+
+        @Override
+        public int initHashCode() {
+            int res = OWLObject.hashIteration(hashIndex(), getDatatype().hashCode());
+            res = OWLObject.hashIteration(res, valueHashCode() * 65536);
+            return OWLObject.hashIteration(res, getLang().hashCode());
+        }
+
+        @Override
+        protected boolean sameLiteral(OWLLiteralImpl other) {
+            if (other.getClass() == getClass()) {
+                return sameValue((Primitive) other);
+            }
+            return super.sameLiteral(other);
+        }
+    }
+
+    /**
+     * An {@code xsd:integer} literal, which value fits into {@code int}.
+     *
+     * @since 2.0.1
+     */
+    public static class IntImpl extends Primitive {
+        protected final int value;
+
+        protected IntImpl(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public LiteralLabel getLiteralLabel() {
+            return LiteralLabelFactory.createByValue(value, null, XSDDatatype.XSDinteger);
+        }
+
+        @Override
+        public String getLiteral() {
+            return Integer.toString(value);
+        }
+
+        @Override
+        public OWLDatatype getDatatype() {
+            return InternalizedEntities.XSD_INTEGER;
+        }
+
+        @Override
+        public int parseInteger() {
+            return value;
+        }
+
+        @Override
+        protected int valueHashCode() {
+            return value;
+        }
+
+        @Override
+        protected boolean sameValue(Primitive other) {
+            return value == ((IntImpl) other).value;
+        }
+    }
+
+    /**
+     * An {@code xsd:integer} literal, which value fits into {@code long}.
+     *
+     * @since 2.0.1
+     */
+    public static class LongImpl extends Primitive {
+        protected final long value;
+
+        protected LongImpl(long value) {
+            this.value = value;
+        }
+
+        @Override
+        public LiteralLabel getLiteralLabel() {
+            return LiteralLabelFactory.createByValue(value, null, XSDDatatype.XSDinteger);
+        }
+
+        @Override
+        public String getLiteral() {
+            return Long.toString(value);
+        }
+
+        @Override
+        public OWLDatatype getDatatype() {
+            return InternalizedEntities.XSD_INTEGER;
+        }
+
+        @Override
+        protected int valueHashCode() {
+            return (int) value;
+        }
+
+        @Override
+        protected boolean sameValue(Primitive other) {
+            return value == ((LongImpl) other).value;
+        }
+    }
+
+    /**
+     * An {@code xsd:double} literal.
+     *
+     * @since 2.0.1
+     */
+    public static class DoubleImpl extends Primitive {
+        protected final double value;
+
+        protected DoubleImpl(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public LiteralLabel getLiteralLabel() {
+            return LiteralLabelFactory.createTypedLiteral(value);
+        }
+
+        @Override
+        public String getLiteral() {
+            return XSDDatatype.XSDdouble.unparse(value);
+        }
+
+        @Override
+        public OWLDatatype getDatatype() {
+            return InternalizedEntities.XSD_DOUBLE;
+        }
+
+        @Override
+        public double parseDouble() {
+            return value;
+        }
+
+        @Override
+        protected int valueHashCode() {
+            return (int) value;
+        }
+
+        @Override
+        protected boolean sameValue(Primitive other) {
+            return Double.doubleToLongBits(value) == Double.doubleToLongBits(((DoubleImpl) other).value);
+        }
+    }
+
+    /**
+     * An {@code xsd:boolean} literal.
+     *
+     * @since 2.0.1
+     */
+    public static class BooleanImpl extends Primitive {
+        protected final boolean value;
+
+        protected BooleanImpl(boolean value) {
+            this.value = value;
+        }
+
+        @Override
+        public LiteralLabel getLiteralLabel() {
+            return LiteralLabelFactory.createTypedLiteral(value);
+        }
+
+        @Override
+        public String getLiteral() {
+            return Boolean.toString(value);
+        }
+
+        @Override
+        public OWLDatatype getDatatype() {
+            return InternalizedEntities.XSD_BOOLEAN;
+        }
+
+        @Override
+        public boolean parseBoolean() {
+            return value;
+        }
+
+        @Override
+        protected int valueHashCode() {
+            return value ? 1 : 0;
+        }
+
+        @Override
+        protected boolean sameValue(Primitive other) {
+            return value == ((BooleanImpl) other).value;
+        }
+    }
+
+    /**
+     * A plain string literal: either {@code xsd:string} or {@code rdf:langString} (if the language tag is not empty).
+     *
+     * @since 2.0.1
+     */
+    public static class StringImpl extends Primitive {
+        protected final String value;
+        protected final String lang;
+
+        protected StringImpl(String value, String lang) {
+            this.value = Objects.requireNonNull(value);
+            this.lang = Objects.requireNonNull(lang);
+        }
+
+        @Override
+        public LiteralLabel getLiteralLabel() {
+            return lang.isEmpty() ?
+                    LiteralLabelFactory.createTypedLiteral(value) :
+                    LiteralLabelFactory.create(value, lang);
+        }
+
+        @Override
+        public String getLiteral() {
+            return value;
+        }
+
+        @Override
+        public String getLang() {
+            return lang;
+        }
+
+        @Override
+        public boolean hasLang() {
+            return !lang.isEmpty();
+        }
+
+        @Override
+        public OWLDatatype getDatatype() {
+            return lang.isEmpty() ? InternalizedEntities.XSD_STRING : InternalizedEntities.RDF_LANG_STRING;
+        }
+
+        @Override
+        protected int valueHashCode() {
+            return value.hashCode();
+        }
+
+        @Override
+        protected boolean sameValue(Primitive other) {
+            StringImpl that = (StringImpl) other;
+            return value.equals(that.value) && lang.equals(that.lang);
+        }
+    }
 }
@@ -25,6 +25,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -60,6 +62,8 @@ public class GraphTransformers implements Serializable {
     protected Map<String, Transform> set = new LinkedHashMap<>();
     // by default any graph is allowed to be transformed:
     protected GraphFilter filter = GraphFilter.TRUE;
+    // by default the sub-graphs are processed sequentially:
+    protected int parallelism = 1;
 
     /**
      * Sets the global (system-wide) transformation manager.
@@ -110,13 +114,14 @@ public class GraphTransformers implements Serializable {
     }
 
     /**
-     * Creates an empty transformation manager with the only filter copied.
+     * Creates an empty transformation manager with the only filter and parallelism copied.
      *
      * @return new instance
      */
     protected GraphTransformers empty() {
         GraphTransformers res = new GraphTransformers();
         res.filter = this.filter;
+        res.parallelism = this.parallelism;
         return res;
     }
 
@@ -270,6 +275,36 @@ public class GraphTransformers implements Serializable {
         return filter;
     }
 
+    /**
+     * Creates a copy of this {@link GraphTransformers Store} with a new parallelism level.
+     * If it is greater than {@code 1}, the independent sub-graphs of a {@link UnionGraph} hierarchy
+     * (e.g. sibling imports) are transformed concurrently,
+     * while any graph is processed only after all its sub-graphs are done.
+     *
+     * @param parallelism int, the maximum number of threads, a positive number
+     * @return a copy of this {@link GraphTransformers manager} with new parallelism
+     * @throws IllegalArgumentException if the parallelism is not positive
+     * @since 2.0.1
+     */
+    public GraphTransformers setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Wrong parallelism: " + parallelism);
+        }
+        GraphTransformers res = copy();
+        res.parallelism = parallelism;
+        return res;
+    }
+
+    /**
+     * Returns the maximum number of threads to transform the sub-graphs of a {@link UnionGraph} hierarchy.
+     *
+     * @return int, {@code 1} means the sequential processing
+     * @since 2.0.1
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
     /**
      * Performs all graph transformations operations.
      *
@@ -292,6 +327,9 @@ public class GraphTransformers implements Serializable {
      * @throws TransformException if something is wrong
      */
     public GraphStats transform(Graph graph, Set<Graph> skip) throws TransformException {
+        if (parallelism > 1 && Graphs.subGraphs(graph).findFirst().isPresent()) {
+            return transformInParallel(graph, skip);
+        }
         List<Graph> children = Graphs.toUnion(graph).getUnderlying().listGraphs().toList();
         Graph base = Graphs.getBase(graph);
         GraphStats res = new GraphStats(base);
@@ -302,12 +340,26 @@ public class GraphTransformers implements Serializable {
                 throw t.putParent(graph);
             }
         }
+        transform(graph, base, skip, res);
+        return res;
+    }
+
+    /**
+     * Performs all transformations on the given graph, without its sub-graphs.
+     *
+     * @param graph {@link Graph} to perform operations on, in most cases it is {@link UnionGraph}
+     * @param base  {@link Graph} the base graph to modify
+     * @param skip  a {@code Set} of {@link Graph}s to exclude from transformations
+     * @param res   {@link GraphStats} to put the results in
+     * @throws TransformException if something is wrong
+     */
+    protected void transform(Graph graph, Graph base, Set<Graph> skip, GraphStats res) throws TransformException {
         if (skip.contains(base)) {
-            return res;
+            return;
         }
         if (!getFilter().test(graph)) {
             skip.add(base);
-            return res;
+            return;
         }
         transforms()
                 .filter(x -> x.test(graph))
@@ -333,9 +385,133 @@ public class GraphTransformers implements Serializable {
 
                 });
         skip.add(base);
+    }
+
+    /**
+     * Performs all graph transformations operations on the whole {@link UnionGraph} hierarchy
+     * using a pool of {@link #getParallelism()} threads.
+     * The hierarchy is considered as a DAG of base graphs:
+     * each base graph is processed once, and only after all its sub-graphs are processed,
+     * so the leaves and any independent branches are transformed concurrently.
+     * Each {@link GraphStats} object is filled by the only thread that processes the corresponding graph,
+     * the stats of sub-graphs are attached to the parent stats after the sub-graphs are complete.
+     * Recursive imports are cut off.
+     *
+     * @param graph {@link Graph}, the root of the hierarchy
+     * @param skip  a modifiable {@code Set} of {@link Graph}s to exclude from transformations
+     * @return {@link GraphStats} a container with result
+     * @throws TransformException if something is wrong
+     * @since 2.0.1
+     */
+    protected GraphStats transformInParallel(Graph graph, Set<Graph> skip) throws TransformException {
+        List<Task> tasks = new ArrayList<>();
+        Task root = collectTasks(graph, new IdentityHashMap<>(), tasks, Collections.newSetFromMap(new IdentityHashMap<>()));
+        Set<Graph> done = ConcurrentHashMap.newKeySet();
+        done.addAll(skip);
+        ExecutorService executor = createExecutor(Math.min(parallelism, tasks.size()));
+        try {
+            // the tasks are in post-order, so the sub-graph futures are always ready:
+            for (Task task : tasks) {
+                task.future = CompletableFuture.allOf(task.children.stream()
+                        .map(x -> x.future).toArray(CompletableFuture[]::new))
+                        .thenRunAsync(() -> {
+                            task.children.forEach(x -> task.stats.putStats(x.stats));
+                            try {
+                                transform(task.graph, task.base, done, task.stats);
+                            } catch (StoreException e) {
+                                // the same parents as in the sequential mode, the last one is the root:
+                                for (Task p = task.parent; p != null; p = p.parent) {
+                                    e.putParent(p.graph);
+                                }
+                                throw e;
+                            }
+                        }, executor);
+            }
+            root.future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TransformException) {
+                throw (TransformException) cause;
+            }
+            throw new TransformException(cause);
+        } finally {
+            // a failed task does not stop its independent siblings,
+            // so wait for all the started tasks before the exception is exposed to the caller:
+            awaitAll(tasks);
+            executor.shutdown();
+            skip.addAll(done);
+        }
+        return root.stats;
+    }
+
+    /**
+     * Waits until all the given tasks are complete, normally or exceptionally.
+     *
+     * @param tasks {@code List} of {@link Task}s
+     */
+    private static void awaitAll(List<Task> tasks) {
+        CompletableFuture.allOf(tasks.stream()
+                .map(x -> x.future)
+                .filter(Objects::nonNull)
+                .toArray(CompletableFuture[]::new))
+                .handle((x, e) -> null)
+                .join();
+    }
+
+    /**
+     * Recursively collects the tasks for the whole hierarchy in post-order.
+     * Also warms up the lazy caches of {@link UnionGraph}s, since they are not designed for concurrent initialization.
+     *
+     * @param graph {@link Graph}
+     * @param seen  {@code Map} of already collected tasks, the keys are base graphs
+     * @param tasks {@code List} to collect
+     * @param path  {@code Set} of base graphs, the current path from the root, to control recursion
+     * @return {@link Task} or {@code null} in case of recursion
+     */
+    private static Task collectTasks(Graph graph, Map<Graph, Task> seen, List<Task> tasks, Set<Graph> path) {
+        Graph base = Graphs.getBase(graph);
+        Task res = seen.get(base);
+        if (res != null || !path.add(base)) {
+            return res;
+        }
+        if (graph instanceof UnionGraph) {
+            ((UnionGraph) graph).listBaseGraphs().close();
+        }
+        List<Task> children = new ArrayList<>();
+        for (Graph g : Graphs.toUnion(graph).getUnderlying().listGraphs().toList()) {
+            Task child = collectTasks(g, seen, tasks, path);
+            if (child != null) {
+                children.add(child);
+            }
+        }
+        path.remove(base);
+        res = new Task(graph, base, children);
+        for (Task child : children) {
+            if (child.parent == null) { // the first parent in the depth-first order, as in the sequential mode
+                child.parent = res;
+            }
+        }
+        seen.put(base, res);
+        tasks.add(res);
         return res;
     }
 
+    /**
+     * Creates an executor to transform graphs.
+     *
+     * @param threads int, the number of threads
+     * @return {@link ExecutorService}
+     * @since 2.0.1
+     */
+    protected ExecutorService createExecutor(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread res = new Thread(r, "ont-api-transforms-" + count.incrementAndGet());
+            res.setDaemon(true);
+            return res;
+        });
+    }
+
     protected TransformListener createTrackListener() {
         return new TransformListener();
     }
@@ -344,12 +520,32 @@ public class GraphTransformers implements Serializable {
     public boolean equals(Object o) {
         return this == o || o instanceof GraphTransformers
                 && set.equals(((GraphTransformers) o).set)
-                && filter.equals(((GraphTransformers) o).filter);
+                && filter.equals(((GraphTransformers) o).filter)
+                && parallelism == ((GraphTransformers) o).parallelism;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(set, filter);
+        return Objects.hash(set, filter, parallelism);
+    }
+
+    /**
+     * A node of the graph hierarchy to be transformed in parallel mode.
+     */
+    private static class Task {
+        private final Graph graph;
+        private final Graph base;
+        private final List<Task> children;
+        private final GraphStats stats;
+        private Task parent;
+        private CompletableFuture<Void> future;
+
+        private Task(Graph graph, Graph base, List<Task> children) {
+            this.graph = graph;
+            this.base = base;
+            this.children = children;
+            this.stats = new GraphStats(base);
+        }
     }
 
     /**
@@ -15,6 +15,7 @@
 package com.github.owlcs.ontapi.tests;
 
 import com.github.owlcs.ontapi.*;
+import com.github.owlcs.ontapi.jena.StampedReadWriteLock;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -45,7 +46,7 @@ public class OntManagersTest {
 
     @Parameterized.Parameters(name = "{0}")
     public static List<TestProfile> getData() {
-        return Arrays.asList(new ONTStandard(), new ONTConcurrent(), new OWLStandard(), new OWLConcurrent());
+        return Arrays.asList(new ONTStandard(), new ONTConcurrent(), new ONTOptimistic(), new OWLStandard(), new OWLConcurrent());
     }
 
     @Test
@@ -265,6 +266,16 @@ public class OntManagersTest {
         }
     }
 
+    private static class ONTOptimistic extends ONTConcurrent {
+        @Override
+        public OWLOntologyManager createManager() {
+            OntologyManager res = OntManagers.createOptimisticConcurrentONT();
+            Assert.assertTrue(getField(ReadWriteLock.class, "lock", getManagerImplType(), res)
+                    instanceof StampedReadWriteLock);
+            return res;
+        }
+    }
+
     private static class OWLStandard extends OWLProfile {
 
         @Override
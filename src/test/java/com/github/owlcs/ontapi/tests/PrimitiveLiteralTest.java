@@ -0,0 +1,140 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2019, The University of Manchester, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.tests;
+
+import com.github.owlcs.ontapi.DataFactory;
+import com.github.owlcs.ontapi.OntManagers;
+import com.github.owlcs.ontapi.owlapi.objects.OWLLiteralImpl;
+import org.apache.jena.graph.impl.LiteralLabel;
+import org.junit.Assert;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLLiteral;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Tests the compact {@link OWLLiteralImpl.Primitive primitive-based} literals:
+ * they must be indistinguishable from the label-based literals.
+ * <p>
+ * Created by @ssz on 27.05.2020.
+ */
+public class PrimitiveLiteralTest {
+    private static final DataFactory ONT_DATA_FACTORY = OntManagers.getDataFactory();
+    private static final OWLDataFactory OWL_DATA_FACTORY = OntManagers.createOWLProfile().dataFactory();
+
+    private static void testLiteral(OWLLiteral test, Function<OWLDataFactory, OWLLiteral> factory) throws Exception {
+        testLiteral(test, factory, true);
+    }
+
+    private static void testLiteral(OWLLiteral test,
+                                    Function<OWLDataFactory, OWLLiteral> factory,
+                                    boolean compareWithOWLAPI) throws Exception {
+        Assert.assertTrue(test instanceof OWLLiteralImpl.Primitive);
+        LiteralLabel label = ((OWLLiteralImpl) test).getLiteralLabel();
+        OWLLiteral fromLabel = OWLLiteralImpl.newLiteral(label);
+        Assert.assertFalse(fromLabel instanceof OWLLiteralImpl.Primitive);
+        List<OWLLiteral> samples = new ArrayList<>(Collections.singletonList(fromLabel));
+        if (compareWithOWLAPI) {
+            samples.add(factory.apply(OWL_DATA_FACTORY));
+        }
+        for (OWLLiteral sample : samples) {
+            Assert.assertEquals(sample, test);
+            Assert.assertEquals(test, sample);
+            Assert.assertEquals(sample.hashCode(), test.hashCode());
+            Assert.assertEquals(sample.getLiteral(), test.getLiteral());
+            Assert.assertEquals(sample.getLang(), test.getLang());
+            Assert.assertEquals(sample.getDatatype(), test.getDatatype());
+            Assert.assertEquals(0, sample.compareTo(test));
+        }
+        Assert.assertEquals(((OWLLiteralImpl) fromLabel).asNode(), ((OWLLiteralImpl) test).asNode());
+        Assert.assertEquals(test, factory.apply(ONT_DATA_FACTORY));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream stream = new ObjectOutputStream(out)) {
+            stream.writeObject(test);
+        }
+        try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            OWLLiteral res = (OWLLiteral) stream.readObject();
+            Assert.assertEquals(test.getClass(), res.getClass());
+            Assert.assertEquals(test, res);
+            Assert.assertEquals(test.hashCode(), res.hashCode());
+        }
+    }
+
+    @Test
+    public void testIntegerLiterals() throws Exception {
+        for (int i : new int[]{0, 1, -1, 42, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+            OWLLiteral res = ONT_DATA_FACTORY.getOWLLiteral(i);
+            testLiteral(res, f -> f.getOWLLiteral(i));
+            Assert.assertEquals(i, res.parseInteger());
+        }
+        OWLDatatype xsdInteger = ONT_DATA_FACTORY.getIntegerOWLDatatype();
+        for (String s : new String[]{"123", "-7"}) {
+            testLiteral(ONT_DATA_FACTORY.getOWLLiteral(s, xsdInteger),
+                    f -> f.getOWLLiteral(s, f.getIntegerOWLDatatype()));
+        }
+        // OWL-API calculates a hash-code for a long integer from its lexical form, ONT-API - from its value:
+        for (String s : new String[]{"9999999999", "-9223372036854775808"}) {
+            testLiteral(ONT_DATA_FACTORY.getOWLLiteral(s, xsdInteger),
+                    f -> f.getOWLLiteral(s, f.getIntegerOWLDatatype()), false);
+        }
+        // the lexical forms must be kept as is:
+        for (String s : new String[]{"0123", "99999999999999999999", "+9999999999", "abc"}) {
+            OWLLiteral res = ONT_DATA_FACTORY.getOWLLiteral(s, xsdInteger);
+            Assert.assertFalse(res instanceof OWLLiteralImpl.Primitive);
+            Assert.assertEquals(s, res.getLiteral());
+        }
+    }
+
+    @Test
+    public void testDoubleLiterals() throws Exception {
+        for (double d : new double[]{0, -0.0, 1, 1e-7, -42.5, Double.MAX_VALUE, Double.NaN}) {
+            OWLLiteral res = ONT_DATA_FACTORY.getOWLLiteral(d);
+            testLiteral(res, f -> f.getOWLLiteral(d));
+            Assert.assertEquals(d, res.parseDouble(), 0);
+        }
+    }
+
+    @Test
+    public void testBooleanLiterals() throws Exception {
+        for (boolean b : new boolean[]{true, false}) {
+            OWLLiteral res = ONT_DATA_FACTORY.getOWLLiteral(b);
+            testLiteral(res, f -> f.getOWLLiteral(b));
+            Assert.assertEquals(b, res.parseBoolean());
+        }
+    }
+
+    @Test
+    public void testStringLiterals() throws Exception {
+        List<String> strings = Arrays.asList("", "x", "Some text", "text@with@at");
+        for (String s : strings) {
+            testLiteral(ONT_DATA_FACTORY.getOWLLiteral(s), f -> f.getOWLLiteral(s));
+            testLiteral(ONT_DATA_FACTORY.getOWLLiteral(s, "en"), f -> f.getOWLLiteral(s, "en"));
+            testLiteral(ONT_DATA_FACTORY.getOWLLiteral(s, " EN-gb "), f -> f.getOWLLiteral(s, " EN-gb "));
+            testLiteral(ONT_DATA_FACTORY.getOWLLiteral(s + "@ru", ONT_DATA_FACTORY.getRDFPlainLiteral()),
+                    f -> f.getOWLLiteral(s + "@ru", f.getRDFPlainLiteral()));
+        }
+    }
+}
@@ -17,24 +17,41 @@ package com.github.owlcs.ontapi.tests.internal;
 import com.github.owlcs.ontapi.BaseModel;
 import com.github.owlcs.ontapi.OntFormat;
 import com.github.owlcs.ontapi.OntManagers;
+import com.github.owlcs.ontapi.Ontology;
+import com.github.owlcs.ontapi.OntologyManager;
+import com.github.owlcs.ontapi.config.CacheSettings;
 import com.github.owlcs.ontapi.internal.AxiomParserProvider;
+import com.github.owlcs.ontapi.internal.InternalConfig;
 import com.github.owlcs.ontapi.internal.InternalModel;
 import com.github.owlcs.ontapi.internal.ONTObject;
+import com.github.owlcs.ontapi.internal.OWLComponentType;
+import com.github.owlcs.ontapi.internal.SearchPlanner;
+import com.github.owlcs.ontapi.internal.objects.ONTAxiomImpl;
+import com.github.owlcs.ontapi.internal.objects.ONTExpressionImpl;
+import com.github.owlcs.ontapi.internal.objects.ONTStatementImpl;
 import com.github.owlcs.ontapi.jena.OntModelFactory;
 import com.github.owlcs.ontapi.jena.impl.conf.OntModelConfig;
 import com.github.owlcs.ontapi.jena.impl.conf.OntPersonality;
+import com.github.owlcs.ontapi.jena.model.OntClass;
+import com.github.owlcs.ontapi.jena.model.OntIndividual;
 import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.model.OntObjectProperty;
 import com.github.owlcs.ontapi.jena.vocabulary.OWL;
 import com.github.owlcs.ontapi.jena.vocabulary.RDF;
 import com.github.owlcs.ontapi.transforms.GraphTransformers;
 import com.github.owlcs.ontapi.utils.ReadWriteUtils;
 import com.github.owlcs.ontapi.utils.TestUtils;
 import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphUtil;
 import org.apache.jena.graph.Triple;
+import org.apache.jena.mem.GraphMem;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.WrappedIterator;
 import org.apache.jena.vocabulary.RDFS;
 import org.hamcrest.core.IsEqual;
 import org.junit.Assert;
@@ -43,11 +60,20 @@ import org.semanticweb.owlapi.model.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Field;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static com.github.owlcs.ontapi.utils.ReadWriteUtils.*;
@@ -59,6 +85,7 @@ import static com.github.owlcs.ontapi.utils.ReadWriteUtils.*;
  */
 public class InternalModelTest {
     private static final Logger LOGGER = LoggerFactory.getLogger(InternalModelTest.class);
+    private static final long EXPECTED_FINGERPRINT = 1769986528589627030L;
 
     @Test
     public void testSimpleAxiomTranslator() {
@@ -135,6 +162,434 @@ public class InternalModelTest {
         Assert.assertEquals("Incorrect annotations count", 4, annotations.size());
     }
 
+    @Test
+    public void testDirectSimpleTriplesUpdateCacheIncrementally() {
+        String ns = "http://www.co-ode.org/ontologies/pizza/pizza.owl#";
+        InternalModel model = BaseModel.createInternalModel(loadResourceTTLFile("ontapi/pizza.ttl").getGraph());
+        model.forceLoad();
+        OWLAxiom subClassOf = model.listOWLAxioms(AxiomType.SUBCLASS_OF).findFirst().orElseThrow(AssertionError::new);
+        long count = model.getOWLAxiomCount();
+
+        Resource america = model.getResource(ns + "America");
+        Resource italy = model.getResource(ns + "Italy");
+        Statement label = model.createStatement(america, RDFS.label, "America");
+        Statement assertion = model.createStatement(america, model.getProperty(ns + "hasCountryOfOrigin"), italy);
+        Statement header = model.createStatement(model.getID(), RDFS.comment, "x");
+
+        LOGGER.debug("Add simple triples.");
+        model.add(label).add(assertion).add(header);
+        Assert.assertEquals(count + 2, model.getOWLAxiomCount());
+        assertSameContent(model);
+        Assert.assertSame(subClassOf, model.listOWLAxioms(AxiomType.SUBCLASS_OF)
+                .filter(subClassOf::equals).findFirst().orElseThrow(AssertionError::new));
+
+        LOGGER.debug("Remove simple triples.");
+        model.remove(label).remove(assertion).remove(header);
+        Assert.assertEquals(count, model.getOWLAxiomCount());
+        assertSameContent(model);
+        Assert.assertSame(subClassOf, model.listOWLAxioms(AxiomType.SUBCLASS_OF)
+                .filter(subClassOf::equals).findFirst().orElseThrow(AssertionError::new));
+
+        LOGGER.debug("Add a declaration.");
+        model.add(model.getResource(ns + "X"), RDF.type, OWL.Class);
+        Assert.assertEquals(count + 1, model.getOWLAxiomCount());
+        assertSameContent(model);
+        Assert.assertNotSame(subClassOf, model.listOWLAxioms(AxiomType.SUBCLASS_OF)
+                .filter(subClassOf::equals).findFirst().orElseThrow(AssertionError::new));
+    }
+
+    @Test
+    public void testForceLoadInOnePass() {
+        Stream.of("ontapi/pizza.ttl", "ontapi/family.ttl", "ontapi/wine.ttl", "ontapi/test-annotations-1.ttl")
+                .forEach(file -> testForceLoadInOnePass(file, OntFormat.TURTLE));
+        Stream.of("ontapi/goodrelations.rdf", "ontapi/foaf.rdf", "ontapi/swrl.owl.rdf")
+                .forEach(file -> testForceLoadInOnePass(file, OntFormat.RDF_XML));
+    }
+
+    private void testForceLoadInOnePass(String file, OntFormat format) {
+        LOGGER.debug("Test {}", file);
+        InternalModel actual = loadInternalModel(file, format);
+        actual.forceLoad();
+        InternalModel expected = BaseModel.createInternalModel(actual.getBaseGraph());
+        AxiomType.AXIOM_TYPES.forEach(type -> Assert.assertEquals("Wrong " + type + " for " + file,
+                expected.listOWLAxioms(type).collect(Collectors.toSet()),
+                actual.listOWLAxioms(type).collect(Collectors.toSet())));
+        Assert.assertEquals(expected.getOWLAxiomCount(), actual.getOWLAxiomCount());
+    }
+
+    @Test
+    public void testCacheSnapshot() throws Exception {
+        testCacheSnapshot("ontapi/pizza.ttl", OntFormat.TURTLE);
+        testCacheSnapshot("ontapi/family.ttl", OntFormat.TURTLE);
+        testCacheSnapshot("ontapi/goodrelations.rdf", OntFormat.RDF_XML);
+        testCacheSnapshot("ontapi/swrl.owl.rdf", OntFormat.RDF_XML);
+    }
+
+    private void testCacheSnapshot(String file, OntFormat format) throws Exception {
+        Path snapshot = Files.createTempFile(getClass().getName() + ".", ".snapshot");
+        try {
+            LOGGER.debug("Write snapshot for {} to {}", file, snapshot);
+            loadInternalModel(file, format).writeCacheSnapshot(snapshot, "test");
+
+            // blank nodes have different labels in the new model:
+            InternalModel actual = loadInternalModel(file, format);
+            Assert.assertFalse(actual.readCacheSnapshot(snapshot, "another"));
+            Assert.assertTrue(actual.readCacheSnapshot(snapshot, "test"));
+            InternalModel expected = BaseModel.createInternalModel(actual.getBaseGraph());
+            AxiomType.AXIOM_TYPES.forEach(type -> Assert.assertEquals("Wrong " + type + " for " + file,
+                    expected.listOWLAxioms(type).collect(Collectors.toSet()),
+                    actual.listOWLAxioms(type).collect(Collectors.toSet())));
+
+            InternalModel changed = loadInternalModel(file, format);
+            changed.createOntClass("http://test#X");
+            Assert.assertFalse(changed.readCacheSnapshot(snapshot, "test"));
+        } finally {
+            Files.deleteIfExists(snapshot);
+        }
+    }
+
+    @Test
+    public void testReferencingAxiomsSearchPlanner() {
+        String ns = "http://test#";
+        InternalModel model = BaseModel.createInternalModel(OntModelFactory.createDefaultGraph());
+        OntClass hub = model.createOntClass(ns + "Hub");
+        OntClass rare = model.createOntClass(ns + "Rare");
+        for (int i = 0; i < 5000; i++) {
+            model.createOntClass(ns + "C" + i).addSuperClass(hub);
+        }
+        rare.addSuperClass(model.createOntClass(ns + "C0"));
+        model.forceLoad();
+
+        OWLDataFactory df = OntManagers.getDataFactory();
+        OWLClass h = df.getOWLClass(hub.getURI());
+        OWLClass r = df.getOWLClass(rare.getURI());
+        SearchPlanner planner = model.getSearchPlanner();
+        long containers = model.getOWLAxiomCount();
+        Assert.assertEquals(-1, planner.choose(OWLComponentType.CLASS, hub.asNode(), model.getBaseGraph(), containers));
+        Assert.assertEquals(2, planner.choose(OWLComponentType.CLASS, rare.asNode(), model.getBaseGraph(), containers));
+
+        Assert.assertEquals(5001, model.listOWLAxioms(h).count());
+        Assert.assertEquals(2, model.listOWLAxioms(r).count());
+
+        planner.setAdaptive(true);
+        // the graph triple is much cheaper than cache inspection:
+        planner.record(OWLComponentType.CLASS, true, 1, 1);
+        planner.record(OWLComponentType.CLASS, false, 1, 10);
+        Assert.assertEquals(5001, planner.choose(OWLComponentType.CLASS, hub.asNode(), model.getBaseGraph(), containers));
+        Assert.assertEquals(5001, model.listOWLAxioms(h).count());
+        Assert.assertEquals(2, model.listOWLAxioms(r).count());
+    }
+
+    @Test
+    public void testConcurrentStreamsAreSnapshotIsolated() {
+        testConcurrentStreamsAreSnapshotIsolated(OntManagers.createConcurrentONT());
+        // without the iterator cache the keys are taken from the ConcurrentHashMap:
+        OntologyManager m = OntManagers.createConcurrentONT();
+        m.getOntologyConfigurator().setModelCacheLevel(CacheSettings.CACHE_CONTENT | CacheSettings.CACHE_COMPONENT);
+        testConcurrentStreamsAreSnapshotIsolated(m);
+    }
+
+    private static void testConcurrentStreamsAreSnapshotIsolated(OntologyManager m) {
+        OWLDataFactory df = OntManagers.getDataFactory();
+        OWLOntology o = m.createOntology();
+        for (int i = 0; i < 100; i++) {
+            o.add(df.getOWLDeclarationAxiom(df.getOWLClass("http://test#C" + i)));
+        }
+        OWLAxiom first = df.getOWLDeclarationAxiom(df.getOWLClass("http://test#C0"));
+        Stream<OWLAxiom> before = o.axioms();
+        Stream<OWLDeclarationAxiom> declarations = o.axioms(AxiomType.DECLARATION);
+        for (int i = 100; i < 200; i++) {
+            o.add(df.getOWLDeclarationAxiom(df.getOWLClass("http://test#C" + i)));
+        }
+        o.remove(first);
+
+        Set<OWLAxiom> actual = before.collect(Collectors.toSet());
+        Assert.assertEquals(100, actual.size());
+        Assert.assertTrue(actual.contains(first));
+        Assert.assertEquals(100, declarations.count());
+        Assert.assertEquals(199, o.axioms().count());
+        Assert.assertFalse(o.containsAxiom(first));
+    }
+
+    @Test
+    public void testCachedAxiomsHaveFingerprints() throws Exception {
+        InternalModel m = loadInternalModel("ontapi/pizza.ttl", OntFormat.TURTLE);
+        m.forceLoad();
+        Field field = ONTStatementImpl.class.getDeclaredField("fingerprint");
+        field.setAccessible(true);
+        List<OWLAxiom> axioms = m.listOWLAxioms().collect(Collectors.toList());
+        Assert.assertEquals(945, axioms.size());
+        for (OWLAxiom a : axioms) {
+            Assert.assertNotEquals("No fingerprint for " + a, 0L, field.getLong(a));
+        }
+    }
+
+    @Test
+    public void testFingerprintsAreStable() {
+        OWLDataFactory df = OntManagers.getDataFactory();
+        OWLAxiom axiom = df.getOWLDatatypeDefinitionAxiom(df.getOWLDatatype("http://test#D"),
+                df.getOWLDatatypeMinMaxInclusiveRestriction(1, 10));
+        // the expected value must not depend on the JVM run (e.g. the enum hash codes):
+        Assert.assertEquals(EXPECTED_FINGERPRINT, ONTStatementImpl.fingerprint(axiom));
+        Ontology o = OntManagers.createONT().createOntology();
+        o.add(axiom);
+        ((BaseModel) o).getBase().clearCache();
+        OWLAxiom res = o.axioms(AxiomType.DATATYPE_DEFINITION).findFirst().orElseThrow(AssertionError::new);
+        Assert.assertEquals(EXPECTED_FINGERPRINT, ((ONTStatementImpl) res).fingerprint());
+    }
+
+    @Test
+    public void testSplittableStreams() {
+        InternalModel model = loadInternalModel("ontapi/pizza.ttl", OntFormat.TURTLE);
+        Set<OWLAxiom> expected = model.listOWLAxioms().collect(Collectors.toSet());
+        Set<OWLEntity> signature = model.listOWLEntities().collect(Collectors.toSet());
+        model.forceLoad();
+
+        Spliterator<OWLAxiom> axioms = model.listOWLAxioms().spliterator();
+        Assert.assertTrue(axioms.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        Assert.assertEquals(expected.size(), axioms.getExactSizeIfKnown());
+        Assert.assertNotNull(axioms.trySplit());
+
+        Assert.assertEquals(expected, model.listOWLAxioms().parallel().collect(Collectors.toSet()));
+        Assert.assertEquals(expected.size(), model.listOWLAxioms().parallel().count());
+        Assert.assertEquals(signature, model.listOWLEntities().parallel().collect(Collectors.toSet()));
+        Assert.assertEquals(model.listOWLAxioms(AxiomType.SUBCLASS_OF).collect(Collectors.toSet()),
+                model.listOWLAxioms(AxiomType.SUBCLASS_OF).parallel().collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testSplittableStreamsCloseGraphIterators() {
+        AtomicInteger open = new AtomicInteger();
+        Graph g = new GraphMem() {
+            @Override
+            public ExtendedIterator<Triple> graphBaseFind(Triple t) {
+                open.incrementAndGet();
+                return new WrappedIterator<Triple>(super.graphBaseFind(t), true) {
+                    private boolean closed;
+
+                    @Override
+                    public void close() {
+                        if (!closed) {
+                            closed = true;
+                            open.decrementAndGet();
+                        }
+                        super.close();
+                    }
+                };
+            }
+        };
+        GraphUtil.addInto(g, loadInternalModel("ontapi/pizza.ttl", OntFormat.TURTLE).getBaseGraph());
+        OntologyManager m = OntManagers.createONT();
+        m.getOntologyConfigurator().setModelCacheLevel(CacheSettings.CACHE_CONTENT);
+        Ontology o = m.addOntology(g);
+        Set<OWLEntity> expected = o.signature().collect(Collectors.toSet());
+        ((BaseModel) o).getBase().forceLoad();
+
+        open.set(0);
+        Assert.assertEquals(expected, o.signature().collect(Collectors.toSet()));
+        Assert.assertEquals(0, open.get());
+        try (Stream<OWLEntity> signature = o.signature()) {
+            Assert.assertTrue(signature.findFirst().isPresent());
+        }
+        Assert.assertEquals(0, open.get());
+        try (Stream<OWLEntity> signature = o.signature()) {
+            Assert.assertEquals(3, signature.limit(3).count());
+        }
+        Assert.assertEquals(0, open.get());
+
+        Spliterator<OWLEntity> entities = ((BaseModel) o).getBase().listOWLEntities().spliterator();
+        Assert.assertTrue(entities.hasCharacteristics(Spliterator.ORDERED));
+        Assert.assertEquals(0, open.get());
+    }
+
+    @Test
+    public void testSplitPartOfConcatStreamKeepsSourceOpen() {
+        ConcatModel m = new ConcatModel();
+        List<Integer> data = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        AtomicBoolean closed = new AtomicBoolean();
+        AtomicInteger opened = new AtomicInteger();
+        Function<String, Stream<? extends Integer>> open = x -> {
+            opened.incrementAndGet();
+            return data.stream().onClose(() -> closed.set(true));
+        };
+        Spliterator<Integer> suffix = m.concat(Stream.of("a"), open, true).spliterator();
+        Assert.assertFalse(suffix.hasCharacteristics(Spliterator.IMMUTABLE));
+        Spliterator<Integer> prefix = suffix.trySplit();
+        Assert.assertNotNull(prefix);
+        List<Integer> actual = new ArrayList<>();
+        suffix.forEachRemaining(actual::add);
+        // the prefix still depends on the source, so it must not be closed yet:
+        Assert.assertFalse(closed.get());
+        List<Integer> head = new ArrayList<>();
+        prefix.forEachRemaining(head::add);
+        Assert.assertTrue(closed.get());
+        head.addAll(actual);
+        Assert.assertEquals(data, head);
+
+        // lazy mode: the sources are pulled on demand
+        opened.set(0);
+        closed.set(false);
+        Stream<Integer> lazy = m.concat(Stream.of("a", "b", "c").peek(x -> opened.incrementAndGet()), open, false);
+        Assert.assertEquals(0, opened.get());
+        Assert.assertTrue(lazy.spliterator().hasCharacteristics(Spliterator.ORDERED));
+        Assert.assertEquals(0, opened.get());
+        Assert.assertEquals(Integer.valueOf(0), m.concat(Stream.of("a", "b", "c")
+                .peek(x -> opened.incrementAndGet()), open, false).findFirst().orElseThrow(AssertionError::new));
+        Assert.assertEquals(2, opened.get());
+
+        List<Integer> expected = Stream.of(data, data, data).flatMap(List::stream).collect(Collectors.toList());
+        Assert.assertEquals(expected, m.concat(Stream.of("a", "b", "c"), x -> data.stream(), false)
+                .parallel().collect(Collectors.toList()));
+        Assert.assertEquals(expected, m.concat(Stream.of("a", "b", "c"), x -> data.stream(), true)
+                .parallel().collect(Collectors.toList()));
+    }
+
+    /**
+     * Exposes the splittable flat-map to test.
+     */
+    private static class ConcatModel extends InternalModel {
+        private ConcatModel() {
+            super(OntModelFactory.createDefaultGraph(), OntModelConfig.getPersonality(), InternalConfig.DEFAULT,
+                    OntManagers.getDataFactory(), null);
+        }
+
+        private <X, R> Stream<R> concat(Stream<X> sources, Function<X, Stream<? extends R>> map, boolean eager) {
+            return flatMap(sources, map, eager);
+        }
+    }
+
+    @Test
+    public void testIncrementalComponentsCache() {
+        OWLDataFactory df = OntManagers.getDataFactory();
+        Ontology o = OntManagers.createONT().addOntology(loadInternalModel("ontapi/pizza.ttl", OntFormat.TURTLE).getGraph());
+        InternalModel model = ((BaseModel) o).getBase();
+        assertSignature(o);
+        List<OWLAxiom> axioms = o.axioms().collect(Collectors.toList());
+        o.remove(axioms.get(0));
+        assertSignature(o);
+        long misses = model.getCacheStats().total("components:").missCount();
+
+        for (int i = 1; i < axioms.size(); i += 7) {
+            o.remove(axioms.get(i));
+            assertSignature(o);
+        }
+        o.remove(o.axioms(AxiomType.DECLARATION).limit(5).collect(Collectors.toList()));
+        assertSignature(o);
+        o.add(df.getOWLSubClassOfAxiom(df.getOWLClass("http://test#A"),
+                df.getOWLObjectSomeValuesFrom(df.getOWLObjectProperty("http://test#p"), df.getOWLClass("http://test#B"))));
+        assertSignature(o);
+        o.remove(o.axioms().collect(Collectors.toList()));
+        assertSignature(o);
+        Assert.assertEquals(misses, model.getCacheStats().total("components:").missCount());
+    }
+
+    @Test
+    public void testStructurallyEqualExpressionsShareContent() {
+        Ontology o = OntManagers.createONT().createOntology();
+        OntModel m = o.asGraphModel();
+        OntObjectProperty.Named p = m.createObjectProperty("http://test#p");
+        OntClass.Named b = m.createOntClass("http://test#B");
+        m.createOntClass("http://test#A1").addSuperClass(m.createObjectSomeValuesFrom(p, b));
+        m.createOntClass("http://test#A2").addSuperClass(m.createObjectSomeValuesFrom(p, b));
+        m.createOntClass("http://test#C1").addSuperClass(m.createObjectSomeValuesFrom(p, m.createObjectComplementOf(b)));
+        m.createOntClass("http://test#C2").addSuperClass(m.createObjectSomeValuesFrom(p, m.createObjectComplementOf(b)));
+        OntIndividual.Anonymous i = b.createIndividual();
+        m.createOntClass("http://test#D1").addSuperClass(m.createObjectHasValue(p, i));
+        m.createOntClass("http://test#D2").addSuperClass(m.createObjectHasValue(p, i));
+
+        List<ONTExpressionImpl<?>> simple = superClasses(o, "http://test#A");
+        Assert.assertEquals(2, simple.size());
+        Assert.assertEquals(simple.get(0), simple.get(1));
+        Assert.assertNotEquals(simple.get(0).asNode(), simple.get(1).asNode());
+        Assert.assertSame(simple.get(0).getContent(), simple.get(1).getContent());
+        Assert.assertNotEquals(simple.get(0).triples().collect(Collectors.toSet()),
+                simple.get(1).triples().collect(Collectors.toSet()));
+
+        // the nested expression is bound to its own b-node, so the content cannot be shared
+        List<ONTExpressionImpl<?>> nested = superClasses(o, "http://test#C");
+        Assert.assertEquals(2, nested.size());
+        Assert.assertEquals(nested.get(0), nested.get(1));
+        Assert.assertNotSame(nested.get(0).getContent(), nested.get(1).getContent());
+        Assert.assertNotEquals(nested.get(0).triples().collect(Collectors.toSet()),
+                nested.get(1).triples().collect(Collectors.toSet()));
+
+        // a blank node id is local to the graph, so such content is not shared as well
+        List<ONTExpressionImpl<?>> anonymous = superClasses(o, "http://test#D");
+        Assert.assertEquals(2, anonymous.size());
+        Assert.assertEquals(anonymous.get(0), anonymous.get(1));
+        Assert.assertNotSame(anonymous.get(0).getContent(), anonymous.get(1).getContent());
+    }
+
+    private static List<ONTExpressionImpl<?>> superClasses(Ontology o, String prefix) {
+        return o.axioms(AxiomType.SUBCLASS_OF)
+                .filter(x -> x.getSubClass().asOWLClass().getIRI().getIRIString().startsWith(prefix))
+                .map(x -> (ONTExpressionImpl<?>) x.getSuperClass())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testAxiomFingerprints() {
+        InternalModel m1 = loadInternalModel("ontapi/pizza.ttl", OntFormat.TURTLE);
+        InternalModel m2 = loadInternalModel("ontapi/pizza.ttl", OntFormat.TURTLE);
+        Map<Long, OWLAxiom> fingerprints = m1.listOWLAxioms()
+                .collect(Collectors.toMap(x -> ((ONTStatementImpl) x).fingerprint(), x -> x));
+        Assert.assertEquals(945, fingerprints.size());
+        m2.listOWLAxioms().forEach(x -> {
+            long fingerprint = ((ONTStatementImpl) x).fingerprint();
+            Assert.assertEquals(x, fingerprints.get(fingerprint));
+            Assert.assertEquals(fingerprint, ONTStatementImpl.fingerprint(((ONTAxiomImpl<?>) x).eraseModel()));
+        });
+    }
+
+    @Test
+    public void testComponentsCacheOnReAddingExistingTriple() {
+        OWLDataFactory df = OntManagers.getDataFactory();
+        Ontology o = OntManagers.createONT().createOntology();
+        OWLAnnotationProperty p = df.getOWLAnnotationProperty("http://test#p");
+        OWLAxiom declaration = df.getOWLDeclarationAxiom(p);
+        OWLAxiom assertion = df.getOWLAnnotationAssertionAxiom(df.getRDFSLabel(),
+                IRI.create("http://test#s"), df.getOWLLiteral("v"));
+        o.add(declaration);
+        o.add(assertion);
+        o.add(df.getOWLDeclarationAxiom(df.getOWLClass("http://test#C")));
+        assertSignature(o);
+        // the first removal initializes the reference counts:
+        o.remove(df.getOWLDeclarationAxiom(df.getOWLClass("http://test#C")));
+        assertSignature(o);
+
+        OntModel m = o.asGraphModel();
+        Statement s = m.listStatements(null, RDFS.label, (RDFNode) null).toList().get(0);
+        // add event for an already existing triple:
+        m.add(s);
+        m.getGraph().add(s.asTriple());
+        assertSignature(o);
+        Assert.assertTrue(o.containsEntityInSignature(df.getRDFSLabel()));
+
+        o.remove(assertion);
+        assertSignature(o);
+        Assert.assertFalse(o.containsEntityInSignature(df.getRDFSLabel()));
+        o.remove(declaration);
+        assertSignature(o);
+        Assert.assertEquals(0, o.signature().count());
+    }
+
+    private static void assertSignature(Ontology o) {
+        Set<OWLEntity> expected = Stream.concat(o.axioms(), o.annotations())
+                .flatMap(HasSignature::signature).collect(Collectors.toSet());
+        Assert.assertEquals(expected, o.signature().collect(Collectors.toSet()));
+        Assert.assertEquals(Stream.concat(o.axioms(), o.annotations())
+                        .flatMap(HasAnonymousIndividuals::anonymousIndividuals).collect(Collectors.toSet()),
+                o.anonymousIndividuals().collect(Collectors.toSet()));
+    }
+
+    private static void assertSameContent(InternalModel model) {
+        InternalModel fresh = BaseModel.createInternalModel(model.getBaseGraph());
+        Assert.assertEquals(fresh.listOWLAxioms().collect(Collectors.toSet()),
+                model.listOWLAxioms().collect(Collectors.toSet()));
+        Assert.assertEquals(fresh.listOWLAnnotations().collect(Collectors.toSet()),
+                model.listOWLAnnotations().collect(Collectors.toSet()));
+    }
+
     @Test
     public void testPizzaEntities() {
         testEntities("ontapi/pizza.ttl", OntFormat.TURTLE);
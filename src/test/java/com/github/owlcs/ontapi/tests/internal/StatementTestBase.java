@@ -14,10 +14,11 @@
 
 package com.github.owlcs.ontapi.tests.internal;
 
-import org.junit.Assert;
-import org.semanticweb.owlapi.model.OWLObject;
+import com.github.owlcs.ontapi.internal.objects.ModelObject;
 import com.github.owlcs.ontapi.internal.objects.ONTStatementImpl;
 import com.github.owlcs.ontapi.internal.objects.WithContent;
+import org.junit.Assert;
+import org.semanticweb.owlapi.model.OWLObject;
 
 /**
  * Created by @ssz on 14.09.2019.
@@ -37,6 +38,14 @@ abstract class StatementTestBase extends ContentTestBase {
         } else {
             Assert.assertFalse(((ONTStatementImpl) test).isAnnotated());
         }
+        testFingerprint(sample, (ONTStatementImpl) test);
+    }
+
+    private static void testFingerprint(OWLObject sample, ONTStatementImpl test) {
+        long expected = ONTStatementImpl.fingerprint(sample);
+        Assert.assertEquals(expected, test.fingerprint());
+        Assert.assertEquals(expected, ONTStatementImpl.fingerprint(test));
+        Assert.assertEquals(expected, ONTStatementImpl.fingerprint(((ModelObject<?>) test).eraseModel()));
     }
 
 }
@@ -0,0 +1,292 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2020, The University of Manchester, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.tests.jena;
+
+import com.github.owlcs.ontapi.*;
+import com.github.owlcs.ontapi.jena.CompactGraph;
+import com.github.owlcs.ontapi.jena.utils.Graphs;
+import com.github.owlcs.ontapi.utils.ReadWriteUtils;
+import org.apache.jena.graph.*;
+import org.apache.jena.mem.GraphMem;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.shared.AddDeniedException;
+import org.apache.jena.shared.DeleteDeniedException;
+import org.apache.jena.sparql.util.graph.GraphListenerBase;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.MissingImportHandlingStrategy;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * To test {@link CompactGraph}: it must behave exactly like the {@link GraphMem} does (except literal typing).
+ * <p>
+ * Created by @ssz on 29.05.2020.
+ */
+@RunWith(Parameterized.class)
+public class CompactGraphTest {
+    private final String file;
+
+    public CompactGraphTest(String file) {
+        this.file = file;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<String> files() {
+        return Arrays.asList("/ontapi/pizza.ttl", "/ontapi/family.ttl", "/ontapi/koala.ttl",
+                "/ontapi/wine.ttl", "/ontapi/goodrelations.rdf", "/ontapi/swrl.owl.rdf", "/ontapi/test1.ttl");
+    }
+
+    private Graph loadGraphMem() {
+        OntFormat f = file.endsWith(".ttl") ? OntFormat.TURTLE : OntFormat.RDF_XML;
+        return ReadWriteUtils.loadResourceAsModel(file, f).getGraph();
+    }
+
+    private static CompactGraph copy(Graph g) {
+        CompactGraph res = new CompactGraph();
+        GraphUtil.addInto(res, g);
+        return res;
+    }
+
+    private static Set<Triple> toSet(ExtendedIterator<Triple> it) {
+        Set<Triple> res = new HashSet<>();
+        int count = 0;
+        while (it.hasNext()) {
+            res.add(it.next());
+            count++;
+        }
+        Assert.assertEquals("Not distinct", res.size(), count);
+        return res;
+    }
+
+    private static void assertSame(Graph expected, Graph actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        Assert.assertEquals(toSet(expected.find()), toSet(actual.find()));
+        Set<Node> subjects = new HashSet<>();
+        Set<Node> predicates = new HashSet<>();
+        Set<Node> objects = new HashSet<>();
+        expected.find().forEachRemaining(t -> {
+            subjects.add(t.getSubject());
+            predicates.add(t.getPredicate());
+            objects.add(t.getObject());
+        });
+        Node any = Node.ANY;
+        for (Node s : subjects) {
+            assertFind(expected, actual, s, any, any);
+        }
+        for (Node p : predicates) {
+            assertFind(expected, actual, any, p, any);
+            for (Node s : subjects) {
+                assertFind(expected, actual, s, p, any);
+            }
+        }
+        for (Node o : objects) {
+            assertFind(expected, actual, any, any, o);
+            for (Node p : predicates) {
+                assertFind(expected, actual, any, p, o);
+            }
+        }
+        expected.find().forEachRemaining(t -> {
+            assertFind(expected, actual, t.getSubject(), any, t.getObject());
+            Assert.assertTrue(actual.contains(t));
+            Assert.assertEquals(Collections.singleton(t), toSet(actual.find(t)));
+        });
+        Node uri = NodeFactory.createURI("http://unknown#x");
+        Assert.assertFalse(actual.find(uri, any, any).hasNext());
+        Assert.assertFalse(actual.contains(any, uri, any));
+    }
+
+    private static void assertFind(Graph expected, Graph actual, Node s, Node p, Node o) {
+        Set<Triple> res = toSet(expected.find(s, p, o));
+        Assert.assertEquals(res, toSet(actual.find(s, p, o)));
+        Assert.assertEquals(!res.isEmpty(), actual.contains(s, p, o));
+    }
+
+    @Test
+    public void testFindAndContains() {
+        Graph g = loadGraphMem();
+        assertSame(g, copy(g));
+    }
+
+    @Test
+    public void testDelete() {
+        Graph expected = loadGraphMem();
+        CompactGraph actual = copy(expected);
+        List<Triple> triples = expected.find().toList();
+        // delete each third triple:
+        for (int i = 0; i < triples.size(); i += 3) {
+            expected.delete(triples.get(i));
+            actual.delete(triples.get(i));
+        }
+        assertSame(expected, actual);
+        // delete through iterator:
+        Node p = triples.get(triples.size() / 2).getPredicate();
+        Iterator<Triple> it = actual.find(Node.ANY, p, Node.ANY);
+        while (it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+        expected.remove(Node.ANY, p, Node.ANY);
+        assertSame(expected, actual);
+        // add back:
+        triples.forEach(t -> {
+            expected.add(t);
+            actual.add(t);
+        });
+        assertSame(expected, actual);
+
+        actual.clear();
+        Assert.assertTrue(actual.isEmpty());
+        Assert.assertFalse(actual.find().hasNext());
+        GraphUtil.addInto(actual, expected);
+        assertSame(expected, actual);
+    }
+
+    @Test
+    public void testHugeBucket() {
+        Graph expected = loadGraphMem();
+        CompactGraph actual = copy(expected);
+        // a lot of rdf:type statements, that are added in random order, go into several sorted runs:
+        List<Triple> triples = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            triples.add(Triple.create(NodeFactory.createURI("http://x#i" + i),
+                    org.apache.jena.vocabulary.RDF.type.asNode(), NodeFactory.createURI("http://x#C" + i % 37)));
+        }
+        Collections.shuffle(triples, new Random(42));
+        triples.forEach(t -> {
+            expected.add(t);
+            actual.add(t);
+        });
+        assertSame(expected, actual);
+        for (int i = 0; i < triples.size(); i += 5) {
+            expected.delete(triples.get(i));
+            actual.delete(triples.get(i));
+        }
+        assertSame(expected, actual);
+        actual.freeze();
+        assertSame(expected, actual);
+    }
+
+    @Test
+    public void testFreeze() {
+        Graph expected = loadGraphMem();
+        CompactGraph actual = copy(expected);
+        Triple t = expected.find().next();
+        actual.delete(t);
+        actual.add(t);
+        Assert.assertSame(actual, actual.freeze());
+        Assert.assertTrue(actual.isFrozen());
+        Assert.assertFalse(actual.getCapabilities().addAllowed());
+        assertSame(expected, actual);
+        // no-op:
+        actual.add(t);
+        actual.delete(Triple.create(t.getSubject(), t.getPredicate(), NodeFactory.createURI("http://unknown#x")));
+        try {
+            actual.delete(t);
+            Assert.fail("Possible to delete");
+        } catch (DeleteDeniedException e) {
+            // expected
+        }
+        try {
+            actual.add(Triple.create(t.getSubject(), t.getPredicate(), NodeFactory.createURI("http://unknown#x")));
+            Assert.fail("Possible to add");
+        } catch (AddDeniedException e) {
+            // expected
+        }
+        assertSame(expected, actual);
+    }
+
+    @Test
+    public void testListenerAndConcurrentModification() {
+        CompactGraph g = copy(loadGraphMem());
+        List<Triple> added = new ArrayList<>();
+        List<Triple> deleted = new ArrayList<>();
+        g.getEventManager().register(new GraphListenerBase() {
+            @Override
+            protected void addEvent(Triple t) {
+                added.add(t);
+            }
+
+            @Override
+            protected void deleteEvent(Triple t) {
+                deleted.add(t);
+            }
+        });
+        Triple t = g.find().next();
+        g.add(t);
+        g.delete(t);
+        Assert.assertEquals(Collections.singletonList(t), added);
+        Assert.assertEquals(Collections.singletonList(t), deleted);
+
+        ExtendedIterator<Triple> it = g.find();
+        it.next();
+        g.add(t);
+        try {
+            it.next();
+            Assert.fail("No ConcurrentModificationException");
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testOntologyWithCompactGraph() throws Exception {
+        IRI iri = IRI.create(ReadWriteUtils.getResourceURI(file));
+        OntologyManager m1 = OntManagers.createONT();
+        OntologyManager m2 = OntManagers.createONT();
+        Stream.of(m1, m2).forEach(m -> m.getOntologyConfigurator()
+                .setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT));
+        m2.getOntologyFactories().set(new OntManagers.ONTAPIProfile()
+                .createOntologyFactory(new OntologyBuilderImpl(CompactGraph::new)));
+        Ontology o1 = m1.loadOntology(iri);
+        Ontology o2 = m2.loadOntology(iri);
+        Assert.assertTrue(Graphs.getBase(o2.asGraphModel().getGraph()) instanceof CompactGraph);
+        Assert.assertEquals(o1.asGraphModel().size(), o2.asGraphModel().size());
+        Assert.assertEquals(o1.getAxiomCount(), o2.getAxiomCount());
+        Assert.assertEquals(axioms(o1), axioms(o2));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream stream = new ObjectOutputStream(out)) {
+            stream.writeObject(m2);
+        }
+        OntologyManager m3;
+        try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            m3 = (OntologyManager) stream.readObject();
+        }
+        Ontology o3 = m3.getOntology(o2.getOntologyID());
+        Assert.assertNotNull(o3);
+        Model base = o3.asGraphModel().getBaseModel();
+        Assert.assertTrue(Graphs.getBase(base.getGraph()) instanceof CompactGraph);
+        Assert.assertEquals(o1.getAxiomCount(), o3.getAxiomCount());
+        Assert.assertEquals(axioms(o1), axioms(o3));
+    }
+
+    private static Set<OWLAxiom> axioms(OWLOntology o) {
+        // anonymous individuals are different for each loading:
+        return o.axioms().filter(x -> !x.anonymousIndividuals().findFirst().isPresent()).collect(Collectors.toSet());
+    }
+}
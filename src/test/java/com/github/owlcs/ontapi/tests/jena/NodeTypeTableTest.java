@@ -0,0 +1,106 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2020, The University of Manchester, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.tests.jena;
+
+import com.github.owlcs.ontapi.OntFormat;
+import com.github.owlcs.ontapi.jena.impl.NodeTypeTable;
+import com.github.owlcs.ontapi.jena.impl.OntGraphModelImpl;
+import com.github.owlcs.ontapi.jena.impl.PersonalityModel;
+import com.github.owlcs.ontapi.jena.impl.conf.OntModelConfig;
+import com.github.owlcs.ontapi.jena.impl.conf.OntPersonality;
+import com.github.owlcs.ontapi.jena.model.*;
+import com.github.owlcs.ontapi.jena.vocabulary.OWL;
+import com.github.owlcs.ontapi.jena.vocabulary.RDF;
+import com.github.owlcs.ontapi.utils.ReadWriteUtils;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * To test {@link NodeTypeTable}: it must give the same answers as the object factories do.
+ * <p>
+ * Created by @ssz on 28.05.2020.
+ */
+@RunWith(Parameterized.class)
+public class NodeTypeTableTest {
+    private static final List<Class<? extends OntObject>> TYPES = Arrays.asList(OntClass.Named.class,
+            OntDataRange.Named.class, OntIndividual.Named.class, OntObjectProperty.Named.class,
+            OntDataProperty.class, OntAnnotationProperty.class, OntEntity.class, OntProperty.class,
+            OntNamedProperty.class, OntRealProperty.class, OntClass.class, OntDataRange.class,
+            OntObjectProperty.class, OntIndividual.class);
+
+    private final String file;
+
+    public NodeTypeTableTest(String file) {
+        this.file = file;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<String> files() {
+        return Arrays.asList("/ontapi/pizza.ttl", "/ontapi/family.ttl", "/ontapi/koala.ttl",
+                "/ontapi/wine.ttl", "/ontapi/goodrelations.rdf", "/ontapi/swrl.owl.rdf", "/ontapi/test1.ttl");
+    }
+
+    private static void testTable(Graph g, OntPersonality p) {
+        OntGraphModelImpl m = new OntGraphModelImpl(g, p);
+        NodeTypeTable table = NodeTypeTable.build(m);
+        Set<Node> nodes = new HashSet<>();
+        g.find().forEachRemaining(t -> {
+            nodes.add(t.getSubject());
+            nodes.add(t.getPredicate());
+            nodes.add(t.getObject());
+        });
+        p.getBuiltins().getClasses().forEach(nodes::add);
+        p.getBuiltins().getObjectProperties().forEach(nodes::add);
+        nodes.removeIf(x -> !x.isURI());
+        int entities = 0;
+        for (Node n : nodes) {
+            for (Class<? extends OntObject> type : TYPES) {
+                boolean expected = PersonalityModel.canAs(type, n, m);
+                Boolean actual = table.canWrap(n, NodeTypeTable.mask(type));
+                Assert.assertEquals("Wrong answer for " + n + " as " + type.getSimpleName(),
+                        expected, actual);
+                if (expected && type == OntEntity.class) entities++;
+            }
+        }
+        // the table also contains all builtins:
+        Assert.assertTrue(entities > 0 && entities <= table.size());
+    }
+
+    @Test
+    public void testTable() {
+        Graph g = ReadWriteUtils.loadResourceAsModel(file, file.endsWith(".ttl") ?
+                OntFormat.TURTLE : OntFormat.RDF_XML).getGraph();
+        // add some punnings:
+        Node x = g.find(Node.ANY, RDF.Nodes.type, OWL.Class.asNode())
+                .filterKeep(t -> t.getSubject().isURI()).next().getSubject();
+        g.add(Triple.create(x, RDF.Nodes.type, OWL.NamedIndividual.asNode()));
+        g.add(Triple.create(x, RDF.Nodes.type, OWL.ObjectProperty.asNode()));
+        g.add(Triple.create(x, RDF.Nodes.type, OWL.DatatypeProperty.asNode()));
+        for (OntPersonality p : Arrays.asList(OntModelConfig.ONT_PERSONALITY_STRICT,
+                OntModelConfig.ONT_PERSONALITY_MEDIUM, OntModelConfig.ONT_PERSONALITY_LAX)) {
+            testTable(g, p);
+        }
+    }
+}
@@ -19,6 +19,7 @@ import com.github.owlcs.ontapi.internal.AxiomParserProvider;
 import com.github.owlcs.ontapi.internal.ONTObject;
 import com.github.owlcs.ontapi.jena.OntModelFactory;
 import com.github.owlcs.ontapi.jena.RWLockedGraph;
+import com.github.owlcs.ontapi.jena.StampedReadWriteLock;
 import com.github.owlcs.ontapi.jena.model.OntClass;
 import com.github.owlcs.ontapi.jena.model.OntModel;
 import com.github.owlcs.ontapi.jena.utils.Iter;
@@ -29,6 +30,8 @@ import org.apache.jena.graph.Factory;
 import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.GraphStatisticsHandler;
 import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.shared.PrefixMapping;
 import org.junit.Assert;
 import org.junit.Test;
@@ -146,6 +149,129 @@ public class RWLockedGraphTest {
         LOGGER.debug("Duration: {}", Duration.between(s, e));
     }
 
+    @Test
+    public void testRaceModifyAndListWithStampedLock() throws Exception {
+        Graph g = loadPizza();
+        RWLockedGraph gg = new RWLockedGraph(g, new StampedReadWriteLock());
+        Assert.assertTrue(gg.isOptimistic());
+        testRace(OntModelFactory.createModel(gg));
+    }
+
+    @Test
+    public void testStampedLockReentrancy() throws Exception {
+        StampedReadWriteLock lock = new StampedReadWriteLock();
+        lock.writeLock().lock();
+        lock.writeLock().lock();
+        lock.readLock().lock();
+        Assert.assertEquals("x", lock.optimisticRead(() -> "x"));
+        lock.readLock().unlock();
+        lock.writeLock().unlock();
+        Assert.assertTrue(lock.isWriteLocked());
+        Future<Boolean> f = Executors.newSingleThreadExecutor().submit(() -> lock.readLock().tryLock());
+        Assert.assertFalse(f.get());
+        lock.writeLock().unlock();
+        Assert.assertFalse(lock.isWriteLocked());
+        Assert.assertEquals("y", lock.optimisticRead(() -> "y"));
+        Assert.assertTrue(lock.writeLock().tryLock());
+        lock.writeLock().unlock();
+    }
+
+    @Test
+    public void testOptimisticReadsWhileModifying() throws Exception {
+        Graph g = loadPizza();
+        RWLockedGraph gg = new RWLockedGraph(g, new StampedReadWriteLock());
+        Triple fixed = g.find().next();
+        int size = g.size();
+        int num = 100;
+        AtomicBoolean process = new AtomicBoolean(true);
+        ExecutorService service = Executors.newFixedThreadPool(THREADS_NUM_1 + 1);
+        List<Future<?>> res = new ArrayList<>();
+        for (int i = 0; i < THREADS_NUM_1; i++) {
+            res.add(service.submit(() -> {
+                while (process.get()) {
+                    Assert.assertTrue(gg.contains(fixed));
+                    int s = gg.size();
+                    Assert.assertTrue("Wrong size " + s, s >= size && s <= size + num);
+                    Assert.assertFalse(gg.isEmpty());
+                }
+            }));
+        }
+        res.add(service.submit(() -> {
+            try {
+                for (int j = 0; j < 50; j++) {
+                    for (int i = 0; i < num; i++) {
+                        gg.add(Triple.create(NodeFactory.createURI("s" + i), RDF.type.asNode(), OWL.Class.asNode()));
+                    }
+                    for (int i = 0; i < num; i++) {
+                        gg.delete(Triple.create(NodeFactory.createURI("s" + i), RDF.type.asNode(), OWL.Class.asNode()));
+                    }
+                }
+            } finally {
+                process.set(false);
+            }
+        }));
+        service.shutdown();
+        for (Future<?> f : res) {
+            f.get();
+        }
+        Assert.assertEquals(size, gg.size());
+    }
+
+    @Test
+    public void testChunkedIterator() {
+        Graph g = loadPizza();
+        RWLockedGraph gg = new RWLockedGraph(g, new ReentrantReadWriteLock(), 500, 7);
+        Assert.assertEquals(g.find().toSet(), gg.find().toSet());
+        Assert.assertEquals(g.find(Node.ANY, RDF.type.asNode(), OWL.Class.asNode()).toList(),
+                gg.find(Node.ANY, RDF.type.asNode(), OWL.Class.asNode()).toList());
+        Assert.assertFalse(gg.find(Node.ANY, RDF.type.asNode(), RDF.Property.asNode()).hasNext());
+        Assert.assertEquals(g.size(), gg.findChunked(Triple.ANY, 1).toList().size());
+        Assert.assertEquals(g.size(), gg.findChunked(Triple.ANY, g.size()).toList().size());
+        Assert.assertEquals(g.size(), gg.findChunked(Triple.ANY, g.size() + 1).toList().size());
+    }
+
+    @Test
+    public void testChunkedIteratorFailFast() {
+        Graph g = loadPizza();
+        RWLockedGraph gg = new RWLockedGraph(g, new ReentrantReadWriteLock(), 500, 10);
+        Iterator<Triple> it = gg.find();
+        for (int i = 0; i < 10; i++) {
+            it.next();
+        }
+        long count = gg.modificationCount();
+        gg.add(Triple.create(NodeFactory.createURI("x"), RDF.type.asNode(), OWL.Class.asNode()));
+        Assert.assertEquals(count + 1, gg.modificationCount());
+        try {
+            it.hasNext();
+            Assert.fail("Possible to continue iterating");
+        } catch (ConcurrentModificationException e) {
+            LOGGER.debug("Expected: '{}'", e.getMessage());
+        }
+        Assert.assertFalse(it.hasNext());
+        // the data of the current chunk is still available
+        Iterator<Triple> it2 = gg.find();
+        it2.next();
+        gg.delete(Triple.create(NodeFactory.createURI("x"), RDF.type.asNode(), OWL.Class.asNode()));
+        for (int i = 0; i < 9; i++) {
+            it2.next();
+        }
+    }
+
+    @Test
+    public void testChunkedIteratorDoesNotBlockWriters() throws Exception {
+        Graph g = loadPizza();
+        RWLockedGraph gg = new RWLockedGraph(g, new ReentrantReadWriteLock(), 500, 10);
+        Iterator<Triple> it = gg.find();
+        it.next();
+        ExecutorService service = Executors.newSingleThreadExecutor();
+        Future<?> f = service.submit(() ->
+                gg.add(Triple.create(NodeFactory.createURI("x"), RDF.type.asNode(), OWL.Class.asNode())));
+        service.shutdown();
+        f.get(TIMEOUT, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(g.size(), gg.size());
+        Assert.assertTrue(gg.contains(NodeFactory.createURI("x"), RDF.type.asNode(), OWL.Class.asNode()));
+    }
+
     @Test
     public void testConcurrentPrefixes() throws ExecutionException, InterruptedException {
         PrefixMapping pm = new RWLockedGraph(Factory.createGraphMem(), new ReentrantReadWriteLock()).getPrefixMapping();
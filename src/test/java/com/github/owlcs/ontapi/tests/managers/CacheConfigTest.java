@@ -20,12 +20,16 @@ import com.github.owlcs.ontapi.config.OntConfig;
 import com.github.owlcs.ontapi.config.OntLoaderConfiguration;
 import com.github.owlcs.ontapi.config.OntSettings;
 import com.github.owlcs.ontapi.internal.*;
+import com.github.owlcs.ontapi.internal.objects.ONTEntityImpl;
+import com.github.owlcs.ontapi.jena.CompactGraph;
 import com.github.owlcs.ontapi.jena.impl.OntGraphModelImpl;
+import com.github.owlcs.ontapi.jena.vocabulary.OWL;
 import com.github.owlcs.ontapi.utils.ReadWriteUtils;
 import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.graph.impl.WrappedGraph;
+import org.apache.jena.shared.AddDeniedException;
 import org.apache.jena.util.iterator.ExtendedIterator;
 import org.junit.Assert;
 import org.junit.Test;
@@ -34,8 +38,13 @@ import org.semanticweb.owlapi.model.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Created by @ssz on 04.03.2019.
@@ -130,6 +139,120 @@ public class CacheConfigTest {
         Assert.assertTrue(m2 instanceof SearchModel);
     }
 
+    @Test
+    public void testStripeIndexDoesNotUseBucketBits() {
+        int n = 16;
+        int[] counts = new int[n];
+        Set<Integer> lowBits = new HashSet<>();
+        for (int k = 0; k < 4096; k++) {
+            int i = Stripes.select(k, n);
+            counts[i]++;
+            if (i == 0) {
+                lowBits.add(k & (n - 1));
+            }
+        }
+        // the keys of a stripe must not share the low bits, which are used by the stripe's map:
+        Assert.assertEquals(n, lowBits.size());
+        for (int c : counts) {
+            Assert.assertTrue(c > 4096 / n / 2 && c < 4096 / n * 2);
+        }
+        Assert.assertEquals(0, Stripes.select("x", 1));
+    }
+
+    private static class Stripes extends InternalCache.WeakStripedWrapper<Object, Object> {
+        private Stripes() {
+            super(1);
+        }
+
+        private static int select(Object key, int n) {
+            return InternalCache.WeakStripedWrapper.index(key, n);
+        }
+    }
+
+    @Test
+    public void testClockCache() throws Exception {
+        InternalCache<Integer, String> c = InternalCache.createClock(100);
+        Assert.assertTrue(c.isEmpty());
+        // nested calls must not lead to deadlock or livelock:
+        Assert.assertEquals("1:0", c.get(1, k -> k + ":" + c.get(0, String::valueOf)));
+        Assert.assertEquals(2, c.size());
+        c.clear();
+        for (int i = 0; i < 1000; i++) {
+            // keep the first key hot:
+            Assert.assertEquals("0", c.get(0, String::valueOf));
+            Assert.assertEquals(String.valueOf(i), c.get(i, String::valueOf));
+            Assert.assertTrue(c.size() <= 100);
+        }
+        Assert.assertEquals(100, c.size());
+        Assert.assertEquals("0", c.get(0));
+        Assert.assertEquals("999", c.get(999));
+        c.remove(999);
+        Assert.assertNull(c.get(999));
+        Assert.assertEquals(99, c.size());
+        c.put(0, "x");
+        Assert.assertEquals("x", c.get(0));
+
+        InternalCache<Integer, Integer> c2 = InternalCache.createClock(500);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        for (int t = 0; t < 8; t++) {
+            int seed = t;
+            threads.add(new Thread(() -> {
+                try {
+                    Random r = new Random(seed);
+                    for (int i = 0; i < 50_000; i++) {
+                        int k = r.nextInt(2000);
+                        Assert.assertEquals(Integer.valueOf(-k), c2.get(k, x -> -x));
+                        if (i % 100 == 0) c2.remove(r.nextInt(2000));
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread t : threads) {
+            t.join();
+        }
+        Assert.assertEquals(Collections.emptyList(), errors);
+        Assert.assertTrue(c2.size() <= 500);
+    }
+
+    @Test
+    public void testNodeTypeTable() throws Exception {
+        Assert.assertFalse(new OntConfig().isLoadNodeTypeTable());
+        OWLOntologyDocumentSource src = ReadWriteUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE);
+        OntologyManager m1 = OntManagers.createONT();
+        Ontology o1 = m1.loadOntologyFromOntologyDocument(src);
+        OntologyManager m2 = OntManagers.createONT();
+        m2.getOntologyConfigurator().setLoadNodeTypeTable(true);
+        Ontology o2 = m2.loadOntologyFromOntologyDocument(src);
+        Assert.assertTrue(m2.getOntologyLoaderConfiguration().isLoadNodeTypeTable());
+
+        Assert.assertEquals(o1.axioms().collect(Collectors.toSet()), o2.axioms().collect(Collectors.toSet()));
+        SearchModel sm = (SearchModel) ((BaseModel) o2).getBase().getSearchModel();
+        Assert.assertNotNull(sm.getNodeTypeTable());
+        Assert.assertNull(((SearchModel) ((BaseModel) o1).getBase().getSearchModel()).getNodeTypeTable());
+
+        // the table is discarded on change:
+        OWLDataFactory df = m2.getOWLDataFactory();
+        OWLNamedIndividual i = df.getOWLNamedIndividual(IRI.create("http://x#i"));
+        o2.add(df.getOWLClassAssertionAxiom(df.getOWLClass(IRI.create("http://x#C")), i));
+        o2.add(df.getOWLDeclarationAxiom(df.getOWLClass(IRI.create("http://x#C"))));
+        Assert.assertTrue(o2.containsEntityInSignature(i));
+        Assert.assertEquals(1, o2.axioms(i).count());
+        Assert.assertNotSame(sm, ((BaseModel) o2).getBase().getSearchModel());
+        Assert.assertEquals(o1.axioms().count() + 2, o2.axioms().count());
+
+        // turn off and on again, the graph is re-read:
+        m2.setOntologyLoaderConfiguration(m2.getOntologyLoaderConfiguration().setLoadNodeTypeTable(false));
+        Assert.assertNull(((SearchModel) ((BaseModel) o2).getBase().getSearchModel()).getNodeTypeTable());
+        Set<OWLAxiom> expected = o2.axioms().collect(Collectors.toSet());
+        m2.setOntologyLoaderConfiguration(m2.getOntologyLoaderConfiguration().setLoadNodeTypeTable(true));
+        Assert.assertNotNull(((SearchModel) ((BaseModel) o2).getBase().getSearchModel()).getNodeTypeTable());
+        Assert.assertEquals(expected, o2.axioms().collect(Collectors.toSet()));
+    }
+
     @Test
     public void testObjectsCacheSize() throws Exception {
         long axioms = 945;
@@ -175,6 +298,165 @@ public class CacheConfigTest {
         Assert.assertEquals(size2, getInternalCache(cof2, OWLObjectProperty.class).size());
     }
 
+    @Test
+    public void testModelCacheLoadParallelism() throws Exception {
+        Assert.assertEquals(Prop.CACHE_LOAD_PARALLELISM.getInt(), new OntConfig().getModelCacheLoadParallelism());
+        try {
+            new OntConfig().setModelCacheLoadParallelism(0);
+            Assert.fail("Possible to set non-positive parallelism");
+        } catch (IllegalArgumentException e) {
+            LOGGER.debug("Expected: '{}'", e.getMessage());
+        }
+        OWLOntologyDocumentSource source = ReadWriteUtils.getFileDocumentSource("/ontapi/family.ttl", OntFormat.TURTLE);
+        Ontology expected = OntManagers.createONT().loadOntologyFromOntologyDocument(source);
+
+        for (OntologyManager m : Arrays.asList(OntManagers.createONT(), OntManagers.createConcurrentONT())) {
+            OntLoaderConfiguration conf = m.getOntologyLoaderConfiguration().setModelCacheLoadParallelism(4);
+            Assert.assertEquals(4, conf.getModelCacheLoadParallelism());
+            m.setOntologyLoaderConfiguration(conf);
+            Ontology actual = m.loadOntologyFromOntologyDocument(source);
+            InternalModel base = ((BaseModel) actual).getBase();
+            Assert.assertEquals(4, base.getConfig().getModelCacheLoadParallelism());
+            base.forceLoad();
+            Assert.assertEquals(expected.axioms().collect(Collectors.toSet()),
+                    actual.axioms().collect(Collectors.toSet()));
+            Assert.assertEquals(expected.signature().collect(Collectors.toSet()),
+                    actual.signature().collect(Collectors.toSet()));
+        }
+    }
+
+    @Test
+    public void testManagerSharedInternPool() {
+        testManagerSharedInternPool(OntManagers.createONT());
+        testManagerSharedInternPool(OntManagers.createConcurrentONT());
+    }
+
+    private static void testManagerSharedInternPool(OntologyManager m) {
+        String ns = "http://x#";
+        List<Ontology> ontologies = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Ontology o = m.createOntology(IRI.create("http://o" + i));
+            // create new string instances to avoid the shared jena node cache:
+            o.asGraphModel().createOntClass(new String(ns + "A")).addSuperClass(o.asGraphModel()
+                    .createOntClass(new String(ns + "B")));
+            o.asGraphModel().createDataProperty(new String(ns + "p"));
+            ontologies.add(o);
+        }
+        List<OWLEntity> entities = ontologies.stream()
+                .flatMap(o -> o.signature().filter(e -> e.getIRI().getIRIString().equals(ns + "A")))
+                .collect(Collectors.toList());
+        Assert.assertEquals(3, entities.size());
+        OWLEntity first = entities.get(0);
+        entities.forEach(e -> {
+            Assert.assertEquals(first, e);
+            Assert.assertSame(first.getIRI(), e.getIRI());
+            Assert.assertSame(ONTEntityImpl.getURI(first), ONTEntityImpl.getURI(e));
+        });
+        List<IRI> iris = ontologies.stream()
+                .flatMap(o -> o.dataPropertiesInSignature().map(HasIRI::getIRI))
+                .collect(Collectors.toList());
+        Assert.assertEquals(3, iris.size());
+        iris.forEach(x -> Assert.assertSame(iris.get(0), x));
+    }
+
+    @Test
+    public void testInternPoolKeepsIRICanonicalWhileInUse() throws InterruptedException {
+        InternalCache<IRI, IRI> pool = InternalCache.createWeak();
+        InternalCache<String, IRI> iris = InternalCache.createTiered(InternalCache.createBounded(false, 1),
+                InternalCache.createInterning(pool, IRI::create));
+        String uri = "http://x#A";
+        // the key strings are not held by anybody:
+        IRI a = iris.get(new String(uri), IRI::create);
+        // evict from the front cache:
+        iris.get(new String("http://x#B"), IRI::create);
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertSame(a, iris.get(new String(uri), IRI::create));
+        Assert.assertSame(a, pool.get(IRI.create(uri)));
+    }
+
+    @Test
+    public void testWeakValuesTierKeepsIRICanonicalWhileInUse() throws InterruptedException {
+        InternalCache<String, IRI> pool = InternalCache.createWeakValues();
+        InternalCache<String, IRI> iris = InternalCache.createTiered(InternalCache.createBounded(false, 1), pool);
+        String uri = "http://x#A";
+        IRI a = iris.get(new String(uri), IRI::create);
+        // evict from the front cache:
+        IRI b = iris.get(new String("http://x#B"), IRI::create);
+        Assert.assertEquals(2, iris.size());
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        // the back tier is looked up by the string, no new IRI is created:
+        Assert.assertSame(a, iris.get(new String(uri), x -> {
+            throw new AssertionError("Attempt to create " + x);
+        }));
+        Assert.assertSame(a, pool.get(uri));
+        Assert.assertSame(b, iris.get("http://x#B"));
+    }
+
+    @Test
+    public void testCacheStats() throws Exception {
+        OntologyManager m = OntManagers.createONT();
+        Ontology o = m.loadOntologyFromOntologyDocument(ReadWriteUtils.getFileDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+        Assert.assertEquals(945, o.axioms().count());
+        CacheStats stats = ((BaseModel) o).getBase().getCacheStats();
+        LOGGER.debug("Stats: {}", stats);
+
+        CacheStats.Counter content = stats.total("content:");
+        Assert.assertEquals(OWLTopObjectType.axioms().count(), content.missCount());
+        Assert.assertEquals(945, content.size());
+        Assert.assertTrue(content.loadTimeNanos() > 0);
+        Assert.assertTrue(stats.objects(OWLClass.class).missCount() > 0);
+        Assert.assertTrue(stats.objects(OWLClass.class).hitCount() > 0);
+        Assert.assertTrue(stats.total("nodes:").requestCount() > 0);
+
+        Assert.assertEquals(945, o.axioms().count());
+        Assert.assertEquals(content.missCount(), stats.total("content:").missCount());
+        Assert.assertTrue(stats.total("content:").hitCount() > content.hitCount());
+
+        o.clearCache();
+        Assert.assertEquals(0, stats.total("content:").size());
+        Assert.assertEquals(945, stats.total("content:").evictionCount());
+
+        m.loadOntologyFromOntologyDocument(ReadWriteUtils.getFileDocumentSource("/ontapi/family.ttl",
+                OntFormat.TURTLE)).axioms().count();
+        Assert.assertEquals(2 * OWLTopObjectType.axioms().count(), m.getCacheStats().total("content:").missCount());
+    }
+
+    @Test
+    public void testCaffeineCacheStats() throws Exception {
+        CacheStats.Counter counter = new CacheStats().get("test");
+        InternalCache<String, String> cache = InternalCache.counting(InternalCache.createBounded(true, 2), counter);
+        Assert.assertEquals("a", cache.get("a", x -> x));
+        Assert.assertEquals("a", cache.get("a", x -> "b"));
+        Assert.assertEquals("a", cache.get("a"));
+        Assert.assertEquals(1, counter.hitCount());
+        Assert.assertEquals(1, counter.missCount());
+        Assert.assertEquals(1, counter.size());
+
+        for (int i = 0; i < 10; i++) {
+            cache.get("k" + i, x -> x);
+        }
+        // Caffeine evicts asynchronously:
+        long end = System.currentTimeMillis() + 10_000;
+        while (counter.size() > 2 && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(11, counter.missCount());
+        Assert.assertEquals(1, counter.hitCount());
+        Assert.assertEquals(2, counter.size());
+        Assert.assertEquals(9, counter.evictionCount());
+
+        cache.clear();
+        Assert.assertEquals(0, counter.size());
+        Assert.assertEquals(11, counter.evictionCount());
+    }
+
     @Test
     public void testContentCacheOption() {
         Graph g = ReadWriteUtils.loadResourceTTLFile("/ontapi/pizza.ttl").getGraph();
@@ -380,6 +662,77 @@ public class CacheConfigTest {
         });
     }
 
+    @Test
+    public void testFrozenMode() throws Exception {
+        Assert.assertFalse(new OntConfig().isLoadFrozen());
+        OWLOntologyDocumentSource src = ReadWriteUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE);
+        OntologyManager m1 = OntManagers.createONT();
+        Ontology o1 = m1.loadOntologyFromOntologyDocument(src);
+        OntologyManager m2 = OntManagers.createConcurrentONT();
+        m2.getOntologyConfigurator().setLoadFrozen(true);
+        Ontology o2 = m2.loadOntologyFromOntologyDocument(src);
+        Assert.assertTrue(m2.getOntologyLoaderConfiguration().isLoadFrozen());
+
+        // no R/W lock, the base graph is frozen:
+        Assert.assertTrue(o2 instanceof OntologyModelImpl);
+        InternalModel base = ((BaseModel) o2).getBase();
+        Assert.assertTrue(base.isFrozen());
+        Assert.assertTrue(((CompactGraph) base.getBaseGraph()).isFrozen());
+        Assert.assertEquals(o1.asGraphModel().getBaseGraph().size(), base.getBaseGraph().size());
+
+        // the caches are loaded eagerly and are never reset:
+        CacheStats stats = base.getCacheStats();
+        long contentMisses = stats.total("content:").missCount();
+        long componentMisses = stats.total("components:").missCount();
+        Assert.assertTrue(contentMisses > 0);
+        Assert.assertTrue(componentMisses > 0);
+        Assert.assertEquals(o1.axioms().collect(Collectors.toSet()), o2.axioms().collect(Collectors.toSet()));
+        Assert.assertEquals(o1.signature().collect(Collectors.toSet()), o2.signature().collect(Collectors.toSet()));
+        o2.clearCache();
+        OWLClass c = o2.classesInSignature().findFirst().orElseThrow(AssertionError::new);
+        Assert.assertEquals(o1.axioms(c).collect(Collectors.toSet()), o2.axioms(c).collect(Collectors.toSet()));
+        Assert.assertEquals(o1.getAxiomCount(), o2.getAxiomCount());
+        Assert.assertEquals(contentMisses, stats.total("content:").missCount());
+        Assert.assertEquals(componentMisses, stats.total("components:").missCount());
+
+        // any modification is prohibited:
+        OWLDataFactory df = m2.getOWLDataFactory();
+        OWLAxiom a = df.getOWLDeclarationAxiom(df.getOWLClass(IRI.create("http://x#C")));
+        try {
+            o2.add(a);
+            Assert.fail("Possible to add an axiom");
+        } catch (OntologyModelImpl.ModificationDeniedException e) {
+            LOGGER.debug("Expected: '{}'", e.getMessage());
+        }
+        try {
+            o2.asGraphModel().createResource("http://x#C", OWL.Class);
+            Assert.fail("Possible to add a triple");
+        } catch (AddDeniedException e) {
+            LOGGER.debug("Expected: '{}'", e.getMessage());
+        }
+        // the existing triple can be added without error:
+        Triple t = base.getBaseGraph().find().next();
+        o2.asGraphModel().getGraph().add(t);
+        Assert.assertEquals(o1.getAxiomCount(), o2.getAxiomCount());
+
+        // the frozen state is restored after serialization:
+        OntologyManager m3 = serialize(m2);
+        Ontology o3 = m3.getOntology(o2.getOntologyID());
+        Assert.assertNotNull(o3);
+        Assert.assertTrue(((BaseModel) o3).getBase().isFrozen());
+        Assert.assertEquals(o1.axioms().collect(Collectors.toSet()), o3.axioms().collect(Collectors.toSet()));
+    }
+
+    private static OntologyManager serialize(OntologyManager m) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream stream = new ObjectOutputStream(out)) {
+            stream.writeObject(m);
+        }
+        try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            return (OntologyManager) stream.readObject();
+        }
+    }
+
     @Test
     public void testContentCacheLevels() {
         OntConfig c = new OntConfig();
@@ -490,7 +843,8 @@ public class CacheConfigTest {
         IRI_CACHE_SIZE(OntSettings.ONT_API_MANAGER_CACHE_IRIS.key() + ".integer"),
         NODES_CACHE_SIZE(OntSettings.ONT_API_LOAD_CONF_CACHE_NODES.key() + ".integer"),
         OBJECTS_CACHE_SIZE(OntSettings.ONT_API_LOAD_CONF_CACHE_OBJECTS.key() + ".integer"),
-        CONTENT_CACHE_LEVEL(OntSettings.ONT_API_LOAD_CONF_CACHE_MODEL.key() + ".integer");
+        CONTENT_CACHE_LEVEL(OntSettings.ONT_API_LOAD_CONF_CACHE_MODEL.key() + ".integer"),
+        CACHE_LOAD_PARALLELISM(OntSettings.ONT_API_LOAD_CONF_CACHE_MODEL_PARALLELISM.key() + ".integer");
         private final String key;
 
         Prop(String key) {
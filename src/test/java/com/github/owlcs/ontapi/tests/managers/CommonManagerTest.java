@@ -19,8 +19,10 @@ import com.github.owlcs.ontapi.config.OntLoaderConfiguration;
 import com.github.owlcs.ontapi.internal.AxiomTranslator;
 import com.github.owlcs.ontapi.internal.ONTObject;
 import com.github.owlcs.ontapi.internal.ONTObjectFactory;
+import com.github.owlcs.ontapi.internal.OWLTopObjectType;
 import com.github.owlcs.ontapi.jena.OntModelFactory;
 import com.github.owlcs.ontapi.jena.RWLockedGraph;
+import com.github.owlcs.ontapi.jena.StampedReadWriteLock;
 import com.github.owlcs.ontapi.jena.UnionGraph;
 import com.github.owlcs.ontapi.jena.impl.conf.OntModelConfig;
 import com.github.owlcs.ontapi.jena.model.OntClass;
@@ -46,13 +48,19 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -328,6 +336,96 @@ public class CommonManagerTest {
         serializationTest(OntManagers.createConcurrentONT());
     }
 
+    @Test
+    public void testSerializationWithOptimisticConcurrency() throws Exception {
+        serializationTest(OntManagers.createOptimisticConcurrentONT());
+    }
+
+    @Test
+    public void testOptimisticConcurrentManager() throws Exception {
+        OntologyManager m = OntManagers.createOptimisticConcurrentONT();
+        Ontology o = m.loadOntology(IRI.create(ReadWriteUtils.getResourceFile("ontapi/pizza.ttl")));
+        Assert.assertTrue(o instanceof OntologyModelImpl.Concurrent);
+        Assert.assertTrue(((OntologyModelImpl.Concurrent) o).getLock() instanceof StampedReadWriteLock);
+        Assert.assertTrue(((RWLockedGraph) o.asGraphModel().getBaseGraph()).isOptimistic());
+        OWLDataFactory df = m.getOWLDataFactory();
+        List<OWLAxiom> axioms = o.axioms().limit(50).collect(Collectors.toList());
+        int count = o.getAxiomCount();
+        Assert.assertEquals(count, ((OntologyModelImpl.Concurrent) o).getBase()
+                .findOWLAxiomCount(OWLTopObjectType.axioms()));
+        int num = 20;
+        ExecutorService service = Executors.newFixedThreadPool(4);
+        AtomicBoolean process = new AtomicBoolean(true);
+        List<Future<?>> res = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            res.add(service.submit(() -> {
+                while (process.get()) {
+                    axioms.forEach(a -> Assert.assertTrue(o.containsAxiom(a)));
+                    int c = o.getAxiomCount();
+                    Assert.assertTrue("Wrong count " + c, c >= count && c <= count + num);
+                }
+            }));
+        }
+        res.add(service.submit(() -> {
+            try {
+                for (int j = 0; j < 20; j++) {
+                    List<OWLAxiom> add = IntStream.range(0, num)
+                            .mapToObj(i -> df.getOWLDeclarationAxiom(df.getOWLClass("urn:c" + i)))
+                            .collect(Collectors.toList());
+                    add.forEach(o::add);
+                    add.forEach(o::remove);
+                }
+            } finally {
+                process.set(false);
+            }
+        }));
+        service.shutdown();
+        for (Future<?> f : res) {
+            f.get();
+        }
+        Assert.assertEquals(count, o.getAxiomCount());
+    }
+
+    @Test
+    public void testOptimisticReadsWhileModifyingGraphDirectly() throws Exception {
+        OntologyManager m = OntManagers.createOptimisticConcurrentONT();
+        Ontology o = m.loadOntology(IRI.create(ReadWriteUtils.getResourceFile("ontapi/pizza.ttl")));
+        List<OWLAxiom> axioms = o.axioms().limit(50).collect(Collectors.toList());
+        int count = o.getAxiomCount();
+        OntModel g = o.asGraphModel();
+        int num = 20;
+        ExecutorService service = Executors.newFixedThreadPool(4);
+        AtomicBoolean process = new AtomicBoolean(true);
+        List<Future<?>> res = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            res.add(service.submit(() -> {
+                while (process.get()) {
+                    axioms.forEach(a -> Assert.assertTrue(o.containsAxiom(a)));
+                    int c = o.getAxiomCount();
+                    Assert.assertTrue("Wrong count " + c, c >= count && c <= count + num);
+                }
+            }));
+        }
+        res.add(service.submit(() -> {
+            try {
+                for (int j = 0; j < 20; j++) {
+                    // each change invalidates the whole cache through the direct graph listener:
+                    IntStream.range(0, num).forEach(i -> g.createOntClass("urn:g" + i));
+                    IntStream.range(0, num).forEach(i -> g.removeOntObject(g.getOntClass("urn:g" + i)));
+                }
+            } finally {
+                process.set(false);
+            }
+        }));
+        service.shutdown();
+        for (Future<?> f : res) {
+            f.get();
+        }
+        Assert.assertEquals(count, o.getAxiomCount());
+        Assert.assertEquals(count, OntManagers.createONT().addOntology(g.getBaseGraph()).getAxiomCount());
+        axioms.forEach(a -> Assert.assertTrue(o.containsAxiom(a)));
+    }
+
     @Test
     public void testPassingJenaOntModel() throws Exception {
         LOGGER.debug("Build MultiUnion graph using jena OntModel");
@@ -19,7 +19,10 @@ import com.github.owlcs.ontapi.config.OntConfig;
 import com.github.owlcs.ontapi.config.OntLoaderConfiguration;
 import com.github.owlcs.ontapi.jena.OntModelFactory;
 import com.github.owlcs.ontapi.jena.UnionGraph;
+import com.github.owlcs.ontapi.jena.impl.conf.OntModelConfig;
+import com.github.owlcs.ontapi.jena.impl.conf.PersonalityBuilder;
 import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.utils.Graphs;
 import com.github.owlcs.ontapi.jena.utils.OntModels;
 import com.github.owlcs.ontapi.jena.vocabulary.OWL;
 import com.github.owlcs.ontapi.jena.vocabulary.RDF;
@@ -43,11 +46,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.ParametersAreNonnullByDefault;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -690,6 +702,98 @@ public class LoadFactoryManagerTest {
         Assert.assertEquals(0, o3.imports().count());
     }
 
+    @Test
+    public void testParallelImportsLoading() throws Exception {
+        // a DAG with a cycle: r -> (a, b, c), a -> (d, e), b -> (d, f), c -> (f, g), d -> h, h -> a
+        Map<String, List<String>> imports = new LinkedHashMap<>();
+        imports.put("r", Arrays.asList("c", "a", "b"));
+        imports.put("a", Arrays.asList("d", "e"));
+        imports.put("b", Arrays.asList("d", "f"));
+        imports.put("c", Arrays.asList("f", "g"));
+        imports.put("d", Collections.singletonList("h"));
+        imports.put("e", Collections.emptyList());
+        imports.put("f", Collections.emptyList());
+        imports.put("g", Collections.emptyList());
+        imports.put("h", Collections.singletonList("a"));
+        Path dir = Files.createTempDirectory("ont-api-imports");
+        for (String name : imports.keySet()) {
+            OntModel m = OntModelFactory.createModel().setID("urn:" + name).getModel();
+            imports.get(name).forEach(i -> m.getID().addImport("urn:" + i));
+            m.createOntClass("urn:" + name + "#C");
+            Path file = dir.resolve(name + ".ttl");
+            try (OutputStream out = Files.newOutputStream(file)) {
+                m.write(out, "ttl");
+            }
+        }
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        OntologyBuilderImpl builder = new OntologyBuilderImpl(() -> {
+            threads.add(Thread.currentThread().getName());
+            return OntModelFactory.createDefaultGraph();
+        });
+        OntologyManager m1 = OntManagers.createONT();
+        OntologyManager m2 = OntManagers.DEFAULT_PROFILE.createManager(OntManagers.getDataFactory(),
+                OntManagers.DEFAULT_PROFILE.createOntologyFactory(builder), null);
+        for (OntologyManager m : Arrays.asList(m1, m2)) {
+            m.getOntologyConfigurator().setSupportedSchemes(Collections.singletonList(OntConfig.DefaultScheme.FILE));
+            imports.keySet().forEach(name -> m.getIRIMappers()
+                    .add(new SimpleIRIMapper(IRI.create("urn:" + name), IRI.create(dir.resolve(name + ".ttl").toUri()))));
+        }
+        m2.getOntologyConfigurator().setImportsLoadParallelism(4);
+        Assert.assertEquals(1, m1.getOntologyLoaderConfiguration().getImportsLoadParallelism());
+        Assert.assertEquals(4, m2.getOntologyLoaderConfiguration().getImportsLoadParallelism());
+
+        Ontology o1 = m1.loadOntology(IRI.create("urn:r"));
+        Ontology o2 = m2.loadOntology(IRI.create("urn:r"));
+        Assert.assertTrue(threads.stream().anyMatch(x -> x.startsWith("ont-api-imports-")));
+        Assert.assertEquals(imports.size(), m1.ontologies().count());
+        Assert.assertEquals(imports.size(), m2.ontologies().count());
+        Assert.assertEquals(Graphs.importsTreeAsString(o1.asGraphModel().getGraph()),
+                Graphs.importsTreeAsString(o2.asGraphModel().getGraph()));
+        Assert.assertEquals(o1.importsClosure().map(OWLOntology::getOntologyID).collect(Collectors.toList()),
+                o2.importsClosure().map(OWLOntology::getOntologyID).collect(Collectors.toList()));
+        Assert.assertEquals(o1.axioms(Imports.INCLUDED).collect(Collectors.toSet()),
+                o2.axioms(Imports.INCLUDED).collect(Collectors.toSet()));
+        Assert.assertEquals(imports.size(), o2.signature(Imports.INCLUDED).filter(OWLEntity::isOWLClass).count());
+    }
+
+    @Test
+    public void testParallelImportsLoadingReadsDocumentOnce() throws Exception {
+        // r -> (x, y), both x and y are mapped to the same document:
+        Path dir = Files.createTempDirectory("ont-api-imports");
+        Path r = dir.resolve("r.ttl");
+        Path x = dir.resolve("x.ttl");
+        OntModel root = OntModelFactory.createModel().setID("urn:r").getModel();
+        root.getID().addImport("urn:x").addImport("urn:y");
+        OntModel doc = OntModelFactory.createModel().setID("urn:x").getModel();
+        doc.createOntClass("urn:x#C");
+        for (Map.Entry<Path, OntModel> e : Arrays.asList(new AbstractMap.SimpleEntry<>(r, root),
+                new AbstractMap.SimpleEntry<>(x, doc))) {
+            try (OutputStream out = Files.newOutputStream(e.getKey())) {
+                e.getValue().write(out, "ttl");
+            }
+        }
+        AtomicInteger reads = new AtomicInteger();
+        OntologyBuilderImpl builder = new OntologyBuilderImpl(() -> {
+            if (Thread.currentThread().getName().startsWith("ont-api-imports-")) {
+                reads.incrementAndGet();
+            }
+            return OntModelFactory.createDefaultGraph();
+        });
+        OntologyManager m = OntManagers.DEFAULT_PROFILE.createManager(OntManagers.getDataFactory(),
+                OntManagers.DEFAULT_PROFILE.createOntologyFactory(builder), null);
+        m.getOntologyConfigurator().setSupportedSchemes(Collections.singletonList(OntConfig.DefaultScheme.FILE))
+                .setImportsLoadParallelism(4);
+        m.getIRIMappers().add(new SimpleIRIMapper(IRI.create("urn:r"), IRI.create(r.toUri())));
+        m.getIRIMappers().add(new SimpleIRIMapper(IRI.create("urn:x"), IRI.create(x.toUri())));
+        m.getIRIMappers().add(new SimpleIRIMapper(IRI.create("urn:y"), IRI.create(x.toUri())));
+
+        Ontology o = m.loadOntology(IRI.create("urn:r"));
+        Assert.assertEquals(1, reads.get());
+        Assert.assertEquals(2, m.ontologies().count());
+        Assert.assertEquals(1, o.imports().count());
+        Assert.assertEquals(1, o.signature(Imports.INCLUDED).filter(OWLEntity::isOWLClass).count());
+    }
+
     @Test
     public void testControlUnionGraphs() throws OWLOntologyCreationException {
         class MyUnion extends UnionGraph {
@@ -788,4 +892,230 @@ public class LoadFactoryManagerTest {
             throw new AssertionError(e);
         }
     }
+
+    @Test
+    public void testDetectFormatsByContent() {
+        Assert.assertEquals(Collections.singletonList(OntFormat.RDF_XML), detect("<?xml version=\"1.0\"?>\n" +
+                "<!-- comment -->\n<rdf:RDF xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\"/>"));
+        Assert.assertEquals(Collections.singletonList(OntFormat.OWL_XML), detect("\uFEFF<?xml version=\"1.0\"?>\n" +
+                "<Ontology xmlns=\"http://www.w3.org/2002/07/owl#\" ontologyIRI=\"http://x\"/>"));
+        Assert.assertEquals(Collections.singletonList(OntFormat.TRIX), detect("<TriX xmlns=\"http://www.w3.org/2004/03/trix/trix-1/\"/>"));
+        Assert.assertEquals(Arrays.asList(OntFormat.TURTLE, OntFormat.TRIG), detect("# c\n@prefix ex: <http://x#> ."));
+        Assert.assertEquals(Arrays.asList(OntFormat.TURTLE, OntFormat.TRIG), detect("PREFIX ex: <http://x#>"));
+        Assert.assertEquals(Collections.singletonList(OntFormat.FUNCTIONAL_SYNTAX), detect("Prefix(:=<http://x#>)"));
+        Assert.assertEquals(Collections.singletonList(OntFormat.FUNCTIONAL_SYNTAX), detect("Ontology (<http://x>)"));
+        Assert.assertEquals(Collections.singletonList(OntFormat.MANCHESTER_SYNTAX), detect("Prefix: : <http://x#>"));
+        Assert.assertEquals(Collections.singletonList(OntFormat.OBO), detect("format-version: 1.2\n"));
+        Assert.assertEquals(Collections.singletonList(OntFormat.JSON_LD), detect("{ \"@context\": {} }"));
+        Assert.assertEquals(Arrays.asList(OntFormat.RDF_JSON, OntFormat.JSON_LD), detect("{ \"http://x\": {} }"));
+        Assert.assertEquals(OntFormat.NTRIPLES, detect("<http://a> <http://b> <http://c> .\n" +
+                "_:b0 <http://b> \"x\" .\n").get(0));
+        Assert.assertEquals(OntFormat.TURTLE, detect("<http://a> <http://b> <http://c> ;\n" +
+                "    <http://b> <http://d> .\n").get(0));
+        Assert.assertTrue(detect("ex:a a ex:B .").isEmpty());
+        Assert.assertTrue(detect("").isEmpty());
+    }
+
+    @Test
+    public void testLoadWithoutFormatUsingDetection() throws OWLOntologyCreationException {
+        String nt = "<http://x> <" + RDF.type.getURI() + "> <" + OWL.Ontology.getURI() + "> .\n" +
+                "<http://x#C> <" + RDF.type.getURI() + "> <" + OWL.Class.getURI() + "> .\n";
+        OntologyManager m = OntManagers.createONT();
+        Ontology o = m.loadOntologyFromOntologyDocument(new StringDocumentSource(nt));
+        Assert.assertEquals(OntFormat.NTRIPLES, OntFormat.get(m.getOntologyFormat(o)));
+        Assert.assertEquals(1, o.axioms(AxiomType.DECLARATION).count());
+
+        // a document which looks like n-triples at the beginning, but is actually turtle:
+        StringBuilder ttl = new StringBuilder();
+        for (int i = 0; i < 2 * OntGraphUtils.DETECTION_BUFFER_SIZE / nt.length(); i++) {
+            ttl.append(nt);
+        }
+        ttl.append("<http://x#D> a <").append(OWL.Class.getURI()).append("> .\n");
+        o = OntManagers.createONT().loadOntologyFromOntologyDocument(new StringDocumentSource(ttl.toString()));
+        Assert.assertEquals(OntFormat.TURTLE, OntFormat.get(o.getOWLOntologyManager().getOntologyFormat(o)));
+        Assert.assertEquals(2, o.axioms(AxiomType.DECLARATION).count());
+    }
+
+    @Test
+    public void testParallelNTriplesLoading() throws Exception {
+        // restrictions are defined at the end of file, far from the subClassOf statements which refer them,
+        // so the blank nodes are shared between different chunks:
+        int count = 20_000;
+        String ns = "http://parallel#";
+        Path file = Files.createTempFile("ont-api-parallel", ".nt");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+            out.printf("<%s> <%s> <%s> .%n", "http://parallel", RDF.type.getURI(), OWL.Ontology.getURI());
+            out.printf("<%sp> <%s> <%s> .%n", ns, RDF.type.getURI(), OWL.ObjectProperty.getURI());
+            for (int i = 0; i < count; i++) {
+                out.printf("<%sC%d> <%s> <%s> .%n", ns, i, RDF.type.getURI(), OWL.Class.getURI());
+                out.printf("<%sC%d> <%s> _:b%d .%n", ns, i, RDFS.subClassOf.getURI(), i);
+            }
+            for (int i = 0; i < count; i++) {
+                out.printf("_:b%d <%s> <%s> .%n", i, RDF.type.getURI(), OWL.Restriction.getURI());
+                out.printf("_:b%d <%s> <%sp> .%n", i, OWL.onProperty.getURI(), ns);
+                out.printf("_:b%d <%s> <%sC%d> .%n", i, OWL.someValuesFrom.getURI(), ns, (i + 1) % count);
+            }
+        }
+        try {
+            OntologyManager m1 = OntManagers.createONT();
+            OntologyManager m2 = OntManagers.createONT();
+            m2.getOntologyConfigurator().setParseParallelism(4);
+            Assert.assertEquals(1, m1.getOntologyLoaderConfiguration().getParseParallelism());
+            Assert.assertEquals(4, m2.getOntologyLoaderConfiguration().getParseParallelism());
+
+            Ontology o1 = m1.loadOntologyFromOntologyDocument(file.toFile());
+            Ontology o2 = m2.loadOntologyFromOntologyDocument(file.toFile());
+            Assert.assertEquals(OntFormat.NTRIPLES, OntFormat.get(m2.getOntologyFormat(o2)));
+            Assert.assertEquals(o1.asGraphModel().size(), o2.asGraphModel().size());
+            Assert.assertEquals(count, o2.axioms(AxiomType.SUBCLASS_OF).count());
+            Assert.assertEquals(o1.axioms().collect(Collectors.toSet()), o2.axioms().collect(Collectors.toSet()));
+
+            // a source with its own content must not be replaced by the file its IRI refers to:
+            OntologyManager m3 = OntManagers.createONT();
+            m3.getOntologyConfigurator().setParseParallelism(4);
+            String nt = String.format("<http://other> <%s> <%s> .%n<http://other#X> <%s> <%s> .%n",
+                    RDF.type.getURI(), OWL.Ontology.getURI(), RDF.type.getURI(), OWL.Class.getURI());
+            Ontology o3 = m3.loadOntologyFromOntologyDocument(new StringDocumentSource(nt,
+                    IRI.create(file.toFile()), OntFormat.NTRIPLES.createOwlFormat(), null));
+            Assert.assertEquals(2, o3.asGraphModel().size());
+            Assert.assertEquals("http://other", o3.getOntologyID().getOntologyIRI().map(IRI::getIRIString).orElse(null));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testTransformsCache() throws Exception {
+        Path dir = Files.createTempDirectory("ont-api-transforms-cache");
+        Path file = Files.createTempFile("ont-api-transforms-cache", ".ttl");
+        Path importerFile = Files.createTempFile("ont-api-transforms-cache-importer", ".ttl");
+        String ttl = "@prefix : <http://cache#> .\n" +
+                "@prefix owl: <http://www.w3.org/2002/07/owl#> .\n" +
+                "@prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .\n" +
+                "<http://cache> a owl:Ontology .\n" +
+                ":A a rdfs:Class .\n" +
+                ":B rdfs:subClassOf :A .\n";
+        Files.write(file, ttl.getBytes(StandardCharsets.UTF_8));
+        AtomicInteger count = new AtomicInteger();
+        Supplier<OntologyManager> factory = () -> {
+            OntologyManager res = OntManagers.createONT();
+            GraphTransformers transformers = res.getOntologyConfigurator().getGraphTransformers()
+                    .addLast(Transform.Factory.create("counter", null, g -> count.incrementAndGet()));
+            res.getOntologyConfigurator().setGraphTransformers(transformers)
+                    .setTransformsCacheDirectory(dir.toString());
+            return res;
+        };
+        try {
+            Ontology o1 = factory.get().loadOntologyFromOntologyDocument(file.toFile());
+            Assert.assertEquals(1, count.get());
+            Assert.assertEquals(1, count(dir));
+
+            OntologyManager m = factory.get();
+            Ontology o2 = m.loadOntologyFromOntologyDocument(file.toFile());
+            Assert.assertEquals(1, count.get());
+            Assert.assertEquals(OntFormat.TURTLE, OntFormat.get(m.getOntologyFormat(o2)));
+            Assert.assertEquals(o1.asGraphModel().getNsPrefixMap(), o2.asGraphModel().getNsPrefixMap());
+            Assert.assertEquals(o1.axioms().collect(Collectors.toSet()), o2.axioms().collect(Collectors.toSet()));
+            Assert.assertEquals(2, o2.axioms(AxiomType.DECLARATION).count());
+
+            // changed content:
+            Files.write(file, (ttl + ":C rdfs:subClassOf :A .\n").getBytes(StandardCharsets.UTF_8));
+            Ontology o3 = factory.get().loadOntologyFromOntologyDocument(file.toFile());
+            Assert.assertEquals(2, count.get());
+            Assert.assertEquals(2, count(dir));
+            Assert.assertEquals(2, o3.axioms(AxiomType.SUBCLASS_OF).count());
+
+            // the transformed importer depends on its imports, so it is never cached:
+            String importer = "@prefix owl: <http://www.w3.org/2002/07/owl#> .\n" +
+                    "@prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .\n" +
+                    "<http://importer> a owl:Ontology ; owl:imports <" + IRI.create(file.toFile()) + "> .\n" +
+                    "<http://cache#D> rdfs:subClassOf <http://cache#A> .\n";
+            Files.write(importerFile, importer.getBytes(StandardCharsets.UTF_8));
+            OWLAxiom declaration = OntManagers.getDataFactory()
+                    .getOWLDeclarationAxiom(OntManagers.getDataFactory().getOWLClass("http://cache#D"));
+            Ontology o4 = factory.get().loadOntologyFromOntologyDocument(importerFile.toFile());
+            Assert.assertEquals(1, o4.imports().count());
+            Assert.assertTrue(o4.containsAxiom(declaration));
+            long entries = count(dir);
+            int transforms = count.get();
+            o4 = factory.get().loadOntologyFromOntologyDocument(importerFile.toFile());
+            // the imported graph is taken from the cache, but the importer is transformed again:
+            Assert.assertEquals(transforms + 1, count.get());
+            Assert.assertEquals(entries, count(dir));
+            Assert.assertTrue(o4.containsAxiom(declaration));
+
+            // a custom personality has no stable identifier:
+            for (int i = 1; i <= 2; i++) {
+                OntologyManager m5 = factory.get();
+                m5.getOntologyConfigurator()
+                        .setPersonality(PersonalityBuilder.from(OntModelConfig.ONT_PERSONALITY_LAX).build());
+                m5.loadOntologyFromOntologyDocument(file.toFile());
+                Assert.assertEquals(transforms + 1 + i, count.get());
+                Assert.assertEquals(entries, count(dir));
+            }
+        } finally {
+            Files.delete(file);
+            Files.deleteIfExists(importerFile);
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path f : files.collect(Collectors.toList())) {
+                    Files.delete(f);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void testTransformsCacheSnapshot() throws Exception {
+        Path dir = Files.createTempDirectory("ont-api-transforms-cache");
+        Path file = Files.createTempFile("ont-api-transforms-cache", ".ttl");
+        Files.copy(Paths.get(ReadWriteUtils.getResourceURI("ontapi/pizza.ttl")), file, StandardCopyOption.REPLACE_EXISTING);
+        OWLAdapter adapter = OWLAdapter.get();
+        Supplier<OntologyManager> factory = () -> {
+            OntologyManager res = OntManagers.createONT();
+            res.getOntologyConfigurator().setTransformsCacheDirectory(dir.toString());
+            return res;
+        };
+        try {
+            Ontology o1 = factory.get().loadOntologyFromOntologyDocument(file.toFile());
+            adapter.asBaseModel(o1).getBase().forceLoad();
+            Path snapshot;
+            try (Stream<Path> files = Files.list(dir)) {
+                snapshot = files.filter(f -> f.toString().endsWith(".snapshot")).findFirst().orElseThrow(AssertionError::new);
+            }
+            long modified = Files.getLastModifiedTime(snapshot).toMillis();
+
+            // the content is restored from the snapshot, which is not rewritten:
+            Ontology o2 = factory.get().loadOntologyFromOntologyDocument(file.toFile());
+            Assert.assertEquals(o1.axioms().collect(Collectors.toSet()), o2.axioms().collect(Collectors.toSet()));
+            adapter.asBaseModel(o2).getBase().forceLoad();
+            Assert.assertEquals(modified, Files.getLastModifiedTime(snapshot).toMillis());
+
+            // a changed model does not use the snapshot anymore:
+            OWLDataFactory df = o2.getOWLOntologyManager().getOWLDataFactory();
+            OWLAxiom axiom = df.getOWLDeclarationAxiom(df.getOWLClass("http://test#X"));
+            o2.add(axiom);
+            Assert.assertTrue(o2.containsAxiom(axiom));
+            Assert.assertEquals(o1.getAxiomCount() + 1, o2.getAxiomCount());
+        } finally {
+            Files.delete(file);
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path f : files.collect(Collectors.toList())) {
+                    Files.delete(f);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+
+    private static long count(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    private static List<OntFormat> detect(String txt) {
+        byte[] bytes = txt.getBytes(StandardCharsets.UTF_8);
+        return OntGraphUtils.detectFormats(bytes, bytes.length);
+    }
 }
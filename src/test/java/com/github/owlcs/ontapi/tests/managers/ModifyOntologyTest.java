@@ -15,20 +15,29 @@
 package com.github.owlcs.ontapi.tests.managers;
 
 import com.github.owlcs.ontapi.DataFactory;
+import com.github.owlcs.ontapi.OntApiException;
 import com.github.owlcs.ontapi.OntManagers;
 import com.github.owlcs.ontapi.Ontology;
 import com.github.owlcs.ontapi.OntologyManager;
 import com.github.owlcs.ontapi.jena.model.OntModel;
 import com.github.owlcs.ontapi.utils.ReadWriteUtils;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.mem.GraphMem;
+import org.apache.jena.shared.AddDeniedException;
 import org.junit.Assert;
 import org.junit.Test;
-import org.semanticweb.owlapi.model.AddAxiom;
-import org.semanticweb.owlapi.model.OWLAxiom;
-import org.semanticweb.owlapi.model.RemoveAxiom;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.ChangeApplied;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -76,4 +85,146 @@ public class ModifyOntologyTest {
         Assert.assertEquals(4, o.axioms().peek(x -> LOGGER.debug("(1): {}", x)).count());
         Assert.assertEquals(7, o.asGraphModel().size());
     }
+
+    @Test
+    public void testBulkChangesAreSameAsSequential() {
+        testBulkChangesAreSameAsSequential(OntManagers.createONT());
+        testBulkChangesAreSameAsSequential(OntManagers.createConcurrentONT());
+    }
+
+    private static void testBulkChangesAreSameAsSequential(OntologyManager m) {
+        Graph source = ReadWriteUtils.loadResourceTTLFile("ontapi/pizza.ttl").getGraph();
+        List<OWLAxiom> axioms = m.addOntology(source).axioms().collect(Collectors.toList());
+
+        Ontology expected = m.createOntology();
+        axioms.forEach(expected::add);
+        Ontology actual = m.createOntology();
+        Assert.assertEquals(ChangeApplied.SUCCESSFULLY, m.applyChanges(axioms.stream()
+                .map(x -> new AddAxiom(actual, x)).collect(Collectors.toList())));
+        assertSameContent(expected, actual);
+
+        List<OWLAxiom> remove = axioms.subList(0, axioms.size() / 2);
+        remove.forEach(expected::remove);
+        Assert.assertEquals(ChangeApplied.SUCCESSFULLY, m.applyChanges(remove.stream()
+                .map(x -> new RemoveAxiom(actual, x)).collect(Collectors.toList())));
+        assertSameContent(expected, actual);
+    }
+
+    private static void assertSameContent(Ontology expected, Ontology actual) {
+        Assert.assertEquals(expected.axioms().collect(Collectors.toSet()), actual.axioms().collect(Collectors.toSet()));
+        Assert.assertEquals(expected.signature().collect(Collectors.toSet()),
+                actual.signature().collect(Collectors.toSet()));
+        Assert.assertTrue(expected.asGraphModel().getBaseGraph().isIsomorphicWith(actual.asGraphModel().getBaseGraph()));
+        expected.clearCache();
+        actual.clearCache();
+        Assert.assertEquals(expected.axioms().collect(Collectors.toSet()), actual.axioms().collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testBulkChangesDetailsAndRollback() {
+        String ns = "http://x#";
+        OntologyManager m = OntManagers.createONT();
+        m.setOntologyLoaderConfiguration(m.getOntologyLoaderConfiguration().setLoadAnnotationAxioms(false));
+        DataFactory df = m.getOWLDataFactory();
+        Ontology o = m.createOntology();
+        OWLAxiom a = df.getOWLSubClassOfAxiom(df.getOWLClass(ns + "A"), df.getOWLClass(ns + "B"));
+        OWLAxiom b = df.getOWLSubClassOfAxiom(df.getOWLClass(ns + "C"), df.getOWLClass(ns + "D"));
+        OWLAxiom c = df.getOWLAnnotationAssertionAxiom(df.getRDFSComment(), IRI.create(ns + "A"), df.getOWLLiteral("x"));
+        o.add(a);
+
+        // duplicates and existing axioms are no-op:
+        ChangeDetails details = m.applyChangesAndGetDetails(Arrays.asList(new AddAxiom(o, a),
+                new AddAxiom(o, b), new AddAxiom(o, b)));
+        Assert.assertEquals(ChangeApplied.SUCCESSFULLY, details.getChangeEffect());
+        Assert.assertEquals(Collections.singletonList(new AddAxiom(o, b)), details.getEnactedChanges());
+        Assert.assertEquals(new HashSet<>(Arrays.asList(a, b)), o.axioms(AxiomType.SUBCLASS_OF).collect(Collectors.toSet()));
+        long size = o.asGraphModel().size();
+
+        // inapplicable change in the middle causes the rollback:
+        OWLAxiom d = df.getOWLSubClassOfAxiom(df.getOWLClass(ns + "E"), df.getOWLClass(ns + "F"));
+        details = m.applyChangesAndGetDetails(Arrays.asList(new RemoveAxiom(o, a), new RemoveAxiom(o, b),
+                new AddAxiom(o, d), new AddAxiom(o, c), new AddAxiom(o, d)));
+        Assert.assertEquals(ChangeApplied.UNSUCCESSFULLY, details.getChangeEffect());
+        Assert.assertEquals(new HashSet<>(Arrays.asList(a, b)), o.axioms(AxiomType.SUBCLASS_OF).collect(Collectors.toSet()));
+        Assert.assertEquals(size, o.asGraphModel().size());
+    }
+
+    @Test
+    public void testBulkChangesFailureIsRolledBack() {
+        testBulkChangesFailureIsRolledBack(false);
+        testBulkChangesFailureIsRolledBack(true);
+    }
+
+    private static void testBulkChangesFailureIsRolledBack(boolean withListener) {
+        String ns = "http://x#";
+        Node bad = NodeFactory.createURI(ns + "Bad");
+        OntologyManager m = OntManagers.createONT();
+        if (withListener) {
+            m.addOntologyChangeProgessListener(new ProgressListener());
+        }
+        DataFactory df = m.getOWLDataFactory();
+        Ontology o = m.addOntology(new GraphMem() {
+            @Override
+            public void performAdd(Triple t) {
+                if (bad.equals(t.getSubject())) {
+                    throw new AddDeniedException("Test");
+                }
+                super.performAdd(t);
+            }
+        });
+        OWLAxiom a = df.getOWLDeclarationAxiom(df.getOWLClass(ns + "A"));
+        o.add(a);
+        long size = o.asGraphModel().size();
+        List<OWLOntologyChange> changes = Arrays.asList(
+                new AddAxiom(o, df.getOWLSubClassOfAxiom(df.getOWLClass(ns + "A"), df.getOWLClass(ns + "B"))),
+                new AddAxiom(o, df.getOWLDeclarationAxiom(df.getOWLClass(ns + "C"))),
+                new AddAxiom(o, df.getOWLDeclarationAxiom(df.getOWLClass(bad.getURI()))),
+                new AddAxiom(o, df.getOWLDeclarationAxiom(df.getOWLClass(ns + "D"))));
+        try {
+            m.applyChanges(changes);
+            Assert.fail("Possible to add bad axiom");
+        } catch (OntApiException e) {
+            LOGGER.debug("Expected: '{}'", e.getMessage());
+        }
+        Assert.assertEquals(Collections.singletonList(a), o.axioms().collect(Collectors.toList()));
+        Assert.assertEquals(size, o.asGraphModel().size());
+        o.clearCache();
+        Assert.assertEquals(Collections.singletonList(a), o.axioms().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testProgressListenerSeesChangesInOrder() {
+        String ns = "http://x#";
+        OntologyManager m = OntManagers.createONT();
+        DataFactory df = m.getOWLDataFactory();
+        Ontology o = m.createOntology();
+        List<OWLAxiom> axioms = Arrays.asList(df.getOWLDeclarationAxiom(df.getOWLClass(ns + "A")),
+                df.getOWLDeclarationAxiom(df.getOWLClass(ns + "B")),
+                df.getOWLDeclarationAxiom(df.getOWLClass(ns + "C")));
+        List<OWLAxiom> seen = new ArrayList<>();
+        m.addOntologyChangeProgessListener(new ProgressListener() {
+            @Override
+            public void appliedChange(OWLOntologyChange change) {
+                seen.add(change.getAxiom());
+                // the next change must not be applied yet:
+                Assert.assertEquals(seen.size(), o.getAxiomCount());
+            }
+        });
+        m.applyChanges(axioms.stream().map(x -> new AddAxiom(o, x)).collect(Collectors.toList()));
+        Assert.assertEquals(axioms, seen);
+    }
+
+    private static class ProgressListener implements OWLOntologyChangeProgressListener {
+        @Override
+        public void begin(int size) {
+        }
+
+        @Override
+        public void appliedChange(OWLOntologyChange change) {
+        }
+
+        @Override
+        public void end() {
+        }
+    }
 }
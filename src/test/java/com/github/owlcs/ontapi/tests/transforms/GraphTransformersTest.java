@@ -35,11 +35,13 @@ import com.github.owlcs.ontapi.utils.SP;
 import com.github.owlcs.ontapi.utils.SpinModels;
 import com.github.owlcs.ontapi.utils.SpinTransform;
 import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.shared.JenaException;
 import org.apache.jena.util.FileManager;
 import org.apache.jena.vocabulary.RDFS;
 import org.hamcrest.core.IsEqual;
@@ -127,6 +129,105 @@ public class GraphTransformersTest {
         spl.referencingAxioms(individual.get()).map(String::valueOf).forEach(LOGGER::debug);
     }
 
+    @Test
+    public void testLoadSpinLibraryWithParallelTransformation() throws Exception {
+        Map<IRI, List<Long>> expected = loadSpinLibrary(1);
+        Map<IRI, List<Long>> actual = loadSpinLibrary(4);
+        Assert.assertEquals(10, actual.size());
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(902L, (long) actual.get(SpinModels.SPINMAPL.getIRI()).get(1));
+    }
+
+    @Test
+    public void testParallelTransformationFailure() {
+        String sequential = transformWithFailure(1);
+        String parallel = transformWithFailure(4);
+        Assert.assertEquals("<http://root>", sequential);
+        Assert.assertEquals(sequential, parallel);
+    }
+
+    /**
+     * Transforms the hierarchy {@code root -> (a -> x, b)}, where the {@code x} transform fails
+     * and the independent {@code b} transform is slow.
+     *
+     * @param parallelism int, the {@link GraphTransformers#getParallelism() parallelism level}
+     * @return {@code String}, the name of the parent graph from the exception message
+     */
+    private static String transformWithFailure(int parallelism) {
+        OntModel root = createModel("http://root");
+        OntModel a = createModel("http://a");
+        OntModel b = createModel("http://b");
+        OntModel x = createModel("http://x");
+        root.addImport(a.addImport(x)).addImport(b);
+        GraphTransformers transformers = GraphTransformers.get().addFirst(Transform.Factory.create("test", null, g -> {
+            String name = Graphs.getName(g);
+            if ("<http://x>".equals(name)) {
+                throw new JenaException("bad graph");
+            }
+            if ("<http://b>".equals(name)) {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+                Graphs.getBase(g).add(Triple.create(NodeFactory.createURI("http://b#C"),
+                        RDF.type.asNode(), OWL.Class.asNode()));
+            }
+        })).setParallelism(parallelism);
+        Set<Graph> skip = new HashSet<>();
+        try {
+            transformers.transform(root.getGraph(), skip);
+            throw new AssertionError("No exception");
+        } catch (GraphTransformers.StoreException e) {
+            LOGGER.debug("Expected: '{}'", e.getMessage());
+            if (parallelism > 1) { // all independent tasks are complete
+                Assert.assertTrue(skip.contains(b.getBaseGraph()));
+                Assert.assertEquals(1, b.classes().count());
+            }
+            String msg = e.getMessage();
+            Assert.assertTrue(msg, msg.endsWith(": bad graph"));
+            return msg.substring(0, msg.indexOf(" => "));
+        }
+    }
+
+    private static OntModel createModel(String uri) {
+        OntModel res = OntModelFactory.createModel();
+        res.setID(uri);
+        return res;
+    }
+
+    /**
+     * Loads the spin library and collects the graph size, the axioms count and the guessed declarations count
+     * for each ontology; blank nodes make the axioms themselves incomparable between different managers.
+     *
+     * @param parallelism int, the {@link GraphTransformers#getParallelism() parallelism level}
+     * @return {@code Map}
+     * @throws Exception on load
+     */
+    private static Map<IRI, List<Long>> loadSpinLibrary(int parallelism) throws Exception {
+        OntologyManager m = OntManagers.createONT();
+        GraphTransformers transformers = GraphTransformers.get()
+                .addFirst(Transform.Factory.create(SpinTransform.class))
+                .setParallelism(parallelism);
+        Assert.assertEquals(parallelism, transformers.getParallelism());
+        m.getOntologyConfigurator()
+                .setGraphTransformers(transformers)
+                .setPersonality(SpinModels.ONT_SPIN_PERSONALITY)
+                .disableWebAccess();
+        SpinModels.addMappings(m);
+        SpinModels.addMappings(FileManager.get());
+        m.loadOntology(SpinModels.SPINMAPL.getIRI());
+        Map<IRI, List<Long>> res = new HashMap<>();
+        m.ontologies().forEach(o -> {
+            IRI uri = o.getOntologyID().getOntologyIRI().orElseThrow(AssertionError::new);
+            OWLOntologyLoaderMetaData d = m.getOntologyFormat(o).getOntologyLoaderMetaData()
+                    .orElseThrow(AssertionError::new);
+            res.put(uri, Arrays.asList((long) m.getOntology(uri).asGraphModel().getBaseGraph().size(),
+                    (long) o.getAxiomCount(), (long) d.getGuessedDeclarations().size()));
+        });
+        return res;
+    }
+
     @Test
     public void testLoadSpinLibraryWithoutTransforms() throws Exception {
         OntologyManager m = OntManagers.createONT();